@@ -0,0 +1,33 @@
+package br.com.analyticsservice.application.port.in;
+
+import br.com.analyticsservice.domain.model.AnalyticsStatus;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalyticsUseCase {
+
+    /**
+     * Adds a poll of sales to the windows and records the offsets it covers.
+     */
+    void aggregate(List<Sale> sales, List<PartitionOffset> offsets);
+
+    /**
+     * Last offset of the partition included in the aggregates, if any.
+     */
+    Optional<Long> appliedOffset(String topic, int partition);
+
+    /**
+     * Saves the aggregates and their offsets to the checkpoint store.
+     */
+    void checkpoint();
+
+    List<WindowAggregate> findAggregates(String window, Dimension dimension, String key, Instant from, Instant to);
+
+    AnalyticsStatus status();
+}
@@ -0,0 +1,15 @@
+package br.com.analyticsservice.application.port.out;
+
+import br.com.analyticsservice.domain.model.AnalyticsCheckpoint;
+
+import java.util.Optional;
+
+public interface AnalyticsCheckpointPort {
+
+    /**
+     * Replaces the stored checkpoint as a whole.
+     */
+    void save(AnalyticsCheckpoint checkpoint);
+
+    Optional<AnalyticsCheckpoint> load();
+}
@@ -0,0 +1,204 @@
+package br.com.analyticsservice.application.usecase;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import br.com.analyticsservice.application.port.out.AnalyticsCheckpointPort;
+import br.com.analyticsservice.domain.aggregation.EventRate;
+import br.com.analyticsservice.domain.aggregation.WindowListener;
+import br.com.analyticsservice.domain.aggregation.WindowedAggregator;
+import br.com.analyticsservice.domain.model.AnalyticsCheckpoint;
+import br.com.analyticsservice.domain.model.AnalyticsStatus;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import br.com.analyticsservice.domain.model.WindowDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Owns the in-memory windows: the Kafka listener writes, queries and checkpoints read, under one read-write lock.
+ * <p>
+ * A checkpoint copies the aggregates and the offsets they include under the read lock, so the two always match;
+ * on startup the last checkpoint is restored and the listener resumes right after its offsets.
+ * <p>
+ * Metrics: {@code analytics.events} and {@code analytics.events.rate} (per second), {@code analytics.events.late}
+ * and {@code analytics.window.close.latency} (wall-clock delay between a window's deadline, its end plus the grace,
+ * and its closing) per window, {@code analytics.aggregates.open}.
+ */
+@Service
+@Slf4j
+public class AnalyticsUseCaseImpl implements AnalyticsUseCase, WindowListener {
+
+    private final AnalyticsCheckpointPort checkpointPort;
+    private final WindowedAggregator aggregator;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PartitionOffset> offsets = new HashMap<>();
+    private final Map<String, Counter> lateByWindow = new HashMap<>();
+    private final Map<String, Timer> closeLatencyByWindow = new HashMap<>();
+    private final EventRate eventRate;
+    private final Counter events;
+    private final Timer checkpointDuration;
+    private volatile Instant lastCheckpoint;
+
+    public AnalyticsUseCaseImpl(AnalyticsCheckpointPort checkpointPort,
+                                WindowedAggregator aggregator,
+                                MeterRegistry meterRegistry,
+                                Clock clock,
+                                @Value("${analytics.metrics.rate-window-seconds:60}") int rateWindowSeconds) {
+        this.checkpointPort = checkpointPort;
+        this.aggregator = aggregator;
+        this.clock = clock;
+        this.eventRate = new EventRate(rateWindowSeconds);
+        this.events = Counter.builder("analytics.events")
+                .description("Sales events added to the windows")
+                .register(meterRegistry);
+        this.checkpointDuration = Timer.builder("analytics.checkpoint.duration")
+                .description("Time to save a checkpoint of the aggregates")
+                .register(meterRegistry);
+        Gauge.builder("analytics.events.rate", this, useCase -> useCase.eventRate.perSecond(useCase.clock.instant().getEpochSecond()))
+                .description("Sales events per second over the last rate window")
+                .register(meterRegistry);
+        Gauge.builder("analytics.aggregates.open", this, AnalyticsUseCaseImpl::openAggregates)
+                .description("Aggregates of windows that are still open")
+                .register(meterRegistry);
+        for (WindowDefinition window : aggregator.windows()) {
+            lateByWindow.put(window.name(), Counter.builder("analytics.events.late")
+                    .description("Sales events that arrived after every window they belong to had closed")
+                    .tag("window", window.name())
+                    .register(meterRegistry));
+            closeLatencyByWindow.put(window.name(), Timer.builder("analytics.window.close.latency")
+                    .description("Delay between a window's end plus grace and its closing")
+                    .tag("window", window.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        checkpointPort.load().ifPresent(checkpoint -> {
+            lock.writeLock().lock();
+            try {
+                int restored = aggregator.restore(checkpoint.streamTime(), checkpoint.aggregates());
+                offsets.clear();
+                checkpoint.offsets().forEach(offset -> offsets.put(key(offset.topic(), offset.partition()), offset));
+                log.info("Restored {} of {} aggregates and {} partition offsets, stream time {}",
+                        restored, checkpoint.aggregates().size(), offsets.size(), checkpoint.streamTime());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void aggregate(List<Sale> sales, List<PartitionOffset> batchOffsets) {
+        lock.writeLock().lock();
+        try {
+            for (Sale sale : sales) {
+                aggregator.add(sale, this);
+            }
+            aggregator.closeExpiredWindows(this);
+            batchOffsets.forEach(offset -> offsets.merge(key(offset.topic(), offset.partition()), offset,
+                    (current, next) -> next.offset() > current.offset() ? next : current));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        events.increment(sales.size());
+        eventRate.record(clock.instant().getEpochSecond(), sales.size());
+    }
+
+    @Override
+    public Optional<Long> appliedOffset(String topic, int partition) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(offsets.get(key(topic, partition))).map(PartitionOffset::offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void checkpoint() {
+        AnalyticsCheckpoint checkpoint;
+        lock.readLock().lock();
+        try {
+            if (aggregator.streamTime() == null && offsets.isEmpty()) {
+                return;
+            }
+            checkpoint = new AnalyticsCheckpoint(aggregator.streamTime(), aggregator.snapshot(), List.copyOf(offsets.values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        checkpointDuration.record(() -> checkpointPort.save(checkpoint));
+        lastCheckpoint = clock.instant();
+        log.debug("Checkpoint saved with {} aggregates, stream time {}", checkpoint.aggregates().size(), checkpoint.streamTime());
+    }
+
+    @Override
+    public List<WindowAggregate> findAggregates(String window, Dimension dimension, String key, Instant from, Instant to) {
+        if (window == null || dimension == null) {
+            throw new IllegalArgumentException("window and dimension are required");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        lock.readLock().lock();
+        try {
+            return aggregator.query(window, dimension, key, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public AnalyticsStatus status() {
+        lock.readLock().lock();
+        try {
+            return new AnalyticsStatus(aggregator.windows(), aggregator.streamTime(),
+                    eventRate.perSecond(clock.instant().getEpochSecond()),
+                    aggregator.openAggregates(), aggregator.closedAggregates(), lastCheckpoint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void lateSale(WindowDefinition window) {
+        lateByWindow.get(window.name()).increment();
+    }
+
+    @Override
+    public void windowClosed(WindowDefinition window, Instant start, Instant deadline) {
+        Duration latency = Duration.between(deadline, clock.instant());
+        closeLatencyByWindow.get(window.name()).record(latency.isNegative() ? Duration.ZERO : latency);
+    }
+
+    private double openAggregates() {
+        lock.readLock().lock();
+        try {
+            return aggregator.openAggregates();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String key(String topic, int partition) {
+        return topic + "-" + partition;
+    }
+}
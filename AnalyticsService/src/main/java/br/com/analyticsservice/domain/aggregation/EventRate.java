@@ -0,0 +1,41 @@
+package br.com.analyticsservice.domain.aggregation;
+
+/**
+ * Events per second averaged over the last complete seconds, counted in a ring of per-second buckets so recording
+ * never allocates.
+ */
+public final class EventRate {
+
+    private final long[] seconds;
+    private final long[] counts;
+    private final int windowSeconds;
+
+    public EventRate(int windowSeconds) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("windowSeconds must be positive");
+        }
+        this.windowSeconds = windowSeconds;
+        // one extra bucket for the second in progress
+        this.seconds = new long[windowSeconds + 1];
+        this.counts = new long[windowSeconds + 1];
+    }
+
+    public synchronized void record(long epochSecond, long events) {
+        int bucket = Math.floorMod(epochSecond, seconds.length);
+        if (seconds[bucket] != epochSecond) {
+            seconds[bucket] = epochSecond;
+            counts[bucket] = 0;
+        }
+        counts[bucket] += events;
+    }
+
+    public synchronized double perSecond(long nowEpochSecond) {
+        long total = 0;
+        for (int i = 0; i < seconds.length; i++) {
+            if (seconds[i] < nowEpochSecond && seconds[i] >= nowEpochSecond - windowSeconds) {
+                total += counts[i];
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns store codes and SKUs as dense {@code int} ids so window state can be keyed by primitives. Ids are never
+ * reused; the dictionary grows with the catalog, not with the number of windows. Not thread-safe.
+ */
+public final class KeyDictionary {
+
+    public static final int ABSENT = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+
+    public int idOf(String key) {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        int newId = keys.size();
+        ids.put(key, newId);
+        keys.add(key);
+        return newId;
+    }
+
+    /**
+     * Id of an already interned key, or {@link #ABSENT}; unlike {@link #idOf} it never adds the key.
+     */
+    public int find(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : ABSENT;
+    }
+
+    public String keyOf(int id) {
+        return keys.get(id);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing map from a {@code long} key to two {@code long} sums (units and revenue), kept in parallel
+ * primitive arrays: adding to an existing key neither boxes nor allocates. Not thread-safe.
+ */
+public final class LongKeyedSums {
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, long units, long revenueCentavos);
+    }
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] units;
+    private long[] revenue;
+    private int size;
+    private int threshold;
+
+    public LongKeyedSums() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongKeyedSums(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public void add(long key, long unitsDelta, long revenueDelta) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Reserved key");
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            if (++size > threshold) {
+                rehash(keys.length << 1);
+                slot = slotOf(key);
+            }
+        }
+        units[slot] += unitsDelta;
+        revenue[slot] += revenueDelta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                consumer.accept(keys[i], units[i], revenue[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes the matching entries, handing each to {@code removed}, and compacts the table to the entries left.
+     */
+    public int removeIf(LongPredicate predicate, Entry removed) {
+        int remaining = 0;
+        for (long key : keys) {
+            if (key != FREE && !predicate.test(key)) remaining++;
+        }
+        if (remaining == size) return 0;
+
+        long[] oldKeys = keys;
+        long[] oldUnits = units;
+        long[] oldRevenue = revenue;
+        allocate(capacityFor(remaining));
+        int count = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            if (predicate.test(oldKeys[i])) {
+                removed.accept(oldKeys[i], oldUnits[i], oldRevenue[i]);
+                count++;
+            } else {
+                put(oldKeys[i], oldUnits[i], oldRevenue[i]);
+            }
+        }
+        return count;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldUnits = units;
+        long[] oldRevenue = revenue;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) put(oldKeys[i], oldUnits[i], oldRevenue[i]);
+        }
+    }
+
+    // only for keys known to be absent and a table known to have room
+    private void put(long key, long unitsValue, long revenueValue) {
+        int slot = slotOf(key);
+        keys[slot] = key;
+        units[slot] = unitsValue;
+        revenue[slot] = revenueValue;
+        size++;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        units = new long[capacity];
+        revenue = new long[capacity];
+        size = 0;
+        threshold = capacity / 4 * 3;
+    }
+
+    // table stays at most 3/4 full
+    private static int capacityFor(int expectedSize) {
+        int needed = Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, expectedSize * 4L / 3 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import br.com.analyticsservice.domain.model.WindowDefinition;
+
+import java.time.Instant;
+
+/**
+ * What the aggregator reports while it works: sales too late for a window and windows it closes.
+ */
+public interface WindowListener {
+
+    WindowListener NONE = new WindowListener() {
+        @Override
+        public void lateSale(WindowDefinition window) {
+        }
+
+        @Override
+        public void windowClosed(WindowDefinition window, Instant start, Instant deadline) {
+        }
+    };
+
+    /**
+     * The sale arrived after every window of {@code window} it belongs to had closed, so it was left out of them.
+     */
+    void lateSale(WindowDefinition window);
+
+    /**
+     * A window closed; {@code deadline} is the stream time at which it was due to close (its end plus the grace).
+     */
+    void windowClosed(WindowDefinition window, Instant start, Instant deadline);
+}
@@ -0,0 +1,279 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.SaleLine;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import br.com.analyticsservice.domain.model.WindowDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Units and revenue per store and per SKU over a set of event-time windows.
+ * <p>
+ * Every window of a definition is numbered by its slot ({@code start / advance}), and each aggregate is stored under
+ * {@code slot << 32 | keyId} in a {@link LongKeyedSums}, so adding a sale to a window that already has its store
+ * and SKUs is a few array updates. Stream time is the highest event time seen; a window closes once stream time
+ * passes its end plus the grace period, and a sale arriving later than that is left out of it and reported as late.
+ * Closed aggregates stay queryable until stream time moves {@code retention} past their end.
+ * <p>
+ * Not thread-safe: callers serialize access.
+ */
+public class WindowedAggregator {
+
+    private static final Comparator<WindowAggregate> QUERY_ORDER =
+            Comparator.comparing(WindowAggregate::start).thenComparing(WindowAggregate::key);
+
+    private final List<WindowState> windows;
+    private final long graceMillis;
+    private final long retentionMillis;
+    private final KeyDictionary[] dictionaries = new KeyDictionary[Dimension.values().length];
+    private long streamTime = Long.MIN_VALUE;
+
+    public WindowedAggregator(List<WindowDefinition> definitions, Duration grace, Duration retention) {
+        if (definitions.isEmpty()) {
+            throw new IllegalArgumentException("At least one window is required");
+        }
+        if (grace.isNegative() || retention.isNegative()) {
+            throw new IllegalArgumentException("grace and retention cannot be negative");
+        }
+        if (definitions.stream().map(WindowDefinition::name).distinct().count() != definitions.size()) {
+            throw new IllegalArgumentException("Window names must be unique");
+        }
+        this.windows = definitions.stream().map(WindowState::new).toList();
+        this.graceMillis = grace.toMillis();
+        this.retentionMillis = retention.toMillis();
+        for (Dimension dimension : Dimension.values()) {
+            dictionaries[dimension.ordinal()] = new KeyDictionary();
+        }
+    }
+
+    public List<WindowDefinition> windows() {
+        return windows.stream().map(w -> w.definition).toList();
+    }
+
+    /**
+     * Adds the sale to every open window it falls in. Returns {@code false} when it was too late for all of them.
+     */
+    public boolean add(Sale sale, WindowListener listener) {
+        long time = sale.timestamp().toEpochMilli();
+        int storeId = sale.storeCode() != null ? dictionary(Dimension.STORE).idOf(sale.storeCode()) : KeyDictionary.ABSENT;
+        List<SaleLine> lines = sale.lines();
+        int[] skuIds = new int[lines.size()];
+        long units = 0;
+        long revenue = 0;
+        for (int i = 0; i < skuIds.length; i++) {
+            SaleLine line = lines.get(i);
+            skuIds[i] = line.sku() != null ? dictionary(Dimension.SKU).idOf(line.sku()) : KeyDictionary.ABSENT;
+            units += line.units();
+            revenue += line.revenueCentavos();
+        }
+
+        boolean accepted = false;
+        for (WindowState window : windows) {
+            long lastSlot = Math.floorDiv(time, window.advanceMillis);
+            long firstSlot = Math.max(Math.floorDiv(time - window.sizeMillis, window.advanceMillis) + 1, window.firstOpenSlot);
+            if (firstSlot > lastSlot) {
+                listener.lateSale(window.definition);
+                continue;
+            }
+            accepted = true;
+            for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                long base = slot << 32;
+                if (storeId != KeyDictionary.ABSENT) {
+                    window.open(Dimension.STORE).add(base | storeId, units, revenue);
+                }
+                for (int i = 0; i < skuIds.length; i++) {
+                    if (skuIds[i] != KeyDictionary.ABSENT) {
+                        window.open(Dimension.SKU).add(base | skuIds[i], lines.get(i).units(), lines.get(i).revenueCentavos());
+                    }
+                }
+            }
+        }
+        streamTime = Math.max(streamTime, time);
+        return accepted;
+    }
+
+    /**
+     * Closes the windows whose end plus grace stream time has passed and drops closed windows past retention.
+     * Cheap when nothing is due: the tables are only rebuilt when a slot boundary was crossed.
+     */
+    public void closeExpiredWindows(WindowListener listener) {
+        if (streamTime == Long.MIN_VALUE) {
+            return;
+        }
+        for (WindowState window : windows) {
+            long firstOpenSlot = Math.floorDiv(streamTime - window.sizeMillis - graceMillis, window.advanceMillis) + 1;
+            if (firstOpenSlot > window.firstOpenSlot) {
+                window.firstOpenSlot = firstOpenSlot;
+                TreeSet<Long> closedSlots = new TreeSet<>();
+                for (Dimension dimension : Dimension.values()) {
+                    LongKeyedSums closed = window.closed(dimension);
+                    window.open(dimension).removeIf(key -> (key >> 32) < firstOpenSlot, (key, units, revenue) -> {
+                        closed.add(key, units, revenue);
+                        closedSlots.add(key >> 32);
+                    });
+                }
+                for (long slot : closedSlots) {
+                    long start = slot * window.advanceMillis;
+                    listener.windowClosed(window.definition, Instant.ofEpochMilli(start),
+                            Instant.ofEpochMilli(start + window.sizeMillis + graceMillis));
+                }
+            }
+
+            long firstRetainedSlot = Math.floorDiv(streamTime - retentionMillis - window.sizeMillis, window.advanceMillis) + 1;
+            if (firstRetainedSlot > window.firstRetainedSlot) {
+                window.firstRetainedSlot = firstRetainedSlot;
+                for (Dimension dimension : Dimension.values()) {
+                    window.closed(dimension).removeIf(key -> (key >> 32) < firstRetainedSlot, (key, units, revenue) -> {
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggregates of {@code window} whose start is in {@code [from, to)}, open and closed, ordered by start and key.
+     * A {@code null} key means every key; {@code null} bounds are unbounded.
+     */
+    public List<WindowAggregate> query(String window, Dimension dimension, String key, Instant from, Instant to) {
+        WindowState state = window(window);
+        long keyId = KeyDictionary.ABSENT;
+        if (key != null) {
+            keyId = dictionary(dimension).find(key);
+            if (keyId == KeyDictionary.ABSENT) {
+                return List.of();
+            }
+        }
+        long fromSlot = from != null ? -Math.floorDiv(-from.toEpochMilli(), state.advanceMillis) : Long.MIN_VALUE;
+        long toSlot = to != null ? -Math.floorDiv(-to.toEpochMilli(), state.advanceMillis) : Long.MAX_VALUE;
+        long wantedKey = keyId;
+
+        List<WindowAggregate> result = new ArrayList<>();
+        LongKeyedSums.Entry collect = (composite, units, revenue) -> {
+            long slot = composite >> 32;
+            if (slot >= fromSlot && slot < toSlot && (wantedKey == KeyDictionary.ABSENT || (int) composite == wantedKey)) {
+                result.add(toAggregate(state, dimension, composite, units, revenue, slot < state.firstOpenSlot));
+            }
+        };
+        state.open(dimension).forEach(collect);
+        state.closed(dimension).forEach(collect);
+        result.sort(QUERY_ORDER);
+        return result;
+    }
+
+    public Instant streamTime() {
+        return streamTime == Long.MIN_VALUE ? null : Instant.ofEpochMilli(streamTime);
+    }
+
+    public long openAggregates() {
+        return windows.stream().mapToLong(w -> w.size(w.open)).sum();
+    }
+
+    public long closedAggregates() {
+        return windows.stream().mapToLong(w -> w.size(w.closed)).sum();
+    }
+
+    public List<WindowAggregate> snapshot() {
+        List<WindowAggregate> aggregates = new ArrayList<>();
+        for (WindowState window : windows) {
+            for (Dimension dimension : Dimension.values()) {
+                window.open(dimension).forEach((key, units, revenue) ->
+                        aggregates.add(toAggregate(window, dimension, key, units, revenue, false)));
+                window.closed(dimension).forEach((key, units, revenue) ->
+                        aggregates.add(toAggregate(window, dimension, key, units, revenue, true)));
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * Replaces the state with a snapshot. Aggregates of windows that are no longer configured, or whose bounds do
+     * not match the current definition, are skipped. Returns the number of aggregates restored.
+     */
+    public int restore(Instant snapshotStreamTime, List<WindowAggregate> aggregates) {
+        for (WindowState window : windows) {
+            window.reset();
+        }
+        streamTime = snapshotStreamTime != null ? snapshotStreamTime.toEpochMilli() : Long.MIN_VALUE;
+
+        int restored = 0;
+        for (WindowAggregate aggregate : aggregates) {
+            WindowState window = windows.stream().filter(w -> w.definition.name().equals(aggregate.window())).findFirst().orElse(null);
+            long start = aggregate.start().toEpochMilli();
+            if (window == null
+                    || start % window.advanceMillis != 0
+                    || aggregate.end().toEpochMilli() - start != window.sizeMillis) {
+                continue;
+            }
+            long key = (start / window.advanceMillis) << 32 | dictionary(aggregate.dimension()).idOf(aggregate.key());
+            LongKeyedSums target = aggregate.closed() ? window.closed(aggregate.dimension()) : window.open(aggregate.dimension());
+            target.add(key, aggregate.units(), aggregate.revenueCentavos());
+            restored++;
+        }
+        closeExpiredWindows(WindowListener.NONE);
+        return restored;
+    }
+
+    private WindowAggregate toAggregate(WindowState window, Dimension dimension, long composite, long units, long revenue, boolean closed) {
+        long start = (composite >> 32) * window.advanceMillis;
+        return new WindowAggregate(window.definition.name(), dimension, dictionary(dimension).keyOf((int) composite),
+                Instant.ofEpochMilli(start), Instant.ofEpochMilli(start + window.sizeMillis), units, revenue, closed);
+    }
+
+    private WindowState window(String name) {
+        return windows.stream()
+                .filter(w -> w.definition.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown window: " + name));
+    }
+
+    private KeyDictionary dictionary(Dimension dimension) {
+        return dictionaries[dimension.ordinal()];
+    }
+
+    private static final class WindowState {
+        final WindowDefinition definition;
+        final long sizeMillis;
+        final long advanceMillis;
+        final LongKeyedSums[] open = new LongKeyedSums[Dimension.values().length];
+        final LongKeyedSums[] closed = new LongKeyedSums[Dimension.values().length];
+        long firstOpenSlot;
+        long firstRetainedSlot;
+
+        WindowState(WindowDefinition definition) {
+            this.definition = definition;
+            this.sizeMillis = definition.size().toMillis();
+            this.advanceMillis = definition.advance().toMillis();
+            reset();
+        }
+
+        void reset() {
+            for (int i = 0; i < open.length; i++) {
+                open[i] = new LongKeyedSums();
+                closed[i] = new LongKeyedSums();
+            }
+            firstOpenSlot = Long.MIN_VALUE;
+            firstRetainedSlot = Long.MIN_VALUE;
+        }
+
+        LongKeyedSums open(Dimension dimension) {
+            return open[dimension.ordinal()];
+        }
+
+        LongKeyedSums closed(Dimension dimension) {
+            return closed[dimension.ordinal()];
+        }
+
+        long size(LongKeyedSums[] tables) {
+            long total = 0;
+            for (LongKeyedSums table : tables) total += table.size();
+            return total;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.analyticsservice.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aggregates together with the offsets they include, so a restart resumes consumption exactly where the restored
+ * state ends.
+ */
+public record AnalyticsCheckpoint(Instant streamTime, List<WindowAggregate> aggregates, List<PartitionOffset> offsets) {
+}
@@ -0,0 +1,12 @@
+package br.com.analyticsservice.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record AnalyticsStatus(List<WindowDefinition> windows,
+                              Instant streamTime,
+                              double eventsPerSecond,
+                              long openAggregates,
+                              long closedAggregates,
+                              Instant lastCheckpoint) {
+}
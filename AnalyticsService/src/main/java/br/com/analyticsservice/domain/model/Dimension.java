@@ -0,0 +1,9 @@
+package br.com.analyticsservice.domain.model;
+
+/**
+ * What an aggregate is grouped by within its window.
+ */
+public enum Dimension {
+    STORE,
+    SKU
+}
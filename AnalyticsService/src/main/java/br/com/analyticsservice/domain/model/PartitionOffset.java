@@ -0,0 +1,7 @@
+package br.com.analyticsservice.domain.model;
+
+/**
+ * Last offset of a topic partition included in the aggregates.
+ */
+public record PartitionOffset(String topic, int partition, long offset) {
+}
@@ -0,0 +1,10 @@
+package br.com.analyticsservice.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A sale as aggregated by the analytics windows, stamped with its event time.
+ */
+public record Sale(String storeCode, Instant timestamp, List<SaleLine> lines) {
+}
@@ -0,0 +1,4 @@
+package br.com.analyticsservice.domain.model;
+
+public record SaleLine(String sku, long units, long revenueCentavos) {
+}
@@ -0,0 +1,16 @@
+package br.com.analyticsservice.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Units and revenue of one store or SKU in one window. Open aggregates can still change; closed ones are final.
+ */
+public record WindowAggregate(String window,
+                              Dimension dimension,
+                              String key,
+                              Instant start,
+                              Instant end,
+                              long units,
+                              long revenueCentavos,
+                              boolean closed) {
+}
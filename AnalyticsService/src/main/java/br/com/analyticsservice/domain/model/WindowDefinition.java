@@ -0,0 +1,38 @@
+package br.com.analyticsservice.domain.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * An event-time window aligned to the epoch: windows of {@code size} start every {@code advance}. Tumbling windows
+ * advance by their size, so each event falls in exactly one; hopping windows overlap and an event falls in
+ * {@code size / advance} of them.
+ */
+public record WindowDefinition(String name, Duration size, Duration advance) {
+
+    public static final Duration MIN_ADVANCE = Duration.ofMinutes(1);
+
+    public WindowDefinition {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(size, "size");
+        Objects.requireNonNull(advance, "advance");
+        if (advance.compareTo(MIN_ADVANCE) < 0) {
+            throw new IllegalArgumentException("Window " + name + ": advance must be at least " + MIN_ADVANCE);
+        }
+        if (size.compareTo(advance) < 0 || size.toMillis() % advance.toMillis() != 0) {
+            throw new IllegalArgumentException("Window " + name + ": size must be a multiple of advance");
+        }
+    }
+
+    public static WindowDefinition tumbling(String name, Duration size) {
+        return new WindowDefinition(name, size, size);
+    }
+
+    public static WindowDefinition hopping(String name, Duration size, Duration advance) {
+        return new WindowDefinition(name, size, advance);
+    }
+
+    public boolean isTumbling() {
+        return size.equals(advance);
+    }
+}
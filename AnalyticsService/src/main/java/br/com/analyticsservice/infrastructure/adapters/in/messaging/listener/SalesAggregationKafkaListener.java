@@ -0,0 +1,82 @@
+package br.com.analyticsservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.mapper.SalesEventMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds the windows from {@code vendas}, one poll at a time.
+ * <p>
+ * The offsets included in the aggregates are checkpointed with them, and every partition is positioned from the
+ * checkpoint on assignment (from the beginning when there is none), so consumer group commits are irrelevant. The
+ * windows of one instance must see every partition: the listener runs a single consumer and the service a single
+ * instance per group.
+ */
+@Component
+@Slf4j
+public class SalesAggregationKafkaListener implements ConsumerSeekAware {
+
+    private final AnalyticsUseCase analyticsUseCase;
+    private final ZoneId zone;
+
+    public SalesAggregationKafkaListener(AnalyticsUseCase analyticsUseCase,
+                                         @Value("${analytics.time-zone:UTC}") ZoneId zone) {
+        this.analyticsUseCase = analyticsUseCase;
+        this.zone = zone;
+    }
+
+    @KafkaListener(
+            topics = "${analytics.kafka.topics.vendas:vendas}",
+            groupId = "${analytics.kafka.group-id:analytics-service}",
+            concurrency = "1",
+            batch = "true",
+            properties = {
+                    "max.poll.records=${analytics.ingestion.max-records:500}",
+                    "spring.json.value.default.type=br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEvent"
+            })
+    public void onVendas(List<ConsumerRecord<String, SalesEvent>> records) {
+        List<Sale> sales = records.stream()
+                .filter(r -> r.value() != null)
+                .map(r -> SalesEventMapper.toDomain(r.value(), Instant.ofEpochMilli(r.timestamp()), zone))
+                .toList();
+        analyticsUseCase.aggregate(sales, offsets(records));
+        log.debug("Aggregated {} sales from a poll of {} records", sales.size(), records.size());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition tp : assignments.keySet()) {
+            analyticsUseCase.appliedOffset(tp.topic(), tp.partition()).ifPresentOrElse(
+                    offset -> callback.seek(tp.topic(), tp.partition(), offset + 1),
+                    () -> callback.seekToBeginning(tp.topic(), tp.partition()));
+        }
+    }
+
+    /**
+     * Highest offset of each partition in the poll, tombstones and unreadable records included.
+     */
+    static List<PartitionOffset> offsets(List<? extends ConsumerRecord<String, ?>> records) {
+        Map<Integer, PartitionOffset> last = new LinkedHashMap<>();
+        for (ConsumerRecord<String, ?> r : records) {
+            last.merge(r.partition(), new PartitionOffset(r.topic(), r.partition(), r.offset()),
+                    (a, b) -> b.offset() > a.offset() ? b : a);
+        }
+        return new ArrayList<>(last.values());
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.analyticsservice.infrastructure.adapters.in.messaging.mapper;
+
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.SaleLine;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEventItem;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mapper for converting SalesEvent (adapter) to the sale the windows aggregate.
+ */
+public final class SalesEventMapper {
+
+    private SalesEventMapper() {
+    }
+
+    /**
+     * Event time is the sale timestamp, read in {@code zone}; events without one fall back to the Kafka record time.
+     * Items without quantity are left out and a missing price counts as zero revenue.
+     */
+    public static Sale toDomain(SalesEvent salesEvent, Instant recordTime, ZoneId zone) {
+        Instant timestamp = salesEvent.getTimestamp() != null
+                ? salesEvent.getTimestamp().atZone(zone).toInstant()
+                : recordTime;
+        List<SaleLine> lines = salesEvent.getItems() == null ? List.of() : salesEvent.getItems().stream()
+                .filter(Objects::nonNull)
+                .filter(item -> item.getQuantidade() != null)
+                .map(SalesEventMapper::toLine)
+                .toList();
+        return new Sale(salesEvent.getStoreCode(), timestamp, lines);
+    }
+
+    private static SaleLine toLine(SalesEventItem item) {
+        long units = item.getQuantidade();
+        long price = item.getPrecoCentavos() != null ? item.getPrecoCentavos() : 0L;
+        return new SaleLine(item.getSku(), units, units * price);
+    }
+}
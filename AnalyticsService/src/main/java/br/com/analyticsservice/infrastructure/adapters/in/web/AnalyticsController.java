@@ -0,0 +1,45 @@
+package br.com.analyticsservice.infrastructure.adapters.in.web;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import br.com.analyticsservice.domain.model.AnalyticsStatus;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsUseCase analyticsUseCase;
+
+    /**
+     * Aggregates of one window definition and dimension whose window starts in {@code [from, to)}, optionally for a
+     * single store or SKU. Open windows are included with {@code closed=false} and may still change.
+     */
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<WindowAggregate>> getAggregates(
+            @RequestParam String window,
+            @RequestParam Dimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(analyticsUseCase.findAggregates(window, dimension, key, from, to));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<AnalyticsStatus> getStatus() {
+        return ResponseEntity.ok(analyticsUseCase.status());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.analyticsservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checkpoints the windows periodically and once more on shutdown, after the listener has stopped. A crash loses
+ * nothing: the events since the last checkpoint are read again from its offsets.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analytics.checkpoint.enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsCheckpointJob {
+
+    private final AnalyticsUseCase analyticsUseCase;
+
+    @Scheduled(fixedDelayString = "${analytics.checkpoint.interval-ms:30000}",
+            initialDelayString = "${analytics.checkpoint.interval-ms:30000}")
+    public void checkpoint() {
+        try {
+            analyticsUseCase.checkpoint();
+        } catch (Exception e) {
+            log.warn("Checkpoint failed, the previous one is kept: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+}
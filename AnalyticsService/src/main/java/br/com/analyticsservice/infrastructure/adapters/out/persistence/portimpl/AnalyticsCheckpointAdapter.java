@@ -0,0 +1,103 @@
+package br.com.analyticsservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.analyticsservice.application.port.out.AnalyticsCheckpointPort;
+import br.com.analyticsservice.domain.model.AnalyticsCheckpoint;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the last checkpoint in the embedded store. Each save replaces the previous checkpoint in one transaction,
+ * so a crash mid-save leaves the older, still consistent one.
+ */
+@Component
+public class AnalyticsCheckpointAdapter implements AnalyticsCheckpointPort {
+
+    static final String STATE_SQL = "SELECT tempo_stream_ms FROM checkpoint_estado WHERE id = 1";
+
+    static final String SAVE_STATE_SQL =
+            "MERGE INTO checkpoint_estado (id, tempo_stream_ms, salvo_em_ms) KEY (id) VALUES (1, ?, ?)";
+
+    static final String AGGREGATES_SQL = """
+            SELECT janela, dimensao, chave, inicio_ms, fim_ms, unidades, receita_centavos, fechada
+            FROM checkpoint_agregados""";
+
+    static final String INSERT_AGGREGATE_SQL = """
+            INSERT INTO checkpoint_agregados (janela, dimensao, chave, inicio_ms, fim_ms, unidades, receita_centavos, fechada)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    static final String OFFSETS_SQL = "SELECT topico, particao, offset_aplicado FROM checkpoint_offsets";
+
+    static final String INSERT_OFFSET_SQL = "INSERT INTO checkpoint_offsets (topico, particao, offset_aplicado) VALUES (?, ?, ?)";
+
+    static final RowMapper<WindowAggregate> AGGREGATE_MAPPER = (rs, i) -> new WindowAggregate(
+            rs.getString("janela"),
+            Dimension.valueOf(rs.getString("dimensao")),
+            rs.getString("chave"),
+            Instant.ofEpochMilli(rs.getLong("inicio_ms")),
+            Instant.ofEpochMilli(rs.getLong("fim_ms")),
+            rs.getLong("unidades"),
+            rs.getLong("receita_centavos"),
+            rs.getBoolean("fechada"));
+
+    static final RowMapper<PartitionOffset> OFFSET_MAPPER = (rs, i) -> new PartitionOffset(
+            rs.getString("topico"),
+            rs.getInt("particao"),
+            rs.getLong("offset_aplicado"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public AnalyticsCheckpointAdapter(JdbcTemplate jdbcTemplate,
+                                      @Value("${analytics.checkpoint.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public void save(AnalyticsCheckpoint checkpoint) {
+        jdbcTemplate.update("DELETE FROM checkpoint_agregados");
+        jdbcTemplate.batchUpdate(INSERT_AGGREGATE_SQL, checkpoint.aggregates(), batchSize, (ps, aggregate) -> {
+            ps.setString(1, aggregate.window());
+            ps.setString(2, aggregate.dimension().name());
+            ps.setString(3, aggregate.key());
+            ps.setLong(4, aggregate.start().toEpochMilli());
+            ps.setLong(5, aggregate.end().toEpochMilli());
+            ps.setLong(6, aggregate.units());
+            ps.setLong(7, aggregate.revenueCentavos());
+            ps.setBoolean(8, aggregate.closed());
+        });
+        jdbcTemplate.update("DELETE FROM checkpoint_offsets");
+        jdbcTemplate.batchUpdate(INSERT_OFFSET_SQL, checkpoint.offsets(), batchSize, (ps, offset) -> {
+            ps.setString(1, offset.topic());
+            ps.setInt(2, offset.partition());
+            ps.setLong(3, offset.offset());
+        });
+        jdbcTemplate.update(SAVE_STATE_SQL,
+                checkpoint.streamTime() != null ? checkpoint.streamTime().toEpochMilli() : null,
+                System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AnalyticsCheckpoint> load() {
+        List<Long> state = jdbcTemplate.query(STATE_SQL, (rs, i) -> rs.getObject("tempo_stream_ms", Long.class));
+        if (state.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant streamTime = state.get(0) != null ? Instant.ofEpochMilli(state.get(0)) : null;
+        return Optional.of(new AnalyticsCheckpoint(streamTime,
+                jdbcTemplate.query(AGGREGATES_SQL, AGGREGATE_MAPPER),
+                jdbcTemplate.query(OFFSETS_SQL, OFFSET_MAPPER)));
+    }
+}
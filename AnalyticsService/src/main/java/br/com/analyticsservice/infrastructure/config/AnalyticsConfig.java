@@ -0,0 +1,52 @@
+package br.com.analyticsservice.infrastructure.config;
+
+import br.com.analyticsservice.domain.aggregation.WindowedAggregator;
+import br.com.analyticsservice.domain.model.WindowDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+public class AnalyticsConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public WindowedAggregator windowedAggregator(@Value("${analytics.windows:hour=1h,day=1d}") String windows,
+                                                 @Value("${analytics.grace:5m}") Duration grace,
+                                                 @Value("${analytics.retention:7d}") Duration retention) {
+        return new WindowedAggregator(parseWindows(windows), grace, retention);
+    }
+
+    /**
+     * Parses {@code name=size} (tumbling) and {@code name=size/advance} (hopping) entries separated by commas, with
+     * Spring duration values, e.g. {@code hour=1h,day=1d,hour-by-15m=1h/15m}.
+     */
+    static List<WindowDefinition> parseWindows(String spec) {
+        return Arrays.stream(spec.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .map(AnalyticsConfig::parseWindow)
+                .toList();
+    }
+
+    private static WindowDefinition parseWindow(String entry) {
+        String[] nameAndSize = entry.split("=", 2);
+        if (nameAndSize.length != 2 || nameAndSize[0].isBlank()) {
+            throw new IllegalArgumentException("Invalid window '" + entry + "', expected name=size or name=size/advance");
+        }
+        String[] sizeAndAdvance = nameAndSize[1].split("/", 2);
+        Duration size = DurationStyle.detectAndParse(sizeAndAdvance[0].trim());
+        Duration advance = sizeAndAdvance.length == 2 ? DurationStyle.detectAndParse(sizeAndAdvance[1].trim()) : size;
+        return new WindowDefinition(nameAndSize[0].trim(), size, advance);
+    }
+}
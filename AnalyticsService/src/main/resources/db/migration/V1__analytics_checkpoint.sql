@@ -0,0 +1,26 @@
+-- Last checkpoint of the in-memory window aggregates, replaced as a whole on every save.
+-- Times are epoch milliseconds (UTC), like the windows themselves.
+CREATE TABLE IF NOT EXISTS checkpoint_estado (
+    id              INT    NOT NULL PRIMARY KEY,
+    tempo_stream_ms BIGINT,
+    salvo_em_ms     BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS checkpoint_agregados (
+    janela           VARCHAR(64)  NOT NULL,
+    dimensao         VARCHAR(16)  NOT NULL,
+    chave            VARCHAR(255) NOT NULL,
+    inicio_ms        BIGINT       NOT NULL,
+    fim_ms           BIGINT       NOT NULL,
+    unidades         BIGINT       NOT NULL,
+    receita_centavos BIGINT       NOT NULL,
+    fechada          BOOLEAN      NOT NULL
+);
+
+-- Offsets included in the checkpointed aggregates; consumption resumes right after them.
+CREATE TABLE IF NOT EXISTS checkpoint_offsets (
+    topico          VARCHAR(255) NOT NULL,
+    particao        INT          NOT NULL,
+    offset_aplicado BIGINT       NOT NULL,
+    PRIMARY KEY (topico, particao)
+);
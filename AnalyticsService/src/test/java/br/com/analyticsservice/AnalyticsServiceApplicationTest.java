@@ -0,0 +1,18 @@
+package br.com.analyticsservice;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AnalyticsServiceApplication")
+class AnalyticsServiceApplicationTest {
+
+    @Test
+    @DisplayName("Should load Spring context successfully")
+    void contextLoads() {
+        // Verifies the windows, the checkpoint store and its migrations wire up
+    }
+}
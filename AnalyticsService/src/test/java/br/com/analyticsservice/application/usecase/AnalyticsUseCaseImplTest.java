@@ -0,0 +1,145 @@
+package br.com.analyticsservice.application.usecase;
+
+import br.com.analyticsservice.application.port.out.AnalyticsCheckpointPort;
+import br.com.analyticsservice.domain.aggregation.WindowedAggregator;
+import br.com.analyticsservice.domain.model.AnalyticsCheckpoint;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.SaleLine;
+import br.com.analyticsservice.domain.model.WindowDefinition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Analytics Use Case Implementation Tests")
+class AnalyticsUseCaseImplTest {
+
+    private static final Instant T0 = Instant.parse("2025-03-10T10:00:00Z");
+    private static final String TOPIC = "vendas";
+
+    @Mock
+    private AnalyticsCheckpointPort checkpointPort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AnalyticsUseCaseImpl analyticsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // the wall clock is two minutes past the deadline of the 10:00 window
+        Clock clock = Clock.fixed(T0.plusSeconds(3600 + 300 + 120), ZoneOffset.UTC);
+        WindowedAggregator aggregator = new WindowedAggregator(
+                List.of(WindowDefinition.tumbling("hour", Duration.ofHours(1))), Duration.ofMinutes(5), Duration.ofDays(1));
+        analyticsUseCase = new AnalyticsUseCaseImpl(checkpointPort, aggregator, meterRegistry, clock, 60);
+    }
+
+    private static Sale sale(Instant at) {
+        return new Sale("LOJA001", at, List.of(new SaleLine("SKU1", 1, 100)));
+    }
+
+    @Nested
+    @DisplayName("Aggregate")
+    class Aggregate {
+
+        @Test
+        @DisplayName("Should count events, late sales and the close latency of each window")
+        void shouldRecordMetrics() {
+            // When
+            analyticsUseCase.aggregate(List.of(sale(T0.plusSeconds(60)), sale(T0.plusSeconds(3600 + 300))),
+                    List.of(new PartitionOffset(TOPIC, 0, 41)));
+            analyticsUseCase.aggregate(List.of(sale(T0.plusSeconds(120))), List.of(new PartitionOffset(TOPIC, 0, 42)));
+
+            // Then
+            assertThat(meterRegistry.get("analytics.events").counter().count()).isEqualTo(3);
+            assertThat(meterRegistry.get("analytics.events.late").tag("window", "hour").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("analytics.window.close.latency").tag("window", "hour").timer().totalTime(TimeUnit.SECONDS))
+                    .isEqualTo(120);
+            assertThat(analyticsUseCase.appliedOffset(TOPIC, 0)).contains(42L);
+            assertThat(analyticsUseCase.appliedOffset(TOPIC, 1)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject a query range that ends before it starts")
+        void shouldRejectInvertedRange() {
+            assertThatThrownBy(() -> analyticsUseCase.findAggregates("hour", Dimension.STORE, null, T0, T0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkpoint")
+    class Checkpoint {
+
+        @Test
+        @DisplayName("Should save the aggregates together with the offsets they include")
+        void shouldSaveAggregatesAndOffsets() {
+            // Given
+            analyticsUseCase.aggregate(List.of(sale(T0)), List.of(new PartitionOffset(TOPIC, 0, 7), new PartitionOffset(TOPIC, 1, 3)));
+
+            // When
+            analyticsUseCase.checkpoint();
+
+            // Then
+            ArgumentCaptor<AnalyticsCheckpoint> saved = ArgumentCaptor.forClass(AnalyticsCheckpoint.class);
+            verify(checkpointPort).save(saved.capture());
+            assertThat(saved.getValue().streamTime()).isEqualTo(T0);
+            assertThat(saved.getValue().aggregates()).hasSize(2);
+            assertThat(saved.getValue().offsets()).containsExactlyInAnyOrder(
+                    new PartitionOffset(TOPIC, 0, 7), new PartitionOffset(TOPIC, 1, 3));
+            assertThat(analyticsUseCase.status().lastCheckpoint()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should not save before anything was aggregated")
+        void shouldSkipEmptyCheckpoint() {
+            // When
+            analyticsUseCase.checkpoint();
+
+            // Then
+            verify(checkpointPort, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should restore the aggregates and offsets of the last checkpoint")
+        void shouldRestore() {
+            // Given
+            analyticsUseCase.aggregate(List.of(sale(T0)), List.of(new PartitionOffset(TOPIC, 0, 7)));
+            analyticsUseCase.checkpoint();
+            ArgumentCaptor<AnalyticsCheckpoint> saved = ArgumentCaptor.forClass(AnalyticsCheckpoint.class);
+            verify(checkpointPort).save(saved.capture());
+            when(checkpointPort.load()).thenReturn(Optional.of(saved.getValue()));
+            WindowedAggregator aggregator = new WindowedAggregator(
+                    List.of(WindowDefinition.tumbling("hour", Duration.ofHours(1))), Duration.ofMinutes(5), Duration.ofDays(1));
+            AnalyticsUseCaseImpl restarted = new AnalyticsUseCaseImpl(checkpointPort, aggregator, new SimpleMeterRegistry(),
+                    Clock.systemUTC(), 60);
+
+            // When
+            restarted.restore();
+
+            // Then
+            assertThat(restarted.appliedOffset(TOPIC, 0)).contains(7L);
+            assertThat(restarted.findAggregates("hour", Dimension.SKU, "SKU1", null, null)).singleElement()
+                    .satisfies(a -> assertThat(a.units()).isEqualTo(1));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Event Rate Tests")
+class EventRateTest {
+
+    @Test
+    @DisplayName("Should average the last complete seconds and ignore the current and older ones")
+    void shouldAverageCompleteSeconds() {
+        // Given
+        EventRate rate = new EventRate(10);
+        rate.record(1_000, 500);
+        rate.record(1_091, 100);
+        rate.record(1_095, 100);
+        rate.record(1_100, 1_000);
+
+        // When
+        double perSecond = rate.perSecond(1_100);
+
+        // Then
+        assertThat(perSecond).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should reuse a bucket for a later second instead of adding to it")
+    void shouldResetReusedBucket() {
+        // Given
+        EventRate rate = new EventRate(2);
+        rate.record(10, 100);
+
+        // When
+        rate.record(13, 4);
+
+        // Then
+        assertThat(rate.perSecond(14)).isEqualTo(2.0);
+    }
+}
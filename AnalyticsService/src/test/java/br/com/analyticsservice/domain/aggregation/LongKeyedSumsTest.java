@@ -0,0 +1,72 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Long Keyed Sums Tests")
+class LongKeyedSumsTest {
+
+    private static Map<Long, long[]> contents(LongKeyedSums sums) {
+        Map<Long, long[]> contents = new HashMap<>();
+        sums.forEach((key, units, revenue) -> contents.put(key, new long[]{units, revenue}));
+        return contents;
+    }
+
+    @Test
+    @DisplayName("Should accumulate per key across growth of the table")
+    void shouldAccumulateAcrossGrowth() {
+        // Given
+        LongKeyedSums sums = new LongKeyedSums();
+
+        // When
+        for (long key = 0; key < 10_000; key++) {
+            sums.add(key << 32 | 7, 1, 10);
+            sums.add(key << 32 | 7, 2, 20);
+        }
+
+        // Then
+        assertThat(sums.size()).isEqualTo(10_000);
+        assertThat(contents(sums)).allSatisfy((key, values) -> assertThat(values).containsExactly(3, 30));
+    }
+
+    @Test
+    @DisplayName("Should hand over and remove the matching entries and keep the others")
+    void shouldRemoveMatching() {
+        // Given
+        LongKeyedSums sums = new LongKeyedSums();
+        for (long key = 1; key <= 100; key++) {
+            sums.add(key, key, key * 10);
+        }
+        Map<Long, Long> removed = new HashMap<>();
+
+        // When
+        int count = sums.removeIf(key -> key <= 40, (key, units, revenue) -> removed.put(key, units));
+        sums.add(50, 1, 1);
+
+        // Then
+        assertThat(count).isEqualTo(40);
+        assertThat(removed).hasSize(40).containsEntry(40L, 40L);
+        assertThat(sums.size()).isEqualTo(60);
+        assertThat(contents(sums).get(50L)).containsExactly(51, 501);
+        assertThat(contents(sums)).doesNotContainKey(1L);
+    }
+
+    @Test
+    @DisplayName("Should accept negative keys")
+    void shouldAcceptNegativeKeys() {
+        // Given
+        LongKeyedSums sums = new LongKeyedSums();
+
+        // When
+        sums.add(-1L << 32 | 3, 1, 1);
+        sums.add(-1, 2, 2);
+
+        // Then
+        assertThat(contents(sums)).containsOnlyKeys(-1L << 32 | 3, -1L);
+    }
+}
@@ -0,0 +1,274 @@
+package br.com.analyticsservice.domain.aggregation;
+
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.domain.model.SaleLine;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import br.com.analyticsservice.domain.model.WindowDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Windowed Aggregator Tests")
+class WindowedAggregatorTest {
+
+    private static final Instant T0 = Instant.parse("2025-03-10T10:00:00Z");
+
+    private final WindowDefinition hour = WindowDefinition.tumbling("hour", Duration.ofHours(1));
+    private final WindowDefinition hopping = WindowDefinition.hopping("hour-by-15m", Duration.ofHours(1), Duration.ofMinutes(15));
+
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new RecordingListener();
+    }
+
+    private WindowedAggregator aggregator(WindowDefinition... windows) {
+        return new WindowedAggregator(List.of(windows), Duration.ofMinutes(5), Duration.ofDays(1));
+    }
+
+    private static Sale sale(String store, Instant at, SaleLine... lines) {
+        return new Sale(store, at, List.of(lines));
+    }
+
+    private static class RecordingListener implements WindowListener {
+        final List<String> late = new ArrayList<>();
+        final List<Instant> closed = new ArrayList<>();
+
+        @Override
+        public void lateSale(WindowDefinition window) {
+            late.add(window.name());
+        }
+
+        @Override
+        public void windowClosed(WindowDefinition window, Instant start, Instant deadline) {
+            closed.add(start);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tumbling Windows")
+    class TumblingWindows {
+
+        @Test
+        @DisplayName("Should sum units and revenue per store and per SKU in the window of each sale")
+        void shouldSumPerStoreAndSku() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+
+            // When
+            aggregator.add(sale("LOJA001", T0.plusSeconds(60), new SaleLine("SKU1", 2, 1000), new SaleLine("SKU2", 1, 300)), listener);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(120), new SaleLine("SKU1", 1, 500)), listener);
+            aggregator.add(sale("LOJA002", T0.plusSeconds(3600), new SaleLine("SKU1", 4, 2000)), listener);
+
+            // Then
+            List<WindowAggregate> stores = aggregator.query("hour", Dimension.STORE, null, null, null);
+            assertThat(stores).extracting(WindowAggregate::key, WindowAggregate::start, WindowAggregate::units, WindowAggregate::revenueCentavos)
+                    .containsExactly(
+                            tuple("LOJA001", T0, 4L, 1800L),
+                            tuple("LOJA002", T0.plusSeconds(3600), 4L, 2000L));
+            assertThat(aggregator.query("hour", Dimension.SKU, "SKU1", T0, T0.plusSeconds(3600)))
+                    .singleElement()
+                    .satisfies(a -> {
+                        assertThat(a.units()).isEqualTo(3);
+                        assertThat(a.revenueCentavos()).isEqualTo(1500);
+                        assertThat(a.end()).isEqualTo(T0.plusSeconds(3600));
+                    });
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a key never seen")
+        void shouldReturnNothingForUnknownKey() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+            aggregator.add(sale("LOJA001", T0, new SaleLine("SKU1", 1, 100)), listener);
+
+            // When / Then
+            assertThat(aggregator.query("hour", Dimension.STORE, "LOJA999", null, null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown window")
+        void shouldRejectUnknownWindow() {
+            assertThatThrownBy(() -> aggregator(hour).query("week", Dimension.STORE, null, null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Hopping Windows")
+    class HoppingWindows {
+
+        @Test
+        @DisplayName("Should add a sale to every overlapping window it falls in")
+        void shouldAddToOverlappingWindows() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hopping);
+
+            // When
+            aggregator.add(sale("LOJA001", T0.plusSeconds(20 * 60), new SaleLine("SKU1", 1, 100)), listener);
+
+            // Then
+            assertThat(aggregator.query("hour-by-15m", Dimension.STORE, "LOJA001", null, null))
+                    .extracting(WindowAggregate::start)
+                    .containsExactly(T0.minusSeconds(30 * 60), T0.minusSeconds(15 * 60), T0, T0.plusSeconds(15 * 60));
+        }
+    }
+
+    @Nested
+    @DisplayName("Closing and Late Sales")
+    class ClosingAndLateSales {
+
+        @Test
+        @DisplayName("Should close a window once stream time passes its end plus grace")
+        void shouldCloseAfterGrace() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(60), new SaleLine("SKU1", 1, 100)), listener);
+
+            // When - still within the grace period
+            aggregator.add(sale("LOJA001", T0.plusSeconds(3600 + 240), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // Then
+            assertThat(listener.closed).isEmpty();
+
+            // When - grace over
+            aggregator.add(sale("LOJA001", T0.plusSeconds(3600 + 300), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // Then
+            assertThat(listener.closed).containsExactly(T0);
+            assertThat(aggregator.query("hour", Dimension.STORE, "LOJA001", T0, T0.plusSeconds(1)))
+                    .singleElement()
+                    .satisfies(a -> assertThat(a.closed()).isTrue());
+            assertThat(aggregator.openAggregates()).isEqualTo(2);
+            assertThat(aggregator.closedAggregates()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should take a late sale into its window while the grace period lasts")
+        void shouldAcceptWithinGrace() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(3600 + 120), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // When
+            boolean accepted = aggregator.add(sale("LOJA001", T0.plusSeconds(3000), new SaleLine("SKU1", 5, 500)), listener);
+
+            // Then
+            assertThat(accepted).isTrue();
+            assertThat(listener.late).isEmpty();
+            assertThat(aggregator.query("hour", Dimension.STORE, "LOJA001", T0, T0.plusSeconds(1)))
+                    .singleElement()
+                    .satisfies(a -> assertThat(a.units()).isEqualTo(5));
+        }
+
+        @Test
+        @DisplayName("Should leave out and report a sale whose windows already closed")
+        void shouldDropAfterGrace() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(60), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(3600 + 600), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // When
+            boolean accepted = aggregator.add(sale("LOJA001", T0.plusSeconds(120), new SaleLine("SKU1", 9, 900)), listener);
+
+            // Then
+            assertThat(accepted).isFalse();
+            assertThat(listener.late).containsExactly("hour");
+            assertThat(aggregator.query("hour", Dimension.STORE, "LOJA001", T0, T0.plusSeconds(1)))
+                    .singleElement()
+                    .satisfies(a -> assertThat(a.units()).isEqualTo(1));
+        }
+
+        @Test
+        @DisplayName("Should keep the still open hopping windows of a partly late sale")
+        void shouldKeepOpenHoppingWindows() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hopping);
+            aggregator.add(sale("LOJA001", T0.plusSeconds(25 * 60), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // When - falls in [9:15, 10:15) .. [10:00, 11:00); only the first has closed
+            boolean accepted = aggregator.add(sale("LOJA001", T0.plusSeconds(10), new SaleLine("SKU1", 1, 100)), listener);
+
+            // Then
+            assertThat(accepted).isTrue();
+            assertThat(listener.late).isEmpty();
+            assertThat(aggregator.query("hour-by-15m", Dimension.STORE, "LOJA001", T0.minusSeconds(45 * 60), T0.plusSeconds(1)))
+                    .extracting(WindowAggregate::start)
+                    .containsExactly(T0.minusSeconds(30 * 60), T0.minusSeconds(15 * 60), T0);
+        }
+
+        @Test
+        @DisplayName("Should drop closed windows past retention")
+        void shouldDropPastRetention() {
+            // Given
+            WindowedAggregator aggregator = aggregator(hour);
+            aggregator.add(sale("LOJA001", T0, new SaleLine("SKU1", 1, 100)), listener);
+
+            // When
+            aggregator.add(sale("LOJA001", T0.plus(Duration.ofDays(1)).plusSeconds(3600), new SaleLine("SKU1", 1, 100)), listener);
+            aggregator.closeExpiredWindows(listener);
+
+            // Then
+            assertThat(aggregator.query("hour", Dimension.STORE, "LOJA001", T0, T0.plusSeconds(1))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot and Restore")
+    class SnapshotAndRestore {
+
+        @Test
+        @DisplayName("Should restore open and closed aggregates and the stream time from a snapshot")
+        void shouldRoundTrip() {
+            // Given
+            WindowedAggregator source = aggregator(hour, hopping);
+            source.add(sale("LOJA001", T0.plusSeconds(60), new SaleLine("SKU1", 2, 200)), listener);
+            source.add(sale("LOJA002", T0.plusSeconds(3600 + 600), new SaleLine("SKU2", 1, 100)), listener);
+            source.closeExpiredWindows(listener);
+
+            // When
+            WindowedAggregator restored = aggregator(hour, hopping);
+            int count = restored.restore(source.streamTime(), source.snapshot());
+
+            // Then
+            assertThat(count).isEqualTo(source.snapshot().size());
+            assertThat(restored.streamTime()).isEqualTo(source.streamTime());
+            assertThat(restored.query("hour", Dimension.SKU, null, null, null))
+                    .isEqualTo(source.query("hour", Dimension.SKU, null, null, null));
+            assertThat(restored.add(sale("LOJA001", T0.plusSeconds(120), new SaleLine("SKU1", 1, 100)), listener)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should skip aggregates of windows that are no longer configured")
+        void shouldSkipUnknownWindows() {
+            // Given
+            WindowedAggregator source = aggregator(hour, hopping);
+            source.add(sale("LOJA001", T0, new SaleLine("SKU1", 1, 100)), listener);
+
+            // When
+            WindowedAggregator restored = aggregator(hour);
+            int count = restored.restore(source.streamTime(), source.snapshot());
+
+            // Then
+            assertThat(count).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.analyticsservice.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Window Definition Tests")
+class WindowDefinitionTest {
+
+    @Test
+    @DisplayName("Should tell tumbling from hopping windows")
+    void shouldTellTumblingFromHopping() {
+        assertThat(WindowDefinition.tumbling("day", Duration.ofDays(1)).isTumbling()).isTrue();
+        assertThat(WindowDefinition.hopping("hour", Duration.ofHours(1), Duration.ofMinutes(15)).isTumbling()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a size that is not a multiple of the advance")
+    void shouldRejectMisalignedSize() {
+        assertThatThrownBy(() -> WindowDefinition.hopping("hour", Duration.ofHours(1), Duration.ofMinutes(25)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an advance under one minute")
+    void shouldRejectShortAdvance() {
+        assertThatThrownBy(() -> WindowDefinition.tumbling("second", Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.analyticsservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.Sale;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
+import br.com.analyticsservice.infrastructure.adapters.in.messaging.dto.SalesEventItem;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sales Aggregation Kafka Listener Tests")
+class SalesAggregationKafkaListenerTest {
+
+    private static final String TOPIC = "vendas";
+
+    @Mock
+    private AnalyticsUseCase analyticsUseCase;
+
+    @Mock
+    private ConsumerSeekCallback callback;
+
+    private SalesAggregationKafkaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SalesAggregationKafkaListener(analyticsUseCase, ZoneId.of("America/Sao_Paulo"));
+    }
+
+    private static ConsumerRecord<String, SalesEvent> record(int partition, long offset, SalesEvent event) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, "LOJA001", event);
+    }
+
+    @Test
+    @DisplayName("Should aggregate the sales of a poll with the highest offset per partition")
+    @SuppressWarnings("unchecked")
+    void shouldAggregatePoll() {
+        // Given
+        SalesEvent event = new SalesEvent("EVT-1", "PED-1", "CLI-1", "LOJA001", 1000L,
+                LocalDateTime.of(2025, 3, 10, 7, 30), List.of(new SalesEventItem("SKU1", 2L, 500L)));
+
+        // When
+        listener.onVendas(List.of(record(0, 10, event), record(0, 11, null), record(1, 3, event)));
+
+        // Then
+        ArgumentCaptor<List<Sale>> sales = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<PartitionOffset>> offsets = ArgumentCaptor.forClass(List.class);
+        verify(analyticsUseCase).aggregate(sales.capture(), offsets.capture());
+        assertThat(sales.getValue()).hasSize(2);
+        assertThat(sales.getValue().get(0).timestamp()).isEqualTo(Instant.parse("2025-03-10T10:30:00Z"));
+        assertThat(sales.getValue().get(0).lines().get(0).revenueCentavos()).isEqualTo(1000);
+        assertThat(offsets.getValue()).containsExactly(new PartitionOffset(TOPIC, 0, 11), new PartitionOffset(TOPIC, 1, 3));
+    }
+
+    @Test
+    @DisplayName("Should resume each partition after its checkpointed offset, or from the beginning")
+    void shouldSeekFromCheckpoint() {
+        // Given
+        when(analyticsUseCase.appliedOffset(TOPIC, 0)).thenReturn(Optional.of(41L));
+        when(analyticsUseCase.appliedOffset(TOPIC, 1)).thenReturn(Optional.empty());
+
+        // When
+        listener.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 0L, new TopicPartition(TOPIC, 1), 0L), callback);
+
+        // Then
+        verify(callback).seek(TOPIC, 0, 42L);
+        verify(callback).seekToBeginning(TOPIC, 1);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.analyticsservice.infrastructure.adapters.in.web;
+
+import br.com.analyticsservice.application.port.in.AnalyticsUseCase;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Analytics Controller Tests")
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTest {
+
+    @Mock
+    private AnalyticsUseCase analyticsUseCase;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @Test
+    @DisplayName("Should return the aggregates of the requested window and dimension")
+    void shouldReturnAggregates() {
+        // Given
+        Instant from = Instant.parse("2025-03-10T00:00:00Z");
+        Instant to = Instant.parse("2025-03-11T00:00:00Z");
+        WindowAggregate aggregate = new WindowAggregate("hour", Dimension.STORE, "LOJA001",
+                from, from.plusSeconds(3600), 3, 1500, true);
+        when(analyticsUseCase.findAggregates("hour", Dimension.STORE, "LOJA001", from, to)).thenReturn(List.of(aggregate));
+
+        // When
+        ResponseEntity<List<WindowAggregate>> response = analyticsController.getAggregates("hour", Dimension.STORE, "LOJA001", from, to);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(aggregate);
+    }
+
+    @Test
+    @DisplayName("Should answer bad request for an invalid query")
+    void shouldHandleInvalidQuery() {
+        // When
+        ResponseEntity<Map<String, String>> response =
+                analyticsController.handleInvalidRequest(new IllegalArgumentException("Unknown window: week"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("error", "Unknown window: week");
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.analyticsservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.analyticsservice.domain.model.AnalyticsCheckpoint;
+import br.com.analyticsservice.domain.model.Dimension;
+import br.com.analyticsservice.domain.model.PartitionOffset;
+import br.com.analyticsservice.domain.model.WindowAggregate;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against an in-memory H2 with the module migrations, the same engine as the embedded checkpoint store.
+ */
+@DisplayName("Analytics Checkpoint Adapter Tests")
+class AnalyticsCheckpointAdapterTest {
+
+    private static final Instant T0 = Instant.parse("2025-03-10T10:00:00Z");
+
+    private AnalyticsCheckpointAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        adapter = new AnalyticsCheckpointAdapter(new JdbcTemplate(dataSource), 2);
+    }
+
+    private static WindowAggregate aggregate(String key, boolean closed) {
+        return new WindowAggregate("hour", Dimension.SKU, key, T0, T0.plusSeconds(3600), 3, 1500, closed);
+    }
+
+    @Test
+    @DisplayName("Should load nothing before the first checkpoint")
+    void shouldLoadNothingInitially() {
+        assertThat(adapter.load()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace the previous checkpoint as a whole")
+    void shouldReplaceCheckpoint() {
+        // Given
+        adapter.save(new AnalyticsCheckpoint(T0, List.of(aggregate("SKU1", true), aggregate("SKU2", false), aggregate("SKU3", false)),
+                List.of(new PartitionOffset("vendas", 0, 10), new PartitionOffset("vendas", 1, 5))));
+
+        // When
+        AnalyticsCheckpoint latest = new AnalyticsCheckpoint(T0.plusSeconds(60), List.of(aggregate("SKU1", true)),
+                List.of(new PartitionOffset("vendas", 0, 12)));
+        adapter.save(latest);
+
+        // Then
+        assertThat(adapter.load()).contains(latest);
+    }
+}
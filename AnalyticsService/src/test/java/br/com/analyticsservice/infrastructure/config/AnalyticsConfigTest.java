@@ -0,0 +1,30 @@
+package br.com.analyticsservice.infrastructure.config;
+
+import br.com.analyticsservice.domain.model.WindowDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Analytics Config Tests")
+class AnalyticsConfigTest {
+
+    @Test
+    @DisplayName("Should parse tumbling and hopping windows")
+    void shouldParseWindows() {
+        assertThat(AnalyticsConfig.parseWindows("hour=1h, day=1d,hour-by-15m=1h/15m")).containsExactly(
+                WindowDefinition.tumbling("hour", Duration.ofHours(1)),
+                WindowDefinition.tumbling("day", Duration.ofDays(1)),
+                WindowDefinition.hopping("hour-by-15m", Duration.ofHours(1), Duration.ofMinutes(15)));
+    }
+
+    @Test
+    @DisplayName("Should reject an entry without a size")
+    void shouldRejectEntryWithoutSize() {
+        assertThatThrownBy(() -> AnalyticsConfig.parseWindows("hour"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
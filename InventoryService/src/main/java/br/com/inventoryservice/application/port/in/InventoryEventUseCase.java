@@ -1,10 +1,13 @@
 package br.com.inventoryservice.application.port.in;
 
 import br.com.inventoryservice.domain.model.ProductModel;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
 import br.com.inventoryservice.domain.model.SalesModel;
 import br.com.inventoryservice.domain.model.StockAdjustmentModel;
 import br.com.inventoryservice.domain.model.StoreModel;
 
+import java.util.List;
+
 public interface InventoryEventUseCase {
 
     void handleProductEvent(ProductModel event, String topic, Integer partition, Long offset);
@@ -13,5 +16,12 @@ public interface InventoryEventUseCase {
 
     void handleSalesEvent(SalesModel event, String topic, Integer partition, Long offset);
 
+    /**
+     * Applies a whole poll of sales events in a single transaction.
+     * If any record fails the whole batch is rolled back and the caller is expected to fall back to
+     * {@link #handleSalesEvent(SalesModel, String, Integer, Long)} record by record.
+     */
+    void handleSalesEvents(List<SalesEventRecord> records);
+
     void handleStockAdjustmentEvent(StockAdjustmentModel event, String topic, Integer partition, Long offset);
 }
@@ -0,0 +1,16 @@
+package br.com.inventoryservice.application.port.in;
+
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+
+import java.util.Iterator;
+
+public interface StockImportUseCase {
+
+    /**
+     * Loads a stock snapshot, replacing the quantity of every (loja, sku) it contains and auditing the difference.
+     * The whole file is applied in one transaction and identified by its content, so a failed import can simply be
+     * resent and a repeated one is a no-op.
+     */
+    StockImportResult importSnapshot(String origem, Iterator<StockSnapshotRow> rows);
+}
@@ -0,0 +1,16 @@
+package br.com.inventoryservice.application.port.out;
+
+/**
+ * Keeps the local product/store catalog current from the produtos/lojas topics.
+ */
+public interface CatalogPort {
+    void putProduct(String sku, Boolean ativo);
+    void putStore(String codigo);
+
+    /**
+     * Drops the cached entry so the next lookup reads the DB again.
+     */
+    void evictProduct(String sku);
+
+    void evictStore(String codigo);
+}
@@ -5,4 +5,22 @@ import java.time.Instant;
 public interface ProcessedEventPort {
     boolean exists(String topic, Integer partition, Long offset);
     void save(String topic, Integer partition, Long offset, Instant processadoEm);
+
+    /**
+     * Inserts the event key unless it is already present, in a single statement.
+     * Returns true when the key was inserted, false when it was a duplicate.
+     */
+    boolean saveIfAbsent(String topic, Integer partition, Long offset, Instant processadoEm);
+
+    /**
+     * Watermark mode: claims an offset against the per-partition watermark instead of storing one row per event.
+     * Returns true when the offset was not processed before.
+     */
+    boolean claimOffset(String topic, Integer partition, Long offset);
+
+    /**
+     * Records an eventId for the topic unless it was already processed, in a single statement.
+     * Returns true when the eventId was not processed before.
+     */
+    boolean saveEventIdIfAbsent(String topic, String eventId, Instant processadoEm);
 }
@@ -1,8 +1,16 @@
 package br.com.inventoryservice.application.port.out;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProductReadPort {
     boolean existsBySku(String sku);
     Optional<Boolean> isAtivo(String sku);
+
+    /**
+     * Bulk variant of {@link #isAtivo}: the active flag of every known SKU, resolved with at most one DB query.
+     * SKUs that are unknown or have no flag are absent from the result.
+     */
+    Map<String, Boolean> findAtivoBySkus(Collection<String> skus);
 }
@@ -0,0 +1,16 @@
+package br.com.inventoryservice.application.port.out;
+
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+
+public interface StockImportPort {
+
+    /**
+     * Streams the rows into a staging area and merges them into estoque and ajustes_estoque.
+     * {@code progress} receives the number of rows staged so far at regular intervals.
+     */
+    StockImportResult importSnapshot(String origem, Iterator<StockSnapshotRow> rows, LongConsumer progress);
+}
@@ -1,6 +1,31 @@
 package br.com.inventoryservice.application.port.out;
 
+import java.util.Map;
+import java.util.Optional;
+
 public interface StockPort {
     int getQuantity(String lojaCodigo, String sku);
-    void upsertQuantity(String lojaCodigo, String sku, int quantidade);
+
+    /**
+     * Atomically applies a signed delta (insert-or-increment) in a single statement.
+     * Returns the resulting quantity, or empty when the result would be negative and {@code allowNegative} is false.
+     */
+    Optional<Integer> applyDelta(String lojaCodigo, String sku, int delta, boolean allowNegative);
+
+    /**
+     * Applies one delta per SKU of a store in a single set-based statement, each guarded like {@link #applyDelta}.
+     * Returns the resulting quantity of every SKU that was applied; rejected SKUs are absent.
+     */
+    Map<String, Integer> applyDeltas(String lojaCodigo, Map<String, Integer> deltasBySku, boolean allowNegative);
+
+    /**
+     * Reads the quantity and locks the row until the end of the transaction. Empty when the row does not exist.
+     */
+    Optional<Integer> lockQuantity(String lojaCodigo, String sku);
+
+    /**
+     * Locks a key that may have no row yet until the end of the transaction, so concurrent writers of a new key
+     * are serialized. Callers re-read the quantity afterwards.
+     */
+    void lockKey(String lojaCodigo, String sku);
 }
@@ -1,10 +1,13 @@
 package br.com.inventoryservice.application.usecase;
 
 import br.com.inventoryservice.application.port.in.InventoryEventUseCase;
+import br.com.inventoryservice.application.port.out.CatalogPort;
 import br.com.inventoryservice.application.usecase.helper.EventProcessor;
 import br.com.inventoryservice.application.usecase.helper.StockManager;
 import br.com.inventoryservice.application.usecase.helper.ValidationHelper;
 import br.com.inventoryservice.domain.model.ProductModel;
+import br.com.inventoryservice.domain.model.SalesItem;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
 import br.com.inventoryservice.domain.model.SalesModel;
 import br.com.inventoryservice.domain.model.StockAdjustmentModel;
 import br.com.inventoryservice.domain.model.StoreModel;
@@ -14,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -24,6 +28,7 @@ public class InventoryEventUseCaseImpl implements InventoryEventUseCase {
     private final EventProcessor eventProcessor;
     private final ValidationHelper validationHelper;
     private final StockManager stockManager;
+    private final CatalogPort catalogPort;
 
     @Override
     @Transactional
@@ -36,7 +41,11 @@ public class InventoryEventUseCaseImpl implements InventoryEventUseCase {
             log.warn("[{}] Payload de ProductEvent inválido: {}", topic, event);
             return;
         }
-        validationHelper.validateProductEvent(event.sku(), topic);
+        // The catalog only mirrors rows of produtos: re-check the table instead of trusting a cached entry
+        catalogPort.evictProduct(event.sku());
+        if (validationHelper.validateProductEvent(event.sku(), topic)) {
+            catalogPort.putProduct(event.sku(), event.ativo());
+        }
     }
 
     @Override
@@ -50,12 +59,27 @@ public class InventoryEventUseCaseImpl implements InventoryEventUseCase {
             log.warn("[{}] Payload de StoreEvent inválido: {}", topic, event);
             return;
         }
-        validationHelper.validateStoreEvent(event.codigo(), topic);
+        catalogPort.evictStore(event.codigo());
+        if (validationHelper.validateStoreEvent(event.codigo(), topic)) {
+            catalogPort.putStore(event.codigo());
+        }
     }
 
     @Override
     @Transactional
     public void handleSalesEvent(SalesModel event, String topic, Integer partition, Long offset) {
+        applySalesEvent(event, topic, partition, offset);
+    }
+
+    @Override
+    @Transactional
+    public void handleSalesEvents(List<SalesEventRecord> records) {
+        if (records == null || records.isEmpty()) return;
+        log.debug("Processando lote de {} eventos de venda em uma única transação", records.size());
+        records.forEach(r -> applySalesEvent(r.event(), r.topic(), r.partition(), r.offset()));
+    }
+
+    private void applySalesEvent(SalesModel event, String topic, Integer partition, Long offset) {
         if (!eventProcessor.markProcessed(event != null ? event.eventId() : null, topic, partition, offset)) {
             eventProcessor.handleDuplicate("venda", topic, partition, offset);
             return;
@@ -66,11 +90,9 @@ public class InventoryEventUseCaseImpl implements InventoryEventUseCase {
             log.warn("[{}] Loja codigo={} não encontrada; ignorando evento de venda para manter integridade.", topic, event.loja());
             return;
         }
-        event.itens()
-                .stream()
-                .filter(item -> validationHelper.isValidSalesItem(item, topic))
-                .filter(item -> validationHelper.isActiveProduct(item.sku(), topic))
-                .forEach(item -> stockManager.adjustStock(event.loja(), item.sku(), -item.quantidade(), topic, false));
+        List<SalesItem> items = validationHelper.activeSalesItems(event.itens(), topic);
+        if (items.isEmpty()) return;
+        stockManager.applySale(event.loja(), items, topic);
     }
 
     @Override
@@ -0,0 +1,72 @@
+package br.com.inventoryservice.application.usecase;
+
+import br.com.inventoryservice.application.port.in.StockImportUseCase;
+import br.com.inventoryservice.application.port.out.StockImportPort;
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class StockImportUseCaseImpl implements StockImportUseCase {
+
+    private final StockImportPort stockImportPort;
+    private final Counter stagedRows;
+    private final DistributionSummary throughput;
+    private final Timer duration;
+
+    public StockImportUseCaseImpl(StockImportPort stockImportPort, MeterRegistry meterRegistry) {
+        this.stockImportPort = stockImportPort;
+        this.stagedRows = Counter.builder("inventory.stock.import.rows")
+                .description("Snapshot rows staged by stock imports")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("inventory.stock.import.throughput")
+                .description("Rows per second of each stock import")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+        this.duration = Timer.builder("inventory.stock.import.duration")
+                .description("Wall time of a stock import, staging and merge included")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public StockImportResult importSnapshot(String origem, Iterator<StockSnapshotRow> rows) {
+        long start = System.nanoTime();
+        long[] reported = {0};
+        log.info("Iniciando importação de estoque origem={}", origem);
+
+        StockImportResult result = stockImportPort.importSnapshot(origem, rows, staged -> {
+            stagedRows.increment(staged - reported[0]);
+            reported[0] = staged;
+            log.info("Importação origem={}: {} linhas carregadas ({} linhas/s)", origem, staged, rate(staged, start));
+        });
+        stagedRows.increment(result.linhasLidas() - reported[0]);
+
+        long elapsed = System.nanoTime() - start;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        if (result.reaproveitada()) {
+            log.info("Importação origem={} id={} já aplicada anteriormente; nada foi alterado", origem, result.importId());
+            return result;
+        }
+        throughput.record(rate(result.linhasLidas(), start));
+        log.info("Importação origem={} id={} concluída: lidas={} aplicadas={} rejeitadas={} ajustes={} em {} ms ({} linhas/s)",
+                origem, result.importId(), result.linhasLidas(), result.linhasAplicadas(), result.linhasRejeitadas(),
+                result.ajustes(), TimeUnit.NANOSECONDS.toMillis(elapsed), rate(result.linhasLidas(), start));
+        return result;
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
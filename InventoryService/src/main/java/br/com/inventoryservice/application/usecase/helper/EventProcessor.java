@@ -1,37 +1,74 @@
 package br.com.inventoryservice.application.usecase.helper;
 
 import br.com.inventoryservice.application.port.out.ProcessedEventPort;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 
+/**
+ * Idempotency guard. Recently processed keys are answered from {@link RecentEventCache} without touching the DB;
+ * everything else is claimed with a single statement that locks the key and inserts it unless it was processed
+ * inside the dedup horizon, which reports duplicates without a prior select.
+ * <p>
+ * With {@code inventory.idempotency.mode=watermark}, events with Kafka coordinates are checked against a
+ * per-partition offset watermark instead, so the idempotency table stays at a handful of rows per partition.
+ * That mode does not detect the same eventId published twice at different offsets.
+ * <p>
+ * Events carrying an eventId are deduplicated in a separate store keyed by a 128-bit digest of (topic, eventId),
+ * so distinct eventIds never collide and the offset index only holds real Kafka coordinates.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class EventProcessor {
 
     private final ProcessedEventPort processedEventPort;
+    private final RecentEventCache recentEventCache;
+    private final Counter cacheDuplicates;
+    private final Counter dbDuplicates;
+    private final Counter newEvents;
+
+    @Value("${inventory.idempotency.mode:row}")
+    private String mode;
+
+    public EventProcessor(ProcessedEventPort processedEventPort, RecentEventCache recentEventCache, MeterRegistry meterRegistry) {
+        this.processedEventPort = processedEventPort;
+        this.recentEventCache = recentEventCache;
+        this.cacheDuplicates = checkCounter(meterRegistry, "cache_duplicate");
+        this.dbDuplicates = checkCounter(meterRegistry, "db_duplicate");
+        this.newEvents = checkCounter(meterRegistry, "new");
+    }
+
+    private static Counter checkCounter(MeterRegistry registry, String result) {
+        return Counter.builder("inventory.idempotency.checks")
+                .description("Idempotency checks by outcome; cache_duplicate checks did not touch the DB")
+                .tag("result", result)
+                .register(registry);
+    }
 
     public boolean markProcessed(String eventId, String topic, Integer partition, Long offset) {
         log.debug("Iniciando marcação de evento como processado: eventId={}, topic={}, partition={}, offset={}", 
                  eventId, topic, partition, offset);
+
+        if ("watermark".equalsIgnoreCase(mode) && topic != null && partition != null && offset != null) {
+            boolean claimed = processedEventPort.claimOffset(topic, partition, offset);
+            (claimed ? newEvents : dbDuplicates).increment();
+            log.debug("Offset verificado pelo watermark: topic={}, partition={}, offset={}, novo={}", topic, partition, offset, claimed);
+            return claimed;
+        }
         
         if (eventId != null && !eventId.isBlank()) {
             String effectiveTopic = topic != null ? topic : "unknown";
-            Integer effectivePartition = 0;
-            Long effectiveOffset = (long) eventId.hashCode();
-            
-            log.debug("Processando evento com eventId. Topic efetivo: {}, partition: {}, offset: {}", 
-                     effectiveTopic, effectivePartition, effectiveOffset);
-            
-            boolean exists = processedEventPort.exists(effectiveTopic, effectivePartition, effectiveOffset);
-            if (exists) {
+
+            log.debug("Processando evento com eventId. Topic efetivo: {}, eventId: {}", effectiveTopic, eventId);
+
+            if (!claimEventId(effectiveTopic, eventId)) {
                 log.debug("Evento já foi processado anteriormente: eventId={}", eventId);
                 return false;
             }
-            processedEventPort.save(effectiveTopic, effectivePartition, effectiveOffset, Instant.now());
             log.info("Evento marcado como processado com sucesso: eventId={}, topic={}", eventId, effectiveTopic);
             return true;
         }
@@ -41,19 +78,50 @@ public class EventProcessor {
             return true;
         }
 
-        boolean exists = processedEventPort.exists(topic, partition, offset);
-        if (exists) {
+        if (!claim(topic, partition, offset)) {
             log.debug("Evento já foi processado anteriormente: topic={}, partition={}, offset={}", 
                      topic, partition, offset);
             return false;
         }
-        processedEventPort.save(topic, partition, offset, Instant.now());
         log.info("Evento marcado como processado com sucesso: topic={}, partition={}, offset={}", 
                 topic, partition, offset);
         return true;
     }
 
+    private boolean claim(String topic, Integer partition, Long offset) {
+        String key = topic + ':' + partition + ':' + offset;
+        if (recentEventCache.contains(key)) {
+            cacheDuplicates.increment();
+            return false;
+        }
+        if (!processedEventPort.saveIfAbsent(topic, partition, offset, Instant.now())) {
+            dbDuplicates.increment();
+            // The conflicting row may be this transaction's own uncommitted insert (batch mode), so cache only on commit
+            recentEventCache.addAfterCommit(key);
+            return false;
+        }
+        newEvents.increment();
+        recentEventCache.addAfterCommit(key);
+        return true;
+    }
+
+    private boolean claimEventId(String topic, String eventId) {
+        String key = topic + "#" + eventId;
+        if (recentEventCache.contains(key)) {
+            cacheDuplicates.increment();
+            return false;
+        }
+        if (!processedEventPort.saveEventIdIfAbsent(topic, eventId, Instant.now())) {
+            dbDuplicates.increment();
+            recentEventCache.addAfterCommit(key);
+            return false;
+        }
+        newEvents.increment();
+        recentEventCache.addAfterCommit(key);
+        return true;
+    }
+
     public void handleDuplicate(String eventType, String topic, Integer partition, Long offset) {
         log.info("[{}] Evento de {} duplicado ignorado na partition={} offset={}", topic, eventType, partition, offset);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package br.com.inventoryservice.application.usecase.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded set of recently processed event keys, used as the in-memory front tier of the idempotency guard.
+ * Keys are only added once the surrounding transaction commits, so a rolled-back event is never reported as duplicate.
+ */
+@Component
+public class RecentEventCache {
+
+    private final Set<String> keys;
+
+    public RecentEventCache(@Value("${inventory.idempotency.recent-cache-size:100000}") int maxSize) {
+        this.keys = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        }));
+    }
+
+    public boolean contains(String key) {
+        return keys.contains(key);
+    }
+
+    public void add(String key) {
+        keys.add(key);
+    }
+
+    public void addAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(key);
+            }
+        });
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
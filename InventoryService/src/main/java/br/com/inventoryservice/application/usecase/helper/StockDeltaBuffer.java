@@ -0,0 +1,158 @@
+package br.com.inventoryservice.application.usecase.helper;
+
+import br.com.inventoryservice.application.port.out.StockPort;
+import br.com.inventoryservice.domain.model.StockKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Coalesces stock deltas per (loja, sku) within the current transaction and writes one combined update per key
+ * just before commit. With a batch listener the transaction spans a whole poll, so a hot SKU receiving hundreds
+ * of sales in a poll costs one locked read and one write.
+ * <p>
+ * The non-negative rule is evaluated per delta against the running total, starting from the row read with
+ * {@code FOR UPDATE}, so the outcome of every event is the same as in strict mode. A key without a row has nothing
+ * to lock, so it is locked with an advisory lock and read again before buffering. The combined update still goes
+ * through the guarded statement. Stores listed in
+ * {@code inventory.stock.coalescing.strict-stores} always bypass the buffer.
+ */
+@Component
+@Slf4j
+public class StockDeltaBuffer {
+
+    private static final class Pending {
+        private final int base;
+        private int net;
+        private int deltas;
+        private boolean allowNegative;
+
+        private Pending(int base) {
+            this.base = base;
+        }
+
+        private int running() {
+            return base + net;
+        }
+    }
+
+    private final StockPort stockPort;
+    private final boolean enabled;
+    private final Set<String> strictStores;
+    private final Counter bufferedDeltas;
+    private final Counter flushedKeys;
+    private final DistributionSummary coalescingRatio;
+    private final Timer flushTimer;
+
+    public StockDeltaBuffer(StockPort stockPort,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.stock.coalescing.enabled:false}") boolean enabled,
+                            @Value("${inventory.stock.coalescing.strict-stores:}") Set<String> strictStores) {
+        this.stockPort = stockPort;
+        this.enabled = enabled;
+        this.strictStores = strictStores;
+        this.bufferedDeltas = Counter.builder("inventory.stock.coalescing.deltas")
+                .description("Stock deltas absorbed by the coalescing buffer")
+                .register(meterRegistry);
+        this.flushedKeys = Counter.builder("inventory.stock.coalescing.writes")
+                .description("Combined stock updates written by the coalescing buffer")
+                .register(meterRegistry);
+        this.coalescingRatio = DistributionSummary.builder("inventory.stock.coalescing.ratio")
+                .description("Deltas per combined stock update")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("inventory.stock.coalescing.flush")
+                .description("Time to write the combined stock updates of a transaction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True when deltas for this store are coalesced: coalescing is enabled, the store is not strict and a
+     * transaction is active to flush into.
+     */
+    public boolean accepts(String lojaCodigo) {
+        return enabled
+                && !strictStores.contains(lojaCodigo)
+                && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * Buffers a delta. Returns the running quantity, or empty when the delta would make it negative and
+     * {@code allowNegative} is false; rejected deltas are not buffered.
+     */
+    public Optional<Integer> add(String lojaCodigo, String sku, int delta, boolean allowNegative) {
+        StockKey key = new StockKey(lojaCodigo, sku);
+        Pending pending = pendingForTransaction().computeIfAbsent(key, k -> new Pending(lockBase(lojaCodigo, sku)));
+        if (!allowNegative && pending.running() + delta < 0) {
+            return Optional.empty();
+        }
+        pending.net += delta;
+        pending.deltas++;
+        pending.allowNegative |= allowNegative;
+        bufferedDeltas.increment();
+        return Optional.of(pending.running());
+    }
+
+    /**
+     * Reads and locks the current quantity. When the row does not exist yet, takes the advisory lock of the key and
+     * reads again: a concurrent transaction may have created the row while this one waited for the lock.
+     */
+    private int lockBase(String lojaCodigo, String sku) {
+        Optional<Integer> quantity = stockPort.lockQuantity(lojaCodigo, sku);
+        if (quantity.isPresent()) return quantity.get();
+        stockPort.lockKey(lojaCodigo, sku);
+        return stockPort.lockQuantity(lojaCodigo, sku).orElse(0);
+    }
+
+    /**
+     * Running quantity of a key in the current transaction, including buffered deltas.
+     */
+    public int runningQuantity(String lojaCodigo, String sku) {
+        Pending pending = pendingForTransaction().get(new StockKey(lojaCodigo, sku));
+        return pending != null ? pending.running() : stockPort.getQuantity(lojaCodigo, sku);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<StockKey, Pending> pendingForTransaction() {
+        Map<StockKey, Pending> pending = (Map<StockKey, Pending>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        Map<StockKey, Pending> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flushPending(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockDeltaBuffer.this);
+            }
+        });
+        return created;
+    }
+
+    void flushPending(Map<StockKey, Pending> pending) {
+        flushTimer.record(() -> pending.forEach((key, p) -> {
+            if (p.net != 0 && stockPort.applyDelta(key.lojaCodigo(), key.sku(), p.net, p.allowNegative).isEmpty()) {
+                throw new IllegalStateException("Estoque negativo ao descarregar o buffer para loja=%s sku=%s (delta=%d)"
+                        .formatted(key.lojaCodigo(), key.sku(), p.net));
+            }
+            flushedKeys.increment();
+            coalescingRatio.record(p.deltas);
+        }));
+        log.debug("Buffer de estoque descarregado: {} chaves", pending.size());
+        pending.clear();
+    }
+}
@@ -2,12 +2,17 @@ package br.com.inventoryservice.application.usecase.helper;
 
 import br.com.inventoryservice.application.port.out.StockAdjustmentPort;
 import br.com.inventoryservice.application.port.out.StockPort;
+import br.com.inventoryservice.domain.model.SalesItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -16,23 +21,57 @@ public class StockManager {
 
     private final StockPort stockPort;
     private final StockAdjustmentPort stockAdjustmentPort;
+    private final StockDeltaBuffer stockDeltaBuffer;
 
     @Value("${inventory.allowNegative:false}")
     private boolean allowNegative;
 
     public void adjustStock(String lojaCodigo, String sku, int delta, String topic, boolean allowZeroDelta) {
         if (delta == 0 && !allowZeroDelta) return;
-        
-        int base = stockPort.getQuantity(lojaCodigo, sku);
-        int newQty = base + delta;
-        
-        if (newQty < 0 && !allowNegative) {
+
+        if (delta != 0 && stockDeltaBuffer.accepts(lojaCodigo)) {
+            Optional<Integer> running = stockDeltaBuffer.add(lojaCodigo, sku, delta, allowNegative);
+            if (running.isEmpty()) {
+                log.warn("[{}] Operação resultaria em estoque negativo (base={}, delta={}) para loja={} sku={}; operação bloqueada.",
+                        topic, stockDeltaBuffer.runningQuantity(lojaCodigo, sku), delta, lojaCodigo, sku);
+                return;
+            }
+            log.debug("[{}] Delta acumulado para loja={} sku={}: delta={} quantidade={}", topic, lojaCodigo, sku, delta, running.get());
+            return;
+        }
+
+        Optional<Integer> newQty = stockPort.applyDelta(lojaCodigo, sku, delta, allowNegative);
+        if (newQty.isEmpty()) {
             log.warn("[{}] Operação resultaria em estoque negativo (base={}, delta={}) para loja={} sku={}; operação bloqueada.",
-                    topic, base, delta, lojaCodigo, sku);
+                    topic, stockPort.getQuantity(lojaCodigo, sku), delta, lojaCodigo, sku);
+            return;
+        }
+        log.debug("[{}] Estoque atualizado para loja={} sku={}: delta={} quantidade={}", topic, lojaCodigo, sku, delta, newQty.get());
+    }
+
+    /**
+     * Decrements the stock of every item of a sale. Quantities of repeated SKUs are summed first; all SKUs are then
+     * applied with one set-based statement, each checked against the non-negative rule on its own.
+     */
+    public void applySale(String lojaCodigo, List<SalesItem> items, String topic) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        items.forEach(item -> deltas.merge(item.sku(), -item.quantidade(), Integer::sum));
+
+        if (stockDeltaBuffer.accepts(lojaCodigo)) {
+            deltas.forEach((sku, delta) -> adjustStock(lojaCodigo, sku, delta, topic, false));
             return;
         }
-        
-        stockPort.upsertQuantity(lojaCodigo, sku, newQty);
+
+        Map<String, Integer> applied = stockPort.applyDeltas(lojaCodigo, deltas, allowNegative);
+        deltas.forEach((sku, delta) -> {
+            Integer newQty = applied.get(sku);
+            if (newQty == null) {
+                log.warn("[{}] Operação resultaria em estoque negativo (base={}, delta={}) para loja={} sku={}; operação bloqueada.",
+                        topic, stockPort.getQuantity(lojaCodigo, sku), delta, lojaCodigo, sku);
+            } else {
+                log.debug("[{}] Estoque atualizado para loja={} sku={}: delta={} quantidade={}", topic, lojaCodigo, sku, delta, newQty);
+            }
+        });
     }
 
     public void saveStockAdjustment(String loja, String sku, int delta, String motivo, Instant timestamp) {
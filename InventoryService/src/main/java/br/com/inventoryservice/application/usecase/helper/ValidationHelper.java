@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -55,29 +57,57 @@ public class ValidationHelper {
         return true;
     }
 
+    /**
+     * Valid items of a sale whose product is known and active, checked with a single bulk product lookup.
+     */
+    public List<SalesItem> activeSalesItems(List<SalesItem> itens, String topic) {
+        List<SalesItem> valid = itens.stream().filter(item -> isValidSalesItem(item, topic)).toList();
+        if (valid.isEmpty()) return valid;
+
+        Map<String, Boolean> ativos = productReadPort.findAtivoBySkus(valid.stream().map(SalesItem::sku).distinct().toList());
+        return valid.stream().filter(item -> {
+            Boolean ativo = ativos.get(item.sku());
+            if (ativo == null) {
+                log.warn("[{}] Produto sku={} não encontrado", topic, item.sku());
+                return false;
+            }
+            if (!ativo) {
+                log.warn("[{}] Produto sku={} inativo", topic, item.sku());
+                return false;
+            }
+            return true;
+        }).toList();
+    }
+
+    /**
+     * Whether the product of a produtos event exists in the replicated table; only then may it enter the catalog.
+     */
     public boolean validateProductEvent(String sku, String topic) {
         if (sku == null) {
             return false;
         }
         boolean exists = productExists(sku);
         if (!exists) {
-            log.warn("[{}] Produto sku={} não encontrado na fonte externa/replicada; evento aceito para idempotência, mas nenhuma escrita será realizada.", topic, sku);
+            log.warn("[{}] Produto sku={} não encontrado na fonte externa/replicada; evento aceito para idempotência, mas o catálogo não será atualizado.", topic, sku);
         } else {
             log.debug("[{}] Produto sku={} validado (somente leitura)", topic, sku);
         }
-        return true;
+        return exists;
     }
 
+    /**
+     * Whether the store of a lojas event exists in the replicated table; only then may it enter the catalog.
+     */
     public boolean validateStoreEvent(String codigo, String topic) {
         if (codigo == null) {
             return false;
         }
         boolean exists = storeExists(codigo);
         if (!exists) {
-            log.warn("[{}] Loja codigo={} não encontrada na fonte externa/replicada; evento aceito para idempotência, mas nenhuma escrita será realizada.", topic, codigo);
+            log.warn("[{}] Loja codigo={} não encontrada na fonte externa/replicada; evento aceito para idempotência, mas o catálogo não será atualizado.", topic, codigo);
         } else {
             log.debug("[{}] Loja codigo={} validada (somente leitura)", topic, codigo);
         }
-        return true;
+        return exists;
     }
 }
\ No newline at end of file
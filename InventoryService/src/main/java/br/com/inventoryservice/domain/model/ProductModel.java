@@ -1,4 +1,8 @@
 package br.com.inventoryservice.domain.model;
 
-public record ProductModel(String eventId, String sku) {
+public record ProductModel(String eventId, String sku, Boolean ativo) {
+
+    public ProductModel(String eventId, String sku) {
+        this(eventId, sku, null);
+    }
 }
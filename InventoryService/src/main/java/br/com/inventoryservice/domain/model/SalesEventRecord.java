@@ -0,0 +1,7 @@
+package br.com.inventoryservice.domain.model;
+
+/**
+ * A sales event together with the Kafka coordinates it was consumed from, used by batch processing.
+ */
+public record SalesEventRecord(SalesModel event, String topic, Integer partition, Long offset) {
+}
@@ -0,0 +1,14 @@
+package br.com.inventoryservice.domain.model;
+
+/**
+ * Outcome of a stock snapshot import. {@code reaproveitada} is true when the same file had already been imported
+ * and nothing was written this time.
+ */
+public record StockImportResult(String importId,
+                                String origem,
+                                long linhasLidas,
+                                long linhasAplicadas,
+                                long linhasRejeitadas,
+                                long ajustes,
+                                boolean reaproveitada) {
+}
@@ -0,0 +1,4 @@
+package br.com.inventoryservice.domain.model;
+
+public record StockKey(String lojaCodigo, String sku) {
+}
@@ -0,0 +1,7 @@
+package br.com.inventoryservice.domain.model;
+
+/**
+ * One line of a stock snapshot: the absolute quantity a store holds for a SKU.
+ */
+public record StockSnapshotRow(String lojaCodigo, String sku, Integer quantidade) {
+}
@@ -0,0 +1,128 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.dispatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a list of items in parallel on virtual threads while preserving the order of items that share a key.
+ * Items with the same key form a lane that is processed sequentially; lanes run concurrently, with at most
+ * {@code maxInFlight} items being handled at once. A lane stops at its first failure, so no later item of
+ * that key is applied ahead of the failed one.
+ * <p>
+ * {@link #dispatch} returns the lowest failed index: every item before it completed, which is what allows
+ * the caller to commit only a contiguous prefix of offsets.
+ */
+@Slf4j
+public class KeyOrderedDispatcher<T> implements AutoCloseable {
+
+    public record Failure(int index, RuntimeException error) {
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final DistributionSummary lanesPerDispatch;
+    private final Counter backpressureWaits;
+
+    public KeyOrderedDispatcher(int maxInFlight, String metricPrefix, MeterRegistry meterRegistry) {
+        this.inFlight = new Semaphore(maxInFlight);
+        Gauge.builder(metricPrefix + ".inflight", inFlight, s -> maxInFlight - s.availablePermits())
+                .description("Items currently being handled")
+                .register(meterRegistry);
+        this.lanesPerDispatch = DistributionSummary.builder(metricPrefix + ".lanes")
+                .description("Distinct keys per dispatch")
+                .register(meterRegistry);
+        this.backpressureWaits = Counter.builder(metricPrefix + ".backpressure")
+                .description("Items that waited because the in-flight limit was reached")
+                .register(meterRegistry);
+    }
+
+    public Optional<Failure> dispatch(List<T> items, Function<T, String> keyOf, Consumer<T> handler) {
+        Map<String, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String key = keyOf.apply(items.get(i));
+            lanes.computeIfAbsent(key != null ? key : "", k -> new ArrayList<>()).add(i);
+        }
+        lanesPerDispatch.record(lanes.size());
+
+        AtomicReferenceArray<RuntimeException> errors = new AtomicReferenceArray<>(items.size());
+        List<Future<?>> futures = new ArrayList<>(lanes.size());
+        for (List<Integer> lane : lanes.values()) {
+            futures.add(executor.submit(() -> runLane(items, lane, handler, errors)));
+        }
+        awaitAll(futures);
+
+        for (int i = 0; i < items.size(); i++) {
+            RuntimeException error = errors.get(i);
+            if (error != null) return Optional.of(new Failure(i, error));
+        }
+        return Optional.empty();
+    }
+
+    private void runLane(List<T> items, List<Integer> lane, Consumer<T> handler, AtomicReferenceArray<RuntimeException> errors) {
+        for (int index : lane) {
+            try {
+                acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.set(index, new IllegalStateException("Dispatch interrompido", e));
+                return;
+            }
+            try {
+                handler.accept(items.get(index));
+            } catch (Throwable e) {
+                errors.set(index, e instanceof RuntimeException re ? re : new IllegalStateException(e));
+                return;
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private void acquire() throws InterruptedException {
+        if (!inFlight.tryAcquire()) {
+            backpressureWaits.increment();
+            inFlight.acquire();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // Keep waiting: returning early would let the caller commit offsets of items still running
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    log.error("Falha inesperada em lane do dispatcher", e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers the annotated listener only when {@code inventory.kafka.sales.mode} selects it ({@code single} when
+ * unset). An unknown mode fails the startup instead of leaving vendas without a consumer.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+@Conditional(OnSalesConsumptionModeCondition.class)
+public @interface ConditionalOnSalesConsumptionMode {
+
+    SalesConsumptionMode value();
+}
@@ -0,0 +1,24 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+class OnSalesConsumptionModeCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnSalesConsumptionMode.class.getName());
+        SalesConsumptionMode required = (SalesConsumptionMode) attributes.get("value");
+        SalesConsumptionMode mode = Binder.get(context.getEnvironment())
+                .bind(SalesConsumptionMode.PROPERTY, SalesConsumptionMode.class)
+                .orElse(SalesConsumptionMode.SINGLE);
+        return mode == required
+                ? ConditionOutcome.match(SalesConsumptionMode.PROPERTY + " is " + mode)
+                : ConditionOutcome.noMatch(SalesConsumptionMode.PROPERTY + " is " + mode + ", not " + required);
+    }
+}
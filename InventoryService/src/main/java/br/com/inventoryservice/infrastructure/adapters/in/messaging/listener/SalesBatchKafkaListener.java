@@ -0,0 +1,103 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.inventoryservice.application.port.in.InventoryEventUseCase;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.event.SalesEvent;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.mapper.SalesEventMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Batch listener for vendas (sales) events, enabled with {@code inventory.kafka.sales.mode=batch}.
+ * A whole poll is applied in one transaction and offsets are committed once per poll. When the batch
+ * fails, records are replayed one by one so a poison record is isolated instead of rejecting the batch.
+ */
+@Component
+@Slf4j
+@ConditionalOnSalesConsumptionMode(SalesConsumptionMode.BATCH)
+public class SalesBatchKafkaListener {
+
+    private final InventoryEventUseCase service;
+    private final DistributionSummary batchSize;
+    private final Timer batchTimer;
+    private final Counter fallbackCounter;
+
+    public SalesBatchKafkaListener(InventoryEventUseCase service, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.batchSize = DistributionSummary.builder("inventory.sales.batch.size")
+                .description("Number of sales records per poll")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("inventory.sales.batch.duration")
+                .description("Time to apply a poll of sales records")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("inventory.sales.batch.fallback")
+                .description("Batches replayed record by record after a failure")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "${inventory.kafka.topics.vendas:vendas}",
+            groupId = "${inventory.kafka.group-id:inventory-service}",
+            batch = "true",
+            properties = {
+                    "max.poll.records=${inventory.kafka.batch.max-records:500}",
+                    "fetch.min.bytes=${inventory.kafka.batch.min-bytes:1}",
+                    "fetch.max.wait.ms=${inventory.kafka.batch.max-wait-ms:500}"
+            })
+    public void onVendas(List<ConsumerRecord<String, SalesEvent>> records) {
+        if (records == null || records.isEmpty()) return;
+        log.info("[vendas] Lote recebido com {} eventos (offsets por partition {})", records.size(), offsetRanges(records));
+
+        List<SalesEventRecord> domainRecords = records.stream()
+                .map(r -> new SalesEventRecord(SalesEventMapper.toDomain(r.value()), r.topic(), r.partition(), r.offset()))
+                .toList();
+        batchSize.record(domainRecords.size());
+
+        try {
+            batchTimer.record(() -> service.handleSalesEvents(domainRecords));
+        } catch (RuntimeException e) {
+            log.warn("[vendas] Falha ao processar lote de {} eventos; reprocessando individualmente", domainRecords.size(), e);
+            fallbackCounter.increment();
+            processIndividually(domainRecords);
+        }
+    }
+
+    /**
+     * First..last offset per partition, e.g. {@code {0=10..42, 3=7..9}}; a poll can span several partitions.
+     */
+    static Map<Integer, String> offsetRanges(List<? extends ConsumerRecord<?, ?>> records) {
+        Map<Integer, long[]> ranges = new TreeMap<>();
+        for (ConsumerRecord<?, ?> r : records) {
+            long[] range = ranges.computeIfAbsent(r.partition(), p -> new long[]{r.offset(), r.offset()});
+            range[0] = Math.min(range[0], r.offset());
+            range[1] = Math.max(range[1], r.offset());
+        }
+        Map<Integer, String> formatted = new TreeMap<>();
+        ranges.forEach((partition, range) -> formatted.put(partition, range[0] + ".." + range[1]));
+        return formatted;
+    }
+
+    private void processIndividually(List<SalesEventRecord> records) {
+        for (int i = 0; i < records.size(); i++) {
+            SalesEventRecord r = records.get(i);
+            try {
+                service.handleSalesEvent(r.event(), r.topic(), r.partition(), r.offset());
+            } catch (RuntimeException e) {
+                // Records before index i are committed; the error handler retries/recovers record i and redelivers the rest.
+                throw new BatchListenerFailedException("Falha ao processar evento de venda partition=" + r.partition()
+                        + " offset=" + r.offset(), e, i);
+            }
+        }
+    }
+}
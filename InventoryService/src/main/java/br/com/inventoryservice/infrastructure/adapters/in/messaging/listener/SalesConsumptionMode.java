@@ -0,0 +1,19 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+/**
+ * How vendas (sales) events are consumed, selected with {@code inventory.kafka.sales.mode}. Exactly one sales
+ * listener is registered, so the modes can never consume the same group side by side.
+ */
+public enum SalesConsumptionMode {
+
+    /** One record per transaction ({@link SalesKafkaListener}). */
+    SINGLE,
+
+    /** One transaction per poll ({@link SalesBatchKafkaListener}). */
+    BATCH,
+
+    /** Key-ordered parallel transactions per poll ({@link SalesParallelKafkaListener}). */
+    PARALLEL;
+
+    public static final String PROPERTY = "inventory.kafka.sales.mode";
+}
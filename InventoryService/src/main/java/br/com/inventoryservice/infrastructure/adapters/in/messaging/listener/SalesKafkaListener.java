@@ -16,8 +16,10 @@ import org.springframework.stereotype.Component;
 /**
  * Listener for vendas (sales) events that should decrement inventory.
  * Now receives a typed SalesEvent DTO.
+ * Active in the default {@code inventory.kafka.sales.mode=single}; see {@link SalesConsumptionMode} for the others.
  */
 @Component
+@ConditionalOnSalesConsumptionMode(SalesConsumptionMode.SINGLE)
 @Slf4j
 @RequiredArgsConstructor
 public class SalesKafkaListener {
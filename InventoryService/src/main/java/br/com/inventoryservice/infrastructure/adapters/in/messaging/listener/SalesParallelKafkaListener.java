@@ -0,0 +1,76 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.inventoryservice.application.port.in.InventoryEventUseCase;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dispatcher.KeyOrderedDispatcher;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.event.SalesEvent;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.mapper.SalesEventMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Parallel listener for vendas (sales) events, enabled with {@code inventory.kafka.sales.mode=parallel}.
+ * Each poll is fanned out to virtual threads keyed by loja: sales of the same store keep their order, sales
+ * of different stores run concurrently, each in its own transaction. The poll is acknowledged only up to the
+ * first failed record; later records are redelivered and the ones already applied are dropped by the
+ * idempotency guard.
+ */
+@Component
+@Slf4j
+@ConditionalOnSalesConsumptionMode(SalesConsumptionMode.PARALLEL)
+public class SalesParallelKafkaListener {
+
+    private final InventoryEventUseCase service;
+    private final KeyOrderedDispatcher<SalesEventRecord> dispatcher;
+    private final Timer pollTimer;
+
+    public SalesParallelKafkaListener(InventoryEventUseCase service,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${inventory.kafka.parallel.max-in-flight:10}") int maxInFlight) {
+        this.service = service;
+        this.dispatcher = new KeyOrderedDispatcher<>(maxInFlight, "inventory.sales.parallel", meterRegistry);
+        this.pollTimer = Timer.builder("inventory.sales.parallel.duration")
+                .description("Time to apply a poll of sales records in parallel")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "${inventory.kafka.topics.vendas:vendas}",
+            groupId = "${inventory.kafka.group-id:inventory-service}",
+            batch = "true",
+            properties = {
+                    "max.poll.records=${inventory.kafka.parallel.max-records:500}"
+            })
+    public void onVendas(List<ConsumerRecord<String, SalesEvent>> records) {
+        if (records == null || records.isEmpty()) return;
+        log.info("[vendas] Lote recebido com {} eventos para processamento paralelo", records.size());
+
+        List<SalesEventRecord> domainRecords = records.stream()
+                .map(r -> new SalesEventRecord(SalesEventMapper.toDomain(r.value()), r.topic(), r.partition(), r.offset()))
+                .toList();
+
+        pollTimer.record(() -> dispatcher.dispatch(domainRecords,
+                        r -> r.event() != null ? r.event().loja() : null,
+                        r -> service.handleSalesEvent(r.event(), r.topic(), r.partition(), r.offset()))
+                .ifPresent(failure -> {
+                    SalesEventRecord r = domainRecords.get(failure.index());
+                    // Records before the index are committed; the error handler retries/recovers it and redelivers the rest.
+                    throw new BatchListenerFailedException("Falha ao processar evento de venda partition=" + r.partition()
+                            + " offset=" + r.offset(), failure.error(), failure.index());
+                }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.close();
+    }
+}
@@ -13,12 +13,15 @@ public final class ProductEventMapper {
     public static ProductModel toDomain(ProductEvent event) {
         if (event == null) return null;
         String sku = null;
+        Boolean ativo = null;
         if (event.getDados() != null) {
             sku = event.getDados().getSku();
+            ativo = event.getDados().getAtivo();
         }
         return new ProductModel(
                 event.getEventId(),
-                sku
+                sku,
+                ativo
         );
     }
 }
@@ -0,0 +1,60 @@
+package br.com.inventoryservice.infrastructure.adapters.in.web;
+
+import br.com.inventoryservice.application.port.in.StockImportUseCase;
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Bulk stock snapshot import used to onboard stores. The request body is streamed into the import, never buffered.
+ * Answers 201 when the snapshot was applied and 200 when the same content had already been imported.
+ */
+@RestController
+@RequestMapping("/api/inventory/stock/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class StockImportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final StockImportUseCase stockImportUseCase;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<StockImportResult> importCsv(@RequestParam(required = false) String origem, InputStream body) {
+        return importSnapshot(origem, StockSnapshotReader.csv(reader(body)));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StockImportResult> importNdjson(@RequestParam(required = false) String origem, InputStream body) {
+        return importSnapshot(origem, StockSnapshotReader.ndjson(reader(body), objectMapper));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSnapshot(IllegalArgumentException e) {
+        log.warn("Importação de estoque rejeitada: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
+    }
+
+    private ResponseEntity<StockImportResult> importSnapshot(String origem, Iterator<StockSnapshotRow> rows) {
+        StockImportResult result = stockImportUseCase.importSnapshot(origem, rows);
+        return ResponseEntity.status(result.reaproveitada() ? HttpStatus.OK : HttpStatus.CREATED).body(result);
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.inventoryservice.infrastructure.adapters.in.web;
+
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import br.com.inventoryservice.infrastructure.adapters.in.web.dto.StockSnapshotData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily parses a stock snapshot, one line at a time, so arbitrarily large files are streamed straight into the
+ * import without being held in memory.
+ * <p>
+ * CSV files must start with a header naming the columns {@code loja}, {@code sku} and {@code quantidade} in any
+ * order; NDJSON files carry one {@code {"loja", "sku", "quantidade"}} object per line. Blank lines are skipped.
+ */
+abstract class StockSnapshotReader implements Iterator<StockSnapshotRow> {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private StockSnapshotRow next;
+
+    private StockSnapshotReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static Iterator<StockSnapshotRow> csv(BufferedReader reader) {
+        return new Csv(reader);
+    }
+
+    static Iterator<StockSnapshotRow> ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    protected abstract StockSnapshotRow parse(String line, long lineNumber);
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        String line;
+        while ((line = readLine()) != null) {
+            if (!line.isBlank()) {
+                next = parse(line, lineNumber);
+                if (next != null) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public StockSnapshotRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        StockSnapshotRow row = next;
+        next = null;
+        return row;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) lineNumber++;
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Integer parseQuantity(String value, long lineNumber) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Linha " + lineNumber + ": quantidade inválida '" + value + "'");
+        }
+    }
+
+    private static final class Csv extends StockSnapshotReader {
+
+        private int lojaColumn = -1;
+        private int skuColumn = -1;
+        private int quantidadeColumn = -1;
+
+        private Csv(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected StockSnapshotRow parse(String line, long lineNumber) {
+            List<String> fields = split(line);
+            if (quantidadeColumn < 0) {
+                readHeader(fields);
+                return null;
+            }
+            int width = Math.max(lojaColumn, Math.max(skuColumn, quantidadeColumn)) + 1;
+            if (fields.size() < width) {
+                throw new IllegalArgumentException("Linha " + lineNumber + ": esperadas " + width + " colunas, encontradas " + fields.size());
+            }
+            return new StockSnapshotRow(
+                    fields.get(lojaColumn).trim(),
+                    fields.get(skuColumn).trim(),
+                    parseQuantity(fields.get(quantidadeColumn), lineNumber));
+        }
+
+        private void readHeader(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "loja", "loja_codigo" -> lojaColumn = i;
+                    case "sku", "produto_sku" -> skuColumn = i;
+                    case "quantidade" -> quantidadeColumn = i;
+                    default -> { }
+                }
+            }
+            if (lojaColumn < 0 || skuColumn < 0 || quantidadeColumn < 0) {
+                throw new IllegalArgumentException("Cabeçalho CSV deve conter as colunas loja, sku e quantidade");
+            }
+        }
+
+        // RFC 4180 fields on a single line: optional double quotes, "" as an escaped quote.
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class Ndjson extends StockSnapshotReader {
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected StockSnapshotRow parse(String line, long lineNumber) {
+            try {
+                StockSnapshotData data = objectMapper.readValue(line, StockSnapshotData.class);
+                return new StockSnapshotRow(data.getLoja(), data.getSku(), data.getQuantidade());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Linha " + lineNumber + ": JSON inválido (" + e.getOriginalMessage() + ")");
+            }
+        }
+    }
+}
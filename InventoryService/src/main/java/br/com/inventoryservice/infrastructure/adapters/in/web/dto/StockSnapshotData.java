@@ -0,0 +1,16 @@
+package br.com.inventoryservice.infrastructure.adapters.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshotData {
+    private String loja;
+    private String sku;
+    private Integer quantidade;
+}
@@ -0,0 +1,138 @@
+package br.com.inventoryservice.infrastructure.adapters.out.catalog;
+
+import br.com.inventoryservice.application.port.out.CatalogPort;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProductRepository;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory product and store catalog used by the read adapters on the hot sales path.
+ * Bootstrapped from the DB at startup and kept current by the produtos/lojas listeners.
+ * Reads are lock-free {@link ConcurrentHashMap} lookups.
+ */
+@Component
+@Slf4j
+public class CatalogStore implements CatalogPort {
+
+    /**
+     * Product status as known by the catalog; {@code UNDEFINED} mirrors a null {@code ativo} column.
+     */
+    public enum ProductStatus {
+        ACTIVE(Optional.of(Boolean.TRUE)),
+        INACTIVE(Optional.of(Boolean.FALSE)),
+        UNDEFINED(Optional.empty());
+
+        private final Optional<Boolean> ativo;
+
+        ProductStatus(Optional<Boolean> ativo) {
+            this.ativo = ativo;
+        }
+
+        public Optional<Boolean> ativo() {
+            return ativo;
+        }
+
+        public static ProductStatus of(Boolean ativo) {
+            if (ativo == null) return UNDEFINED;
+            return ativo ? ACTIVE : INACTIVE;
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final StoreRepository storeRepository;
+
+    private final Map<String, ProductStatus> products = new ConcurrentHashMap<>();
+    private final Set<String> stores = ConcurrentHashMap.newKeySet();
+
+    private final Counter productHits;
+    private final Counter productMisses;
+    private final Counter storeHits;
+    private final Counter storeMisses;
+
+    private volatile long lastUpdateMillis = System.currentTimeMillis();
+
+    @Value("${inventory.catalog.preload:true}")
+    private boolean preload;
+
+    public CatalogStore(ProductRepository productRepository, StoreRepository storeRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.storeRepository = storeRepository;
+        this.productHits = lookupCounter(meterRegistry, "product", "hit");
+        this.productMisses = lookupCounter(meterRegistry, "product", "miss");
+        this.storeHits = lookupCounter(meterRegistry, "store", "hit");
+        this.storeMisses = lookupCounter(meterRegistry, "store", "miss");
+        Gauge.builder("inventory.catalog.size", products, Map::size).tag("catalog", "product").register(meterRegistry);
+        Gauge.builder("inventory.catalog.size", stores, Set::size).tag("catalog", "store").register(meterRegistry);
+        Gauge.builder("inventory.catalog.staleness.seconds", this, c -> (System.currentTimeMillis() - c.lastUpdateMillis) / 1000.0)
+                .description("Seconds since the catalog was last loaded or updated from an event")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String catalog, String result) {
+        return Counter.builder("inventory.catalog.lookups")
+                .tag("catalog", catalog)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!preload) return;
+        productRepository.findAll().forEach(p -> products.put(p.getSku(), ProductStatus.of(p.getAtivo())));
+        storeRepository.findAll().forEach(s -> stores.add(s.getCodigo()));
+        lastUpdateMillis = System.currentTimeMillis();
+        log.info("Catálogo carregado: {} produtos, {} lojas", products.size(), stores.size());
+    }
+
+    /**
+     * Returns the cached status of the product, or null when the SKU is not in the catalog.
+     */
+    public ProductStatus product(String sku) {
+        ProductStatus status = sku != null ? products.get(sku) : null;
+        (status != null ? productHits : productMisses).increment();
+        return status;
+    }
+
+    public boolean containsStore(String codigo) {
+        boolean found = codigo != null && stores.contains(codigo);
+        (found ? storeHits : storeMisses).increment();
+        return found;
+    }
+
+    @Override
+    public void putProduct(String sku, Boolean ativo) {
+        if (sku == null) return;
+        products.put(sku, ProductStatus.of(ativo));
+        lastUpdateMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void putStore(String codigo) {
+        if (codigo == null) return;
+        stores.add(codigo);
+        lastUpdateMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void evictProduct(String sku) {
+        if (sku == null) return;
+        products.remove(sku);
+    }
+
+    @Override
+    public void evictStore(String codigo) {
+        if (codigo == null) return;
+        stores.remove(codigo);
+    }
+}
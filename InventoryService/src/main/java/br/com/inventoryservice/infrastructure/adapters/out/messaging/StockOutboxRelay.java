@@ -0,0 +1,160 @@
+package br.com.inventoryservice.infrastructure.adapters.out.messaging;
+
+import br.com.inventoryservice.infrastructure.adapters.out.messaging.dto.StockChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes estoque_outbox rows to the estoque_atualizado topic, keyed by {@code loja:sku}.
+ * <p>
+ * Each cycle reads the oldest rows in id order, sends them all, waits for the broker acknowledgements and only then
+ * deletes them, in one transaction per batch; a failed batch stays in the table and is sent again, so delivery is
+ * at-least-once and consumers rely on {@code versao}. A transaction-scoped advisory lock keeps a single relay active
+ * across instances, which together with the idempotent producer preserves per-key order.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "inventory.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class StockOutboxRelay {
+
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('estoque_outbox'))";
+
+    static final String FETCH_SQL =
+            "SELECT id, loja_codigo, produto_sku, quantidade, criado_em FROM estoque_outbox ORDER BY id LIMIT ?";
+
+    // Deletes exactly the rows sent: a smaller id committed after the fetch must not be dropped unpublished.
+    static final String DELETE_SQL = "DELETE FROM estoque_outbox WHERE id = ANY(?)";
+
+    static final String OLDEST_SQL = "SELECT criado_em FROM estoque_outbox ORDER BY id LIMIT 1";
+
+    private record OutboxRow(long id, String lojaCodigo, String sku, int quantidade, Instant criadoEm) {
+    }
+
+    private static final RowMapper<OutboxRow> ROW_MAPPER = (rs, i) -> new OutboxRow(
+            rs.getLong("id"),
+            rs.getString("loja_codigo"),
+            rs.getString("produto_sku"),
+            rs.getInt("quantidade"),
+            rs.getTimestamp("criado_em").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Counter published;
+    private final Timer delay;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public StockOutboxRelay(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            KafkaTemplate<String, Object> kafkaTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.kafka.topics.estoque-atualizado:estoque_atualizado}") String topic,
+                            @Value("${inventory.outbox.relay.batch-size:500}") int batchSize,
+                            @Value("${inventory.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.published = Counter.builder("inventory.outbox.published")
+                .description("Stock change events published from the outbox")
+                .register(meterRegistry);
+        this.delay = Timer.builder("inventory.outbox.relay.delay")
+                .description("Time between the stock write and the broker acknowledgement of its event")
+                .register(meterRegistry);
+        Gauge.builder("inventory.outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox row")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                Integer batch = transactionTemplate.execute(status -> relayBatch());
+                sent = batch != null ? batch : 0;
+            } while (sent == batchSize);
+            updateLag();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar outbox de estoque no tópico {}; o lote será reenviado: {}", topic, e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) return 0;
+
+        List<OutboxRow> rows = jdbcTemplate.query(FETCH_SQL, ROW_MAPPER, batchSize);
+        if (rows.isEmpty()) return 0;
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            sends.add(kafkaTemplate.send(topic, row.lojaCodigo() + ':' + row.sku(), toEvent(row)));
+        }
+        await(sends);
+
+        Long[] ids = rows.stream().map(OutboxRow::id).toArray(Long[]::new);
+        jdbcTemplate.update(DELETE_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+
+        Instant now = Instant.now();
+        rows.forEach(row -> delay.record(Duration.between(row.criadoEm(), now)));
+        published.increment(rows.size());
+        log.debug("Publicados {} eventos de estoque (ids {}..{}) no tópico {}", rows.size(), ids[0], ids[ids.length - 1], topic);
+        return rows.size();
+    }
+
+    private void await(List<CompletableFuture<SendResult<String, Object>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Publicação do outbox interrompida", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Broker não confirmou o lote do outbox", e);
+        }
+    }
+
+    private void updateLag() {
+        List<Timestamp> oldest = jdbcTemplate.queryForList(OLDEST_SQL, Timestamp.class);
+        lagMillis.set(oldest.isEmpty() ? 0 : Math.max(0, Duration.between(oldest.get(0).toInstant(), Instant.now()).toMillis()));
+    }
+
+    private static StockChangedEvent toEvent(OutboxRow row) {
+        return StockChangedEvent.builder()
+                .loja(row.lojaCodigo())
+                .sku(row.sku())
+                .quantidade(row.quantidade())
+                .versao(row.id())
+                .timestamp(row.criadoEm().atOffset(ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.inventoryservice.infrastructure.adapters.out.messaging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Payload of the estoque_atualizado topic: the quantity of (loja, sku) after a change. {@code versao} grows with
+ * every change of the same key, so consumers can discard redeliveries and stale events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockChangedEvent {
+    private String loja;
+    private String sku;
+    private Integer quantidade;
+    private Long versao;
+    private OffsetDateTime timestamp;
+}
@@ -0,0 +1,32 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity for table 'offsets_processados': highest processed offset per (topic, partition),
+ * used by the watermark idempotency mode.
+ */
+@Entity
+@Table(name = "offsets_processados")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class OffsetWatermarkEntity {
+
+    @EmbeddedId
+    private OffsetWatermarkId id;
+
+    @Column(name = "watermark", nullable = false)
+    private Long watermark;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+}
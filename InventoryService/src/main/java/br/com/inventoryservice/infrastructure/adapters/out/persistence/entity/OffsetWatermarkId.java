@@ -0,0 +1,26 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Composite key for offsets_processados (topic + partition).
+ */
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+@EqualsAndHashCode
+public class OffsetWatermarkId implements Serializable {
+
+    @Column(name = "topico", nullable = false, length = 128)
+    private String topico;
+
+    @Column(name = "particao", nullable = false)
+    private Integer particao;
+}
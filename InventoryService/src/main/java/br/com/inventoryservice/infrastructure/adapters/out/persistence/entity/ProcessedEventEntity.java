@@ -7,11 +7,11 @@ import java.time.Instant;
 import java.util.UUID;
 
 /**
- * Tracks processed Kafka events for idempotency, with a uniqueness constraint on (topic, partition, offset).
+ * Tracks processed Kafka events for idempotency. The table is range-partitioned by processado_em; a key is
+ * unique within the dedup horizon, enforced by {@code ProcessedEventRepository#insertIfAbsent}.
  */
 @Entity
-@Table(name = "eventos_processados",
-        uniqueConstraints = @UniqueConstraint(name = "uk_event", columnNames = {"topico", "particao", "offset_value"}))
+@Table(name = "eventos_processados")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -0,0 +1,33 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entity for table 'eventos_id_processados': processed eventIds, keyed by a 16-byte digest of (topic, eventId)
+ * and grouped in daily buckets for retention.
+ */
+@Entity
+@Table(name = "eventos_id_processados")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class ProcessedEventIdEntity {
+
+    @Id
+    @Column(name = "digest", nullable = false, updatable = false, columnDefinition = "BYTEA")
+    private byte[] digest;
+
+    @Column(name = "bucket", nullable = false)
+    private Integer bucket;
+
+    @Column(name = "processado_em", nullable = false)
+    private Instant processadoEm;
+}
@@ -0,0 +1,38 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl.ProcessedEventAdapter;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventIdRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Drops eventId buckets older than the retention window, keeping the digest index small enough to stay cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "inventory.idempotency.event-id.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class EventIdRetentionJob {
+
+    private final ProcessedEventIdRepository processedEventIdRepository;
+
+    @Value("${inventory.idempotency.event-id.retention.days:7}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${inventory.idempotency.event-id.retention.cron:0 15 * * * *}")
+    @Transactional
+    public void purge() {
+        int oldestBucket = ProcessedEventAdapter.bucketOf(Instant.now()) - retentionDays;
+        int removed = processedEventIdRepository.deleteBucketsBefore(oldestBucket);
+        if (removed > 0) {
+            log.info("Removidos {} eventIds processados anteriores ao bucket {}", removed, oldestBucket);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.OffsetWatermarkRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops pending offset ranges of the watermark mode that were never delivered (transaction markers, compacted or
+ * expired records) once they are older than the retention window, so offsets_pendentes does not grow forever.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "inventory.idempotency.watermark.pending-retention.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingOffsetRetentionJob {
+
+    private final OffsetWatermarkRepository offsetWatermarkRepository;
+
+    @Value("${inventory.idempotency.watermark.pending-retention.days:7}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${inventory.idempotency.watermark.pending-retention.cron:0 25 * * * *}")
+    @Transactional
+    public void purge() {
+        int removed = offsetWatermarkRepository.deletePendingOlderThan(retentionDays);
+        if (removed > 0) {
+            log.info("Removidas {} faixas de offsets pendentes com mais de {} dias", removed, retentionDays);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains the daily partitions of eventos_processados: creates partitions ahead of today and drops the ones
+ * entirely older than the dedup horizon. Dropping a partition is a catalog operation, so purge time does not
+ * depend on how many events it held.
+ * <p>
+ * Days are UTC, matching how processado_em is written. The table has no DEFAULT partition, so if this job stops
+ * for longer than {@code premake-days} inserts fail loudly instead of parking rows that would later block the
+ * creation of their day's partition, and the next successful run unblocks them by creating today's partition.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "inventory.idempotency.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class ProcessedEventPartitionMaintainer {
+
+    static final String PARENT = "eventos_processados";
+    static final String PREFIX = PARENT + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicInteger partitionCount = new AtomicInteger();
+    private final Timer purgeTimer;
+    private final Counter createdPartitions;
+    private final Counter droppedPartitions;
+
+    @Value("${inventory.idempotency.horizon-days:30}")
+    private int horizonDays;
+
+    @Value("${inventory.idempotency.partitions.premake-days:3}")
+    private int premakeDays;
+
+    public ProcessedEventPartitionMaintainer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("inventory.idempotency.partitions", partitionCount, AtomicInteger::get)
+                .description("Daily partitions of eventos_processados")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("inventory.idempotency.partitions.purge")
+                .description("Time spent dropping expired partitions of eventos_processados")
+                .register(meterRegistry);
+        this.createdPartitions = Counter.builder("inventory.idempotency.partitions.changes")
+                .tag("action", "created")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("inventory.idempotency.partitions.changes")
+                .tag("action", "dropped")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${inventory.idempotency.partitions.cron:0 5 * * * *}")
+    public void maintain() {
+        try {
+            maintain(LocalDate.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.error("Falha na manutenção das partições de {}", PARENT, e);
+        }
+    }
+
+    void maintain(LocalDate today) {
+        Set<LocalDate> existing = new HashSet<>(listPartitions());
+
+        for (LocalDate day = today; !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            if (existing.add(day)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + day.format(SUFFIX)
+                        + " PARTITION OF " + PARENT
+                        + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+                createdPartitions.increment();
+                log.info("Partição criada para {} em {}", day, PARENT);
+            }
+        }
+
+        // A partition is expired when its upper bound (day + 1) is at or before the horizon start
+        LocalDate horizonStart = today.minusDays(horizonDays);
+        List<LocalDate> expired = existing.stream().filter(day -> !day.plusDays(1).isAfter(horizonStart)).sorted().toList();
+        if (!expired.isEmpty()) {
+            purgeTimer.record(() -> expired.forEach(day ->
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + PREFIX + day.format(SUFFIX))));
+            droppedPartitions.increment(expired.size());
+            expired.forEach(existing::remove);
+            log.info("Removidas {} partições de {} anteriores a {}", expired.size(), PARENT, horizonStart);
+        }
+
+        partitionCount.set(existing.size());
+    }
+
+    private List<LocalDate> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = ?
+                        """, String.class, PARENT).stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .map(name -> LocalDate.parse(name.substring(PREFIX.length()), SUFFIX))
+                .toList();
+    }
+}
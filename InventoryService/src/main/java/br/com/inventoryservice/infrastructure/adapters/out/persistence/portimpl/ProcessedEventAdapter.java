@@ -2,22 +2,40 @@ package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl
 
 import br.com.inventoryservice.application.port.out.ProcessedEventPort;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProcessedEventEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.OffsetWatermarkRepository;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventIdRepository;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class ProcessedEventAdapter implements ProcessedEventPort {
 
     private final ProcessedEventRepository processedEventRepository;
+    private final OffsetWatermarkRepository offsetWatermarkRepository;
+    private final ProcessedEventIdRepository processedEventIdRepository;
+
+    @Value("${inventory.idempotency.horizon-days:30}")
+    private int horizonDays;
 
     @Override
     public boolean exists(String topic, Integer partition, Long offset) {
-        return processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset).isPresent();
+        return processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(
+                topic, partition, offset, horizon(Instant.now())).isPresent();
     }
 
     @Override
@@ -33,4 +51,57 @@ public class ProcessedEventAdapter implements ProcessedEventPort {
             // ignore duplicates due to unique constraint
         }
     }
+
+    @Override
+    public boolean saveIfAbsent(String topic, Integer partition, Long offset, Instant processadoEm) {
+        return processedEventRepository.insertIfAbsent(UUID.randomUUID().toString(), topic, partition, offset,
+                processadoEm, horizon(processadoEm));
+    }
+
+    /**
+     * Oldest processado_em still considered for deduplication; older partitions are dropped by the maintainer.
+     */
+    private Instant horizon(Instant reference) {
+        return reference.minus(Duration.ofDays(horizonDays));
+    }
+
+    @Override
+    public boolean claimOffset(String topic, Integer partition, Long offset) {
+        Optional<Long> previous = offsetWatermarkRepository.advance(topic, partition, offset);
+        if (previous.isPresent()) {
+            if (offset - previous.get() > 1) {
+                offsetWatermarkRepository.insertPending(topic, partition, previous.get() + 1, offset - 1);
+            }
+            return true;
+        }
+        if (offsetWatermarkRepository.insertIfAbsent(topic, partition, offset) > 0) {
+            return true;
+        }
+        return offsetWatermarkRepository.claimPending(topic, partition, offset) > 0;
+    }
+
+    @Override
+    public boolean saveEventIdIfAbsent(String topic, String eventId, Instant processadoEm) {
+        return processedEventIdRepository.insertIfAbsent(digest(topic, eventId), bucketOf(processadoEm), processadoEm) > 0;
+    }
+
+    /**
+     * First 16 bytes of SHA-256 over "topic:eventId".
+     */
+    static byte[] digest(String topic, String eventId) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((topic + ':' + eventId).getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(hash, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Retention bucket of an instant: days since epoch, UTC.
+     */
+    public static int bucketOf(Instant instant) {
+        return (int) Math.floorDiv(instant.getEpochSecond(), 86_400L);
+    }
 }
@@ -1,26 +1,66 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.inventoryservice.application.port.out.ProductReadPort;
-import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProductEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore;
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore.ProductStatus;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Reads products from the in-memory catalog, falling back to the DB (read-through) on a miss.
+ */
 @Component
 @RequiredArgsConstructor
 public class ProductReadAdapter implements ProductReadPort {
 
     private final ProductRepository productRepository;
+    private final CatalogStore catalogStore;
 
     @Override
     public boolean existsBySku(String sku) {
-        return productRepository.findById(sku).isPresent();
+        return resolve(sku).isPresent();
     }
 
     @Override
     public Optional<Boolean> isAtivo(String sku) {
-        return productRepository.findById(sku).map(ProductEntity::getAtivo);
+        return resolve(sku).flatMap(ProductStatus::ativo);
+    }
+
+    @Override
+    public Map<String, Boolean> findAtivoBySkus(Collection<String> skus) {
+        Map<String, Boolean> result = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String sku : skus) {
+            ProductStatus cached = catalogStore.product(sku);
+            if (cached == null) {
+                misses.add(sku);
+            } else {
+                cached.ativo().ifPresent(ativo -> result.put(sku, ativo));
+            }
+        }
+        if (!misses.isEmpty()) {
+            productRepository.findAllById(misses).forEach(p -> {
+                catalogStore.putProduct(p.getSku(), p.getAtivo());
+                if (p.getAtivo() != null) result.put(p.getSku(), p.getAtivo());
+            });
+        }
+        return result;
+    }
+
+    private Optional<ProductStatus> resolve(String sku) {
+        ProductStatus cached = catalogStore.product(sku);
+        if (cached != null) return Optional.of(cached);
+        return productRepository.findById(sku).map(p -> {
+            catalogStore.putProduct(p.getSku(), p.getAtivo());
+            return ProductStatus.of(p.getAtivo());
+        });
     }
 }
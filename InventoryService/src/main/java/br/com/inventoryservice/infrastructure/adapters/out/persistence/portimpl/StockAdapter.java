@@ -7,6 +7,8 @@ import br.com.inventoryservice.infrastructure.adapters.out.persistence.repositor
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -23,11 +25,28 @@ public class StockAdapter implements StockPort {
     }
 
     @Override
-    public void upsertQuantity(String lojaCodigo, String sku, int quantidade) {
-        StockId id = StockId.builder().lojaCodigo(lojaCodigo).produtoSku(sku).build();
-        StockEntity entity = stockRepository.findById(id)
-                .orElse(StockEntity.builder().id(id).quantidade(0).build());
-        entity.setQuantidade(quantidade);
-        stockRepository.save(entity);
+    public Optional<Integer> applyDelta(String lojaCodigo, String sku, int delta, boolean allowNegative) {
+        return stockRepository.applyDelta(lojaCodigo, sku, delta, allowNegative);
+    }
+
+    @Override
+    public Map<String, Integer> applyDeltas(String lojaCodigo, Map<String, Integer> deltasBySku, boolean allowNegative) {
+        Map<String, Integer> applied = new HashMap<>();
+        if (deltasBySku.isEmpty()) return applied;
+        String[] skus = deltasBySku.keySet().toArray(String[]::new);
+        Integer[] deltas = deltasBySku.values().toArray(Integer[]::new);
+        stockRepository.applyDeltas(lojaCodigo, skus, deltas, allowNegative)
+                .forEach(row -> applied.put((String) row[0], ((Number) row[1]).intValue()));
+        return applied;
+    }
+
+    @Override
+    public Optional<Integer> lockQuantity(String lojaCodigo, String sku) {
+        return stockRepository.lockQuantity(lojaCodigo, sku);
+    }
+
+    @Override
+    public void lockKey(String lojaCodigo, String sku) {
+        stockRepository.lockKey(lojaCodigo, sku);
     }
 }
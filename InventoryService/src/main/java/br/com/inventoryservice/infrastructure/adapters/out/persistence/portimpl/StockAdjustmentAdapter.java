@@ -1,28 +1,92 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.inventoryservice.application.port.out.StockAdjustmentPort;
-import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StockAdjustmentEntity;
-import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StockAdjustmentRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Types;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Audit writer for ajustes_estoque. Adjustments made inside a transaction are collected and written with JDBC
+ * batches just before commit; the id comes from the table's identity sequence, so rows append to the right
+ * edge of the primary key.
+ */
 @Component
-@RequiredArgsConstructor
 public class StockAdjustmentAdapter implements StockAdjustmentPort {
 
-    private final StockAdjustmentRepository stockAdjustmentRepository;
+    static final String INSERT_SQL =
+            "INSERT INTO ajustes_estoque (loja_codigo, produto_sku, delta, motivo, criado_em) VALUES (?, ?, ?, ?, ?)";
+
+    private record Adjustment(String lojaCodigo, String sku, int delta, String motivo, Instant criadoEm) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final DistributionSummary flushSize;
+
+    public StockAdjustmentAdapter(JdbcTemplate jdbcTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${inventory.stock.adjustments.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushSize = DistributionSummary.builder("inventory.stock.adjustments.flush.size")
+                .description("Audit rows written per transaction")
+                .register(meterRegistry);
+    }
 
     @Override
     public void saveAdjustment(String lojaCodigo, String sku, int delta, String motivo, Instant criadoEm) {
-        StockAdjustmentEntity entity = StockAdjustmentEntity.builder()
-                .lojaCodigo(lojaCodigo)
-                .produtoSku(sku)
-                .delta(delta)
-                .motivo(motivo)
-                .criadoEm(criadoEm)
-                .build();
-        stockAdjustmentRepository.save(entity);
+        Adjustment adjustment = new Adjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(adjustment));
+            return;
+        }
+        pendingForTransaction().add(adjustment);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Adjustment> pendingForTransaction() {
+        List<Adjustment> pending = (List<Adjustment>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        List<Adjustment> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Write a snapshot: the pending list is cleared right after, so the rows are never written twice
+                write(List.copyOf(created));
+                created.clear();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockAdjustmentAdapter.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(List<Adjustment> adjustments) {
+        if (adjustments.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, adjustments, batchSize, (ps, a) -> {
+            ps.setString(1, a.lojaCodigo());
+            ps.setString(2, a.sku());
+            ps.setInt(3, a.delta());
+            ps.setString(4, a.motivo());
+            // criado_em is a TIMESTAMP without zone holding UTC; Timestamp.from would shift it to the JVM zone
+            ps.setObject(5, a.criadoEm() != null ? LocalDateTime.ofInstant(a.criadoEm(), ZoneOffset.UTC) : null, Types.TIMESTAMP);
+        });
+        flushSize.record(adjustments.size());
     }
 }
@@ -0,0 +1,199 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.inventoryservice.application.port.out.StockImportPort;
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk snapshot loader for store onboarding. Rows are streamed with {@code COPY ... FROM STDIN} into a temporary
+ * staging table and merged into estoque with a single set-based statement that also writes the audit rows, all in
+ * the caller's transaction; changed quantities are appended to estoque_outbox like any other stock write.
+ * <p>
+ * The import id is the SHA-256 of the rows as sent to COPY and is recorded in importacoes_estoque in the same
+ * transaction as the merge: an interrupted import leaves nothing behind and can be resent, and a repeated one
+ * finds its id already taken and stops before touching estoque.
+ */
+@Component
+public class StockImportAdapter implements StockImportPort {
+
+    static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE estoque_importacao (
+                linha BIGINT GENERATED ALWAYS AS IDENTITY,
+                loja_codigo VARCHAR(64),
+                produto_sku VARCHAR(64),
+                quantidade INT
+            ) ON COMMIT DROP""";
+
+    static final String COPY_SQL =
+            "COPY estoque_importacao (loja_codigo, produto_sku, quantidade) FROM STDIN WITH (FORMAT csv)";
+
+    static final String CLAIM_SQL = """
+            INSERT INTO importacoes_estoque
+                (id, origem, linhas_lidas, linhas_aplicadas, linhas_rejeitadas, ajustes, concluido_em)
+            VALUES (?, ?, ?, 0, 0, 0, ?)
+            ON CONFLICT (id) DO NOTHING""";
+
+    static final String FIND_SQL = """
+            SELECT origem, linhas_lidas, linhas_aplicadas, linhas_rejeitadas, ajustes
+            FROM importacoes_estoque WHERE id = ?""";
+
+    static final String REJECTED_SQL = """
+            SELECT count(*) FROM estoque_importacao s
+            WHERE s.quantidade IS NULL OR s.quantidade < 0
+               OR NOT EXISTS (SELECT 1 FROM lojas l WHERE l.codigo = s.loja_codigo)
+               OR NOT EXISTS (SELECT 1 FROM produtos p WHERE p.sku = s.produto_sku)""";
+
+    // Locks the existing rows first so the merge below reads quantities no concurrent writer can still change.
+    static final String LOCK_SQL = """
+            SELECT 1 FROM estoque e
+            JOIN estoque_importacao s ON s.loja_codigo = e.loja_codigo AND s.produto_sku = e.produto_sku
+            ORDER BY e.loja_codigo, e.produto_sku
+            FOR UPDATE OF e""";
+
+    static final String MERGE_SQL = """
+            WITH snapshot AS (
+                SELECT DISTINCT ON (s.loja_codigo, s.produto_sku) s.loja_codigo, s.produto_sku, s.quantidade
+                FROM estoque_importacao s
+                JOIN lojas l ON l.codigo = s.loja_codigo
+                JOIN produtos p ON p.sku = s.produto_sku
+                WHERE s.quantidade >= 0
+                ORDER BY s.loja_codigo, s.produto_sku, s.linha DESC
+            ), alvo AS (
+                SELECT s.loja_codigo, s.produto_sku, s.quantidade, COALESCE(e.quantidade, 0) AS anterior
+                FROM snapshot s
+                LEFT JOIN estoque e ON e.loja_codigo = s.loja_codigo AND e.produto_sku = s.produto_sku
+            ), gravado AS (
+                INSERT INTO estoque (loja_codigo, produto_sku, quantidade)
+                SELECT loja_codigo, produto_sku, quantidade FROM alvo
+                ON CONFLICT (loja_codigo, produto_sku) DO UPDATE SET quantidade = EXCLUDED.quantidade
+                RETURNING loja_codigo, produto_sku, quantidade
+            ), outbox AS (
+                INSERT INTO estoque_outbox (loja_codigo, produto_sku, quantidade)
+                SELECT loja_codigo, produto_sku, quantidade FROM gravado
+                ORDER BY loja_codigo, produto_sku
+            ), auditado AS (
+                INSERT INTO ajustes_estoque (loja_codigo, produto_sku, delta, motivo, criado_em)
+                SELECT loja_codigo, produto_sku, quantidade - anterior, ?, ?
+                FROM alvo WHERE quantidade <> anterior
+                ORDER BY loja_codigo, produto_sku
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM gravado) AS aplicadas, (SELECT count(*) FROM auditado) AS ajustes""";
+
+    static final String COMPLETE_SQL = """
+            UPDATE importacoes_estoque
+            SET linhas_aplicadas = ?, linhas_rejeitadas = ?, ajustes = ?, concluido_em = ?
+            WHERE id = ?""";
+
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int progressEvery;
+
+    public StockImportAdapter(JdbcTemplate jdbcTemplate,
+                              @Value("${inventory.stock.import.progress-every:50000}") int progressEvery) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.progressEvery = Math.max(1, progressEvery);
+    }
+
+    @Override
+    public StockImportResult importSnapshot(String origem, Iterator<StockSnapshotRow> rows, LongConsumer progress) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        Staged staged = jdbcTemplate.execute((ConnectionCallback<Staged>) con -> copy(con.unwrap(PGConnection.class), rows, progress));
+
+        Instant now = Instant.now();
+        if (jdbcTemplate.update(CLAIM_SQL, staged.importId(), origem, staged.rows(), Timestamp.from(now)) == 0) {
+            return previous(staged.importId(), origem);
+        }
+
+        long rejected = jdbcTemplate.queryForObject(REJECTED_SQL, Long.class);
+        jdbcTemplate.execute(LOCK_SQL);
+        Map<String, Object> merged = jdbcTemplate.queryForMap(MERGE_SQL, "importacao:" + staged.importId(), Timestamp.from(now));
+        long applied = ((Number) merged.get("aplicadas")).longValue();
+        long adjustments = ((Number) merged.get("ajustes")).longValue();
+
+        jdbcTemplate.update(COMPLETE_SQL, applied, rejected, adjustments, Timestamp.from(Instant.now()), staged.importId());
+        return new StockImportResult(staged.importId(), origem, staged.rows(), applied, rejected, adjustments, false);
+    }
+
+    private record Staged(String importId, long rows) {
+    }
+
+    private Staged copy(PGConnection connection, Iterator<StockSnapshotRow> rows, LongConsumer progress) throws SQLException {
+        MessageDigest digest = sha256();
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(COPY_CHUNK_BYTES + 256);
+            long count = 0;
+            while (rows.hasNext()) {
+                byte[] line = csvLine(rows.next());
+                digest.update(line);
+                chunk.writeBytes(line);
+                if (chunk.size() >= COPY_CHUNK_BYTES) {
+                    copyIn.writeToCopy(chunk.toByteArray(), 0, chunk.size());
+                    chunk.reset();
+                }
+                if (++count % progressEvery == 0) progress.accept(count);
+            }
+            if (chunk.size() > 0) copyIn.writeToCopy(chunk.toByteArray(), 0, chunk.size());
+            copyIn.endCopy();
+            return new Staged(HexFormat.of().formatHex(digest.digest()), count);
+        } finally {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+    }
+
+    private StockImportResult previous(String importId, String origem) {
+        return jdbcTemplate.queryForObject(FIND_SQL, (rs, i) -> new StockImportResult(
+                importId,
+                rs.getString("origem") != null ? rs.getString("origem") : origem,
+                rs.getLong("linhas_lidas"),
+                rs.getLong("linhas_aplicadas"),
+                rs.getLong("linhas_rejeitadas"),
+                rs.getLong("ajustes"),
+                true), importId);
+    }
+
+    static byte[] csvLine(StockSnapshotRow row) {
+        StringBuilder sb = new StringBuilder(64);
+        appendField(sb, row.lojaCodigo());
+        sb.append(',');
+        appendField(sb, row.sku());
+        sb.append(',');
+        if (row.quantidade() != null) sb.append(row.quantidade().intValue());
+        sb.append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Unquoted empty fields are NULL for COPY csv; everything else is quoted so separators in codes are harmless.
+    private static void appendField(StringBuilder sb, String value) {
+        if (value == null) return;
+        sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.inventoryservice.application.port.out.StoreReadPort;
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Reads stores from the in-memory catalog, falling back to the DB (read-through) on a miss.
+ */
 @Component
 @RequiredArgsConstructor
 public class StoreReadAdapter implements StoreReadPort {
 
     private final StoreRepository storeRepository;
+    private final CatalogStore catalogStore;
 
     @Override
     public boolean existsByCodigo(String codigo) {
-        return storeRepository.findById(codigo).isPresent();
+        if (catalogStore.containsStore(codigo)) return true;
+        boolean exists = storeRepository.findById(codigo).isPresent();
+        if (exists) {
+            catalogStore.putStore(codigo);
+        }
+        return exists;
     }
 }
@@ -0,0 +1,80 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.repository;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.OffsetWatermarkEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.OffsetWatermarkId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OffsetWatermarkRepository extends JpaRepository<OffsetWatermarkEntity, OffsetWatermarkId> {
+
+    /**
+     * Moves the watermark forward when the offset is above it and returns the previous watermark.
+     * No row is returned when the offset is not above the watermark or the partition has no row yet.
+     */
+    @Query(value = """
+            UPDATE offsets_processados w
+            SET watermark = :offset, atualizado_em = CURRENT_TIMESTAMP
+            FROM (SELECT watermark AS previous FROM offsets_processados
+                  WHERE topico = :topico AND particao = :particao) old
+            WHERE w.topico = :topico AND w.particao = :particao AND w.watermark < :offset
+            RETURNING old.previous
+            """, nativeQuery = true)
+    Optional<Long> advance(@Param("topico") String topico,
+                           @Param("particao") Integer particao,
+                           @Param("offset") Long offset);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO offsets_processados (topico, particao, watermark, atualizado_em)
+            VALUES (:topico, :particao, :offset, CURRENT_TIMESTAMP)
+            ON CONFLICT (topico, particao) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("topico") String topico,
+                       @Param("particao") Integer particao,
+                       @Param("offset") Long offset);
+
+    /**
+     * Records the offsets skipped by a watermark jump as one pending range, however wide the gap is.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO offsets_pendentes (topico, particao, offset_inicio, offset_fim, criado_em)
+            VALUES (:topico, :particao, :fromOffset, :toOffset, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertPending(@Param("topico") String topico,
+                      @Param("particao") Integer particao,
+                      @Param("fromOffset") Long fromOffset,
+                      @Param("toOffset") Long toOffset);
+
+    /**
+     * Removes the offset from the pending range that contains it, putting back what is left on either side with
+     * the range's original creation time. Returns 1 when the offset was pending, 0 otherwise.
+     */
+    @Query(value = """
+            WITH claimed AS (
+                DELETE FROM offsets_pendentes
+                WHERE topico = :topico AND particao = :particao
+                  AND offset_inicio <= :offset AND offset_fim >= :offset
+                RETURNING topico, particao, offset_inicio, offset_fim, criado_em
+            ), remainder AS (
+                INSERT INTO offsets_pendentes (topico, particao, offset_inicio, offset_fim, criado_em)
+                SELECT topico, particao, offset_inicio, :offset - 1, criado_em FROM claimed WHERE offset_inicio < :offset
+                UNION ALL
+                SELECT topico, particao, :offset + 1, offset_fim, criado_em FROM claimed WHERE offset_fim > :offset
+            )
+            SELECT count(*) FROM claimed
+            """, nativeQuery = true)
+    long claimPending(@Param("topico") String topico,
+                      @Param("particao") Integer particao,
+                      @Param("offset") Long offset);
+
+    @Modifying
+    @Query(value = "DELETE FROM offsets_pendentes WHERE criado_em < CURRENT_TIMESTAMP - make_interval(days => :days)",
+            nativeQuery = true)
+    int deletePendingOlderThan(@Param("days") Integer days);
+}
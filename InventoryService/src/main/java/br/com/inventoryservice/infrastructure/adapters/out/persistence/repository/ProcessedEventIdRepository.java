@@ -0,0 +1,26 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.repository;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProcessedEventIdEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface ProcessedEventIdRepository extends JpaRepository<ProcessedEventIdEntity, byte[]> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO eventos_id_processados (digest, bucket, processado_em)
+            VALUES (:digest, :bucket, :processadoEm)
+            ON CONFLICT (digest) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("digest") byte[] digest,
+                       @Param("bucket") Integer bucket,
+                       @Param("processadoEm") Instant processadoEm);
+
+    @Modifying
+    @Query(value = "DELETE FROM eventos_id_processados WHERE bucket < :bucket", nativeQuery = true)
+    int deleteBucketsBefore(@Param("bucket") Integer bucket);
+}
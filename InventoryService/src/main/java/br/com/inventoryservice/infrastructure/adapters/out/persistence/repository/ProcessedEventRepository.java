@@ -2,10 +2,29 @@ package br.com.inventoryservice.infrastructure.adapters.out.persistence.reposito
 
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProcessedEventEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProcessedEventRepository extends JpaRepository<ProcessedEventEntity, UUID> {
-    Optional<ProcessedEventEntity> findByTopicoAndParticaoAndOffset(String topico, Integer particao, Long offset);
+    Optional<ProcessedEventEntity> findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(
+            String topico, Integer particao, Long offset, Instant horizonte);
+
+    /**
+     * Inserts the key unless it was processed at or after the horizon, serialized per key by an advisory lock.
+     * One statement: registrar_evento_processado (V8) takes the lock and runs the check after it is granted.
+     */
+    @Query(value = """
+            SELECT registrar_evento_processado(:id, :topico, :particao, :offset,
+                                               CAST(:processadoEm AS timestamp), CAST(:horizonte AS timestamp))
+            """, nativeQuery = true)
+    boolean insertIfAbsent(@Param("id") String id,
+                           @Param("topico") String topico,
+                           @Param("particao") Integer particao,
+                           @Param("offset") Long offset,
+                           @Param("processadoEm") Instant processadoEm,
+                           @Param("horizonte") Instant horizonte);
 }
@@ -3,6 +3,76 @@ package br.com.inventoryservice.infrastructure.adapters.out.persistence.reposito
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StockEntity;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StockId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<StockEntity, StockId> {
+
+    /**
+     * Insert-or-increment with the non-negative guard evaluated in the same statement.
+     * The guard covers both outcomes: a negative delta only becomes a candidate row when the key already exists (a new
+     * row would start below zero), and the DO UPDATE is skipped when the sum would go negative. No row is returned when
+     * the guard rejects the change. The resulting quantity is appended to estoque_outbox by the same statement.
+     */
+    @Query(value = """
+            WITH gravado AS (
+                INSERT INTO estoque (loja_codigo, produto_sku, quantidade)
+                SELECT :lojaCodigo, :sku, :delta
+                WHERE :allowNegative OR :delta >= 0
+                   OR EXISTS (SELECT 1 FROM estoque e WHERE e.loja_codigo = :lojaCodigo AND e.produto_sku = :sku)
+                ON CONFLICT (loja_codigo, produto_sku)
+                DO UPDATE SET quantidade = estoque.quantidade + EXCLUDED.quantidade
+                WHERE :allowNegative OR estoque.quantidade + EXCLUDED.quantidade >= 0
+                RETURNING loja_codigo, produto_sku, quantidade
+            ), outbox AS (
+                INSERT INTO estoque_outbox (loja_codigo, produto_sku, quantidade)
+                SELECT loja_codigo, produto_sku, quantidade FROM gravado
+            )
+            SELECT quantidade FROM gravado
+            """, nativeQuery = true)
+    Optional<Integer> applyDelta(@Param("lojaCodigo") String lojaCodigo,
+                                 @Param("sku") String sku,
+                                 @Param("delta") int delta,
+                                 @Param("allowNegative") boolean allowNegative);
+
+    /**
+     * Set-based {@link #applyDelta}: one row per SKU, each guarded on both outcomes like the single-row form.
+     * Returns (produto_sku, quantidade) of the rows written.
+     */
+    @Query(value = """
+            WITH gravado AS (
+                INSERT INTO estoque (loja_codigo, produto_sku, quantidade)
+                SELECT :lojaCodigo, d.sku, d.delta
+                FROM unnest(CAST(:skus AS varchar[]), CAST(:deltas AS int[])) AS d(sku, delta)
+                WHERE :allowNegative OR d.delta >= 0
+                   OR EXISTS (SELECT 1 FROM estoque e WHERE e.loja_codigo = :lojaCodigo AND e.produto_sku = d.sku)
+                ON CONFLICT (loja_codigo, produto_sku)
+                DO UPDATE SET quantidade = estoque.quantidade + EXCLUDED.quantidade
+                WHERE :allowNegative OR estoque.quantidade + EXCLUDED.quantidade >= 0
+                RETURNING loja_codigo, produto_sku, quantidade
+            ), outbox AS (
+                INSERT INTO estoque_outbox (loja_codigo, produto_sku, quantidade)
+                SELECT loja_codigo, produto_sku, quantidade FROM gravado
+            )
+            SELECT produto_sku, quantidade FROM gravado
+            """, nativeQuery = true)
+    List<Object[]> applyDeltas(@Param("lojaCodigo") String lojaCodigo,
+                               @Param("skus") String[] skus,
+                               @Param("deltas") Integer[] deltas,
+                               @Param("allowNegative") boolean allowNegative);
+
+    @Query(value = "SELECT quantidade FROM estoque WHERE loja_codigo = :lojaCodigo AND produto_sku = :sku FOR UPDATE",
+            nativeQuery = true)
+    Optional<Integer> lockQuantity(@Param("lojaCodigo") String lojaCodigo, @Param("sku") String sku);
+
+    /**
+     * Serializes writers of a key that has no estoque row yet until the end of the transaction; {@code FOR UPDATE}
+     * has no row to lock in that case.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(:lojaCodigo || ':' || :sku, 0))) l",
+            nativeQuery = true)
+    Integer lockKey(@Param("lojaCodigo") String lojaCodigo, @Param("sku") String sku);
 }
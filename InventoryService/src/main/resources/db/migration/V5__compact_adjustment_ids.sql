@@ -0,0 +1,22 @@
+-- ajustes_estoque.id: CHAR(36) random UUID -> BIGINT identity, so audit inserts append to the right edge of the
+-- primary key and the key shrinks from 37 to 8 bytes per entry. Existing rows are numbered in criado_em order.
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_name = 'ajustes_estoque' AND column_name = 'id') <> 'character' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE ajustes_estoque ADD COLUMN id_novo BIGINT;
+    UPDATE ajustes_estoque a SET id_novo = n.rn
+    FROM (SELECT id, row_number() OVER (ORDER BY criado_em, id) AS rn FROM ajustes_estoque) n
+    WHERE a.id = n.id;
+
+    ALTER TABLE ajustes_estoque DROP CONSTRAINT ajustes_estoque_pkey;
+    ALTER TABLE ajustes_estoque DROP COLUMN id;
+    ALTER TABLE ajustes_estoque RENAME COLUMN id_novo TO id;
+    ALTER TABLE ajustes_estoque ALTER COLUMN id SET NOT NULL;
+    ALTER TABLE ajustes_estoque ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+    PERFORM setval(pg_get_serial_sequence('ajustes_estoque', 'id'), COALESCE((SELECT MAX(id) FROM ajustes_estoque), 0) + 1, false);
+    ALTER TABLE ajustes_estoque ADD PRIMARY KEY (id);
+END $$;
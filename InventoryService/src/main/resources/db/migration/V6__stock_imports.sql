@@ -0,0 +1,13 @@
+-- Stock snapshot imports (store onboarding). One row per imported file, keyed by the SHA-256 of its rows; the row is
+-- written in the same transaction as the merge into estoque, so resending a file that was already applied is a no-op.
+-- The staging table itself is a per-transaction TEMP table created by the importer.
+CREATE TABLE IF NOT EXISTS importacoes_estoque (
+    id CHAR(64) NOT NULL,
+    origem VARCHAR(255),
+    linhas_lidas BIGINT NOT NULL,
+    linhas_aplicadas BIGINT NOT NULL,
+    linhas_rejeitadas BIGINT NOT NULL,
+    ajustes BIGINT NOT NULL,
+    concluido_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
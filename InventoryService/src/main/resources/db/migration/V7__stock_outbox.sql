@@ -0,0 +1,12 @@
+-- Transactional outbox for stock changes. Every statement that writes estoque also appends the resulting quantity
+-- here, in the same statement, while holding the estoque row lock; ids therefore grow in commit order per
+-- (loja_codigo, produto_sku) and double as the event version. StockOutboxRelay publishes rows to the
+-- estoque_atualizado topic in id order and deletes them once acknowledged.
+CREATE TABLE IF NOT EXISTS estoque_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY,
+    loja_codigo VARCHAR(64) NOT NULL,
+    produto_sku VARCHAR(64) NOT NULL,
+    quantidade INT NOT NULL,
+    criado_em TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
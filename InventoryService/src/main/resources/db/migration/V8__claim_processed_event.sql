@@ -0,0 +1,30 @@
+-- Claims an eventos_processados key in one round trip. The advisory lock replaces the ON CONFLICT arbiter that the
+-- partitioned table cannot have. The lock and the check must not share a statement: under READ COMMITTED a statement
+-- keeps the snapshot taken before it waited for the lock and would miss the row committed by the lock holder.
+-- Each statement of a VOLATILE plpgsql function takes a fresh snapshot, so the check runs after the lock is granted.
+-- Only partitions at or after the horizon are checked; older ones are dropped by the maintainer.
+CREATE OR REPLACE FUNCTION registrar_evento_processado(p_id CHAR(36),
+                                                       p_topico VARCHAR(128),
+                                                       p_particao INT,
+                                                       p_offset BIGINT,
+                                                       p_processado_em TIMESTAMP,
+                                                       p_horizonte TIMESTAMP)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+VOLATILE
+AS $$
+DECLARE
+    inseridos INT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtextextended(p_topico || ':' || p_particao || ':' || p_offset, 0));
+
+    INSERT INTO eventos_processados (id, topico, particao, offset_value, processado_em)
+    SELECT p_id, p_topico, p_particao, p_offset, p_processado_em
+    WHERE NOT EXISTS (
+        SELECT 1 FROM eventos_processados e
+        WHERE e.topico = p_topico AND e.particao = p_particao AND e.offset_value = p_offset
+          AND e.processado_em >= p_horizonte);
+
+    GET DIAGNOSTICS inseridos = ROW_COUNT;
+    RETURN inseridos > 0;
+END $$;
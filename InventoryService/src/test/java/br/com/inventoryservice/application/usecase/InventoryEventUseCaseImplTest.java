@@ -1,9 +1,11 @@
 package br.com.inventoryservice.application.usecase;
 
+import br.com.inventoryservice.application.port.out.CatalogPort;
 import br.com.inventoryservice.application.usecase.helper.EventProcessor;
 import br.com.inventoryservice.application.usecase.helper.StockManager;
 import br.com.inventoryservice.application.usecase.helper.ValidationHelper;
 import br.com.inventoryservice.domain.model.ProductModel;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
 import br.com.inventoryservice.domain.model.SalesItem;
 import br.com.inventoryservice.domain.model.SalesModel;
 import br.com.inventoryservice.domain.model.StockAdjustmentModel;
@@ -38,6 +40,9 @@ class InventoryEventUseCaseImplTest {
     @Mock
     private StockManager stockManager;
 
+    @Mock
+    private CatalogPort catalogPort;
+
     @InjectMocks
     private InventoryEventUseCaseImpl inventoryEventUseCase;
 
@@ -63,6 +68,7 @@ class InventoryEventUseCaseImplTest {
             // Then
             verify(eventProcessor).markProcessed("event-123", TOPIC, PARTITION, OFFSET);
             verify(validationHelper).validateProductEvent("PROD-001", TOPIC);
+            verify(catalogPort).putProduct("PROD-001", null);
         }
 
         @Test
@@ -80,6 +86,38 @@ class InventoryEventUseCaseImplTest {
             verify(eventProcessor).markProcessed("event-123", TOPIC, PARTITION, OFFSET);
             verify(eventProcessor).handleDuplicate("produto", TOPIC, PARTITION, OFFSET);
             verify(validationHelper, never()).validateProductEvent(any(), any());
+            verify(catalogPort, never()).putProduct(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should update catalog with product active flag")
+        void shouldUpdateCatalogWithProductActiveFlag() {
+            // Given
+            ProductModel productEvent = new ProductModel("event-124", "PROD-002", false);
+            when(eventProcessor.markProcessed("event-124", TOPIC, PARTITION, OFFSET)).thenReturn(true);
+            when(validationHelper.validateProductEvent("PROD-002", TOPIC)).thenReturn(true);
+
+            // When
+            inventoryEventUseCase.handleProductEvent(productEvent, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            verify(catalogPort).putProduct("PROD-002", false);
+        }
+
+        @Test
+        @DisplayName("Should evict and not cache a product missing from produtos")
+        void shouldNotCacheProductMissingFromTable() {
+            // Given
+            ProductModel productEvent = new ProductModel("event-125", "PROD-404");
+            when(eventProcessor.markProcessed("event-125", TOPIC, PARTITION, OFFSET)).thenReturn(true);
+            when(validationHelper.validateProductEvent("PROD-404", TOPIC)).thenReturn(false);
+
+            // When
+            inventoryEventUseCase.handleProductEvent(productEvent, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            verify(catalogPort).evictProduct("PROD-404");
+            verify(catalogPort, never()).putProduct(any(), any());
         }
 
         @Test
@@ -130,6 +168,23 @@ class InventoryEventUseCaseImplTest {
             // Then
             verify(eventProcessor).markProcessed("event-456", TOPIC, PARTITION, OFFSET);
             verify(validationHelper).validateStoreEvent("STORE-001", TOPIC);
+            verify(catalogPort).putStore("STORE-001");
+        }
+
+        @Test
+        @DisplayName("Should evict and not cache a store missing from lojas")
+        void shouldNotCacheStoreMissingFromTable() {
+            // Given
+            StoreModel storeEvent = new StoreModel("event-457", "STORE-404");
+            when(eventProcessor.markProcessed("event-457", TOPIC, PARTITION, OFFSET)).thenReturn(true);
+            when(validationHelper.validateStoreEvent("STORE-404", TOPIC)).thenReturn(false);
+
+            // When
+            inventoryEventUseCase.handleStoreEvent(storeEvent, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            verify(catalogPort).evictStore("STORE-404");
+            verify(catalogPort, never()).putStore(any());
         }
 
         @Test
@@ -194,13 +249,7 @@ class InventoryEventUseCaseImplTest {
             when(eventProcessor.markProcessed("event-789", TOPIC, PARTITION, OFFSET)).thenReturn(true);
             when(validationHelper.isValidSalesEvent(salesEvent, TOPIC)).thenReturn(true);
             when(validationHelper.storeExists("STORE-001")).thenReturn(true);
-            when(validationHelper.isValidSalesItem(item1, TOPIC)).thenReturn(true);
-            when(validationHelper.isValidSalesItem(item2, TOPIC)).thenReturn(true);
-            when(validationHelper.isActiveProduct("PROD-001", TOPIC)).thenReturn(true);
-            when(validationHelper.isActiveProduct("PROD-002", TOPIC)).thenReturn(true);
-            
-            doNothing().when(stockManager).adjustStock("STORE-001", "PROD-001", -5, TOPIC, false);
-            doNothing().when(stockManager).adjustStock("STORE-001", "PROD-002", -3, TOPIC, false);
+            when(validationHelper.activeSalesItems(salesEvent.itens(), TOPIC)).thenReturn(List.of(item1, item2));
 
             // When
             inventoryEventUseCase.handleSalesEvent(salesEvent, TOPIC, PARTITION, OFFSET);
@@ -209,8 +258,8 @@ class InventoryEventUseCaseImplTest {
             verify(eventProcessor).markProcessed("event-789", TOPIC, PARTITION, OFFSET);
             verify(validationHelper).isValidSalesEvent(salesEvent, TOPIC);
             verify(validationHelper).storeExists("STORE-001");
-            verify(stockManager).adjustStock("STORE-001", "PROD-001", -5, TOPIC, false);
-            verify(stockManager).adjustStock("STORE-001", "PROD-002", -3, TOPIC, false);
+            verify(stockManager).applySale("STORE-001", List.of(item1, item2), TOPIC);
+            verify(stockManager, never()).adjustStock(any(), any(), anyInt(), any(), anyBoolean());
         }
 
         @Test
@@ -265,7 +314,7 @@ class InventoryEventUseCaseImplTest {
             verify(eventProcessor).markProcessed("event-789", TOPIC, PARTITION, OFFSET);
             verify(validationHelper).isValidSalesEvent(salesEvent, TOPIC);
             verify(validationHelper).storeExists("STORE-999");
-            verify(stockManager, never()).adjustStock(any(), any(), anyInt(), any(), anyBoolean());
+            verify(stockManager, never()).applySale(any(), any(), any());
         }
 
         @Test
@@ -279,18 +328,87 @@ class InventoryEventUseCaseImplTest {
             when(eventProcessor.markProcessed("event-789", TOPIC, PARTITION, OFFSET)).thenReturn(true);
             when(validationHelper.isValidSalesEvent(salesEvent, TOPIC)).thenReturn(true);
             when(validationHelper.storeExists("STORE-001")).thenReturn(true);
-            when(validationHelper.isValidSalesItem(validItem, TOPIC)).thenReturn(true);
-            when(validationHelper.isValidSalesItem(invalidItem, TOPIC)).thenReturn(false);
-            when(validationHelper.isActiveProduct("PROD-001", TOPIC)).thenReturn(true);
-            
-            doNothing().when(stockManager).adjustStock("STORE-001", "PROD-001", -5, TOPIC, false);
+            when(validationHelper.activeSalesItems(salesEvent.itens(), TOPIC)).thenReturn(List.of(validItem));
 
             // When
             inventoryEventUseCase.handleSalesEvent(salesEvent, TOPIC, PARTITION, OFFSET);
 
             // Then
-            verify(stockManager).adjustStock("STORE-001", "PROD-001", -5, TOPIC, false);
-            verify(stockManager, never()).adjustStock(eq("STORE-001"), eq("PROD-002"), anyInt(), any(), anyBoolean());
+            verify(stockManager).applySale("STORE-001", List.of(validItem), TOPIC);
+        }
+
+        @Test
+        @DisplayName("Should not touch stock when no item is active")
+        void shouldNotTouchStockWhenNoItemIsActive() {
+            // Given
+            SalesModel salesEvent = new SalesModel("event-789", "STORE-001", List.of(new SalesItem("PROD-001", 5)));
+
+            when(eventProcessor.markProcessed("event-789", TOPIC, PARTITION, OFFSET)).thenReturn(true);
+            when(validationHelper.isValidSalesEvent(salesEvent, TOPIC)).thenReturn(true);
+            when(validationHelper.storeExists("STORE-001")).thenReturn(true);
+            when(validationHelper.activeSalesItems(salesEvent.itens(), TOPIC)).thenReturn(List.of());
+
+            // When
+            inventoryEventUseCase.handleSalesEvent(salesEvent, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            verifyNoInteractions(stockManager);
+        }
+    }
+
+    @Nested
+    @DisplayName("Handle Sales Events Batch Tests")
+    class HandleSalesEventsBatchTests {
+
+        @Test
+        @DisplayName("Should apply every record of the batch")
+        void shouldApplyEveryRecordOfTheBatch() {
+            // Given
+            SalesItem item1 = new SalesItem("PROD-001", 2);
+            SalesItem item2 = new SalesItem("PROD-002", 1);
+            SalesModel sale1 = new SalesModel("event-1", "STORE-001", List.of(item1));
+            SalesModel sale2 = new SalesModel("event-2", "STORE-001", List.of(item2));
+
+            when(eventProcessor.markProcessed(anyString(), eq(TOPIC), eq(PARTITION), anyLong())).thenReturn(true);
+            when(validationHelper.isValidSalesEvent(any(), eq(TOPIC))).thenReturn(true);
+            when(validationHelper.storeExists("STORE-001")).thenReturn(true);
+            when(validationHelper.activeSalesItems(anyList(), eq(TOPIC))).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            inventoryEventUseCase.handleSalesEvents(List.of(
+                    new SalesEventRecord(sale1, TOPIC, PARTITION, 10L),
+                    new SalesEventRecord(sale2, TOPIC, PARTITION, 11L)));
+
+            // Then
+            verify(eventProcessor).markProcessed("event-1", TOPIC, PARTITION, 10L);
+            verify(eventProcessor).markProcessed("event-2", TOPIC, PARTITION, 11L);
+            verify(stockManager).applySale("STORE-001", List.of(item1), TOPIC);
+            verify(stockManager).applySale("STORE-001", List.of(item2), TOPIC);
+        }
+
+        @Test
+        @DisplayName("Should skip duplicates inside the batch")
+        void shouldSkipDuplicatesInsideTheBatch() {
+            // Given
+            SalesModel sale = new SalesModel("event-1", "STORE-001", List.of(new SalesItem("PROD-001", 2)));
+            when(eventProcessor.markProcessed("event-1", TOPIC, PARTITION, 10L)).thenReturn(false);
+
+            // When
+            inventoryEventUseCase.handleSalesEvents(List.of(new SalesEventRecord(sale, TOPIC, PARTITION, 10L)));
+
+            // Then
+            verify(eventProcessor).handleDuplicate("venda", TOPIC, PARTITION, 10L);
+            verify(stockManager, never()).applySale(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should do nothing for an empty batch")
+        void shouldDoNothingForEmptyBatch() {
+            // When
+            inventoryEventUseCase.handleSalesEvents(Collections.emptyList());
+
+            // Then
+            verifyNoInteractions(eventProcessor, validationHelper, stockManager);
         }
     }
 
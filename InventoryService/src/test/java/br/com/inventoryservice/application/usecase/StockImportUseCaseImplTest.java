@@ -0,0 +1,83 @@
+package br.com.inventoryservice.application.usecase;
+
+import br.com.inventoryservice.application.port.out.StockImportPort;
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockImportUseCaseImpl")
+class StockImportUseCaseImplTest {
+
+    @Mock
+    private StockImportPort stockImportPort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockImportUseCaseImpl stockImportUseCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockImportUseCase = new StockImportUseCaseImpl(stockImportPort, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("ImportSnapshot Tests")
+    class ImportSnapshotTests {
+
+        @Test
+        @DisplayName("Should count every staged row once, including the ones reported as progress")
+        void shouldCountStagedRows() {
+            // Given
+            Iterator<StockSnapshotRow> rows = Collections.emptyIterator();
+            StockImportResult result = new StockImportResult("abc", "loja-nova.csv", 250, 240, 10, 200, false);
+            when(stockImportPort.importSnapshot(eq("loja-nova.csv"), eq(rows), any())).thenAnswer(inv -> {
+                LongConsumer progress = inv.getArgument(2);
+                progress.accept(100);
+                progress.accept(200);
+                return result;
+            });
+
+            // When
+            StockImportResult returned = stockImportUseCase.importSnapshot("loja-nova.csv", rows);
+
+            // Then
+            assertSame(result, returned);
+            assertEquals(250.0, meterRegistry.get("inventory.stock.import.rows").counter().count());
+            assertEquals(1, meterRegistry.get("inventory.stock.import.throughput").summary().count());
+            assertEquals(1, meterRegistry.get("inventory.stock.import.duration").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should not record throughput when the file had already been imported")
+        void shouldNotRecordThroughputForRepeatedImport() {
+            // Given
+            Iterator<StockSnapshotRow> rows = Collections.emptyIterator();
+            StockImportResult result = new StockImportResult("abc", "loja-nova.csv", 250, 240, 10, 200, true);
+            when(stockImportPort.importSnapshot(eq("loja-nova.csv"), eq(rows), any())).thenReturn(result);
+
+            // When
+            StockImportResult returned = stockImportUseCase.importSnapshot("loja-nova.csv", rows);
+
+            // Then
+            assertTrue(returned.reaproveitada());
+            assertEquals(0, meterRegistry.get("inventory.stock.import.throughput").summary().count());
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package br.com.inventoryservice.application.usecase.helper;
 
 import br.com.inventoryservice.application.port.out.ProcessedEventPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 
@@ -23,13 +26,19 @@ class EventProcessorTest {
     @Mock
     private ProcessedEventPort processedEventPort;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private EventProcessor eventProcessor;
 
     private static final String TOPIC = "test-topic";
     private static final Integer PARTITION = 0;
     private static final Long OFFSET = 100L;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventProcessor = new EventProcessor(processedEventPort, new RecentEventCache(1000), meterRegistry);
+    }
+
     @Nested
     @DisplayName("Mark Processed Tests with Event ID")
     class MarkProcessedWithEventIdTests {
@@ -39,16 +48,14 @@ class EventProcessorTest {
         void shouldMarkEventAsProcessedWhenEventIdIsProvidedAndNotExists() {
             // Given
             String eventId = "event-123";
-            when(processedEventPort.exists(TOPIC, 0, (long) eventId.hashCode())).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(0), eq((long) eventId.hashCode()), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, 0, (long) eventId.hashCode());
-            verify(processedEventPort).save(eq(TOPIC), eq(0), eq((long) eventId.hashCode()), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class));
         }
 
         @Test
@@ -56,15 +63,14 @@ class EventProcessorTest {
         void shouldReturnFalseWhenEventIdAlreadyExists() {
             // Given
             String eventId = "event-123";
-            when(processedEventPort.exists(TOPIC, 0, (long) eventId.hashCode())).thenReturn(true);
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class))).thenReturn(false);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertFalse(result);
-            verify(processedEventPort).exists(TOPIC, 0, (long) eventId.hashCode());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class));
         }
 
         @Test
@@ -72,16 +78,14 @@ class EventProcessorTest {
         void shouldHandleNullTopicWithEventId() {
             // Given
             String eventId = "event-456";
-            when(processedEventPort.exists("unknown", 0, (long) eventId.hashCode())).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq("unknown"), eq(0), eq((long) eventId.hashCode()), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq("unknown"), eq(eventId), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, null, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists("unknown", 0, (long) eventId.hashCode());
-            verify(processedEventPort).save(eq("unknown"), eq(0), eq((long) eventId.hashCode()), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq("unknown"), eq(eventId), any(Instant.class));
         }
 
         @Test
@@ -89,16 +93,14 @@ class EventProcessorTest {
         void shouldHandleBlankEventId() {
             // Given
             String eventId = "   ";
-            when(processedEventPort.exists(TOPIC, PARTITION, OFFSET)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, PARTITION, OFFSET);
-            verify(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
         }
 
         @Test
@@ -106,36 +108,47 @@ class EventProcessorTest {
         void shouldHandleEmptyEventId() {
             // Given
             String eventId = "";
-            when(processedEventPort.exists(TOPIC, PARTITION, OFFSET)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, PARTITION, OFFSET);
-            verify(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
         }
 
         @Test
-        @DisplayName("Should use event ID hash code as offset")
-        void shouldUseEventIdHashCodeAsOffset() {
+        @DisplayName("Should not store event IDs in the offset index")
+        void shouldNotStoreEventIdsInOffsetIndex() {
             // Given
             String eventId = "unique-event-id";
-            long expectedOffset = eventId.hashCode();
-            when(processedEventPort.exists(TOPIC, 0, expectedOffset)).thenReturn(false);
-            
-            ArgumentCaptor<Long> offsetCaptor = ArgumentCaptor.forClass(Long.class);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(0), offsetCaptor.capture(), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, 0, expectedOffset);
-            assertEquals(expectedOffset, offsetCaptor.getValue());
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should treat event IDs with colliding hash codes as distinct events")
+        void shouldTreatCollidingHashCodesAsDistinctEvents() {
+            // Given
+            assertEquals("Aa".hashCode(), "BB".hashCode());
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), anyString(), any(Instant.class))).thenReturn(true);
+
+            // When
+            boolean first = eventProcessor.markProcessed("Aa", TOPIC, PARTITION, OFFSET);
+            boolean second = eventProcessor.markProcessed("BB", TOPIC, PARTITION, OFFSET + 1);
+
+            // Then
+            assertTrue(first);
+            assertTrue(second);
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq("Aa"), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq("BB"), any(Instant.class));
         }
     }
 
@@ -147,31 +160,28 @@ class EventProcessorTest {
         @DisplayName("Should mark event as processed when topic/partition/offset provided and not exists")
         void shouldMarkEventAsProcessedWhenTopicPartitionOffsetProvidedAndNotExists() {
             // Given
-            when(processedEventPort.exists(TOPIC, PARTITION, OFFSET)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, PARTITION, OFFSET);
-            verify(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
         }
 
         @Test
         @DisplayName("Should return false when topic/partition/offset already exists")
         void shouldReturnFalseWhenTopicPartitionOffsetAlreadyExists() {
             // Given
-            when(processedEventPort.exists(TOPIC, PARTITION, OFFSET)).thenReturn(true);
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(false);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertFalse(result);
-            verify(processedEventPort).exists(TOPIC, PARTITION, OFFSET);
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class));
         }
 
         @Test
@@ -182,8 +192,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -194,8 +203,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -206,8 +214,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -218,8 +225,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -227,10 +233,8 @@ class EventProcessorTest {
         void shouldSaveWithCurrentTimestamp() {
             // Given
             Instant beforeCall = Instant.now();
-            when(processedEventPort.exists(TOPIC, PARTITION, OFFSET)).thenReturn(false);
-            
             ArgumentCaptor<Instant> timestampCaptor = ArgumentCaptor.forClass(Instant.class);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(PARTITION), eq(OFFSET), timestampCaptor.capture());
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
@@ -238,12 +242,179 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), timestampCaptor.capture());
             Instant capturedTimestamp = timestampCaptor.getValue();
             assertTrue(capturedTimestamp.isAfter(beforeCall.minusSeconds(1)));
             assertTrue(capturedTimestamp.isBefore(afterCall.plusSeconds(1)));
         }
     }
 
+    @Nested
+    @DisplayName("Recent Event Cache Tests")
+    class RecentEventCacheTests {
+
+        @Test
+        @DisplayName("Should answer redelivered event from the cache without touching the DB")
+        void shouldAnswerRedeliveredEventFromCacheWithoutTouchingDb() {
+            // Given
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
+            eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // When
+            boolean result = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertFalse(result);
+            verify(processedEventPort, times(1)).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
+            assertEquals(1.0, meterRegistry.get("inventory.idempotency.checks").tag("result", "cache_duplicate").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should remember duplicates reported by the constraint")
+        void shouldRememberDuplicatesReportedByConstraint() {
+            // Given
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(false);
+
+            // When
+            boolean first = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+            boolean second = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertFalse(first);
+            assertFalse(second);
+            verify(processedEventPort, times(1)).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
+            assertEquals(1.0, meterRegistry.get("inventory.idempotency.checks").tag("result", "db_duplicate").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not remember a duplicate reported inside a transaction that rolls back")
+        void shouldNotRememberDuplicateOfRolledBackTransaction() {
+            // Given
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class)))
+                    .thenReturn(false)
+                    .thenReturn(true);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                assertFalse(eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET));
+            } finally {
+                // Rollback: afterCommit never runs
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // When
+            boolean retried = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertTrue(retried);
+            verify(processedEventPort, times(2)).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should answer redelivered event ID from the cache without touching the DB")
+        void shouldAnswerRedeliveredEventIdFromCache() {
+            // Given
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq("event-123"), any(Instant.class))).thenReturn(true);
+            eventProcessor.markProcessed("event-123", TOPIC, PARTITION, OFFSET);
+
+            // When
+            boolean result = eventProcessor.markProcessed("event-123", TOPIC, PARTITION, OFFSET + 1);
+
+            // Then
+            assertFalse(result);
+            verify(processedEventPort, times(1)).saveEventIdIfAbsent(anyString(), anyString(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should not remember a duplicate event ID reported inside a transaction that rolls back")
+        void shouldNotRememberDuplicateEventIdOfRolledBackTransaction() {
+            // Given
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq("event-123"), any(Instant.class)))
+                    .thenReturn(false)
+                    .thenReturn(true);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                assertFalse(eventProcessor.markProcessed("event-123", TOPIC, PARTITION, OFFSET));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // When
+            boolean retried = eventProcessor.markProcessed("event-123", TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertTrue(retried);
+            verify(processedEventPort, times(2)).saveEventIdIfAbsent(anyString(), anyString(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should never issue a select before the insert")
+        void shouldNeverIssueSelectBeforeInsert() {
+            // Given
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(PARTITION), eq(OFFSET), any(Instant.class))).thenReturn(true);
+
+            // When
+            eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
+            assertEquals(1.0, meterRegistry.get("inventory.idempotency.checks").tag("result", "new").counter().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Watermark Mode Tests")
+    class WatermarkModeTests {
+
+        @BeforeEach
+        void enableWatermarkMode() {
+            ReflectionTestUtils.setField(eventProcessor, "mode", "watermark");
+        }
+
+        @Test
+        @DisplayName("Should claim the offset against the watermark even when an event ID is present")
+        void shouldClaimOffsetAgainstWatermark() {
+            // Given
+            when(processedEventPort.claimOffset(TOPIC, PARTITION, OFFSET)).thenReturn(true);
+
+            // When
+            boolean result = eventProcessor.markProcessed("event-123", TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertTrue(result);
+            verify(processedEventPort).claimOffset(TOPIC, PARTITION, OFFSET);
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should report duplicates below the watermark")
+        void shouldReportDuplicatesBelowWatermark() {
+            // Given
+            when(processedEventPort.claimOffset(TOPIC, PARTITION, OFFSET)).thenReturn(false);
+
+            // When
+            boolean result = eventProcessor.markProcessed(null, TOPIC, PARTITION, OFFSET);
+
+            // Then
+            assertFalse(result);
+            assertEquals(1.0, meterRegistry.get("inventory.idempotency.checks").tag("result", "db_duplicate").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should fall back to event ID rows when coordinates are missing")
+        void shouldFallBackToEventIdRowsWhenCoordinatesAreMissing() {
+            // Given
+            String eventId = "event-123";
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(eventId), any(Instant.class))).thenReturn(true);
+
+            // When
+            boolean result = eventProcessor.markProcessed(eventId, TOPIC, null, null);
+
+            // Then
+            assertTrue(result);
+            verify(processedEventPort, never()).claimOffset(anyString(), anyInt(), anyLong());
+        }
+    }
+
     @Nested
     @DisplayName("Edge Cases Tests")
     class EdgeCasesTests {
@@ -253,17 +424,14 @@ class EventProcessorTest {
         void shouldHandleVeryLongEventId() {
             // Given
             String longEventId = "a".repeat(1000);
-            long expectedOffset = longEventId.hashCode();
-            when(processedEventPort.exists(TOPIC, 0, expectedOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(longEventId), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(longEventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, 0, expectedOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq(longEventId), any(Instant.class));
         }
 
         @Test
@@ -271,17 +439,14 @@ class EventProcessorTest {
         void shouldHandleSpecialCharactersInEventId() {
             // Given
             String eventIdWithSpecialChars = "event-123!@#$%^&*()_+{}[]";
-            long expectedOffset = eventIdWithSpecialChars.hashCode();
-            when(processedEventPort.exists(TOPIC, 0, expectedOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(eventIdWithSpecialChars), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(eventIdWithSpecialChars, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, 0, expectedOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq(eventIdWithSpecialChars), any(Instant.class));
         }
 
         @Test
@@ -289,17 +454,14 @@ class EventProcessorTest {
         void shouldHandleUnicodeCharactersInEventId() {
             // Given
             String unicodeEventId = "event-测试-事件-123";
-            long expectedOffset = unicodeEventId.hashCode();
-            when(processedEventPort.exists(TOPIC, 0, expectedOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            when(processedEventPort.saveEventIdIfAbsent(eq(TOPIC), eq(unicodeEventId), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(unicodeEventId, TOPIC, PARTITION, OFFSET);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, 0, expectedOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(0), eq(expectedOffset), any(Instant.class));
+            verify(processedEventPort).saveEventIdIfAbsent(eq(TOPIC), eq(unicodeEventId), any(Instant.class));
         }
 
         @Test
@@ -308,16 +470,14 @@ class EventProcessorTest {
             // Given
             Integer negativePartition = -1;
             Long negativeOffset = -100L;
-            when(processedEventPort.exists(TOPIC, negativePartition, negativeOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(negativePartition), eq(negativeOffset), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(negativePartition), eq(negativeOffset), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, negativePartition, negativeOffset);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, negativePartition, negativeOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(negativePartition), eq(negativeOffset), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(negativePartition), eq(negativeOffset), any(Instant.class));
         }
 
         @Test
@@ -326,16 +486,14 @@ class EventProcessorTest {
             // Given
             Integer zeroPartition = 0;
             Long zeroOffset = 0L;
-            when(processedEventPort.exists(TOPIC, zeroPartition, zeroOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(zeroPartition), eq(zeroOffset), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(zeroPartition), eq(zeroOffset), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, zeroPartition, zeroOffset);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, zeroPartition, zeroOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(zeroPartition), eq(zeroOffset), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(zeroPartition), eq(zeroOffset), any(Instant.class));
         }
 
         @Test
@@ -344,16 +502,14 @@ class EventProcessorTest {
             // Given
             Integer maxPartition = Integer.MAX_VALUE;
             Long maxOffset = Long.MAX_VALUE;
-            when(processedEventPort.exists(TOPIC, maxPartition, maxOffset)).thenReturn(false);
-            doNothing().when(processedEventPort).save(eq(TOPIC), eq(maxPartition), eq(maxOffset), any(Instant.class));
+            when(processedEventPort.saveIfAbsent(eq(TOPIC), eq(maxPartition), eq(maxOffset), any(Instant.class))).thenReturn(true);
 
             // When
             boolean result = eventProcessor.markProcessed(null, TOPIC, maxPartition, maxOffset);
 
             // Then
             assertTrue(result);
-            verify(processedEventPort).exists(TOPIC, maxPartition, maxOffset);
-            verify(processedEventPort).save(eq(TOPIC), eq(maxPartition), eq(maxOffset), any(Instant.class));
+            verify(processedEventPort).saveIfAbsent(eq(TOPIC), eq(maxPartition), eq(maxOffset), any(Instant.class));
         }
     }
 
@@ -404,8 +560,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -416,8 +571,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -428,8 +582,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -440,8 +593,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -452,8 +604,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
 
         @Test
@@ -464,8 +615,7 @@ class EventProcessorTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventPort, never()).exists(anyString(), anyInt(), anyLong());
-            verify(processedEventPort, never()).save(anyString(), anyInt(), anyLong(), any(Instant.class));
+            verify(processedEventPort, never()).saveIfAbsent(anyString(), anyInt(), anyLong(), any(Instant.class));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package br.com.inventoryservice.application.usecase.helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecentEventCache Tests")
+class RecentEventCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest key when full")
+    void shouldEvictOldestKeyWhenFull() {
+        // Given
+        RecentEventCache cache = new RecentEventCache(2);
+
+        // When
+        cache.add("a");
+        cache.add("b");
+        cache.add("c");
+
+        // Then
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should add immediately when no transaction is active")
+    void shouldAddImmediatelyWhenNoTransactionIsActive() {
+        RecentEventCache cache = new RecentEventCache(10);
+
+        cache.addAfterCommit("a");
+
+        assertTrue(cache.contains("a"));
+    }
+
+    @Test
+    @DisplayName("Should only add after the transaction commits")
+    void shouldOnlyAddAfterTransactionCommits() {
+        // Given
+        RecentEventCache cache = new RecentEventCache(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.addAfterCommit("a");
+
+        // Then
+        assertFalse(cache.contains("a"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(cache.contains("a"));
+    }
+}
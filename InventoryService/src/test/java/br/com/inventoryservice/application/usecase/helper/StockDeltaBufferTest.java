@@ -0,0 +1,173 @@
+package br.com.inventoryservice.application.usecase.helper;
+
+import br.com.inventoryservice.application.port.out.StockPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockDeltaBuffer Tests")
+class StockDeltaBufferTest {
+
+    private static final String STORE = "L001";
+    private static final String SKU = "SKU001";
+
+    @Mock
+    private StockPort stockPort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockDeltaBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new StockDeltaBuffer(stockPort, meterRegistry, true, Set.of("STRICT"));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+    }
+
+    @Test
+    @DisplayName("Should write one combined update per key on commit")
+    void shouldWriteOneCombinedUpdatePerKey() {
+        // Given
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.of(10));
+        when(stockPort.applyDelta(STORE, SKU, -6, false)).thenReturn(Optional.of(4));
+
+        // When
+        buffer.add(STORE, SKU, -1, false);
+        buffer.add(STORE, SKU, -2, false);
+        buffer.add(STORE, SKU, -3, false);
+        commit();
+
+        // Then
+        verify(stockPort, times(1)).lockQuantity(STORE, SKU);
+        verify(stockPort, never()).lockKey(anyString(), anyString());
+        verify(stockPort).applyDelta(STORE, SKU, -6, false);
+        assertEquals(3.0, meterRegistry.get("inventory.stock.coalescing.deltas").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.stock.coalescing.writes").counter().count());
+        assertEquals(3.0, meterRegistry.get("inventory.stock.coalescing.ratio").summary().max());
+        assertEquals(1L, meterRegistry.get("inventory.stock.coalescing.flush").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject only the deltas that would make the running total negative")
+    void shouldRejectOnlyDeltasThatWouldMakeRunningTotalNegative() {
+        // Given
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.of(5));
+        when(stockPort.applyDelta(STORE, SKU, -5, false)).thenReturn(Optional.of(0));
+
+        // When
+        Optional<Integer> first = buffer.add(STORE, SKU, -4, false);
+        Optional<Integer> rejected = buffer.add(STORE, SKU, -2, false);
+        Optional<Integer> last = buffer.add(STORE, SKU, -1, false);
+        commit();
+
+        // Then
+        assertEquals(Optional.of(1), first);
+        assertTrue(rejected.isEmpty());
+        assertEquals(Optional.of(0), last);
+        assertEquals(0, buffer.runningQuantity(STORE, SKU));
+        verify(stockPort).applyDelta(STORE, SKU, -5, false);
+    }
+
+    @Test
+    @DisplayName("Should start from zero when the stock row does not exist")
+    void shouldStartFromZeroWhenRowDoesNotExist() {
+        // Given
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Integer> result = buffer.add(STORE, SKU, -1, false);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(stockPort).lockKey(STORE, SKU);
+        verify(stockPort, times(2)).lockQuantity(STORE, SKU);
+    }
+
+    @Test
+    @DisplayName("Should re-read the base after locking a key that had no row")
+    void shouldRereadBaseAfterLockingNewKey() {
+        // Given - a concurrent transaction creates the row while this one waits for the key lock
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.empty(), Optional.of(3));
+
+        // When
+        Optional<Integer> result = buffer.add(STORE, SKU, -2, false);
+
+        // Then
+        assertEquals(Optional.of(1), result);
+        var inOrder = inOrder(stockPort);
+        inOrder.verify(stockPort).lockQuantity(STORE, SKU);
+        inOrder.verify(stockPort).lockKey(STORE, SKU);
+        inOrder.verify(stockPort).lockQuantity(STORE, SKU);
+    }
+
+    @Test
+    @DisplayName("Should fail the commit when the guarded write rejects the combined delta")
+    void shouldFailCommitWhenGuardedWriteRejects() {
+        // Given
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.of(2));
+        when(stockPort.applyDelta(STORE, SKU, -2, false)).thenReturn(Optional.empty());
+        buffer.add(STORE, SKU, -2, false);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, this::commit);
+    }
+
+    @Test
+    @DisplayName("Should flush without the guard when negative stock is allowed")
+    void shouldFlushWithoutGuardWhenNegativeAllowed() {
+        // Given
+        when(stockPort.lockQuantity(STORE, SKU)).thenReturn(Optional.of(1));
+        when(stockPort.applyDelta(STORE, SKU, -3, true)).thenReturn(Optional.of(-2));
+
+        // When
+        Optional<Integer> result = buffer.add(STORE, SKU, -3, true);
+        commit();
+
+        // Then
+        assertEquals(Optional.of(-2), result);
+        verify(stockPort).applyDelta(STORE, SKU, -3, true);
+    }
+
+    @Test
+    @DisplayName("Should not accept strict stores or calls outside a transaction")
+    void shouldNotAcceptStrictStoresOrCallsOutsideTransaction() {
+        assertTrue(buffer.accepts(STORE));
+        assertFalse(buffer.accepts("STRICT"));
+
+        TransactionSynchronizationManager.clearSynchronization();
+        assertFalse(buffer.accepts(STORE));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should not accept anything when coalescing is disabled")
+    void shouldNotAcceptWhenDisabled() {
+        StockDeltaBuffer disabled = new StockDeltaBuffer(stockPort, new SimpleMeterRegistry(), false, Set.of());
+
+        assertFalse(disabled.accepts(STORE));
+    }
+}
@@ -2,6 +2,7 @@ package br.com.inventoryservice.application.usecase.helper;
 
 import br.com.inventoryservice.application.port.out.StockAdjustmentPort;
 import br.com.inventoryservice.application.port.out.StockPort;
+import br.com.inventoryservice.domain.model.SalesItem;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +30,9 @@ class StockManagerTest {
     @Mock
     private StockAdjustmentPort stockAdjustmentPort;
 
+    @Mock
+    private StockDeltaBuffer stockDeltaBuffer;
+
     @InjectMocks
     private StockManager stockManager;
 
@@ -38,193 +45,195 @@ class StockManagerTest {
     class AdjustStockTests {
 
         @Test
-        @DisplayName("Should adjust stock with positive delta")
-        void shouldAdjustStockWithPositiveDelta() {
+        @DisplayName("Should apply positive delta atomically")
+        void shouldApplyPositiveDeltaAtomically() {
             // Given
-            int currentStock = 10;
-            int delta = 5;
-            int expectedNewStock = 15;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            when(stockPort.applyDelta(STORE_CODE, SKU, 5, false)).thenReturn(Optional.of(15));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, 5, TOPIC, false);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, 5, false);
+            verify(stockPort, never()).getQuantity(anyString(), anyString());
         }
 
         @Test
-        @DisplayName("Should adjust stock with negative delta when result is positive")
-        void shouldAdjustStockWithNegativeDeltaWhenResultIsPositive() {
+        @DisplayName("Should apply negative delta atomically when result is positive")
+        void shouldApplyNegativeDeltaAtomicallyWhenResultIsPositive() {
             // Given
-            int currentStock = 10;
-            int delta = -3;
-            int expectedNewStock = 7;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            when(stockPort.applyDelta(STORE_CODE, SKU, -3, false)).thenReturn(Optional.of(7));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, -3, TOPIC, false);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, -3, false);
+            verify(stockPort, never()).getQuantity(anyString(), anyString());
         }
 
         @Test
-        @DisplayName("Should block negative stock when allowNegative is false")
-        void shouldBlockNegativeStockWhenAllowNegativeIsFalse() {
+        @DisplayName("Should report blocked operation when the guard rejects the delta")
+        void shouldReportBlockedOperationWhenGuardRejectsDelta() {
             // Given
-            int currentStock = 5;
-            int delta = -10;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
+            when(stockPort.applyDelta(STORE_CODE, SKU, -10, false)).thenReturn(Optional.empty());
+            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(5);
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, -10, TOPIC, false);
 
             // Then
+            verify(stockPort).applyDelta(STORE_CODE, SKU, -10, false);
             verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort, never()).upsertQuantity(anyString(), anyString(), anyInt());
         }
 
         @Test
-        @DisplayName("Should allow negative stock when allowNegative is true")
-        void shouldAllowNegativeStockWhenAllowNegativeIsTrue() {
+        @DisplayName("Should pass allowNegative to the atomic statement")
+        void shouldPassAllowNegativeToAtomicStatement() {
             // Given
-            int currentStock = 5;
-            int delta = -10;
-            int expectedNewStock = -5;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", true);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            when(stockPort.applyDelta(STORE_CODE, SKU, -10, true)).thenReturn(Optional.of(-5));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, -10, TOPIC, false);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, -10, true);
+            verify(stockPort, never()).getQuantity(anyString(), anyString());
         }
 
         @Test
         @DisplayName("Should skip adjustment when delta is zero and allowZeroDelta is false")
         void shouldSkipAdjustmentWhenDeltaIsZeroAndAllowZeroDeltaIsFalse() {
-            // Given
-            int delta = 0;
-
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, 0, TOPIC, false);
 
             // Then
-            verify(stockPort, never()).getQuantity(anyString(), anyString());
-            verify(stockPort, never()).upsertQuantity(anyString(), anyString(), anyInt());
+            verifyNoInteractions(stockPort);
         }
 
         @Test
         @DisplayName("Should process adjustment when delta is zero and allowZeroDelta is true")
         void shouldProcessAdjustmentWhenDeltaIsZeroAndAllowZeroDeltaIsTrue() {
             // Given
-            int currentStock = 10;
-            int delta = 0;
-            int expectedNewStock = 10;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            when(stockPort.applyDelta(STORE_CODE, SKU, 0, false)).thenReturn(Optional.of(10));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, true);
+            stockManager.adjustStock(STORE_CODE, SKU, 0, TOPIC, true);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, 0, false);
         }
+    }
+
+    @Nested
+    @DisplayName("Apply Sale Tests")
+    class ApplySaleTests {
 
         @Test
-        @DisplayName("Should handle zero current stock with positive delta")
-        void shouldHandleZeroCurrentStockWithPositiveDelta() {
+        @DisplayName("Should sum repeated SKUs and apply the basket in one statement")
+        void shouldSumRepeatedSkusAndApplyBasketInOneStatement() {
             // Given
-            int currentStock = 0;
-            int delta = 5;
-            int expectedNewStock = 5;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            List<SalesItem> items = List.of(new SalesItem(SKU, 2), new SalesItem("PROD-002", 1), new SalesItem(SKU, 3));
+            when(stockPort.applyDeltas(STORE_CODE, Map.of(SKU, -5, "PROD-002", -1), false))
+                    .thenReturn(Map.of(SKU, 5, "PROD-002", 9));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.applySale(STORE_CODE, items, TOPIC);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).applyDeltas(STORE_CODE, Map.of(SKU, -5, "PROD-002", -1), false);
+            verify(stockPort, never()).applyDelta(anyString(), anyString(), anyInt(), anyBoolean());
+            verify(stockPort, never()).getQuantity(anyString(), anyString());
         }
 
         @Test
-        @DisplayName("Should handle zero current stock with negative delta when allowNegative is true")
-        void shouldHandleZeroCurrentStockWithNegativeDeltaWhenAllowNegativeIsTrue() {
+        @DisplayName("Should report each SKU rejected by the non-negative guard")
+        void shouldReportEachRejectedSku() {
             // Given
-            int currentStock = 0;
-            int delta = -3;
-            int expectedNewStock = -3;
-            
-            ReflectionTestUtils.setField(stockManager, "allowNegative", true);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            ReflectionTestUtils.setField(stockManager, "allowNegative", false);
+            List<SalesItem> items = List.of(new SalesItem(SKU, 2), new SalesItem("PROD-002", 50));
+            when(stockPort.applyDeltas(STORE_CODE, Map.of(SKU, -2, "PROD-002", -50), false)).thenReturn(Map.of(SKU, 8));
+            when(stockPort.getQuantity(STORE_CODE, "PROD-002")).thenReturn(10);
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.applySale(STORE_CODE, items, TOPIC);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockPort).getQuantity(STORE_CODE, "PROD-002");
+            verify(stockPort, never()).getQuantity(STORE_CODE, SKU);
         }
 
         @Test
-        @DisplayName("Should block zero current stock with negative delta when allowNegative is false")
-        void shouldBlockZeroCurrentStockWithNegativeDeltaWhenAllowNegativeIsFalse() {
+        @DisplayName("Should route the basket through the buffer when the store is coalesced")
+        void shouldRouteBasketThroughBufferWhenCoalesced() {
+            // Given
+            when(stockDeltaBuffer.accepts(STORE_CODE)).thenReturn(true);
+            when(stockDeltaBuffer.add(STORE_CODE, SKU, -4, false)).thenReturn(Optional.of(6));
+
+            // When
+            stockManager.applySale(STORE_CODE, List.of(new SalesItem(SKU, 1), new SalesItem(SKU, 3)), TOPIC);
+
+            // Then
+            verify(stockDeltaBuffer).add(STORE_CODE, SKU, -4, false);
+            verify(stockPort, never()).applyDeltas(anyString(), anyMap(), anyBoolean());
+        }
+    }
+
+    @Nested
+    @DisplayName("Coalescing Tests")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should buffer the delta instead of writing when the store is coalesced")
+        void shouldBufferDeltaWhenStoreIsCoalesced() {
             // Given
-            int currentStock = 0;
-            int delta = -3;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
+            when(stockDeltaBuffer.accepts(STORE_CODE)).thenReturn(true);
+            when(stockDeltaBuffer.add(STORE_CODE, SKU, -2, false)).thenReturn(Optional.of(8));
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, -2, TOPIC, false);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort, never()).upsertQuantity(anyString(), anyString(), anyInt());
+            verify(stockDeltaBuffer).add(STORE_CODE, SKU, -2, false);
+            verify(stockPort, never()).applyDelta(anyString(), anyString(), anyInt(), anyBoolean());
         }
 
         @Test
-        @DisplayName("Should handle exact zero result")
-        void shouldHandleExactZeroResult() {
+        @DisplayName("Should report blocked operation when the running total would go negative")
+        void shouldReportBlockedOperationWhenRunningTotalWouldGoNegative() {
             // Given
-            int currentStock = 5;
-            int delta = -5;
-            int expectedNewStock = 0;
-            
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(currentStock);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            when(stockDeltaBuffer.accepts(STORE_CODE)).thenReturn(true);
+            when(stockDeltaBuffer.add(STORE_CODE, SKU, -20, false)).thenReturn(Optional.empty());
+            when(stockDeltaBuffer.runningQuantity(STORE_CODE, SKU)).thenReturn(3);
 
             // When
-            stockManager.adjustStock(STORE_CODE, SKU, delta, TOPIC, false);
+            stockManager.adjustStock(STORE_CODE, SKU, -20, TOPIC, false);
 
             // Then
-            verify(stockPort).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, expectedNewStock);
+            verify(stockDeltaBuffer).runningQuantity(STORE_CODE, SKU);
+            verify(stockPort, never()).applyDelta(anyString(), anyString(), anyInt(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should write zero deltas directly")
+        void shouldWriteZeroDeltasDirectly() {
+            // Given
+            when(stockPort.applyDelta(STORE_CODE, SKU, 0, false)).thenReturn(Optional.of(0));
+
+            // When
+            stockManager.adjustStock(STORE_CODE, SKU, 0, TOPIC, true);
+
+            // Then
+            verify(stockDeltaBuffer, never()).add(anyString(), anyString(), anyInt(), anyBoolean());
+            verify(stockPort).applyDelta(STORE_CODE, SKU, 0, false);
         }
     }
 
@@ -333,62 +342,21 @@ class StockManagerTest {
     class IntegrationTests {
 
         @Test
-        @DisplayName("Should handle multiple stock adjustments correctly")
-        void shouldHandleMultipleStockAdjustmentsCorrectly() {
+        @DisplayName("Should issue one statement per adjustment")
+        void shouldIssueOneStatementPerAdjustment() {
             // Given
             ReflectionTestUtils.setField(stockManager, "allowNegative", false);
-            
-            // First adjustment
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(10);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, 15);
+            when(stockPort.applyDelta(STORE_CODE, SKU, 5, false)).thenReturn(Optional.of(15));
+            when(stockPort.applyDelta(STORE_CODE, SKU, -3, false)).thenReturn(Optional.of(12));
 
-            // When - First adjustment
+            // When
             stockManager.adjustStock(STORE_CODE, SKU, 5, TOPIC, false);
-
-            // Given - Second adjustment 
-            when(stockPort.getQuantity(STORE_CODE, SKU)).thenReturn(15);
-            doNothing().when(stockPort).upsertQuantity(STORE_CODE, SKU, 12);
-
-            // When - Second adjustment
             stockManager.adjustStock(STORE_CODE, SKU, -3, TOPIC, false);
 
             // Then
-            verify(stockPort, times(2)).getQuantity(STORE_CODE, SKU);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, 15);
-            verify(stockPort).upsertQuantity(STORE_CODE, SKU, 12);
-        }
-
-        @Test
-        @DisplayName("Should handle different store and SKU combinations")
-        void shouldHandleDifferentStoreAndSkuCombinations() {
-            // Given
-            String store1 = "STORE-001";
-            String store2 = "STORE-002";
-            String sku1 = "PROD-001";
-            String sku2 = "PROD-002";
-            
-            ReflectionTestUtils.setField(stockManager, "allowNegative", true);
-            
-            when(stockPort.getQuantity(store1, sku1)).thenReturn(10);
-            when(stockPort.getQuantity(store1, sku2)).thenReturn(5);
-            when(stockPort.getQuantity(store2, sku1)).thenReturn(0);
-            
-            doNothing().when(stockPort).upsertQuantity(store1, sku1, 15);
-            doNothing().when(stockPort).upsertQuantity(store1, sku2, 2);
-            doNothing().when(stockPort).upsertQuantity(store2, sku1, -2);
-
-            // When
-            stockManager.adjustStock(store1, sku1, 5, TOPIC, false);
-            stockManager.adjustStock(store1, sku2, -3, TOPIC, false);
-            stockManager.adjustStock(store2, sku1, -2, TOPIC, false);
-
-            // Then
-            verify(stockPort).getQuantity(store1, sku1);
-            verify(stockPort).getQuantity(store1, sku2);
-            verify(stockPort).getQuantity(store2, sku1);
-            verify(stockPort).upsertQuantity(store1, sku1, 15);
-            verify(stockPort).upsertQuantity(store1, sku2, 2);
-            verify(stockPort).upsertQuantity(store2, sku1, -2);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, 5, false);
+            verify(stockPort).applyDelta(STORE_CODE, SKU, -3, false);
+            verifyNoMoreInteractions(stockPort);
         }
     }
-}
\ No newline at end of file
+}
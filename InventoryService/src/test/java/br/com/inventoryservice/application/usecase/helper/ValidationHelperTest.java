@@ -14,10 +14,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -325,8 +328,8 @@ class ValidationHelperTest {
         }
 
         @Test
-        @DisplayName("Should validate product event when product does not exist")
-        void shouldValidateProductEventWhenProductDoesNotExist() {
+        @DisplayName("Should reject product event when product does not exist")
+        void shouldRejectProductEventWhenProductDoesNotExist() {
             // Given
             String sku = "PROD-999";
             when(productReadPort.existsBySku(sku)).thenReturn(false);
@@ -335,7 +338,7 @@ class ValidationHelperTest {
             boolean result = validationHelper.validateProductEvent(sku, TOPIC);
 
             // Then
-            assertTrue(result); // Still returns true for idempotence
+            assertFalse(result);
             verify(productReadPort).existsBySku(sku);
         }
 
@@ -371,8 +374,8 @@ class ValidationHelperTest {
         }
 
         @Test
-        @DisplayName("Should validate store event when store does not exist")
-        void shouldValidateStoreEventWhenStoreDoesNotExist() {
+        @DisplayName("Should reject store event when store does not exist")
+        void shouldRejectStoreEventWhenStoreDoesNotExist() {
             // Given
             String codigo = "STORE-999";
             when(storeReadPort.existsByCodigo(codigo)).thenReturn(false);
@@ -381,7 +384,7 @@ class ValidationHelperTest {
             boolean result = validationHelper.validateStoreEvent(codigo, TOPIC);
 
             // Then
-            assertTrue(result); // Still returns true for idempotence
+            assertFalse(result);
             verify(storeReadPort).existsByCodigo(codigo);
         }
 
@@ -396,4 +399,42 @@ class ValidationHelperTest {
             verify(storeReadPort, never()).existsByCodigo(anyString());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Active Sales Items Tests")
+    class ActiveSalesItemsTests {
+
+        @Test
+        @DisplayName("Should keep only valid items of active products with one bulk lookup")
+        void shouldKeepOnlyValidItemsOfActiveProducts() {
+            // Given
+            SalesItem active = new SalesItem("SKU-1", 2);
+            SalesItem activeAgain = new SalesItem("SKU-1", 1);
+            SalesItem inactive = new SalesItem("SKU-2", 1);
+            SalesItem unknown = new SalesItem("SKU-3", 1);
+            SalesItem invalid = new SalesItem("SKU-4", 0);
+            when(productReadPort.findAtivoBySkus(List.of("SKU-1", "SKU-2", "SKU-3")))
+                    .thenReturn(Map.of("SKU-1", true, "SKU-2", false));
+
+            // When
+            List<SalesItem> result = validationHelper.activeSalesItems(
+                    List.of(active, inactive, unknown, invalid, activeAgain), TOPIC);
+
+            // Then
+            assertEquals(List.of(active, activeAgain), result);
+            verify(productReadPort, times(1)).findAtivoBySkus(anyCollection());
+            verify(productReadPort, never()).isAtivo(anyString());
+        }
+
+        @Test
+        @DisplayName("Should skip the lookup when no item is valid")
+        void shouldSkipLookupWhenNoItemIsValid() {
+            // When
+            List<SalesItem> result = validationHelper.activeSalesItems(List.of(new SalesItem(null, 1)), TOPIC);
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(productReadPort);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.dispatcher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KeyOrderedDispatcher Tests")
+class KeyOrderedDispatcherTest {
+
+    private record Item(String key, int seq) {
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private KeyOrderedDispatcher<Item> dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new KeyOrderedDispatcher<>(2, "test.dispatch", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Should preserve the order of items that share a key")
+    void shouldPreserveOrderPerKey() {
+        // Given
+        List<Item> items = IntStream.range(0, 200).mapToObj(i -> new Item("K" + (i % 5), i)).toList();
+        ConcurrentHashMap<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        // When
+        Optional<KeyOrderedDispatcher.Failure> failure = dispatcher.dispatch(items, Item::key,
+                item -> seen.computeIfAbsent(item.key(), k -> Collections.synchronizedList(new ArrayList<>())).add(item.seq()));
+
+        // Then
+        assertTrue(failure.isEmpty());
+        assertEquals(5, seen.size());
+        seen.values().forEach(seqs -> {
+            List<Integer> sorted = new ArrayList<>(seqs);
+            Collections.sort(sorted);
+            assertEquals(sorted, seqs);
+        });
+        assertEquals(5.0, meterRegistry.get("test.dispatch.lanes").summary().max());
+    }
+
+    @Test
+    @DisplayName("Should run different keys concurrently")
+    void shouldRunDifferentKeysConcurrently() {
+        // Given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<Item> items = List.of(new Item("A", 0), new Item("B", 1));
+
+        // When
+        Optional<KeyOrderedDispatcher.Failure> failure = dispatcher.dispatch(items, Item::key, item -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("lanes ran sequentially");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertTrue(failure.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never exceed the in-flight limit")
+    void shouldNeverExceedInFlightLimit() {
+        // Given
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Item> items = IntStream.range(0, 50).mapToObj(i -> new Item("K" + i, i)).toList();
+
+        // When
+        dispatcher.dispatch(items, Item::key, item -> {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            current.decrementAndGet();
+        });
+
+        // Then
+        assertTrue(peak.get() <= 2);
+        assertTrue(meterRegistry.get("test.dispatch.backpressure").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should report the lowest failed index and stop the failed lane")
+    void shouldReportLowestFailedIndexAndStopLane() {
+        // Given
+        List<Item> items = List.of(new Item("A", 0), new Item("B", 1), new Item("B", 2), new Item("A", 3), new Item("C", 4));
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        Optional<KeyOrderedDispatcher.Failure> failure = dispatcher.dispatch(items, Item::key, item -> {
+            if (item.seq() == 1 || item.seq() == 4) throw new IllegalStateException("boom " + item.seq());
+            handled.add(item.seq());
+        });
+
+        // Then
+        assertTrue(failure.isPresent());
+        assertEquals(1, failure.get().index());
+        assertEquals("boom 1", failure.get().error().getMessage());
+        assertFalse(handled.contains(2));
+        assertTrue(handled.containsAll(List.of(0, 3)));
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.kafka.KafkaContainer;
@@ -12,7 +13,8 @@ import org.testcontainers.utility.DockerImageName;
 
 /**
  * Base class for Kafka integration tests using TestContainers.
- * Provides shared Kafka container setup and configuration.
+ * Provides shared Kafka and PostgreSQL container setup and configuration.
+ * PostgreSQL is required because stock updates rely on native upsert statements.
  */
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -23,13 +25,19 @@ public abstract class KafkaIntegrationTestBase {
     @Container
     static KafkaContainer kafkaContainer = new KafkaContainer(DockerImageName.parse("apache/kafka"));
 
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
         registry.add("spring.embedded.kafka.brokers", kafkaContainer::getBootstrapServers);
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
     }
 
     protected String getBootstrapServers() {
         return kafkaContainer.getBootstrapServers();
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
 import org.testcontainers.shaded.org.awaitility.Awaitility;
 
 import java.util.concurrent.TimeUnit;
@@ -17,12 +19,13 @@ import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
- * Integration tests for ProductKafkaListener using H2 database.
+ * Integration tests for ProductKafkaListener using PostgreSQL.
  * Tests the complete flow from Kafka message consumption to service processing.
  */
 @DisplayName("ProductKafkaListener Integration Tests")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
-@Sql(scripts = "/db/migration/V1__init-inventory.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/migration/V1__init-inventory.sql", "/db/migration/V2__offset_watermark.sql", "/db/migration/V3__event_id_dedup.sql", "/db/migration/V6__stock_imports.sql", "/db/migration/V7__stock_outbox.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/migration/V4__partition_processed_events.sql", "/db/migration/V5__compact_adjustment_ids.sql", "/db/migration/V8__claim_processed_event.sql"}, config = @SqlConfig(separator = ScriptUtils.EOF_STATEMENT_SEPARATOR), executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/db/migration/setup-product-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/db/migration/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 class ProductKafkaListenerIntegrationTest extends KafkaIntegrationTestBase {
@@ -0,0 +1,63 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OnSalesConsumptionModeCondition")
+class OnSalesConsumptionModeConditionTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(SingleConfig.class, BatchConfig.class, ParallelConfig.class);
+
+    @Test
+    @DisplayName("Should register only the single-record listener when the mode is unset")
+    void shouldDefaultToSingle() {
+        runner.run(context -> assertThat(context.getBeansOfType(String.class)).containsOnlyKeys("single"));
+    }
+
+    @Test
+    @DisplayName("Should register only the listener of the configured mode")
+    void shouldRegisterOnlyConfiguredMode() {
+        runner.withPropertyValues("inventory.kafka.sales.mode=parallel")
+                .run(context -> assertThat(context.getBeansOfType(String.class)).containsOnlyKeys("parallel"));
+    }
+
+    @Test
+    @DisplayName("Should fail the startup on an unknown mode")
+    void shouldFailOnUnknownMode() {
+        runner.withPropertyValues("inventory.kafka.sales.mode=both")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Configuration
+    @ConditionalOnSalesConsumptionMode(SalesConsumptionMode.SINGLE)
+    static class SingleConfig {
+        @Bean
+        String single() {
+            return "single";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnSalesConsumptionMode(SalesConsumptionMode.BATCH)
+    static class BatchConfig {
+        @Bean
+        String batch() {
+            return "batch";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnSalesConsumptionMode(SalesConsumptionMode.PARALLEL)
+    static class ParallelConfig {
+        @Bean
+        String parallel() {
+            return "parallel";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.inventoryservice.application.port.in.InventoryEventUseCase;
+import br.com.inventoryservice.domain.model.SalesEventRecord;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.data.SalesItem;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.event.SalesEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesBatchKafkaListener")
+class SalesBatchKafkaListenerTest {
+
+    private static final String TOPIC = "vendas";
+
+    @Mock
+    private InventoryEventUseCase inventoryEventUseCase;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SalesBatchKafkaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SalesBatchKafkaListener(inventoryEventUseCase, meterRegistry);
+    }
+
+    private ConsumerRecord<String, SalesEvent> record(long offset, String eventId) {
+        return record(0, offset, eventId);
+    }
+
+    private ConsumerRecord<String, SalesEvent> record(int partition, long offset, String eventId) {
+        SalesEvent event = SalesEvent.builder()
+                .eventId(eventId)
+                .loja("L001")
+                .itens(List.of(SalesItem.builder().sku("SKU001").quantidade(1).build()))
+                .build();
+        return new ConsumerRecord<>(TOPIC, partition, offset, "L001", event);
+    }
+
+    @Test
+    @DisplayName("Should hand the whole poll to the batch use case")
+    @SuppressWarnings("unchecked")
+    void shouldHandWholePollToBatchUseCase() {
+        // When
+        listener.onVendas(List.of(record(10L, "e1"), record(11L, "e2")));
+
+        // Then
+        ArgumentCaptor<List<SalesEventRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryEventUseCase).handleSalesEvents(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(11L, captor.getValue().get(1).offset());
+        assertEquals("e1", captor.getValue().get(0).event().eventId());
+        verify(inventoryEventUseCase, never()).handleSalesEvent(any(), any(), any(), any());
+        assertEquals(1, meterRegistry.get("inventory.sales.batch.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-record processing when the batch fails")
+    void shouldFallBackToPerRecordProcessingWhenBatchFails() {
+        // Given
+        doThrow(new IllegalStateException("boom")).when(inventoryEventUseCase).handleSalesEvents(anyList());
+
+        // When
+        listener.onVendas(List.of(record(10L, "e1"), record(11L, "e2")));
+
+        // Then
+        verify(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(10L));
+        verify(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(11L));
+        assertEquals(1.0, meterRegistry.get("inventory.sales.batch.fallback").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should report the index of the poison record")
+    void shouldReportIndexOfPoisonRecord() {
+        // Given
+        doThrow(new IllegalStateException("boom")).when(inventoryEventUseCase).handleSalesEvents(anyList());
+        lenient().doNothing().when(inventoryEventUseCase).handleSalesEvent(any(), any(), any(), any());
+        doThrow(new IllegalStateException("poison")).when(inventoryEventUseCase)
+                .handleSalesEvent(any(), eq(TOPIC), eq(0), eq(11L));
+
+        // When
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onVendas(List.of(record(10L, "e1"), record(11L, "e2"), record(12L, "e3"))));
+
+        // Then
+        assertEquals(1, ex.getIndex());
+        verify(inventoryEventUseCase, never()).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(12L));
+    }
+
+    @Test
+    @DisplayName("Should describe the offset range of every partition in the poll")
+    void shouldDescribeOffsetRangePerPartition() {
+        // When
+        var ranges = SalesBatchKafkaListener.offsetRanges(
+                List.of(record(3, 7L, "e1"), record(0, 10L, "e2"), record(3, 9L, "e3"), record(0, 42L, "e4")));
+
+        // Then
+        assertEquals("{0=10..42, 3=7..9}", ranges.toString());
+    }
+
+    @Test
+    @DisplayName("Should ignore empty polls")
+    void shouldIgnoreEmptyPolls() {
+        listener.onVendas(List.of());
+
+        verifyNoInteractions(inventoryEventUseCase);
+    }
+}
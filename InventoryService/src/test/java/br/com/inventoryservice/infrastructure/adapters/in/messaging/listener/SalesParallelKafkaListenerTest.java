@@ -0,0 +1,95 @@
+package br.com.inventoryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.inventoryservice.application.port.in.InventoryEventUseCase;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.data.SalesItem;
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.event.SalesEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesParallelKafkaListener")
+class SalesParallelKafkaListenerTest {
+
+    private static final String TOPIC = "vendas";
+
+    @Mock
+    private InventoryEventUseCase inventoryEventUseCase;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SalesParallelKafkaListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SalesParallelKafkaListener(inventoryEventUseCase, meterRegistry, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    private ConsumerRecord<String, SalesEvent> record(long offset, String loja) {
+        SalesEvent event = SalesEvent.builder()
+                .eventId("e" + offset)
+                .loja(loja)
+                .itens(List.of(SalesItem.builder().sku("SKU001").quantidade(1).build()))
+                .build();
+        return new ConsumerRecord<>(TOPIC, 0, offset, loja, event);
+    }
+
+    @Test
+    @DisplayName("Should apply every record of the poll in its own transaction")
+    void shouldApplyEveryRecordOfPoll() {
+        // When
+        listener.onVendas(List.of(record(10L, "L001"), record(11L, "L002"), record(12L, "L001")));
+
+        // Then
+        verify(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(10L));
+        verify(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(11L));
+        verify(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(12L));
+        verify(inventoryEventUseCase, never()).handleSalesEvents(anyList());
+        assertEquals(1, meterRegistry.get("inventory.sales.parallel.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should acknowledge only up to the first failed record")
+    void shouldAcknowledgeOnlyUpToFirstFailedRecord() {
+        // Given
+        lenient().doNothing().when(inventoryEventUseCase).handleSalesEvent(any(), any(), any(), any());
+        doThrow(new IllegalStateException("boom"))
+                .when(inventoryEventUseCase).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(11L));
+
+        // When
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onVendas(List.of(record(10L, "L001"), record(11L, "L002"), record(12L, "L001"), record(13L, "L002"))));
+
+        // Then
+        assertEquals(1, ex.getIndex());
+        verify(inventoryEventUseCase, never()).handleSalesEvent(any(), eq(TOPIC), eq(0), eq(13L));
+    }
+
+    @Test
+    @DisplayName("Should ignore empty polls")
+    void shouldIgnoreEmptyPolls() {
+        // When
+        listener.onVendas(List.of());
+
+        // Then
+        verifyNoInteractions(inventoryEventUseCase);
+    }
+}
@@ -38,6 +38,7 @@ class ProductEventMapperTest {
             assertNotNull(result);
             assertEquals("event-123", result.eventId());
             assertEquals("PROD-001", result.sku());
+            assertTrue(result.ativo());
         }
     }
 
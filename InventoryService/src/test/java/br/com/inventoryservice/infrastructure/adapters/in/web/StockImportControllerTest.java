@@ -0,0 +1,102 @@
+package br.com.inventoryservice.infrastructure.adapters.in.web;
+
+import br.com.inventoryservice.application.port.in.StockImportUseCase;
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Stock Import Controller Tests")
+@ExtendWith(MockitoExtension.class)
+class StockImportControllerTest {
+
+    @Mock
+    private StockImportUseCase stockImportUseCase;
+
+    private StockImportController stockImportController;
+
+    @BeforeEach
+    void setUp() {
+        stockImportController = new StockImportController(stockImportUseCase, new ObjectMapper());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("Import Snapshot")
+    class ImportSnapshot {
+
+        @Test
+        @DisplayName("Should stream CSV rows to the use case and answer 201 when applied")
+        void shouldAnswerCreatedWhenApplied() {
+            // Given
+            List<StockSnapshotRow> received = new ArrayList<>();
+            StockImportResult result = new StockImportResult("abc", "loja-nova.csv", 1, 1, 0, 1, false);
+            when(stockImportUseCase.importSnapshot(eq("loja-nova.csv"), any())).thenAnswer(inv -> {
+                Iterator<StockSnapshotRow> rows = inv.getArgument(1);
+                rows.forEachRemaining(received::add);
+                return result;
+            });
+
+            // When
+            ResponseEntity<StockImportResult> response =
+                    stockImportController.importCsv("loja-nova.csv", body("loja,sku,quantidade\nLOJA001,PROD1,7\n"));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isEqualTo(result);
+            assertThat(received).containsExactly(new StockSnapshotRow("LOJA001", "PROD1", 7));
+        }
+
+        @Test
+        @DisplayName("Should answer 200 when the same content had already been imported")
+        void shouldAnswerOkWhenAlreadyImported() {
+            // Given
+            StockImportResult result = new StockImportResult("abc", "loja-nova.ndjson", 1, 1, 0, 1, true);
+            when(stockImportUseCase.importSnapshot(eq("loja-nova.ndjson"), any())).thenReturn(result);
+
+            // When
+            ResponseEntity<StockImportResult> response = stockImportController.importNdjson("loja-nova.ndjson",
+                    body("{\"loja\":\"LOJA001\",\"sku\":\"PROD1\",\"quantidade\":7}\n"));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(result);
+        }
+
+        @Test
+        @DisplayName("Should answer 400 for an invalid snapshot")
+        void shouldAnswerBadRequestForInvalidSnapshot() {
+            // When
+            ResponseEntity<Map<String, String>> response =
+                    stockImportController.handleInvalidSnapshot(new IllegalArgumentException("Linha 2: quantidade inválida 'x'"));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).containsEntry("erro", "Linha 2: quantidade inválida 'x'");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.inventoryservice.infrastructure.adapters.in.web;
+
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StockSnapshotReader")
+class StockSnapshotReaderTest {
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+    private static List<StockSnapshotRow> readAll(Iterator<StockSnapshotRow> rows) {
+        List<StockSnapshotRow> all = new ArrayList<>();
+        rows.forEachRemaining(all::add);
+        return all;
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Should map columns by header name and skip blank lines")
+        void shouldMapColumnsByHeader() {
+            // Given
+            String csv = "quantidade,sku,loja\n10,PROD1,LOJA001\n\n\"5\",\"PROD,2\",LOJA001\n";
+
+            // When
+            List<StockSnapshotRow> rows = readAll(StockSnapshotReader.csv(reader(csv)));
+
+            // Then
+            assertEquals(List.of(
+                    new StockSnapshotRow("LOJA001", "PROD1", 10),
+                    new StockSnapshotRow("LOJA001", "PROD,2", 5)), rows);
+        }
+
+        @Test
+        @DisplayName("Should keep an empty quantity as null so the import rejects the row")
+        void shouldKeepEmptyQuantityAsNull() {
+            // When
+            List<StockSnapshotRow> rows = readAll(StockSnapshotReader.csv(reader("loja,sku,quantidade\nLOJA001,PROD1,\n")));
+
+            // Then
+            assertEquals(List.of(new StockSnapshotRow("LOJA001", "PROD1", null)), rows);
+        }
+
+        @Test
+        @DisplayName("Should reject a header without the required columns")
+        void shouldRejectIncompleteHeader() {
+            // Given
+            Iterator<StockSnapshotRow> rows = StockSnapshotReader.csv(reader("loja,sku\nLOJA001,PROD1\n"));
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, rows::hasNext);
+        }
+
+        @Test
+        @DisplayName("Should report the line number of an invalid quantity")
+        void shouldReportLineOfInvalidQuantity() {
+            // Given
+            Iterator<StockSnapshotRow> rows = StockSnapshotReader.csv(reader("loja,sku,quantidade\nLOJA001,PROD1,1\nLOJA001,PROD2,abc\n"));
+            rows.next();
+
+            // When
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, rows::next);
+
+            // Then
+            assertTrue(error.getMessage().startsWith("Linha 3"));
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Should read one object per line")
+        void shouldReadOneObjectPerLine() {
+            // Given
+            String ndjson = "{\"loja\":\"LOJA001\",\"sku\":\"PROD1\",\"quantidade\":10}\n{\"loja\":\"LOJA002\",\"sku\":\"PROD1\",\"quantidade\":0}\n";
+
+            // When
+            List<StockSnapshotRow> rows = readAll(StockSnapshotReader.ndjson(reader(ndjson), new ObjectMapper()));
+
+            // Then
+            assertEquals(List.of(
+                    new StockSnapshotRow("LOJA001", "PROD1", 10),
+                    new StockSnapshotRow("LOJA002", "PROD1", 0)), rows);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed line")
+        void shouldRejectMalformedLine() {
+            // Given
+            Iterator<StockSnapshotRow> rows = StockSnapshotReader.ndjson(reader("{\"loja\":\n"), new ObjectMapper());
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, rows::hasNext);
+        }
+    }
+}
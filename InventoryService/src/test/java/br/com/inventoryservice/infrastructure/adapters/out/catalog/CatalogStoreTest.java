@@ -0,0 +1,125 @@
+package br.com.inventoryservice.infrastructure.adapters.out.catalog;
+
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore.ProductStatus;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProductEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StoreEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProductRepository;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogStore Tests")
+class CatalogStoreTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogStore catalogStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogStore = new CatalogStore(productRepository, storeRepository, meterRegistry);
+        ReflectionTestUtils.setField(catalogStore, "preload", true);
+    }
+
+    @Test
+    @DisplayName("Should bootstrap products and stores from the DB")
+    void shouldBootstrapFromDb() {
+        // Given
+        when(productRepository.findAll()).thenReturn(List.of(
+                ProductEntity.builder().sku("SKU001").ativo(true).build(),
+                ProductEntity.builder().sku("SKU002").ativo(null).build()));
+        when(storeRepository.findAll()).thenReturn(List.of(StoreEntity.builder().codigo("L001").build()));
+
+        // When
+        catalogStore.load();
+
+        // Then
+        assertEquals(ProductStatus.ACTIVE, catalogStore.product("SKU001"));
+        assertEquals(ProductStatus.UNDEFINED, catalogStore.product("SKU002"));
+        assertTrue(catalogStore.containsStore("L001"));
+        assertEquals(2.0, meterRegistry.get("inventory.catalog.size").tag("catalog", "product").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should skip bootstrap when preload is disabled")
+    void shouldSkipBootstrapWhenPreloadDisabled() {
+        // Given
+        ReflectionTestUtils.setField(catalogStore, "preload", false);
+
+        // When
+        catalogStore.load();
+
+        // Then
+        verifyNoInteractions(productRepository, storeRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply catalog events and count hits and misses")
+    void shouldApplyCatalogEventsAndCountHitsAndMisses() {
+        // When
+        assertNull(catalogStore.product("SKU003"));
+        catalogStore.putProduct("SKU003", false);
+        catalogStore.putStore("L002");
+
+        // Then
+        assertEquals(ProductStatus.INACTIVE, catalogStore.product("SKU003"));
+        assertTrue(catalogStore.containsStore("L002"));
+        assertFalse(catalogStore.containsStore("L999"));
+        assertEquals(1.0, meterRegistry.get("inventory.catalog.lookups").tags("catalog", "product", "result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.catalog.lookups").tags("catalog", "product", "result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.catalog.lookups").tags("catalog", "store", "result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should forget evicted products and stores")
+    void shouldForgetEvictedEntries() {
+        // Given
+        catalogStore.putProduct("SKU004", true);
+        catalogStore.putStore("L003");
+
+        // When
+        catalogStore.evictProduct("SKU004");
+        catalogStore.evictStore("L003");
+
+        // Then
+        assertNull(catalogStore.product("SKU004"));
+        assertFalse(catalogStore.containsStore("L003"));
+    }
+
+    @Test
+    @DisplayName("Should treat null keys as misses")
+    void shouldTreatNullKeysAsMisses() {
+        catalogStore.putProduct(null, true);
+        catalogStore.putStore(null);
+
+        assertNull(catalogStore.product(null));
+        assertFalse(catalogStore.containsStore(null));
+    }
+
+    @Test
+    @DisplayName("Should map active flag to product status")
+    void shouldMapActiveFlagToProductStatus() {
+        assertEquals(Optional.of(true), ProductStatus.of(true).ativo());
+        assertEquals(Optional.of(false), ProductStatus.of(false).ativo());
+        assertEquals(Optional.empty(), ProductStatus.of(null).ativo());
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.inventoryservice.infrastructure.adapters.out.messaging;
+
+import br.com.inventoryservice.infrastructure.adapters.out.messaging.dto.StockChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockOutboxRelay")
+class StockOutboxRelayTest {
+
+    private static final String TOPIC = "estoque_atualizado";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new StockOutboxRelay(jdbcTemplate, transactionTemplate, kafkaTemplate, meterRegistry, TOPIC, 2, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTransactions() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Integer>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    /**
+     * Serves each fetch from the given pages, mapping fake rows through the relay's own RowMapper.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubFetch(List<List<Object[]>> pages) throws SQLException {
+        List<Object[]> all = pages.stream().flatMap(List::stream).toList();
+        when(resultSet.getLong("id")).thenReturn((Long) all.get(0)[0], all.stream().skip(1).map(r -> (Long) r[0]).toArray(Long[]::new));
+        when(resultSet.getString("loja_codigo")).thenReturn((String) all.get(0)[1], all.stream().skip(1).map(r -> (String) r[1]).toArray(String[]::new));
+        when(resultSet.getString("produto_sku")).thenReturn((String) all.get(0)[2], all.stream().skip(1).map(r -> (String) r[2]).toArray(String[]::new));
+        when(resultSet.getInt("quantidade")).thenReturn((Integer) all.get(0)[3], all.stream().skip(1).map(r -> (Integer) r[3]).toArray(Integer[]::new));
+        when(resultSet.getTimestamp("criado_em")).thenReturn(Timestamp.from(Instant.now()));
+
+        List<Integer> sizes = new ArrayList<>(pages.stream().map(List::size).toList());
+        when(jdbcTemplate.query(eq(StockOutboxRelay.FETCH_SQL), any(RowMapper.class), eq(2))).thenAnswer(inv -> {
+            RowMapper<Object> mapper = inv.getArgument(1);
+            int size = sizes.isEmpty() ? 0 : sizes.remove(0);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                mapped.add(mapper.mapRow(resultSet, i));
+            }
+            return mapped;
+        });
+    }
+
+    private static Object[] row(Long id, String loja, String sku, int quantidade) {
+        return new Object[]{id, loja, sku, quantidade};
+    }
+
+    @Nested
+    @DisplayName("Relay Tests")
+    class RelayTests {
+
+        @Test
+        @DisplayName("Should publish rows in id order keyed by loja:sku and delete them after acknowledgement")
+        void shouldPublishInOrderAndDeleteAfterAck() throws SQLException {
+            // Given
+            stubTransactions();
+            when(jdbcTemplate.queryForObject(StockOutboxRelay.LOCK_SQL, Boolean.class)).thenReturn(true);
+            stubFetch(List.of(List.of(row(7L, "LOJA001", "PROD1", 9), row(8L, "LOJA001", "PROD1", 8))));
+            when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+            when(jdbcTemplate.queryForList(StockOutboxRelay.OLDEST_SQL, Timestamp.class)).thenReturn(List.of());
+
+            // When
+            relay.relay();
+
+            // Then
+            ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+            verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq("LOJA001:PROD1"), events.capture());
+            List<Long> versions = events.getAllValues().stream().map(e -> ((StockChangedEvent) e).getVersao()).toList();
+            assertEquals(List.of(7L, 8L), versions);
+            assertEquals(8, ((StockChangedEvent) events.getAllValues().get(1)).getQuantidade());
+            verify(jdbcTemplate).update(eq(StockOutboxRelay.DELETE_SQL), any(PreparedStatementSetter.class));
+            assertEquals(2.0, meterRegistry.get("inventory.outbox.published").counter().count());
+            assertEquals(0.0, meterRegistry.get("inventory.outbox.lag").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should keep the rows when the broker does not acknowledge the batch")
+        void shouldKeepRowsWhenSendFails() throws SQLException {
+            // Given
+            stubTransactions();
+            when(jdbcTemplate.queryForObject(StockOutboxRelay.LOCK_SQL, Boolean.class)).thenReturn(true);
+            stubFetch(List.of(List.<Object[]>of(row(7L, "LOJA001", "PROD1", 9))));
+            when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")));
+
+            // When
+            relay.relay();
+
+            // Then
+            verify(jdbcTemplate, never()).update(eq(StockOutboxRelay.DELETE_SQL), any(PreparedStatementSetter.class));
+            assertEquals(0.0, meterRegistry.get("inventory.outbox.published").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should do nothing while another instance holds the relay lock")
+        void shouldSkipWhenLockIsHeldElsewhere() {
+            // Given
+            stubTransactions();
+            when(jdbcTemplate.queryForObject(StockOutboxRelay.LOCK_SQL, Boolean.class)).thenReturn(false);
+            Timestamp oldest = Timestamp.from(Instant.now().minusSeconds(30));
+            when(jdbcTemplate.queryForList(StockOutboxRelay.OLDEST_SQL, Timestamp.class)).thenReturn(List.of(oldest));
+
+            // When
+            relay.relay();
+
+            // Then
+            verifyNoInteractions(kafkaTemplate);
+            assertTrue(meterRegistry.get("inventory.outbox.lag").gauge().value() >= 30.0);
+        }
+
+        @Test
+        @DisplayName("Should keep relaying while batches come back full")
+        void shouldDrainFullBatches() throws SQLException {
+            // Given
+            stubTransactions();
+            when(jdbcTemplate.queryForObject(StockOutboxRelay.LOCK_SQL, Boolean.class)).thenReturn(true);
+            stubFetch(List.of(
+                    List.of(row(1L, "LOJA001", "PROD1", 5), row(2L, "LOJA001", "PROD2", 4)),
+                    List.<Object[]>of(row(3L, "LOJA002", "PROD1", 3))));
+            when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+            when(jdbcTemplate.queryForList(StockOutboxRelay.OLDEST_SQL, Timestamp.class)).thenReturn(List.of());
+
+            // When
+            relay.relay();
+
+            // Then
+            verify(transactionTemplate, times(2)).execute(any());
+            verify(kafkaTemplate, times(3)).send(eq(TOPIC), anyString(), any());
+            verify(jdbcTemplate, times(2)).update(eq(StockOutboxRelay.DELETE_SQL), any(PreparedStatementSetter.class));
+        }
+    }
+}
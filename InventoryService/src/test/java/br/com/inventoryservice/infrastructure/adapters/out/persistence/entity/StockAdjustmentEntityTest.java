@@ -5,7 +5,6 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +35,7 @@ class StockAdjustmentEntityTest {
         @DisplayName("Deve criar StockAdjustmentEntity com construtor com todos os argumentos")
         void deveCriarStockAdjustmentEntityComConstrutorComTodosArgumentos() {
             // Given
-            UUID id = UUID.randomUUID();
+            Long id = 1L;
             String lojaCodigo = "LOJA001";
             String produtoSku = "SKU001";
             Integer delta = 10;
@@ -81,7 +80,7 @@ class StockAdjustmentEntityTest {
         @DisplayName("Deve criar StockAdjustmentEntity com builder completo")
         void deveCriarStockAdjustmentEntityComBuilderCompleto() {
             // Given
-            UUID id = UUID.randomUUID();
+            Long id = 1L;
             String lojaCodigo = "LOJA002";
             String produtoSku = "SKU002";
             Integer delta = -5;
@@ -157,7 +156,7 @@ class StockAdjustmentEntityTest {
         void deveDefinirEObterIdCorretamente() {
             // Given
             StockAdjustmentEntity entity = new StockAdjustmentEntity();
-            UUID id = UUID.randomUUID();
+            Long id = 1L;
 
             // When
             entity.setId(id);
@@ -241,7 +240,7 @@ class StockAdjustmentEntityTest {
         void deveAceitarValoresNulosNosSetters() {
             // Given
             StockAdjustmentEntity entity = StockAdjustmentEntity.builder()
-                    .id(UUID.randomUUID())
+                    .id(1L)
                     .lojaCodigo("LOJA005")
                     .produtoSku("SKU005")
                     .delta(5)
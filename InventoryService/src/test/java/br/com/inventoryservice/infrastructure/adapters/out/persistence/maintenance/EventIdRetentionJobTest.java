@@ -0,0 +1,45 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl.ProcessedEventAdapter;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventIdRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventIdRetentionJob Tests")
+class EventIdRetentionJobTest {
+
+    @Mock
+    private ProcessedEventIdRepository processedEventIdRepository;
+
+    @InjectMocks
+    private EventIdRetentionJob eventIdRetentionJob;
+
+    @Test
+    @DisplayName("Should delete buckets older than the retention window")
+    void shouldDeleteBucketsOlderThanRetentionWindow() {
+        // Given
+        ReflectionTestUtils.setField(eventIdRetentionJob, "retentionDays", 7);
+        int today = ProcessedEventAdapter.bucketOf(Instant.now());
+        ArgumentCaptor<Integer> bucketCaptor = ArgumentCaptor.forClass(Integer.class);
+
+        // When
+        eventIdRetentionJob.purge();
+
+        // Then
+        verify(processedEventIdRepository).deleteBucketsBefore(bucketCaptor.capture());
+        int oldest = bucketCaptor.getValue();
+        assertTrue(oldest == today - 7 || oldest == today - 6);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.OffsetWatermarkRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PendingOffsetRetentionJob Tests")
+class PendingOffsetRetentionJobTest {
+
+    @Mock
+    private OffsetWatermarkRepository offsetWatermarkRepository;
+
+    @InjectMocks
+    private PendingOffsetRetentionJob pendingOffsetRetentionJob;
+
+    @Test
+    @DisplayName("Should delete pending ranges older than the retention window")
+    void shouldDeletePendingRangesOlderThanRetentionWindow() {
+        // Given
+        ReflectionTestUtils.setField(pendingOffsetRetentionJob, "retentionDays", 7);
+
+        // When
+        pendingOffsetRetentionJob.purge();
+
+        // Then
+        verify(offsetWatermarkRepository).deletePendingOlderThan(7);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProcessedEventPartitionMaintainer Tests")
+class ProcessedEventPartitionMaintainerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 31);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProcessedEventPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        maintainer = new ProcessedEventPartitionMaintainer(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(maintainer, "horizonDays", 30);
+        ReflectionTestUtils.setField(maintainer, "premakeDays", 1);
+    }
+
+    private void givenPartitions(String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("eventos_processados"))).thenReturn(List.of(names));
+    }
+
+    @Test
+    @DisplayName("Should create missing partitions for today and the premake window")
+    void shouldCreateMissingPartitions() {
+        // Given
+        givenPartitions("eventos_processados_p20240331");
+
+        // When
+        maintainer.maintain(TODAY);
+
+        // Then
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS eventos_processados_p20240401 PARTITION OF eventos_processados"
+                + " FOR VALUES FROM ('2024-04-01') TO ('2024-04-02')");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        assertEquals(2.0, meterRegistry.get("inventory.idempotency.partitions").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should drop partitions entirely older than the horizon")
+    void shouldDropPartitionsOlderThanHorizon() {
+        // Given
+        givenPartitions("eventos_processados_p20240228", "eventos_processados_p20240229", "eventos_processados_p20240301",
+                "eventos_processados_p20240331", "eventos_processados_p20240401");
+
+        // When
+        maintainer.maintain(TODAY);
+
+        // Then
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS eventos_processados_p20240228");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS eventos_processados_p20240229");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS eventos_processados_p20240301");
+        assertEquals(3.0, meterRegistry.get("inventory.idempotency.partitions").gauge().value());
+        assertEquals(2.0, meterRegistry.get("inventory.idempotency.partitions.changes").tag("action", "dropped").counter().count());
+        assertEquals(1L, meterRegistry.get("inventory.idempotency.partitions.purge").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when the database rejects the maintenance")
+    void shouldNotFailCallerWhenDatabaseRejectsMaintenance() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("eventos_processados")))
+                .thenThrow(new org.springframework.dao.DataAccessResourceFailureException("down"));
+
+        // When / Then
+        maintainer.maintain();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
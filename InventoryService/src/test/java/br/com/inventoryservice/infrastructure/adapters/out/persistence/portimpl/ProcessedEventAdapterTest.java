@@ -1,6 +1,8 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProcessedEventEntity;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.OffsetWatermarkRepository;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventIdRepository;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProcessedEventRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,12 +12,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +33,12 @@ class ProcessedEventAdapterTest {
     @Mock
     private ProcessedEventRepository processedEventRepository;
 
+    @Mock
+    private OffsetWatermarkRepository offsetWatermarkRepository;
+
+    @Mock
+    private ProcessedEventIdRepository processedEventIdRepository;
+
     @InjectMocks
     private ProcessedEventAdapter processedEventAdapter;
 
@@ -47,7 +60,7 @@ class ProcessedEventAdapterTest {
                     .processadoEm(Instant.now())
                     .build();
 
-            when(processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset))
+            when(processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class)))
                     .thenReturn(Optional.of(entity));
 
             // When
@@ -55,7 +68,7 @@ class ProcessedEventAdapterTest {
 
             // Then
             assertTrue(result);
-            verify(processedEventRepository).findByTopicoAndParticaoAndOffset(topic, partition, offset);
+            verify(processedEventRepository).findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class));
         }
 
         @Test
@@ -66,7 +79,7 @@ class ProcessedEventAdapterTest {
             Integer partition = 1;
             Long offset = 100L;
 
-            when(processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset))
+            when(processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class)))
                     .thenReturn(Optional.empty());
 
             // When
@@ -74,7 +87,7 @@ class ProcessedEventAdapterTest {
 
             // Then
             assertFalse(result);
-            verify(processedEventRepository).findByTopicoAndParticaoAndOffset(topic, partition, offset);
+            verify(processedEventRepository).findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class));
         }
 
         @Test
@@ -85,7 +98,7 @@ class ProcessedEventAdapterTest {
             Integer partition = 1;
             Long offset = 100L;
 
-            when(processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset))
+            when(processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class)))
                     .thenReturn(Optional.empty());
 
             // When
@@ -93,7 +106,7 @@ class ProcessedEventAdapterTest {
 
             // Then
             assertFalse(result);
-            verify(processedEventRepository).findByTopicoAndParticaoAndOffset(topic, partition, offset);
+            verify(processedEventRepository).findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class));
         }
 
         @Test
@@ -104,7 +117,7 @@ class ProcessedEventAdapterTest {
             Integer partition = null;
             Long offset = 100L;
 
-            when(processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset))
+            when(processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class)))
                     .thenReturn(Optional.empty());
 
             // When
@@ -112,7 +125,7 @@ class ProcessedEventAdapterTest {
 
             // Then
             assertFalse(result);
-            verify(processedEventRepository).findByTopicoAndParticaoAndOffset(topic, partition, offset);
+            verify(processedEventRepository).findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class));
         }
 
         @Test
@@ -123,7 +136,7 @@ class ProcessedEventAdapterTest {
             Integer partition = 1;
             Long offset = null;
 
-            when(processedEventRepository.findByTopicoAndParticaoAndOffset(topic, partition, offset))
+            when(processedEventRepository.findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class)))
                     .thenReturn(Optional.empty());
 
             // When
@@ -131,7 +144,7 @@ class ProcessedEventAdapterTest {
 
             // Then
             assertFalse(result);
-            verify(processedEventRepository).findByTopicoAndParticaoAndOffset(topic, partition, offset);
+            verify(processedEventRepository).findFirstByTopicoAndParticaoAndOffsetAndProcessadoEmGreaterThanEqual(eq(topic), eq(partition), eq(offset), any(Instant.class));
         }
     }
 
@@ -237,4 +250,201 @@ class ProcessedEventAdapterTest {
             verify(processedEventRepository).save(any(ProcessedEventEntity.class));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("SaveIfAbsent Method Tests")
+    class SaveIfAbsentTests {
+
+        @Test
+        @DisplayName("Should return true when the key was inserted")
+        void shouldReturnTrueWhenKeyWasInserted() {
+            // Given
+            Instant now = Instant.now();
+            when(processedEventRepository.insertIfAbsent(anyString(), eq("test-topic"), eq(1), eq(100L), eq(now), any(Instant.class))).thenReturn(true);
+
+            // When
+            boolean result = processedEventAdapter.saveIfAbsent("test-topic", 1, 100L, now);
+
+            // Then
+            assertTrue(result);
+        }
+
+        @Test
+        @DisplayName("Should return false when the key was already processed")
+        void shouldReturnFalseWhenKeyWasAlreadyProcessed() {
+            // Given
+            Instant now = Instant.now();
+            when(processedEventRepository.insertIfAbsent(anyString(), eq("test-topic"), eq(1), eq(100L), eq(now), any(Instant.class))).thenReturn(false);
+
+            // When
+            boolean result = processedEventAdapter.saveIfAbsent("test-topic", 1, 100L, now);
+
+            // Then
+            assertFalse(result);
+        }
+
+        @Test
+        @DisplayName("Should only check keys inside the dedup horizon")
+        void shouldOnlyCheckKeysInsideHorizon() {
+            // Given
+            ReflectionTestUtils.setField(processedEventAdapter, "horizonDays", 30);
+            Instant now = Instant.parse("2024-03-31T12:00:00Z");
+
+            // When
+            processedEventAdapter.saveIfAbsent("test-topic", 1, 100L, now);
+
+            // Then
+            verify(processedEventRepository).insertIfAbsent(anyString(), eq("test-topic"), eq(1), eq(100L), eq(now),
+                    eq(Instant.parse("2024-03-01T12:00:00Z")));
+        }
+    }
+
+    @Nested
+    @DisplayName("ClaimOffset Method Tests")
+    class ClaimOffsetTests {
+
+        private static final String TOPIC = "vendas";
+
+        @Test
+        @DisplayName("Should claim the next offset with a single statement")
+        void shouldClaimNextOffsetWithSingleStatement() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 11L)).thenReturn(Optional.of(10L));
+
+            // When
+            boolean result = processedEventAdapter.claimOffset(TOPIC, 0, 11L);
+
+            // Then
+            assertTrue(result);
+            verify(offsetWatermarkRepository, never()).insertPending(any(), any(), any(), any());
+            verify(offsetWatermarkRepository, never()).insertIfAbsent(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should record skipped offsets as one pending range when the watermark jumps")
+        void shouldRecordSkippedOffsetsAsPendingRange() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 15L)).thenReturn(Optional.of(10L));
+
+            // When
+            boolean result = processedEventAdapter.claimOffset(TOPIC, 0, 15L);
+
+            // Then
+            assertTrue(result);
+            verify(offsetWatermarkRepository).insertPending(TOPIC, 0, 11L, 14L);
+        }
+
+        @Test
+        @DisplayName("Should keep a gap of any size claimable")
+        void shouldKeepWideGapClaimable() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 1_000_010L)).thenReturn(Optional.of(10L));
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 500_000L)).thenReturn(Optional.empty());
+            when(offsetWatermarkRepository.insertIfAbsent(TOPIC, 0, 500_000L)).thenReturn(0);
+            when(offsetWatermarkRepository.claimPending(TOPIC, 0, 500_000L)).thenReturn(1L);
+
+            // When
+            processedEventAdapter.claimOffset(TOPIC, 0, 1_000_010L);
+            boolean replayed = processedEventAdapter.claimOffset(TOPIC, 0, 500_000L);
+
+            // Then
+            verify(offsetWatermarkRepository).insertPending(TOPIC, 0, 11L, 1_000_009L);
+            assertTrue(replayed);
+        }
+
+        @Test
+        @DisplayName("Should create the watermark on the first offset of a partition")
+        void shouldCreateWatermarkOnFirstOffset() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 1, 0L)).thenReturn(Optional.empty());
+            when(offsetWatermarkRepository.insertIfAbsent(TOPIC, 1, 0L)).thenReturn(1);
+
+            // When
+            boolean result = processedEventAdapter.claimOffset(TOPIC, 1, 0L);
+
+            // Then
+            assertTrue(result);
+            verify(offsetWatermarkRepository, never()).claimPending(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should claim a pending offset below the watermark")
+        void shouldClaimPendingOffsetBelowWatermark() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 12L)).thenReturn(Optional.empty());
+            when(offsetWatermarkRepository.insertIfAbsent(TOPIC, 0, 12L)).thenReturn(0);
+            when(offsetWatermarkRepository.claimPending(TOPIC, 0, 12L)).thenReturn(1L);
+
+            // When
+            boolean result = processedEventAdapter.claimOffset(TOPIC, 0, 12L);
+
+            // Then
+            assertTrue(result);
+        }
+
+        @Test
+        @DisplayName("Should report a duplicate below the watermark")
+        void shouldReportDuplicateBelowWatermark() {
+            // Given
+            when(offsetWatermarkRepository.advance(TOPIC, 0, 5L)).thenReturn(Optional.empty());
+            when(offsetWatermarkRepository.insertIfAbsent(TOPIC, 0, 5L)).thenReturn(0);
+            when(offsetWatermarkRepository.claimPending(TOPIC, 0, 5L)).thenReturn(0L);
+
+            // When
+            boolean result = processedEventAdapter.claimOffset(TOPIC, 0, 5L);
+
+            // Then
+            assertFalse(result);
+        }
+    }
+
+    @Nested
+    @DisplayName("SaveEventIdIfAbsent Method Tests")
+    class SaveEventIdIfAbsentTests {
+
+        @Test
+        @DisplayName("Should insert a 16-byte digest in the day bucket of the event")
+        void shouldInsertDigestInDayBucket() {
+            // Given
+            Instant processadoEm = Instant.parse("2024-01-02T10:00:00Z");
+            byte[] expectedDigest = ProcessedEventAdapter.digest("vendas", "event-123");
+            when(processedEventIdRepository.insertIfAbsent(expectedDigest, 19724, processadoEm)).thenReturn(1);
+
+            // When
+            boolean result = processedEventAdapter.saveEventIdIfAbsent("vendas", "event-123", processadoEm);
+
+            // Then
+            assertTrue(result);
+            assertEquals(16, expectedDigest.length);
+        }
+
+        @Test
+        @DisplayName("Should return false when the digest already exists")
+        void shouldReturnFalseWhenDigestExists() {
+            // Given
+            when(processedEventIdRepository.insertIfAbsent(any(byte[].class), anyInt(), any(Instant.class))).thenReturn(0);
+
+            // When
+            boolean result = processedEventAdapter.saveEventIdIfAbsent("vendas", "event-123", Instant.now());
+
+            // Then
+            assertFalse(result);
+        }
+
+        @Test
+        @DisplayName("Should produce distinct digests for event IDs with colliding hash codes")
+        void shouldProduceDistinctDigestsForCollidingHashCodes() {
+            assertFalse(java.util.Arrays.equals(
+                    ProcessedEventAdapter.digest("vendas", "Aa"),
+                    ProcessedEventAdapter.digest("vendas", "BB")));
+        }
+
+        @Test
+        @DisplayName("Should scope digests by topic")
+        void shouldScopeDigestsByTopic() {
+            assertFalse(java.util.Arrays.equals(
+                    ProcessedEventAdapter.digest("vendas", "event-123"),
+                    ProcessedEventAdapter.digest("ajustes_estoque", "event-123")));
+        }
+    }
+}
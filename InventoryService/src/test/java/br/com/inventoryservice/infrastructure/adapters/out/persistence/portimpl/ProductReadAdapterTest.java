@@ -1,5 +1,6 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.ProductEntity;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.ProductRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -10,11 +11,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +29,9 @@ class ProductReadAdapterTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogStore catalogStore;
+
     @InjectMocks
     private ProductReadAdapter productReadAdapter;
 
@@ -246,4 +254,75 @@ class ProductReadAdapterTest {
             verify(productRepository).findById(sku);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Catalog Tests")
+    class CatalogTests {
+
+        @Test
+        @DisplayName("Should answer from the catalog without querying the DB")
+        void shouldAnswerFromCatalogWithoutQueryingDb() {
+            // Given
+            when(catalogStore.product("PROD001")).thenReturn(CatalogStore.ProductStatus.INACTIVE);
+
+            // When
+            boolean exists = productReadAdapter.existsBySku("PROD001");
+            Optional<Boolean> ativo = productReadAdapter.isAtivo("PROD001");
+
+            // Then
+            assertTrue(exists);
+            assertEquals(Optional.of(false), ativo);
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should populate the catalog after a DB hit")
+        void shouldPopulateCatalogAfterDbHit() {
+            // Given
+            when(productRepository.findById("PROD002"))
+                    .thenReturn(Optional.of(ProductEntity.builder().sku("PROD002").ativo(true).build()));
+
+            // When
+            productReadAdapter.isAtivo("PROD002");
+
+            // Then
+            verify(catalogStore).putProduct("PROD002", true);
+        }
+    }
+
+    @Nested
+    @DisplayName("FindAtivoBySkus Method Tests")
+    class FindAtivoBySkusTests {
+
+        @Test
+        @DisplayName("Should resolve catalog hits in memory and all misses with one query")
+        void shouldResolveMissesWithOneQuery() {
+            // Given
+            when(catalogStore.product("PROD001")).thenReturn(CatalogStore.ProductStatus.ACTIVE);
+            when(productRepository.findAllById(List.of("PROD002", "PROD003")))
+                    .thenReturn(List.of(ProductEntity.builder().sku("PROD002").ativo(false).build()));
+
+            // When
+            Map<String, Boolean> result = productReadAdapter.findAtivoBySkus(List.of("PROD001", "PROD002", "PROD003"));
+
+            // Then
+            assertEquals(Map.of("PROD001", true, "PROD002", false), result);
+            verify(productRepository).findAllById(List.of("PROD002", "PROD003"));
+            verify(catalogStore).putProduct("PROD002", false);
+        }
+
+        @Test
+        @DisplayName("Should not query the DB when every SKU is cached")
+        void shouldNotQueryDbWhenEverySkuIsCached() {
+            // Given
+            when(catalogStore.product("PROD001")).thenReturn(CatalogStore.ProductStatus.UNDEFINED);
+
+            // When
+            Map<String, Boolean> result = productReadAdapter.findAtivoBySkus(List.of("PROD001"));
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(productRepository);
+        }
+    }
+}
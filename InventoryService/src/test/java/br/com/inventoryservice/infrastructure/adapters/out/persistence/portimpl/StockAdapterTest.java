@@ -7,16 +7,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -169,173 +173,86 @@ class StockAdapterTest {
     }
 
     @Nested
-    @DisplayName("UpsertQuantity Method Tests")
-    class UpsertQuantityTests {
+    @DisplayName("ApplyDelta Method Tests")
+    class ApplyDeltaTests {
 
         @Test
-        @DisplayName("Should update existing stock quantity")
-        void shouldUpdateExistingStockQuantity() {
+        @DisplayName("Should return resulting quantity from the atomic statement")
+        void shouldReturnResultingQuantityFromAtomicStatement() {
             // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD001";
-            int newQuantity = 20;
-
-            StockId stockId = StockId.builder()
-                    .lojaCodigo(lojaCodigo)
-                    .produtoSku(sku)
-                    .build();
-
-            StockEntity existingStock = StockEntity.builder()
-                    .id(stockId)
-                    .quantidade(10)
-                    .build();
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.of(existingStock));
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(existingStock);
+            when(stockRepository.applyDelta("LOJA001", "PROD001", -2, false)).thenReturn(Optional.of(8));
 
             // When
-            stockAdapter.upsertQuantity(lojaCodigo, sku, newQuantity);
+            Optional<Integer> result = stockAdapter.applyDelta("LOJA001", "PROD001", -2, false);
 
             // Then
-            ArgumentCaptor<StockEntity> stockCaptor = ArgumentCaptor.forClass(StockEntity.class);
-            verify(stockRepository).save(stockCaptor.capture());
-            StockEntity savedStock = stockCaptor.getValue();
-            assertEquals(newQuantity, savedStock.getQuantidade());
-            assertEquals(stockId, savedStock.getId());
+            assertEquals(Optional.of(8), result);
+            verify(stockRepository).applyDelta("LOJA001", "PROD001", -2, false);
+            verify(stockRepository, never()).findById(any(StockId.class));
         }
 
         @Test
-        @DisplayName("Should create new stock when stock does not exist")
-        void shouldCreateNewStockWhenStockDoesNotExist() {
+        @DisplayName("Should return empty when the guard rejects the delta")
+        void shouldReturnEmptyWhenGuardRejectsDelta() {
             // Given
-            String lojaCodigo = "LOJA002";
-            String sku = "PROD002";
-            int quantity = 15;
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.empty());
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(any(StockEntity.class));
+            when(stockRepository.applyDelta("LOJA001", "PROD001", -20, false)).thenReturn(Optional.empty());
 
             // When
-            stockAdapter.upsertQuantity(lojaCodigo, sku, quantity);
+            Optional<Integer> result = stockAdapter.applyDelta("LOJA001", "PROD001", -20, false);
 
             // Then
-            ArgumentCaptor<StockEntity> stockCaptor = ArgumentCaptor.forClass(StockEntity.class);
-            verify(stockRepository).save(stockCaptor.capture());
-            StockEntity savedStock = stockCaptor.getValue();
-            assertEquals(quantity, savedStock.getQuantidade());
-            assertEquals(lojaCodigo, savedStock.getId().getLojaCodigo());
-            assertEquals(sku, savedStock.getId().getProdutoSku());
+            assertTrue(result.isEmpty());
         }
+    }
 
-        @Test
-        @DisplayName("Should handle zero quantity")
-        void shouldHandleZeroQuantity() {
-            // Given
-            String lojaCodigo = "LOJA003";
-            String sku = "PROD003";
-            int quantity = 0;
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.empty());
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(any(StockEntity.class));
-
-            // When
-            stockAdapter.upsertQuantity(lojaCodigo, sku, quantity);
-
-            // Then
-            ArgumentCaptor<StockEntity> stockCaptor = ArgumentCaptor.forClass(StockEntity.class);
-            verify(stockRepository).save(stockCaptor.capture());
-            StockEntity savedStock = stockCaptor.getValue();
-            assertEquals(quantity, savedStock.getQuantidade());
-        }
+    @Nested
+    @DisplayName("LockQuantity Method Tests")
+    class LockQuantityTests {
 
         @Test
-        @DisplayName("Should handle negative quantity")
-        void shouldHandleNegativeQuantity() {
+        @DisplayName("Should return the locked quantity")
+        void shouldReturnLockedQuantity() {
             // Given
-            String lojaCodigo = "LOJA004";
-            String sku = "PROD004";
-            int quantity = -10;
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.empty());
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(any(StockEntity.class));
+            when(stockRepository.lockQuantity("LOJA001", "PROD001")).thenReturn(Optional.of(12));
 
             // When
-            stockAdapter.upsertQuantity(lojaCodigo, sku, quantity);
+            Optional<Integer> result = stockAdapter.lockQuantity("LOJA001", "PROD001");
 
             // Then
-            ArgumentCaptor<StockEntity> stockCaptor = ArgumentCaptor.forClass(StockEntity.class);
-            verify(stockRepository).save(stockCaptor.capture());
-            StockEntity savedStock = stockCaptor.getValue();
-            assertEquals(quantity, savedStock.getQuantidade());
+            assertEquals(Optional.of(12), result);
         }
+    }
 
-        @Test
-        @DisplayName("Should handle null lojaCodigo when upserting")
-        void shouldHandleNullLojaCodigoWhenUpserting() {
-            // Given
-            String lojaCodigo = null;
-            String sku = "PROD005";
-            int quantity = 5;
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.empty());
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(any(StockEntity.class));
-
-            // When
-            assertDoesNotThrow(() -> stockAdapter.upsertQuantity(lojaCodigo, sku, quantity));
-
-            // Then
-            verify(stockRepository).save(any(StockEntity.class));
-        }
+    @Nested
+    @DisplayName("ApplyDeltas Method Tests")
+    class ApplyDeltasTests {
 
         @Test
-        @DisplayName("Should handle null sku when upserting")
-        void shouldHandleNullSkuWhenUpserting() {
+        @DisplayName("Should apply all SKUs in one statement and report the applied ones")
+        void shouldApplyAllSkusInOneStatement() {
             // Given
-            String lojaCodigo = "LOJA006";
-            String sku = null;
-            int quantity = 5;
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.empty());
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(any(StockEntity.class));
+            Map<String, Integer> deltas = new LinkedHashMap<>();
+            deltas.put("PROD001", -2);
+            deltas.put("PROD002", -50);
+            when(stockRepository.applyDeltas("LOJA001", new String[]{"PROD001", "PROD002"}, new Integer[]{-2, -50}, false))
+                    .thenReturn(List.<Object[]>of(new Object[]{"PROD001", 8}));
 
             // When
-            assertDoesNotThrow(() -> stockAdapter.upsertQuantity(lojaCodigo, sku, quantity));
+            Map<String, Integer> result = stockAdapter.applyDeltas("LOJA001", deltas, false);
 
             // Then
-            verify(stockRepository).save(any(StockEntity.class));
+            assertEquals(Map.of("PROD001", 8), result);
         }
 
         @Test
-        @DisplayName("Should replace existing quantity completely")
-        void shouldReplaceExistingQuantityCompletely() {
-            // Given
-            String lojaCodigo = "LOJA007";
-            String sku = "PROD007";
-            int originalQuantity = 100;
-            int newQuantity = 1;
-
-            StockId stockId = StockId.builder()
-                    .lojaCodigo(lojaCodigo)
-                    .produtoSku(sku)
-                    .build();
-
-            StockEntity existingStock = StockEntity.builder()
-                    .id(stockId)
-                    .quantidade(originalQuantity)
-                    .build();
-
-            when(stockRepository.findById(any(StockId.class))).thenReturn(Optional.of(existingStock));
-            when(stockRepository.save(any(StockEntity.class))).thenReturn(existingStock);
-
+        @DisplayName("Should not hit the DB for an empty basket")
+        void shouldNotHitDbForEmptyBasket() {
             // When
-            stockAdapter.upsertQuantity(lojaCodigo, sku, newQuantity);
+            Map<String, Integer> result = stockAdapter.applyDeltas("LOJA001", Map.of(), false);
 
             // Then
-            ArgumentCaptor<StockEntity> stockCaptor = ArgumentCaptor.forClass(StockEntity.class);
-            verify(stockRepository).save(stockCaptor.capture());
-            StockEntity savedStock = stockCaptor.getValue();
-            assertEquals(newQuantity, savedStock.getQuantidade());
-            assertNotEquals(originalQuantity, savedStock.getQuantidade());
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(stockRepository);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,32 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
-import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StockAdjustmentEntity;
-import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StockAdjustmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,271 +34,146 @@ import static org.mockito.Mockito.*;
 class StockAdjustmentAdapterTest {
 
     @Mock
-    private StockAdjustmentRepository stockAdjustmentRepository;
-
-    @InjectMocks
-    private StockAdjustmentAdapter stockAdjustmentAdapter;
+    private JdbcTemplate jdbcTemplate;
 
-    @Nested
-    @DisplayName("SaveAdjustment Tests")
-    class SaveAdjustmentTests {
+    @Mock
+    private PreparedStatement preparedStatement;
 
-        @Test
-        @DisplayName("Should save stock adjustment successfully with valid parameters")
-        void shouldSaveStockAdjustmentSuccessfully() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD123";
-            int delta = 10;
-            String motivo = "Reposição de estoque";
-            Instant criadoEm = Instant.now();
+    private SimpleMeterRegistry meterRegistry;
+    private StockAdjustmentAdapter stockAdjustmentAdapter;
 
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockAdjustmentAdapter = new StockAdjustmentAdapter(jdbcTemplate, meterRegistry, 2);
+    }
 
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals(lojaCodigo, savedEntity.getLojaCodigo());
-            assertEquals(sku, savedEntity.getProdutoSku());
-            assertEquals(delta, savedEntity.getDelta());
-            assertEquals(motivo, savedEntity.getMotivo());
-            assertEquals(criadoEm, savedEntity.getCriadoEm());
+    /**
+     * Captures the rows of every batchUpdate call and binds them to the mocked statement.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Collection<?>> captureBatches() throws SQLException {
+        ArgumentCaptor<Collection> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter> setter = ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(StockAdjustmentAdapter.INSERT_SQL), rows.capture(), eq(2), setter.capture());
+        for (Object row : rows.getValue()) {
+            setter.getValue().setValues(preparedStatement, row);
         }
-
-        @Test
-        @DisplayName("Should save stock adjustment with negative delta")
-        void shouldSaveStockAdjustmentWithNegativeDelta() {
-            // Given
-            String lojaCodigo = "LOJA002";
-            String sku = "PROD456";
-            int delta = -5;
-            String motivo = "Perda de estoque";
-            Instant criadoEm = Instant.now();
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
-
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals(delta, savedEntity.getDelta());
-            assertTrue(savedEntity.getDelta() < 0);
+        List<Collection<?>> batches = new ArrayList<>();
+        for (Collection<?> batch : rows.getAllValues()) {
+            batches.add(batch);
         }
+        return batches;
+    }
 
-        @Test
-        @DisplayName("Should save stock adjustment with zero delta")
-        void shouldSaveStockAdjustmentWithZeroDelta() {
-            // Given
-            String lojaCodigo = "LOJA003";
-            String sku = "PROD789";
-            int delta = 0;
-            String motivo = "Correção sem alteração";
-            Instant criadoEm = Instant.now();
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
-
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals(0, savedEntity.getDelta());
-        }
+    @Nested
+    @DisplayName("SaveAdjustment Tests")
+    class SaveAdjustmentTests {
 
         @Test
-        @DisplayName("Should handle null lojaCodigo parameter")
-        void shouldHandleNullLojaCodigoParameter() {
+        @DisplayName("Should write the adjustment immediately outside a transaction")
+        void shouldWriteImmediatelyOutsideTransaction() throws SQLException {
             // Given
-            String lojaCodigo = null;
-            String sku = "PROD123";
-            int delta = 10;
-            String motivo = "Teste com loja null";
-            Instant criadoEm = Instant.now();
+            Instant criadoEm = Instant.parse("2024-01-01T10:00:00Z");
 
             // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD123", 10, "Reposição de estoque", criadoEm);
 
             // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertNull(savedEntity.getLojaCodigo());
+            List<Collection<?>> batches = captureBatches();
+            assertEquals(1, batches.size());
+            verify(preparedStatement).setString(1, "LOJA001");
+            verify(preparedStatement).setString(2, "PROD123");
+            verify(preparedStatement).setInt(3, 10);
+            verify(preparedStatement).setString(4, "Reposição de estoque");
+            verify(preparedStatement).setObject(5, LocalDateTime.of(2024, 1, 1, 10, 0), Types.TIMESTAMP);
         }
 
         @Test
-        @DisplayName("Should handle null sku parameter")
-        void shouldHandleNullSkuParameter() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = null;
-            int delta = 10;
-            String motivo = "Teste com SKU null";
-            Instant criadoEm = Instant.now();
-
+        @DisplayName("Should bind negative delta and null motivo")
+        void shouldBindNegativeDeltaAndNullMotivo() throws SQLException {
             // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD123", -5, null, Instant.now());
 
             // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertNull(savedEntity.getProdutoSku());
+            captureBatches();
+            verify(preparedStatement).setInt(3, -5);
+            verify(preparedStatement).setString(4, null);
         }
 
         @Test
-        @DisplayName("Should handle null motivo parameter")
-        void shouldHandleNullMotivoParameter() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD123";
-            int delta = 10;
-            String motivo = null;
-            Instant criadoEm = Instant.now();
-
+        @DisplayName("Should bind null criadoEm as SQL null")
+        void shouldBindNullCriadoEmAsSqlNull() throws SQLException {
             // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD123", 1, "motivo", null);
 
             // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertNull(savedEntity.getMotivo());
+            captureBatches();
+            verify(preparedStatement).setObject(5, null, Types.TIMESTAMP);
         }
 
         @Test
-        @DisplayName("Should handle null criadoEm parameter")
-        void shouldHandleNullCriadoEmParameter() {
+        @DisplayName("Should bind criadoEm in UTC regardless of the JVM time zone")
+        void shouldBindCriadoEmInUtcRegardlessOfJvmTimeZone() throws SQLException {
             // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD123";
-            int delta = 10;
-            String motivo = "Teste com data null";
-            Instant criadoEm = null;
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
-
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertNull(savedEntity.getCriadoEm());
+            TimeZone original = TimeZone.getDefault();
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+            try {
+                // When
+                stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD123", 1, "motivo", Instant.parse("2024-01-01T01:30:00Z"));
+
+                // Then
+                captureBatches();
+                verify(preparedStatement).setObject(5, LocalDateTime.of(2024, 1, 1, 1, 30), Types.TIMESTAMP);
+            } finally {
+                TimeZone.setDefault(original);
+            }
         }
+    }
 
-        @Test
-        @DisplayName("Should handle empty string parameters")
-        void shouldHandleEmptyStringParameters() {
-            // Given
-            String lojaCodigo = "";
-            String sku = "";
-            int delta = 15;
-            String motivo = "";
-            Instant criadoEm = Instant.now();
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+    @Nested
+    @DisplayName("Transaction Batching Tests")
+    class TransactionBatchingTests {
 
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals("", savedEntity.getLojaCodigo());
-            assertEquals("", savedEntity.getProdutoSku());
-            assertEquals("", savedEntity.getMotivo());
+        @BeforeEach
+        void beginTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
         }
 
-        @Test
-        @DisplayName("Should handle whitespace string parameters")
-        void shouldHandleWhitespaceStringParameters() {
-            // Given
-            String lojaCodigo = "   ";
-            String sku = "   ";
-            int delta = 20;
-            String motivo = "   ";
-            Instant criadoEm = Instant.now();
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
-
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals("   ", savedEntity.getLojaCodigo());
-            assertEquals("   ", savedEntity.getProdutoSku());
-            assertEquals("   ", savedEntity.getMotivo());
+        @AfterEach
+        void endTransaction() {
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
         }
 
         @Test
-        @DisplayName("Should verify repository save is called exactly once")
-        void shouldVerifyRepositorySaveIsCalledExactlyOnce() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD123";
-            int delta = 10;
-            String motivo = "Verificação de chamada única";
-            Instant criadoEm = Instant.now();
-
+        @DisplayName("Should defer all adjustments of a transaction to one batched write before commit")
+        void shouldDeferAdjustmentsToOneBatchedWrite() throws SQLException {
             // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD1", 1, "a", Instant.now());
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD2", 2, "b", Instant.now());
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD3", 3, "c", Instant.now());
 
             // Then
-            verify(stockAdjustmentRepository, times(1)).save(any(StockAdjustmentEntity.class));
-            verifyNoMoreInteractions(stockAdjustmentRepository);
-        }
+            verifyNoInteractions(jdbcTemplate);
 
-        @Test
-        @DisplayName("Should handle large positive delta values")
-        void shouldHandleLargePositiveDeltaValues() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD999";
-            int delta = Integer.MAX_VALUE;
-            String motivo = "Teste com valor máximo";
-            Instant criadoEm = Instant.now();
-
-            // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
-
-            // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals(Integer.MAX_VALUE, savedEntity.getDelta());
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+            List<Collection<?>> batches = captureBatches();
+            assertEquals(1, batches.size());
+            assertEquals(3, batches.get(0).size());
+            assertEquals(3.0, meterRegistry.get("inventory.stock.adjustments.flush.size").summary().max());
         }
 
         @Test
-        @DisplayName("Should handle large negative delta values")
-        void shouldHandleLargeNegativeDeltaValues() {
-            // Given
-            String lojaCodigo = "LOJA001";
-            String sku = "PROD999";
-            int delta = Integer.MIN_VALUE;
-            String motivo = "Teste com valor mínimo";
-            Instant criadoEm = Instant.now();
-
+        @DisplayName("Should not write anything when the transaction rolls back")
+        void shouldNotWriteWhenTransactionRollsBack() {
             // When
-            stockAdjustmentAdapter.saveAdjustment(lojaCodigo, sku, delta, motivo, criadoEm);
+            stockAdjustmentAdapter.saveAdjustment("LOJA001", "PROD1", 1, "a", Instant.now());
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
 
             // Then
-            ArgumentCaptor<StockAdjustmentEntity> captor = ArgumentCaptor.forClass(StockAdjustmentEntity.class);
-            verify(stockAdjustmentRepository, times(1)).save(captor.capture());
-            
-            StockAdjustmentEntity savedEntity = captor.getValue();
-            assertEquals(Integer.MIN_VALUE, savedEntity.getDelta());
+            verifyNoInteractions(jdbcTemplate);
+            assertNull(TransactionSynchronizationManager.getResource(stockAdjustmentAdapter));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,173 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.inventoryservice.domain.model.StockImportResult;
+import br.com.inventoryservice.domain.model.StockSnapshotRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockImportAdapter")
+class StockImportAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    private StockImportAdapter stockImportAdapter;
+
+    @BeforeEach
+    void setUp() {
+        stockImportAdapter = new StockImportAdapter(jdbcTemplate, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCopy() throws SQLException {
+        // execute(String) shares its name with execute(ConnectionCallback), so strict stubs need both stubbed
+        doNothing().when(jdbcTemplate).execute(StockImportAdapter.CREATE_STAGING_SQL);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> ((ConnectionCallback<?>) inv.getArgument(0)).doInConnection(connection));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(StockImportAdapter.COPY_SQL)).thenReturn(copyIn);
+    }
+
+    private static Iterator<StockSnapshotRow> rows(StockSnapshotRow... rows) {
+        return List.of(rows).iterator();
+    }
+
+    @Nested
+    @DisplayName("ImportSnapshot Tests")
+    class ImportSnapshotTests {
+
+        @Test
+        @DisplayName("Should stage rows with COPY, merge them and record the import")
+        void shouldStageMergeAndRecordImport() throws SQLException {
+            // Given
+            stubCopy();
+            doNothing().when(jdbcTemplate).execute(StockImportAdapter.LOCK_SQL);
+            when(jdbcTemplate.update(eq(StockImportAdapter.CLAIM_SQL), anyString(), eq("loja-nova.csv"), eq(3L), any())).thenReturn(1);
+            when(jdbcTemplate.queryForObject(StockImportAdapter.REJECTED_SQL, Long.class)).thenReturn(1L);
+            when(jdbcTemplate.queryForMap(eq(StockImportAdapter.MERGE_SQL), anyString(), any()))
+                    .thenReturn(Map.of("aplicadas", 2L, "ajustes", 2L));
+            List<Long> progress = new ArrayList<>();
+
+            // When
+            StockImportResult result = stockImportAdapter.importSnapshot("loja-nova.csv", rows(
+                    new StockSnapshotRow("LOJA001", "PROD1", 10),
+                    new StockSnapshotRow("LOJA001", "PROD2", 5),
+                    new StockSnapshotRow("LOJA001", "DESCONHECIDO", 1)), progress::add);
+
+            // Then
+            assertEquals(3, result.linhasLidas());
+            assertEquals(2, result.linhasAplicadas());
+            assertEquals(1, result.linhasRejeitadas());
+            assertEquals(2, result.ajustes());
+            assertFalse(result.reaproveitada());
+            assertEquals(64, result.importId().length());
+            assertEquals(List.of(2L), progress);
+
+            ArgumentCaptor<byte[]> copied = ArgumentCaptor.forClass(byte[].class);
+            verify(copyIn).writeToCopy(copied.capture(), eq(0), anyInt());
+            assertTrue(new String(copied.getValue(), StandardCharsets.UTF_8).startsWith("\"LOJA001\",\"PROD1\",10\n"));
+            verify(copyIn).endCopy();
+            verify(jdbcTemplate).execute(StockImportAdapter.CREATE_STAGING_SQL);
+            verify(jdbcTemplate).execute(StockImportAdapter.LOCK_SQL);
+            verify(jdbcTemplate).queryForMap(eq(StockImportAdapter.MERGE_SQL), eq("importacao:" + result.importId()), any());
+            verify(jdbcTemplate).update(eq(StockImportAdapter.COMPLETE_SQL), eq(2L), eq(1L), eq(2L), any(), eq(result.importId()));
+        }
+
+        @Test
+        @DisplayName("Should return the previous result without merging when the same content was already imported")
+        @SuppressWarnings("unchecked")
+        void shouldSkipMergeWhenAlreadyImported() throws SQLException {
+            // Given
+            stubCopy();
+            when(jdbcTemplate.update(eq(StockImportAdapter.CLAIM_SQL), anyString(), any(), anyLong(), any())).thenReturn(0);
+            StockImportResult previous = new StockImportResult("id", "loja-nova.csv", 1, 1, 0, 1, true);
+            when(jdbcTemplate.queryForObject(eq(StockImportAdapter.FIND_SQL), any(RowMapper.class), anyString())).thenReturn(previous);
+
+            // When
+            StockImportResult result = stockImportAdapter.importSnapshot("reenvio.csv",
+                    rows(new StockSnapshotRow("LOJA001", "PROD1", 10)), staged -> { });
+
+            // Then
+            assertSame(previous, result);
+            verify(jdbcTemplate, never()).queryForObject(StockImportAdapter.REJECTED_SQL, Long.class);
+            verify(jdbcTemplate, never()).execute(StockImportAdapter.LOCK_SQL);
+        }
+
+        @Test
+        @DisplayName("Should cancel the COPY when reading the rows fails")
+        void shouldCancelCopyOnFailure() throws SQLException {
+            // Given
+            stubCopy();
+            when(copyIn.isActive()).thenReturn(true);
+            Iterator<StockSnapshotRow> failing = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public StockSnapshotRow next() {
+                    throw new IllegalArgumentException("Linha 2: quantidade inválida 'x'");
+                }
+            };
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> stockImportAdapter.importSnapshot("ruim.csv", failing, staged -> { }));
+            verify(copyIn).cancelCopy();
+            verify(jdbcTemplate, never()).update(eq(StockImportAdapter.CLAIM_SQL), any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("CsvLine Tests")
+    class CsvLineTests {
+
+        @Test
+        @DisplayName("Should quote codes and leave a missing quantity as NULL")
+        void shouldQuoteCodesAndLeaveNullQuantityEmpty() {
+            // When
+            String line = new String(StockImportAdapter.csvLine(new StockSnapshotRow("LOJA \"A\",1", "PROD1", null)), StandardCharsets.UTF_8);
+
+            // Then
+            assertEquals("\"LOJA \"\"A\"\",1\",\"PROD1\",\n", line);
+        }
+    }
+}
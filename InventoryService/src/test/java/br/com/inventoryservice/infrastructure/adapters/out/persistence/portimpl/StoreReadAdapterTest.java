@@ -1,5 +1,6 @@
 package br.com.inventoryservice.infrastructure.adapters.out.persistence.portimpl;
 
+import br.com.inventoryservice.infrastructure.adapters.out.catalog.CatalogStore;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StoreEntity;
 import br.com.inventoryservice.infrastructure.adapters.out.persistence.repository.StoreRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +23,9 @@ class StoreReadAdapterTest {
     @Mock
     private StoreRepository storeRepository;
 
+    @Mock
+    private CatalogStore catalogStore;
+
     @InjectMocks
     private StoreReadAdapter storeReadAdapter;
 
@@ -318,4 +322,36 @@ class StoreReadAdapterTest {
             verify(storeRepository, times(3)).findById(codigo);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Catalog Tests")
+    class CatalogTests {
+
+        @Test
+        @DisplayName("Should answer from the catalog without querying the DB")
+        void shouldAnswerFromCatalogWithoutQueryingDb() {
+            // Given
+            when(catalogStore.containsStore("LOJA001")).thenReturn(true);
+
+            // When
+            boolean result = storeReadAdapter.existsByCodigo("LOJA001");
+
+            // Then
+            assertTrue(result);
+            verifyNoInteractions(storeRepository);
+        }
+
+        @Test
+        @DisplayName("Should populate the catalog after a DB hit")
+        void shouldPopulateCatalogAfterDbHit() {
+            // Given
+            when(storeRepository.findById("LOJA002")).thenReturn(Optional.of(StoreEntity.builder().codigo("LOJA002").build()));
+
+            // When
+            storeReadAdapter.existsByCodigo("LOJA002");
+
+            // Then
+            verify(catalogStore).putStore("LOJA002");
+        }
+    }
+}
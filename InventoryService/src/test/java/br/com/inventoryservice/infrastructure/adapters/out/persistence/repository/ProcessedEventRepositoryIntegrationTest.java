@@ -0,0 +1,88 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.repository;
+
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.integration.KafkaIntegrationTestBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the processed-event claim against a real PostgreSQL, where the advisory lock and the
+ * horizon-bounded check of registrar_evento_processado actually run.
+ */
+@DisplayName("ProcessedEventRepository Integration Tests")
+@Sql(scripts = {"/db/migration/V1__init-inventory.sql", "/db/migration/V2__offset_watermark.sql", "/db/migration/V3__event_id_dedup.sql", "/db/migration/V6__stock_imports.sql", "/db/migration/V7__stock_outbox.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/migration/V4__partition_processed_events.sql", "/db/migration/V5__compact_adjustment_ids.sql", "/db/migration/V8__claim_processed_event.sql"}, config = @SqlConfig(separator = ScriptUtils.EOF_STATEMENT_SEPARATOR), executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/migration/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ProcessedEventRepositoryIntegrationTest extends KafkaIntegrationTestBase {
+
+    private static final String TOPIC = "vendas-test";
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private boolean claim(long offset) {
+        Instant now = Instant.now();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> processedEventRepository.insertIfAbsent(
+                UUID.randomUUID().toString(), TOPIC, 0, offset, now, now.minus(Duration.ofDays(30)))));
+    }
+
+    @Test
+    @DisplayName("Should claim a key once and report the second claim as a duplicate")
+    void shouldClaimKeyOnce() {
+        // When
+        boolean first = claim(42L);
+        boolean second = claim(42L);
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, processedEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should see a key committed by a concurrent claim that held the lock")
+    void shouldSeeKeyCommittedWhileWaitingForLock() throws Exception {
+        // Given - the first claim keeps its transaction open after inserting
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            boolean claimed = processedEventRepository.insertIfAbsent(UUID.randomUUID().toString(), TOPIC, 0, 7L,
+                    now, now.minus(Duration.ofDays(30)));
+            inserted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return claimed;
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        // When - the second claim blocks on the key lock until the first one commits
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> claim(7L));
+        Thread.sleep(500);
+        release.countDown();
+
+        // Then
+        assertTrue(holder.get(10, TimeUnit.SECONDS));
+        assertFalse(waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(1, processedEventRepository.count());
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.inventoryservice.infrastructure.adapters.out.persistence.repository;
+
+import br.com.inventoryservice.infrastructure.adapters.in.messaging.integration.KafkaIntegrationTestBase;
+import br.com.inventoryservice.infrastructure.adapters.out.persistence.entity.StockId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the native stock upserts of StockRepository against a real PostgreSQL.
+ * The guarded INSERT ... ON CONFLICT statements cannot run on H2, so they are exercised here through TestContainers.
+ */
+@DisplayName("StockRepository Integration Tests")
+@Sql(scripts = {"/db/migration/V1__init-inventory.sql", "/db/migration/V2__offset_watermark.sql", "/db/migration/V3__event_id_dedup.sql", "/db/migration/V6__stock_imports.sql", "/db/migration/V7__stock_outbox.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/db/migration/V4__partition_processed_events.sql", "/db/migration/V5__compact_adjustment_ids.sql", "/db/migration/V8__claim_processed_event.sql"}, config = @SqlConfig(separator = ScriptUtils.EOF_STATEMENT_SEPARATOR), executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/migration/setup-product-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/db/migration/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class StockRepositoryIntegrationTest extends KafkaIntegrationTestBase {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int quantityOf(String loja, String sku) {
+        return stockRepository.findById(StockId.builder().lojaCodigo(loja).produtoSku(sku).build())
+                .orElseThrow()
+                .getQuantidade();
+    }
+
+    private int outboxRows() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM estoque_outbox", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Nested
+    @DisplayName("applyDelta")
+    class ApplyDelta {
+
+        @Test
+        @DisplayName("Should decrement an existing row when the result stays non-negative")
+        void shouldDecrementExistingRow() {
+            // Given - STORE001/SKU001 starts at 100 (from setup data)
+
+            // When
+            Optional<Integer> result = transactionTemplate.execute(status ->
+                    stockRepository.applyDelta("STORE001", "SKU001", -30, false));
+
+            // Then
+            assertEquals(Optional.of(70), result);
+            assertEquals(70, quantityOf("STORE001", "SKU001"));
+            assertEquals(1, outboxRows());
+        }
+
+        @Test
+        @DisplayName("Should reject a decrement that would take an existing row below zero")
+        void shouldRejectDecrementBelowZero() {
+            // Given - STORE001/SKU002 starts at 50 (from setup data)
+
+            // When
+            Optional<Integer> result = transactionTemplate.execute(status ->
+                    stockRepository.applyDelta("STORE001", "SKU002", -51, false));
+
+            // Then
+            assertEquals(Optional.empty(), result);
+            assertEquals(50, quantityOf("STORE001", "SKU002"));
+            assertEquals(0, outboxRows());
+        }
+
+        @Test
+        @DisplayName("Should reject a decrement for a key without stock")
+        void shouldRejectDecrementForMissingRow() {
+            // Given - STORE002/SKU002 has no stock row
+
+            // When
+            Optional<Integer> result = transactionTemplate.execute(status ->
+                    stockRepository.applyDelta("STORE002", "SKU002", -1, false));
+
+            // Then
+            assertEquals(Optional.empty(), result);
+            assertFalse(stockRepository.existsById(StockId.builder().lojaCodigo("STORE002").produtoSku("SKU002").build()));
+            assertEquals(0, outboxRows());
+        }
+
+        @Test
+        @DisplayName("Should insert a new row for a positive delta")
+        void shouldInsertNewRowForPositiveDelta() {
+            // When
+            Optional<Integer> result = transactionTemplate.execute(status ->
+                    stockRepository.applyDelta("STORE002", "SKU002", 5, false));
+
+            // Then
+            assertEquals(Optional.of(5), result);
+            assertEquals(5, quantityOf("STORE002", "SKU002"));
+            assertEquals(1, outboxRows());
+        }
+
+        @Test
+        @DisplayName("Should let the quantity go negative when allowed")
+        void shouldAllowNegativeWhenEnabled() {
+            // When
+            Optional<Integer> result = transactionTemplate.execute(status ->
+                    stockRepository.applyDelta("STORE001", "SKU002", -60, true));
+
+            // Then
+            assertEquals(Optional.of(-10), result);
+            assertEquals(-10, quantityOf("STORE001", "SKU002"));
+        }
+    }
+
+    @Nested
+    @DisplayName("applyDeltas")
+    class ApplyDeltas {
+
+        @Test
+        @DisplayName("Should decrement each SKU of a mixed basket and skip only the ones that would go negative")
+        void shouldApplyMixedBasket() {
+            // Given - STORE001 has SKU001=100 and SKU002=50; SKU004 has no row at STORE001
+            String[] skus = {"SKU001", "SKU002", "SKU004", "SKU005"};
+            Integer[] deltas = {-10, -60, -1, 3};
+
+            // When
+            List<Object[]> rows = transactionTemplate.execute(status ->
+                    stockRepository.applyDeltas("STORE001", skus, deltas, false));
+
+            // Then
+            Map<String, Integer> applied = rows.stream()
+                    .collect(Collectors.toMap(r -> (String) r[0], r -> ((Number) r[1]).intValue()));
+            assertEquals(Map.of("SKU001", 90, "SKU005", 3), applied);
+            assertEquals(90, quantityOf("STORE001", "SKU001"));
+            assertEquals(50, quantityOf("STORE001", "SKU002"));
+            assertEquals(3, quantityOf("STORE001", "SKU005"));
+            assertFalse(stockRepository.existsById(StockId.builder().lojaCodigo("STORE001").produtoSku("SKU004").build()));
+            assertEquals(2, outboxRows());
+        }
+
+        @Test
+        @DisplayName("Should decrement every SKU of a basket that fits the stock")
+        void shouldDecrementWholeBasket() {
+            // When
+            List<Object[]> rows = transactionTemplate.execute(status ->
+                    stockRepository.applyDeltas("STORE001", new String[]{"SKU001", "SKU002"}, new Integer[]{-100, -50}, false));
+
+            // Then
+            assertEquals(2, rows.size());
+            assertTrue(rows.stream().allMatch(r -> ((Number) r[1]).intValue() == 0),
+                    () -> "Unexpected rows: " + rows.stream().map(Arrays::toString).toList());
+            assertEquals(0, quantityOf("STORE001", "SKU001"));
+            assertEquals(0, quantityOf("STORE001", "SKU002"));
+        }
+    }
+}
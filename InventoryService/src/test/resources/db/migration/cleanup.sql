@@ -4,6 +4,16 @@
 DELETE
 FROM eventos_processados;
 DELETE
+FROM eventos_id_processados;
+DELETE
+FROM offsets_pendentes;
+DELETE
+FROM offsets_processados;
+DELETE
+FROM estoque_outbox;
+DELETE
+FROM importacoes_estoque;
+DELETE
 FROM ajustes_estoque;
 DELETE
 FROM estoque;
@@ -1,6 +1,8 @@
 package br.com.orderservice.application.port.in;
 
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,7 +10,11 @@ import java.util.Optional;
 public interface OrderUseCase {
     Order createOrder(Order order);
 
+    List<Order> createOrders(List<Order> orders);
+
     Optional<Order> findOrderById(Long id);
 
     List<Order> findOrdersByCustomerId(String customerId);
+
+    OrderPage findOrderHistory(String customerId, OrderCursor after, Integer limit);
 }
\ No newline at end of file
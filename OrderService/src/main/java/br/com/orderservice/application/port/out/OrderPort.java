@@ -1,6 +1,8 @@
 package br.com.orderservice.application.port.out;
 
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,10 +10,21 @@ import java.util.Optional;
 public interface OrderPort {
     Order save(Order order);
 
+    /**
+     * Inserts the orders, with their items, whose numero is not stored yet and returns only those, with their ids.
+     */
+    List<Order> saveAllIfAbsent(List<Order> orders);
+
     Optional<Order> findById(Long id);
 
     List<Order> findByCustomerId(String customerId);
 
+    /**
+     * Up to {@code limit} orders of the customer older than {@code after} (newest first, from the start when
+     * {@code null}), items included.
+     */
+    OrderPage findPageByCustomerId(String customerId, OrderCursor after, int limit);
+
     List<Order> findAll();
 
     void deleteById(Long id);
@@ -0,0 +1,14 @@
+package br.com.orderservice.application.port.out;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Numeric ids of the stores in the shared lojas catalog, by store code. Stores whose id has not been assigned yet
+ * are left out.
+ */
+public interface StoreCatalogPort {
+    Map<String, Long> findAllStoreIds();
+
+    Optional<Long> findStoreId(String storeCode);
+}
@@ -3,6 +3,9 @@ package br.com.orderservice.application.usecase;
 import br.com.orderservice.application.port.in.OrderUseCase;
 import br.com.orderservice.application.port.out.OrderPort;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +16,9 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderUseCaseImpl implements OrderUseCase {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final OrderPort orderPort;
 
     @Override
@@ -20,6 +26,17 @@ public class OrderUseCaseImpl implements OrderUseCase {
         return orderPort.save(order);
     }
 
+    /**
+     * All orders of the batch commit or roll back together; orders whose numero is already stored are skipped and
+     * left out of the result.
+     */
+    @Override
+    @Transactional
+    public List<Order> createOrders(List<Order> orders) {
+        if (orders.isEmpty()) return List.of();
+        return orderPort.saveAllIfAbsent(orders);
+    }
+
     @Override
     public Optional<Order> findOrderById(Long id) {
         return orderPort.findById(id);
@@ -29,4 +46,13 @@ public class OrderUseCaseImpl implements OrderUseCase {
     public List<Order> findOrdersByCustomerId(String customerId) {
         return orderPort.findByCustomerId(customerId);
     }
+
+    @Override
+    public OrderPage findOrderHistory(String customerId, OrderCursor after, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return orderPort.findPageByCustomerId(customerId, after, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package br.com.orderservice.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a customer's order history, newest first; {@code nextCursor} is where the next page starts, or
+ * {@code null} when this is the last one.
+ */
+public record OrderPage(
+        List<Order> items,
+        OrderCursor nextCursor
+) {
+}
@@ -4,21 +4,67 @@ import br.com.orderservice.application.port.in.OrderUseCase;
 import br.com.orderservice.domain.model.Order;
 import br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
 import br.com.orderservice.infrastructure.adapters.in.messaging.mapper.SalesEventMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SalesKafkaListener {
 
     private final OrderUseCase orderUseCase;
     private final StoreResolver storeResolver;
+    private final Counter duplicates;
+
+    public SalesKafkaListener(OrderUseCase orderUseCase, StoreResolver storeResolver, MeterRegistry meterRegistry) {
+        this.orderUseCase = orderUseCase;
+        this.storeResolver = storeResolver;
+        this.duplicates = Counter.builder("orders.ingestion.duplicates")
+                .description("Sales events skipped because their order numero was already stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes a whole poll and stores its orders in one transaction with a single insert-if-absent statement, so
+     * redelivered events (e.g. a partition replayed after a rebalance) are only counted. If any event of the batch
+     * fails, the batch is rolled back and its events are retried one by one, so a single bad event only loses itself.
+     */
+    @KafkaListener(topics = "${order.kafka.topics.vendas}", groupId = "${order.kafka.group-id}", batch = "true",
+            properties = "max.poll.records=${order.ingestion.max-records:500}")
+    public void handleSalesEvents(List<SalesEvent> salesEvents) {
+        List<SalesEvent> events = salesEvents.stream().filter(Objects::nonNull).toList();
+        if (events.isEmpty()) {
+            return;
+        }
+
+        log.debug("Received batch of {} sales events", events.size());
+
+        try {
+            List<Order> orders = events.stream()
+                    .map(event -> SalesEventMapper.toDomain(event, storeResolver.resolveStoreId(event.getStoreCode())))
+                    .toList();
+
+            List<Order> createdOrders = orderUseCase.createOrders(orders);
+            int skipped = orders.size() - createdOrders.size();
+            if (skipped > 0) {
+                duplicates.increment(skipped);
+            }
+
+            log.info("Successfully created {} orders from a batch of {} sales events ({} already stored)",
+                    createdOrders.size(), events.size(), skipped);
+
+        } catch (Exception e) {
+            log.warn("Batch of {} sales events failed ({}), processing them one by one",
+                    events.size(), e.getMessage());
+            events.forEach(this::handleSalesEvent);
+        }
+    }
 
-    @KafkaListener(topics = "${order.kafka.topics.vendas}", groupId = "${order.kafka.group-id}")
     public void handleSalesEvent(SalesEvent salesEvent) {
         if (salesEvent == null) {
             log.warn("Received null sales event, ignoring");
@@ -33,10 +79,17 @@ public class SalesKafkaListener {
 
             Order order = SalesEventMapper.toDomain(salesEvent, storeId);
 
-            Order createdOrder = orderUseCase.createOrder(order);
+            List<Order> createdOrders = orderUseCase.createOrders(List.of(order));
+
+            if (createdOrders.isEmpty()) {
+                duplicates.increment();
+                log.debug("Order {} of sales event {} already stored, skipping",
+                        salesEvent.getNumero(), salesEvent.getEventId());
+                return;
+            }
 
             log.info("Successfully created order with ID: {} for sales event: {}",
-                    createdOrder.getId(), salesEvent.getEventId());
+                    createdOrders.get(0).getId(), salesEvent.getEventId());
 
         } catch (Exception e) {
             log.error("Error processing sales event with eventId: {}, error: {}",
@@ -44,4 +97,4 @@ public class SalesKafkaListener {
         }
     }
 
-}
\ No newline at end of file
+}
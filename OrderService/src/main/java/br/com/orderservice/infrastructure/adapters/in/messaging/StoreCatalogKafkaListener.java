@@ -0,0 +1,36 @@
+package br.com.orderservice.infrastructure.adapters.in.messaging;
+
+import br.com.orderservice.infrastructure.adapters.in.messaging.dto.StoreEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets every instance notice new stores without waiting for the next index refresh. Each instance uses its own
+ * consumer group and only reads new events: the index is loaded from the lojas table at startup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StoreCatalogKafkaListener {
+
+    private final StoreResolver storeResolver;
+
+    @KafkaListener(topics = "${order.kafka.topics.lojas:lojas}",
+            groupId = "${order.kafka.group-id}-lojas-${random.uuid}",
+            properties = {
+                    "spring.json.value.default.type=br.com.orderservice.infrastructure.adapters.in.messaging.dto.StoreEvent",
+                    "spring.json.use.type.headers=false",
+                    "auto.offset.reset=latest"
+            })
+    public void handleStoreEvent(StoreEvent storeEvent) {
+        if (storeEvent == null || storeEvent.getDados() == null) {
+            log.warn("Received store event without data, ignoring");
+            return;
+        }
+
+        log.debug("Store {} changed ({})", storeEvent.getDados().getCodigo(), storeEvent.getTipo());
+        storeResolver.storeChanged(storeEvent.getDados().getCodigo());
+    }
+}
@@ -1,28 +1,163 @@
 package br.com.orderservice.infrastructure.adapters.in.messaging;
 
+import br.com.orderservice.application.port.out.StoreCatalogPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Resolves sales store codes to the store ids of the store catalog (lojas_consulta).
+ * <p>
+ * Known codes are served from an immutable index that a refresh rebuilds and swaps in whole, so the hot path is a
+ * single lock-free lookup. A code missing from the index is looked up once in the catalog (the store may be newer
+ * than the last refresh); codes that are not there either go to a bounded negative cache, so garbage codes cost
+ * neither memory nor a query per sale. Unknown stores resolve to {@code null}: the order is kept without a store
+ * instead of being attributed to a wrong one. A catalog that cannot be read also resolves to {@code null}, without
+ * negative-caching the code, so sales keep flowing while it is down.
+ * <p>
+ * A lojas event can arrive before its row is visible in the catalog, so an announced store stays pending, is never
+ * negative-cached and is looked up again until it appears or {@code order.stores.pending-timeout} passes.
+ */
 @Component
 @Slf4j
 public class StoreResolver {
-    private final Map<String, Long> storeCodeToIdMap = new ConcurrentHashMap<>();
+
+    private final StoreCatalogPort storeCatalogPort;
+    private final Cache<String, Boolean> unknownCodes;
+    private final Counter misses;
+    private final Map<String, Instant> pendingCodes = new ConcurrentHashMap<>();
+    private final Duration pendingTimeout;
+
+    private volatile Map<String, Long> index = Map.of();
+
+    public StoreResolver(StoreCatalogPort storeCatalogPort,
+                         MeterRegistry meterRegistry,
+                         @Value("${order.stores.negative-cache.maximum-size:10000}") long negativeCacheSize,
+                         @Value("${order.stores.negative-cache.ttl:10m}") Duration negativeCacheTtl,
+                         @Value("${order.stores.pending-timeout:2m}") Duration pendingTimeout) {
+        this.storeCatalogPort = storeCatalogPort;
+        this.pendingTimeout = pendingTimeout;
+        this.unknownCodes = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(negativeCacheTtl)
+                .build();
+        this.misses = Counter.builder("orders.store.resolution.misses")
+                .description("Sales store codes not found in the store catalog")
+                .register(meterRegistry);
+        Gauge.builder("orders.store.index.size", this, resolver -> resolver.index.size()).register(meterRegistry);
+    }
 
     public Long resolveStoreId(String storeCode) {
         if (storeCode == null) {
             throw new IllegalArgumentException("Store code cannot be null");
         }
 
-        Long storeId = storeCodeToIdMap.get(storeCode);
-        if (storeId == null) {
-            storeId = Math.abs(storeCode.hashCode()) % 1000L + 1L;
-            storeCodeToIdMap.put(storeCode, storeId);
-            log.warn("Unknown store code '{}', created mapping to ID: {}", storeCode, storeId);
+        Long storeId = index.get(storeCode);
+        return storeId != null ? storeId : resolveMiss(storeCode);
+    }
+
+    /**
+     * Rebuilds the index from the catalog. On failure the current index is kept. Synchronized with {@link #add} so a
+     * store added while the catalog is read is not lost when the new index is swapped in.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${order.stores.refresh-interval-ms:300000}",
+            initialDelayString = "${order.stores.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        try {
+            index = Map.copyOf(storeCatalogPort.findAllStoreIds());
+            log.info("Store index loaded with {} stores", index.size());
+        } catch (Exception e) {
+            log.warn("Could not load the store index, keeping {} stores: {}", index.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * A store was created or changed in the catalog: its code is resolved now and, if the row is not visible yet,
+     * kept pending for {@link #retryPendingStores()}.
+     */
+    public void storeChanged(String storeCode) {
+        if (storeCode == null) {
+            return;
+        }
+
+        pendingCodes.put(storeCode, Instant.now().plus(pendingTimeout));
+        unknownCodes.invalidate(storeCode);
+        resolvePending(storeCode);
+    }
+
+    @Scheduled(fixedDelayString = "${order.stores.pending-retry-interval-ms:1000}")
+    public void retryPendingStores() {
+        Instant now = Instant.now();
+        pendingCodes.forEach((storeCode, deadline) -> {
+            if (!resolvePending(storeCode) && now.isAfter(deadline) && pendingCodes.remove(storeCode, deadline)) {
+                log.warn("Store '{}' announced on the lojas topic is still missing from the catalog", storeCode);
+            }
+        });
+    }
+
+    private boolean resolvePending(String storeCode) {
+        Optional<Long> storeId;
+        try {
+            storeId = storeCatalogPort.findStoreId(storeCode);
+        } catch (Exception e) {
+            log.warn("Could not look up pending store '{}', retrying: {}", storeCode, e.getMessage());
+            return false;
+        }
+        if (storeId.isEmpty()) {
+            return false;
+        }
+
+        add(storeCode, storeId.get());
+        pendingCodes.remove(storeCode);
+        // a sale may have negative-cached the code between the event and now; the index entry wins from here on
+        unknownCodes.invalidate(storeCode);
+        return true;
+    }
+
+    private Long resolveMiss(String storeCode) {
+        misses.increment();
+        if (unknownCodes.getIfPresent(storeCode) != null) {
+            return null;
+        }
+
+        Optional<Long> storeId;
+        try {
+            storeId = storeCatalogPort.findStoreId(storeCode);
+        } catch (Exception e) {
+            log.warn("Could not look up store code '{}', the order will be stored without a store: {}", storeCode, e.getMessage());
+            return null;
         }
+        if (storeId.isEmpty()) {
+            if (!pendingCodes.containsKey(storeCode)) {
+                unknownCodes.put(storeCode, Boolean.TRUE);
+            }
+            log.warn("Unknown store code '{}', orders will be stored without a store", storeCode);
+            return null;
+        }
+
+        add(storeCode, storeId.get());
+        return storeId.get();
+    }
 
-        return storeId;
+    // copy-on-write: readers keep using the previous index until the new one is published
+    private synchronized void add(String storeCode, Long storeId) {
+        Map<String, Long> updated = new HashMap<>(index);
+        updated.put(storeCode, storeId);
+        index = Map.copyOf(updated);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package br.com.orderservice.infrastructure.adapters.in.messaging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreData {
+    private String codigo;
+    private String nome;
+}
@@ -0,0 +1,14 @@
+package br.com.orderservice.infrastructure.adapters.in.messaging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreEvent {
+    private String eventId;
+    private String tipo;
+    private StoreData dados;
+}
@@ -2,11 +2,15 @@ package br.com.orderservice.infrastructure.adapters.in.web;
 
 import br.com.orderservice.application.port.in.OrderUseCase;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -14,6 +18,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderUseCase orderUseCase;
 
     @GetMapping("/{id}")
@@ -23,9 +29,29 @@ public class OrderController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * The customer's orders, newest first, one page at a time; the cursor for the next page comes back in
+     * {@value #NEXT_CURSOR_HEADER} and goes in {@code after}.
+     */
     @GetMapping
-    public ResponseEntity<List<Order>> getOrdersByCustomerId(@RequestParam String customerId) {
-        List<Order> orders = orderUseCase.findOrdersByCustomerId(customerId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<Order>> getOrdersByCustomerId(
+            @RequestParam String customerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        OrderPage page = orderUseCase.findOrderHistory(customerId, after != null ? OrderCursor.decode(after) : null, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Invalid input, such as a malformed {@code after} cursor, is a 400; Map.of rejects null, so a message-less
+     * exception gets a generic text instead of failing the handler into a 500.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", Objects.requireNonNullElse(e.getMessage(), "Invalid request")));
     }
-}
\ No newline at end of file
+}
@@ -18,8 +18,16 @@ import java.util.List;
 @EqualsAndHashCode
 public class OrderEntity {
 
+    public static final String ID_SEQUENCE = "pedidos_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Drawn from a pooled sequence, allocationSize ids per round trip, so Hibernate can batch the inserts; identity
+     * columns force one insert per row. Must match the sequence's INCREMENT BY.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "numero", nullable = false, unique = true)
@@ -38,7 +46,7 @@ public class OrderEntity {
     @Column(name = "total_centavos", nullable = false)
     private Long totalCentavos;
 
-    @Column(name = "criado_em")
+    @Column(name = "criado_em", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "atualizado_em")
@@ -46,4 +54,12 @@ public class OrderEntity {
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<OrderItemEntity> items;
+
+    // criado_em is the customer history's keyset column, so it can never be missing
+    @PrePersist
+    void defaultCreatedAt() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
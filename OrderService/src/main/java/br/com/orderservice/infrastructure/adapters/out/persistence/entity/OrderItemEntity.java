@@ -12,8 +12,13 @@ import lombok.*;
 @Setter
 public class OrderItemEntity {
 
+    public static final String ID_SEQUENCE = "itens_pedido_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 200;
+
+    // pooled like OrderEntity's; larger blocks since an order carries many items
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,23 +1,95 @@
 package br.com.orderservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.orderservice.application.port.out.OrderPort;
+import br.com.orderservice.domain.enuns.OrderStatus;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderItem;
+import br.com.orderservice.domain.model.OrderPage;
 import br.com.orderservice.infrastructure.adapters.out.persistence.entity.OrderEntity;
+import br.com.orderservice.infrastructure.adapters.out.persistence.entity.OrderItemEntity;
 import br.com.orderservice.infrastructure.adapters.out.persistence.mapper.OrderMapper;
 import br.com.orderservice.infrastructure.adapters.out.persistence.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class OrderPortImpl implements OrderPort {
 
+    static final String NEXT_IDS_SQL = "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)";
+
+    /**
+     * Orders whose numero already exists are skipped by the arbiter and, since items only join the ids the first
+     * insert returned, so are their items. Returns the ids of the orders actually inserted.
+     */
+    static final String INSERT_IF_ABSENT_SQL = """
+            WITH novos AS (
+                INSERT INTO pedidos (id, numero, cliente_id, loja_id, status, total_centavos, criado_em, atualizado_em)
+                SELECT * FROM unnest(CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS bigint[]),
+                                     CAST(? AS varchar[]), CAST(? AS bigint[]), CAST(? AS timestamp[]),
+                                     CAST(? AS timestamp[]))
+                ON CONFLICT (numero) DO NOTHING
+                RETURNING id
+            ), itens AS (
+                INSERT INTO itens_pedido (id, pedido_id, sku, quantidade, preco_centavos)
+                SELECT i.id, i.pedido_id, i.sku, i.quantidade, i.preco_centavos
+                FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS bigint[]),
+                            CAST(? AS bigint[])) AS i(id, pedido_id, sku, quantidade, preco_centavos)
+                JOIN novos n ON n.id = i.pedido_id
+            )
+            SELECT id FROM novos""";
+
+    static final String ORDER_COLUMNS = "id, numero, cliente_id, loja_id, status, total_centavos, criado_em, atualizado_em";
+
+    /**
+     * Both history queries are range scans on idx_pedidos_cliente_criado_em_id, read backwards for the newest first.
+     */
+    static final String CUSTOMER_PAGE_SQL = "SELECT " + ORDER_COLUMNS
+            + " FROM pedidos WHERE cliente_id = ? ORDER BY criado_em DESC, id DESC LIMIT ?";
+
+    static final String CUSTOMER_PAGE_AFTER_SQL = "SELECT " + ORDER_COLUMNS
+            + " FROM pedidos WHERE cliente_id = ? AND (criado_em, id) < (?, ?) ORDER BY criado_em DESC, id DESC LIMIT ?";
+
+    static final String ITEMS_BY_ORDER_IDS_SQL =
+            "SELECT id, pedido_id, sku, quantidade, preco_centavos FROM itens_pedido WHERE pedido_id IN (";
+
+    static final RowMapper<Order> ORDER_MAPPER = (rs, i) -> Order.builder()
+            .id(rs.getLong("id"))
+            .numero(rs.getString("numero"))
+            .customerId(rs.getString("cliente_id"))
+            .storeId(rs.getObject("loja_id", Long.class))
+            .status(OrderStatus.valueOf(rs.getString("status")))
+            .totalCentavos(rs.getLong("total_centavos"))
+            .createdAt(rs.getTimestamp("criado_em").toLocalDateTime())
+            .updatedAt(rs.getTimestamp("atualizado_em") != null ? rs.getTimestamp("atualizado_em").toLocalDateTime() : null)
+            .build();
+
+    static final RowMapper<OrderItem> ITEM_MAPPER = (rs, i) -> new OrderItem(
+            rs.getLong("id"),
+            rs.getLong("pedido_id"),
+            rs.getString("sku"),
+            rs.getLong("quantidade"),
+            rs.getLong("preco_centavos"));
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public Order save(Order order) {
@@ -26,6 +98,52 @@ public class OrderPortImpl implements OrderPort {
         return orderMapper.toDomain(savedEntity);
     }
 
+    /**
+     * One statement for the whole batch, duplicates included: a redelivered order costs an index probe on numero
+     * instead of a failed transaction, and replaying a partition that is already stored writes nothing.
+     */
+    @Override
+    public List<Order> saveAllIfAbsent(List<Order> orders) {
+        if (orders.isEmpty()) return List.of();
+
+        int itemCount = orders.stream().mapToInt(order -> itemsOf(order).size()).sum();
+        Iterator<Long> orderIds = allocateIds(OrderEntity.ID_SEQUENCE, OrderEntity.ID_ALLOCATION_SIZE, orders.size());
+        Iterator<Long> itemIds = allocateIds(OrderItemEntity.ID_SEQUENCE, OrderItemEntity.ID_ALLOCATION_SIZE, itemCount);
+
+        List<Order> rows = new ArrayList<>(orders.size());
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (Order order : orders) {
+            Long orderId = orderIds.next();
+            List<OrderItem> orderItems = itemsOf(order).stream()
+                    .map(item -> new OrderItem(itemIds.next(), orderId, item.getSku(), item.getQuantity(), item.getPriceCentavos()))
+                    .toList();
+            LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+            rows.add(new Order(orderId, order.getNumero(), order.getCustomerId(), order.getStoreId(), order.getStatus(),
+                    order.getTotalCentavos(), createdAt, order.getUpdatedAt(), orderItems));
+            items.addAll(orderItems);
+        }
+
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.query(INSERT_IF_ABSENT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", rows.stream().map(Order::getId).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", rows.stream().map(Order::getNumero).toArray()));
+            ps.setArray(3, connection.createArrayOf("varchar", rows.stream().map(Order::getCustomerId).toArray()));
+            ps.setArray(4, connection.createArrayOf("bigint", rows.stream().map(Order::getStoreId).toArray()));
+            ps.setArray(5, connection.createArrayOf("varchar", rows.stream()
+                    .map(o -> o.getStatus() != null ? o.getStatus().name() : null).toArray()));
+            ps.setArray(6, connection.createArrayOf("bigint", rows.stream().map(Order::getTotalCentavos).toArray()));
+            ps.setArray(7, connection.createArrayOf("timestamp", rows.stream().map(o -> timestamp(o.getCreatedAt())).toArray()));
+            ps.setArray(8, connection.createArrayOf("timestamp", rows.stream().map(o -> timestamp(o.getUpdatedAt())).toArray()));
+            ps.setArray(9, connection.createArrayOf("bigint", items.stream().map(OrderItem::getId).toArray()));
+            ps.setArray(10, connection.createArrayOf("bigint", items.stream().map(OrderItem::getOrderId).toArray()));
+            ps.setArray(11, connection.createArrayOf("varchar", items.stream().map(OrderItem::getSku).toArray()));
+            ps.setArray(12, connection.createArrayOf("bigint", items.stream().map(OrderItem::getQuantity).toArray()));
+            ps.setArray(13, connection.createArrayOf("bigint", items.stream().map(OrderItem::getPriceCentavos).toArray()));
+        }, (rs, i) -> rs.getLong(1)));
+
+        return rows.stream().filter(order -> inserted.contains(order.getId())).toList();
+    }
+
     @Override
     public Optional<Order> findById(Long id) {
         return orderRepository.findById(id)
@@ -40,6 +158,31 @@ public class OrderPortImpl implements OrderPort {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Two set-based queries per page whatever its size: the orders by keyset, then all of their items with one
+     * {@code IN}. Reads one order past the page to know whether another page exists.
+     */
+    @Override
+    public OrderPage findPageByCustomerId(String customerId, OrderCursor after, int limit) {
+        List<Order> rows = after == null
+                ? jdbcTemplate.query(CUSTOMER_PAGE_SQL, ORDER_MAPPER, customerId, limit + 1)
+                : jdbcTemplate.query(CUSTOMER_PAGE_AFTER_SQL, ORDER_MAPPER, customerId,
+                        Timestamp.valueOf(after.createdAt()), after.id(), limit + 1);
+        List<Order> page = rows.size() > limit ? List.copyOf(rows.subList(0, limit)) : rows;
+        if (page.isEmpty()) {
+            return new OrderPage(page, null);
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(page.size(), "?"));
+        Map<Long, List<OrderItem>> itemsByOrder = jdbcTemplate.query(ITEMS_BY_ORDER_IDS_SQL + placeholders + ") ORDER BY id",
+                        ITEM_MAPPER, page.stream().map(Order::getId).toArray())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        page.forEach(order -> order.setItems(itemsByOrder.getOrDefault(order.getId(), List.of())));
+
+        return new OrderPage(page, rows.size() > limit ? OrderCursor.of(page.get(limit - 1)) : null);
+    }
+
     @Override
     public List<Order> findAll() {
         return orderRepository.findAll()
@@ -57,4 +200,28 @@ public class OrderPortImpl implements OrderPort {
     public boolean existsById(Long id) {
         return orderRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Same scheme as Hibernate's pooled optimizer on these sequences: each nextval value v reserves the block
+     * v - allocationSize + 1 .. v, so ids taken here never collide with the ones the JPA path hands out.
+     */
+    private Iterator<Long> allocateIds(String sequence, int allocationSize, int count) {
+        if (count == 0) return Collections.emptyIterator();
+        int blocks = (count + allocationSize - 1) / allocationSize;
+        List<Long> ids = new ArrayList<>(blocks * allocationSize);
+        for (Long top : jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, sequence, blocks)) {
+            for (long id = top - allocationSize + 1; id <= top; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.iterator();
+    }
+
+    private static List<OrderItem> itemsOf(Order order) {
+        return order.getItems() != null ? order.getItems() : List.of();
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.orderservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.orderservice.application.port.out.StoreCatalogPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads store ids from lojas_consulta, the store table of the StockQueryService read model. The projection assigns
+ * each id from lojas_consulta_id_seq the first time it sees the code, so orders and /api/inventory agree on what each
+ * store id means. The write model's lojas table is keyed by code only and has no id to read.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoreCatalogAdapter implements StoreCatalogPort {
+
+    static final String ALL_STORE_IDS_SQL = "SELECT codigo, id FROM lojas_consulta";
+
+    static final String STORE_ID_SQL = "SELECT id FROM lojas_consulta WHERE codigo = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, Long> findAllStoreIds() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(ALL_STORE_IDS_SQL, (RowCallbackHandler) rs -> ids.put(rs.getString("codigo"), rs.getLong("id")));
+        return ids;
+    }
+
+    @Override
+    public Optional<Long> findStoreId(String storeCode) {
+        List<Long> ids = jdbcTemplate.queryForList(STORE_ID_SQL, Long.class, storeCode);
+        return ids.stream().findFirst();
+    }
+}
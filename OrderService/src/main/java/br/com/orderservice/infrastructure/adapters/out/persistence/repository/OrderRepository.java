@@ -11,6 +11,7 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
-    @Query("SELECT o FROM OrderEntity o WHERE o.customerId = :customerId")
+    // fetch join: one query instead of one more per order for the EAGER items
+    @Query("SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.items WHERE o.customerId = :customerId")
     List<OrderEntity> findByCustomerId(@Param("customerId") String customerId);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+-- Order and item ids come from pooled sequences (OrderEntity/OrderItemEntity) so Hibernate can batch the inserts of
+-- a whole poll of sales events. INCREMENT BY must match each @SequenceGenerator allocationSize.
+CREATE SEQUENCE IF NOT EXISTS pedidos_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS itens_pedido_id_seq START WITH 1 INCREMENT BY 200;
+
+-- Same seeding as the root V13 (setval(max + increment, false)), written for H2 like V1: Hibernate's pooled optimizer
+-- uses value - increment + 1 .. value, so the first value handed out is one increment past the current maximum and
+-- the first block starts right after the existing rows.
+ALTER SEQUENCE pedidos_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM pedidos);
+ALTER SEQUENCE itens_pedido_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 200 FROM itens_pedido);
@@ -0,0 +1,8 @@
+-- Customer history is read newest first with a (criado_em, id) keyset. This index serves both the filter and the
+-- order, and makes the single-column cliente_id index redundant. Keyset comparisons never match NULLs, so
+-- criado_em becomes mandatory.
+UPDATE pedidos SET criado_em = COALESCE(atualizado_em, CURRENT_TIMESTAMP) WHERE criado_em IS NULL;
+ALTER TABLE pedidos ALTER COLUMN criado_em SET NOT NULL;
+
+CREATE INDEX idx_pedidos_cliente_criado_em_id ON pedidos (cliente_id, criado_em, id);
+DROP INDEX IF EXISTS idx_pedidos_cliente_id;
@@ -3,6 +3,8 @@ package br.com.orderservice.application.usecase;
 import br.com.orderservice.application.port.out.OrderPort;
 import br.com.orderservice.domain.enuns.OrderStatus;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -117,6 +119,38 @@ class OrderUseCaseImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("createOrders")
+    class CreateOrdersTests {
+
+        @Test
+        @DisplayName("Should save the whole batch through orderPort.saveAllIfAbsent")
+        void shouldSaveBatchThroughPort() {
+            // Given
+            List<Order> orders = List.of(validOrder, validOrder);
+            List<Order> saved = List.of(savedOrder, savedOrder);
+            when(orderPort.saveAllIfAbsent(orders)).thenReturn(saved);
+
+            // When
+            List<Order> result = orderUseCase.createOrders(orders);
+
+            // Then
+            assertSame(saved, result);
+            verify(orderPort, never()).save(any(Order.class));
+        }
+
+        @Test
+        @DisplayName("Should not call orderPort for an empty batch")
+        void shouldIgnoreEmptyBatch() {
+            // When
+            List<Order> result = orderUseCase.createOrders(List.of());
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(orderPort);
+        }
+    }
+
     @Nested
     @DisplayName("findOrderById")
     class FindOrderByIdTests {
@@ -289,4 +323,46 @@ class OrderUseCaseImplTest {
             assertSame(expectedList, result);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("findOrderHistory")
+    class FindOrderHistoryTests {
+
+        @Test
+        @DisplayName("Should use the default page size when no limit is given")
+        void shouldUseDefaultPageSize() {
+            // Given
+            OrderPage page = new OrderPage(List.of(savedOrder), null);
+            when(orderPort.findPageByCustomerId("customer123", null, OrderUseCaseImpl.DEFAULT_PAGE_SIZE)).thenReturn(page);
+
+            // When
+            OrderPage result = orderUseCase.findOrderHistory("customer123", null, null);
+
+            // Then
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should pass the cursor and limit to orderPort")
+        void shouldPassCursorAndLimit() {
+            // Given
+            OrderCursor after = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 10L);
+            when(orderPort.findPageByCustomerId("customer123", after, 20)).thenReturn(new OrderPage(List.of(), null));
+
+            // When
+            orderUseCase.findOrderHistory("customer123", after, 20);
+
+            // Then
+            verify(orderPort).findPageByCustomerId("customer123", after, 20);
+        }
+
+        @Test
+        @DisplayName("Should reject a limit outside the allowed range")
+        void shouldRejectLimitOutOfRange() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> orderUseCase.findOrderHistory("customer123", null, OrderUseCaseImpl.MAX_PAGE_SIZE + 1));
+            assertThrows(IllegalArgumentException.class, () -> orderUseCase.findOrderHistory("customer123", null, 0));
+            verifyNoInteractions(orderPort);
+        }
+    }
+}
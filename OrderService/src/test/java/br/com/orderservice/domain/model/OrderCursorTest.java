@@ -0,0 +1,57 @@
+package br.com.orderservice.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderCursor")
+class OrderCursorTest {
+
+    @Test
+    @DisplayName("Should decode the cursor it encoded")
+    void shouldRoundTrip() {
+        // Given
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000), 42L);
+
+        // When
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Should encode to a URL-safe token")
+    void shouldEncodeUrlSafe() {
+        // When
+        String token = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 30), 7L).encode();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Should take position from an order")
+    void shouldTakePositionFromOrder() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        Order order = Order.builder().id(9L).createdAt(createdAt).build();
+
+        // When
+        OrderCursor cursor = OrderCursor.of(order);
+
+        // Then
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(9L, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed token")
+    void shouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -5,19 +5,22 @@ import br.com.orderservice.domain.enuns.OrderStatus;
 import br.com.orderservice.domain.model.Order;
 import br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
 import br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEventItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -31,9 +34,20 @@ class SalesKafkaListenerTest {
     @Mock
     private StoreResolver storeResolver;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private SalesKafkaListener salesKafkaListener;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        salesKafkaListener = new SalesKafkaListener(orderUseCase, storeResolver, meterRegistry);
+    }
+
+    private double duplicates() {
+        return meterRegistry.get("orders.ingestion.duplicates").counter().count();
+    }
+
     // Helper methods for creating test data
     private SalesEvent createValidSalesEvent() {
         SalesEventItem item = new SalesEventItem("SKU001", 2L, 1500L);
@@ -121,14 +135,14 @@ class SalesKafkaListenerTest {
                     .build();
 
             when(storeResolver.resolveStoreId(salesEvent.getStoreCode())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(createdOrder);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(createdOrder));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
         }
 
         @Test
@@ -140,14 +154,14 @@ class SalesKafkaListenerTest {
             Order createdOrder = Order.builder().id(2L).build();
 
             when(storeResolver.resolveStoreId(anyString())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(createdOrder);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(createdOrder));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
         }
 
         @Test
@@ -159,14 +173,149 @@ class SalesKafkaListenerTest {
             Order createdOrder = Order.builder().id(3L).build();
 
             when(storeResolver.resolveStoreId(anyString())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(createdOrder);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(createdOrder));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Processing")
+    class BatchProcessing {
+
+        @Test
+        @DisplayName("Should create all orders of the batch in a single call")
+        void shouldCreateBatchInSingleCall() {
+            // Arrange
+            List<SalesEvent> events = List.of(createValidSalesEvent(), createSalesEventWithMultipleItems());
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(events);
+
+            // Assert
+            verify(orderUseCase).createOrders(argThat(orders -> orders.size() == 2
+                    && orders.get(0).getNumero().equals("ORD-001")
+                    && orders.get(1).getNumero().equals("ORD-002")));
+            verifyNoMoreInteractions(orderUseCase);
+        }
+
+        @Test
+        @DisplayName("Should skip null events of the batch")
+        void shouldSkipNullEvents() {
+            // Arrange
+            List<SalesEvent> events = Arrays.asList(null, createValidSalesEvent());
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(events);
+
+            // Assert
+            verify(orderUseCase).createOrders(argThat(orders -> orders.size() == 1));
+        }
+
+        @Test
+        @DisplayName("Should do nothing for a batch of null events")
+        void shouldIgnoreBatchOfNulls() {
+            // Act
+            salesKafkaListener.handleSalesEvents(Collections.singletonList(null));
+
+            // Assert
+            verifyNoInteractions(storeResolver, orderUseCase);
+        }
+
+        @Test
+        @DisplayName("Should retry events one by one when the batch fails")
+        void shouldFallBackToSingleEventsWhenBatchFails() {
+            // Arrange
+            List<SalesEvent> events = List.of(createValidSalesEvent(), createSalesEventWithMultipleItems());
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList()))
+                    .thenThrow(new RuntimeException("Database error"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(events);
+
+            // Assert
+            verify(orderUseCase, times(3)).createOrders(anyList());
+            verify(orderUseCase, times(2)).createOrders(argThat(orders -> orders.size() == 1));
+        }
+
+        @Test
+        @DisplayName("Should keep the valid events when one event of the batch cannot be mapped")
+        void shouldKeepValidEventsWhenOneCannotBeMapped() {
+            // Arrange
+            SalesEvent withoutStore = new SalesEvent("event-nostore", "ORD-009", "customer-1", null,
+                    100L, LocalDateTime.now(), List.of());
+            when(storeResolver.resolveStoreId(null)).thenThrow(new IllegalArgumentException("Store code cannot be null"));
+            when(storeResolver.resolveStoreId("STORE_ABC")).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(List.of(createValidSalesEvent(), withoutStore));
+
+            // Assert
+            verify(orderUseCase).createOrders(argThat(orders -> orders.size() == 1
+                    && orders.get(0).getNumero().equals("ORD-001")));
+            verifyNoMoreInteractions(orderUseCase);
+        }
+    }
+
+    @Nested
+    @DisplayName("Duplicate Events")
+    class DuplicateEvents {
+
+        @Test
+        @DisplayName("Should count a redelivered event instead of failing")
+        void shouldCountRedeliveredEvent() {
+            // Arrange
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of());
+
+            // Act
+            salesKafkaListener.handleSalesEvent(createValidSalesEvent());
+
+            // Assert
+            assertEquals(1.0, duplicates());
+        }
+
+        @Test
+        @DisplayName("Should count the already stored orders of a replayed batch")
+        void shouldCountDuplicatesOfBatch() {
+            // Arrange
+            List<SalesEvent> events = List.of(createValidSalesEvent(), createSalesEventWithMultipleItems(),
+                    createSalesEventWithEmptyItems());
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(Order.builder().id(3L).build()));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(events);
+
+            // Assert
+            assertEquals(2.0, duplicates());
+            verify(orderUseCase, times(1)).createOrders(anyList());
+        }
+
+        @Test
+        @DisplayName("Should not count newly created orders")
+        void shouldNotCountCreatedOrders() {
+            // Arrange
+            when(storeResolver.resolveStoreId(anyString())).thenReturn(100L);
+            when(orderUseCase.createOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            salesKafkaListener.handleSalesEvents(List.of(createValidSalesEvent()));
+
+            // Assert
+            assertEquals(0.0, duplicates());
         }
     }
 
@@ -188,7 +337,7 @@ class SalesKafkaListenerTest {
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase, never()).createOrder(any(Order.class));
+            verify(orderUseCase, never()).createOrders(anyList());
         }
 
         @Test
@@ -199,7 +348,7 @@ class SalesKafkaListenerTest {
             Long resolvedStoreId = 100L;
 
             when(storeResolver.resolveStoreId(anyString())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class)))
+            when(orderUseCase.createOrders(anyList()))
                     .thenThrow(new RuntimeException("Database error"));
 
             // Act
@@ -207,7 +356,7 @@ class SalesKafkaListenerTest {
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
         }
 
         @Test
@@ -218,7 +367,7 @@ class SalesKafkaListenerTest {
 
             // Assert
             verify(storeResolver, never()).resolveStoreId(anyString());
-            verify(orderUseCase, never()).createOrder(any(Order.class));
+            verify(orderUseCase, never()).createOrders(anyList());
         }
 
         @Test
@@ -230,14 +379,14 @@ class SalesKafkaListenerTest {
             Order createdOrder = Order.builder().id(1L).build();
 
             when(storeResolver.resolveStoreId(anyString())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(createdOrder);
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(createdOrder));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
 
             // Assert
             verify(storeResolver).resolveStoreId(salesEvent.getStoreCode());
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
         }
     }
 
@@ -261,7 +410,7 @@ class SalesKafkaListenerTest {
             );
 
             when(storeResolver.resolveStoreId(storeCode)).thenReturn(100L);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(Order.builder().id(1L).build());
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(Order.builder().id(1L).build()));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
@@ -278,13 +427,13 @@ class SalesKafkaListenerTest {
             Long resolvedStoreId = 100L;
 
             when(storeResolver.resolveStoreId(anyString())).thenReturn(resolvedStoreId);
-            when(orderUseCase.createOrder(any(Order.class))).thenReturn(Order.builder().id(1L).build());
+            when(orderUseCase.createOrders(anyList())).thenReturn(List.of(Order.builder().id(1L).build()));
 
             // Act
             salesKafkaListener.handleSalesEvent(salesEvent);
 
             // Assert
-            verify(orderUseCase).createOrder(any(Order.class));
+            verify(orderUseCase).createOrders(anyList());
         }
     }
 }
\ No newline at end of file
@@ -1,20 +1,46 @@
 package br.com.orderservice.infrastructure.adapters.in.messaging;
 
+import br.com.orderservice.application.port.out.StoreCatalogPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 @DisplayName("StoreResolver")
 class StoreResolverTest {
 
+    @Mock
+    private StoreCatalogPort storeCatalogPort;
+
+    private SimpleMeterRegistry meterRegistry;
     private StoreResolver storeResolver;
 
     @BeforeEach
     void setUp() {
-        storeResolver = new StoreResolver();
+        meterRegistry = new SimpleMeterRegistry();
+        storeResolver = new StoreResolver(storeCatalogPort, meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(2));
+    }
+
+    private double misses() {
+        return meterRegistry.get("orders.store.resolution.misses").counter().count();
     }
 
     @Nested
@@ -31,121 +57,204 @@ class StoreResolverTest {
             );
             assertEquals("Store code cannot be null", exception.getMessage());
         }
-    }
-
-    @Nested
-    @DisplayName("Basic Functionality Tests")
-    class BasicFunctionalityTests {
 
         @Test
-        @DisplayName("Should resolve valid store code to ID within expected range")
-        void testResolveStoreIdWithValidStoreCode() {
+        @DisplayName("Should keep the current index when the catalog cannot be loaded")
+        void testRefreshKeepsIndexOnFailure() {
             // Given
-            String storeCode = "STORE001";
+            when(storeCatalogPort.findAllStoreIds())
+                    .thenReturn(Map.of("STORE001", 7L))
+                    .thenThrow(new DataAccessResourceFailureException("database down"));
+            storeResolver.refresh();
 
             // When
-            Long storeId = storeResolver.resolveStoreId(storeCode);
+            storeResolver.refresh();
 
             // Then
-            assertNotNull(storeId);
-            assertTrue(storeId >= 1L && storeId <= 1000L);
+            assertEquals(7L, storeResolver.resolveStoreId("STORE001"));
         }
 
         @Test
-        @DisplayName("Should return different IDs for different store codes")
-        void testResolveStoreIdDifferentCodesReturnDifferentIds() {
+        @DisplayName("Should resolve to null without negative-caching when the catalog lookup fails")
+        void testResolveMissWhenLookupFails() {
             // Given
-            String storeCode1 = "STORE001";
-            String storeCode2 = "STORE002";
+            when(storeCatalogPort.findStoreId("STORE001"))
+                    .thenThrow(new DataAccessResourceFailureException("database down"))
+                    .thenReturn(Optional.of(7L));
 
             // When
-            Long storeId1 = storeResolver.resolveStoreId(storeCode1);
-            Long storeId2 = storeResolver.resolveStoreId(storeCode2);
+            Long failed = storeResolver.resolveStoreId("STORE001");
+            Long recovered = storeResolver.resolveStoreId("STORE001");
 
             // Then
-            assertNotEquals(storeId1, storeId2);
+            assertNull(failed);
+            assertEquals(7L, recovered);
+            verify(storeCatalogPort, times(2)).findStoreId("STORE001");
         }
     }
 
     @Nested
-    @DisplayName("Consistency and Caching Tests")
-    class ConsistencyAndCachingTests {
+    @DisplayName("Known Store Tests")
+    class KnownStoreTests {
 
         @Test
-        @DisplayName("Should cache and return same result for repeated calls")
-        void testResolveStoreIdCachesResult() {
+        @DisplayName("Should resolve store codes to their catalog ids")
+        void testResolveStoreIdFromIndex() {
             // Given
-            String storeCode = "STORE002";
+            when(storeCatalogPort.findAllStoreIds()).thenReturn(Map.of("STORE001", 7L, "STORE002", 8L));
+            storeResolver.refresh();
 
             // When
-            Long firstCall = storeResolver.resolveStoreId(storeCode);
-            Long secondCall = storeResolver.resolveStoreId(storeCode);
+            Long storeId1 = storeResolver.resolveStoreId("STORE001");
+            Long storeId2 = storeResolver.resolveStoreId("STORE002");
 
             // Then
-            assertEquals(firstCall, secondCall);
+            assertEquals(7L, storeId1);
+            assertEquals(8L, storeId2);
+            assertEquals(0, misses());
+            verify(storeCatalogPort, never()).findStoreId(anyString());
         }
 
         @Test
-        @DisplayName("Should consistently map same store code to same ID across multiple calls")
-        void testResolveStoreIdConsistentHashMapping() {
+        @DisplayName("Should look up a store added after the last refresh once and keep it in the index")
+        void testResolveStoreIdAddedAfterRefresh() {
             // Given
-            String storeCode = "CONSISTENT_STORE";
+            when(storeCatalogPort.findStoreId("STORE003")).thenReturn(Optional.of(9L));
 
-            // When - Call multiple times
-            Long id1 = storeResolver.resolveStoreId(storeCode);
-            Long id2 = storeResolver.resolveStoreId(storeCode);
-            Long id3 = storeResolver.resolveStoreId(storeCode);
+            // When
+            Long first = storeResolver.resolveStoreId("STORE003");
+            Long second = storeResolver.resolveStoreId("STORE003");
 
-            // Then - All calls should return the same ID
-            assertEquals(id1, id2);
-            assertEquals(id2, id3);
+            // Then
+            assertEquals(9L, first);
+            assertEquals(9L, second);
+            verify(storeCatalogPort, times(1)).findStoreId("STORE003");
+            assertEquals(1, meterRegistry.get("orders.store.index.size").gauge().value());
         }
     }
 
     @Nested
-    @DisplayName("Edge Cases Tests")
-    class EdgeCasesTests {
+    @DisplayName("Unknown Store Tests")
+    class UnknownStoreTests {
+
+        @Test
+        @DisplayName("Should resolve an unknown store code to null and count the miss")
+        void testResolveUnknownStoreCode() {
+            // Given
+            when(storeCatalogPort.findStoreId("UNKNOWN")).thenReturn(Optional.empty());
+
+            // When
+            Long storeId = storeResolver.resolveStoreId("UNKNOWN");
+
+            // Then
+            assertNull(storeId);
+            assertEquals(1, misses());
+        }
 
         @Test
-        @DisplayName("Should handle empty string store code")
-        void testResolveStoreIdWithEmptyString() {
+        @DisplayName("Should not query the catalog again for a code known to be missing")
+        void testNegativeCache() {
             // Given
-            String emptyStoreCode = "";
+            when(storeCatalogPort.findStoreId("UNKNOWN")).thenReturn(Optional.empty());
 
             // When
-            Long storeId = storeResolver.resolveStoreId(emptyStoreCode);
+            storeResolver.resolveStoreId("UNKNOWN");
+            storeResolver.resolveStoreId("UNKNOWN");
+            storeResolver.resolveStoreId("UNKNOWN");
 
             // Then
-            assertNotNull(storeId);
-            assertTrue(storeId >= 1L && storeId <= 1000L);
+            verify(storeCatalogPort, times(1)).findStoreId("UNKNOWN");
+            assertEquals(3, misses());
         }
 
         @Test
-        @DisplayName("Should handle store code with special characters")
-        void testResolveStoreIdWithSpecialCharacters() {
+        @DisplayName("Should resolve a changed store into the index right away")
+        void testStoreChangedResolvesStore() {
             // Given
-            String specialStoreCode = "STORE@#$%";
+            when(storeCatalogPort.findStoreId("STORE004"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(10L));
+            assertNull(storeResolver.resolveStoreId("STORE004"));
 
             // When
-            Long storeId = storeResolver.resolveStoreId(specialStoreCode);
+            storeResolver.storeChanged("STORE004");
 
             // Then
-            assertNotNull(storeId);
-            assertTrue(storeId >= 1L && storeId <= 1000L);
+            assertEquals(10L, storeResolver.resolveStoreId("STORE004"));
+            verify(storeCatalogPort, times(2)).findStoreId("STORE004");
         }
 
         @Test
-        @DisplayName("Should handle very long store code")
-        void testResolveStoreIdWithLongString() {
+        @DisplayName("Should keep retrying a store announced before its catalog row is visible")
+        void testStoreChangedBeforeCatalogRow() {
             // Given
-            String longStoreCode = "VERYLONGSTORECODETOTESTBOUNDARIES";
+            when(storeCatalogPort.findStoreId("STORE005"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(11L));
 
             // When
-            Long storeId = storeResolver.resolveStoreId(longStoreCode);
+            storeResolver.storeChanged("STORE005");
+            Long beforeRow = storeResolver.resolveStoreId("STORE005");
+            storeResolver.retryPendingStores();
 
             // Then
-            assertNotNull(storeId);
-            assertTrue(storeId >= 1L && storeId <= 1000L);
+            assertNull(beforeRow);
+            assertEquals(11L, storeResolver.resolveStoreId("STORE005"));
+            verify(storeCatalogPort, times(3)).findStoreId("STORE005");
+        }
+
+        @Test
+        @DisplayName("Should give up on a pending store after the timeout")
+        void testPendingStoreExpires() {
+            // Given
+            storeResolver = new StoreResolver(storeCatalogPort, meterRegistry, 100, Duration.ofMinutes(10), Duration.ZERO);
+            when(storeCatalogPort.findStoreId("STORE006")).thenReturn(Optional.empty());
+            storeResolver.storeChanged("STORE006");
+
+            // When
+            storeResolver.retryPendingStores();
+            storeResolver.retryPendingStores();
+
+            // Then
+            verify(storeCatalogPort, times(2)).findStoreId("STORE006");
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Tests")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Should not lose a store added while the catalog is being read")
+        void testRefreshSerializedWithAdd() throws Exception {
+            // Given
+            CountDownLatch reading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(storeCatalogPort.findAllStoreIds()).thenAnswer(invocation -> {
+                reading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return Map.of("STORE001", 7L);
+            });
+            when(storeCatalogPort.findStoreId("STORE007")).thenReturn(Optional.of(12L));
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try {
+                // When
+                Future<?> refresh = executor.submit(storeResolver::refresh);
+                assertTrue(reading.await(5, TimeUnit.SECONDS));
+                Future<Long> resolved = executor.submit(() -> storeResolver.resolveStoreId("STORE007"));
+                release.countDown();
+                refresh.get(5, TimeUnit.SECONDS);
+
+                // Then
+                assertEquals(12L, resolved.get(5, TimeUnit.SECONDS));
+                assertEquals(7L, storeResolver.resolveStoreId("STORE001"));
+                assertEquals(12L, storeResolver.resolveStoreId("STORE007"));
+                verify(storeCatalogPort, times(1)).findStoreId("STORE007");
+            } finally {
+                executor.shutdownNow();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -2,16 +2,20 @@ package br.com.orderservice.infrastructure.adapters.in.messaging.integration;
 
 import br.com.orderservice.application.port.in.OrderUseCase;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.infrastructure.adapters.in.messaging.StoreResolver;
 import br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEvent;
 import br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEventItem;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.kafka.KafkaContainer;
@@ -34,16 +38,42 @@ class SalesKafkaListenerIntegrationTest {
     @Container
     static KafkaContainer kafkaContainer = new KafkaContainer(DockerImageName.parse("apache/kafka"));
 
+    /**
+     * PostgreSQL is required because orders are stored with a native insert-if-absent statement; the schema comes
+     * from the PostgreSQL migrations at the repository root.
+     */
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
     @Autowired
     private OrderUseCase orderUseCase;
 
     @Autowired
     private KafkaTemplate<String, SalesEvent> kafkaTemplate;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreResolver storeResolver;
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
         registry.add("spring.embedded.kafka.brokers", kafkaContainer::getBootstrapServers);
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.locations", () -> "filesystem:../db/migration");
+    }
+
+    @BeforeEach
+    void seedStoreCatalog() {
+        jdbcTemplate.update("INSERT INTO lojas_consulta (codigo, nome, id) VALUES ('STORE-001', 'Loja 1', 1), ('STORE-002', 'Loja 2', 2) "
+                + "ON CONFLICT (codigo) DO NOTHING");
+        storeResolver.refresh();
     }
 
     @Test
@@ -151,9 +181,28 @@ class SalesKafkaListenerIntegrationTest {
                     assertFalse(orders1.isEmpty());
                     assertFalse(orders2.isEmpty());
 
-                    // Both orders should be created successfully despite different store codes
-                    assertNotNull(orders1.get(0).getStoreId());
-                    assertNotNull(orders2.get(0).getStoreId());
+                    // Each order carries the catalog id of its own store
+                    assertEquals(1L, orders1.get(0).getStoreId());
+                    assertEquals(2L, orders2.get(0).getStoreId());
+                });
+    }
+
+    @Test
+    @DisplayName("Should store an order of an unknown store without a store id")
+    void shouldStoreOrderOfUnknownStoreWithoutStoreId() {
+        // Given
+        SalesEvent salesEvent = createValidSalesEvent("CUSTOMER-UNKNOWN-STORE", "ORDER-UNKNOWN-STORE");
+        salesEvent.setStoreCode("STORE-UNKNOWN");
+
+        // When
+        kafkaTemplate.send("vendas-test", salesEvent);
+
+        // Then
+        await().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    List<Order> orders = orderUseCase.findOrdersByCustomerId("CUSTOMER-UNKNOWN-STORE");
+                    assertFalse(orders.isEmpty());
+                    assertNull(orders.get(0).getStoreId());
                 });
     }
 
@@ -180,6 +229,27 @@ class SalesKafkaListenerIntegrationTest {
                 });
     }
 
+    @Test
+    @DisplayName("Should store a redelivered sales event only once")
+    void shouldStoreRedeliveredSalesEventOnce() {
+        // Given
+        SalesEvent salesEvent = createValidSalesEvent("CUSTOMER-REPLAY", "ORDER-REPLAY");
+        SalesEvent marker = createValidSalesEvent("CUSTOMER-REPLAY-MARKER", "ORDER-REPLAY-MARKER");
+
+        // When
+        kafkaTemplate.send("vendas-test", salesEvent);
+        kafkaTemplate.send("vendas-test", salesEvent);
+        kafkaTemplate.send("vendas-test", marker);
+
+        // Then - once the marker is stored, both copies before it were consumed
+        await().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertFalse(orderUseCase.findOrdersByCustomerId("CUSTOMER-REPLAY-MARKER").isEmpty()));
+
+        List<Order> orders = orderUseCase.findOrdersByCustomerId("CUSTOMER-REPLAY");
+        assertEquals(1, orders.size());
+        assertEquals(salesEvent.getItems().size(), orders.get(0).getItems().size());
+    }
+
     private SalesEvent createValidSalesEvent() {
         return createValidSalesEvent("CUSTOMER-TEST", "ORDER-TEST");
     }
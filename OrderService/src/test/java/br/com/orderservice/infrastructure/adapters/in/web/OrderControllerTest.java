@@ -3,6 +3,8 @@ package br.com.orderservice.infrastructure.adapters.in.web;
 import br.com.orderservice.application.port.in.OrderUseCase;
 import br.com.orderservice.domain.enuns.OrderStatus;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderPage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -12,15 +14,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("Order Controller Tests")
 @ExtendWith(MockitoExtension.class)
@@ -133,10 +145,10 @@ class OrderControllerTest {
                             .build()
             );
 
-            when(orderUseCase.findOrdersByCustomerId(customerId)).thenReturn(orders);
+            when(orderUseCase.findOrderHistory(customerId, null, null)).thenReturn(new OrderPage(orders, null));
 
             // When
-            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId);
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId, null, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -157,10 +169,10 @@ class OrderControllerTest {
         void shouldReturnEmptyListWhenCustomerHasNoOrders() {
             // Given
             String customerId = "customer-without-orders";
-            when(orderUseCase.findOrdersByCustomerId(customerId)).thenReturn(Collections.emptyList());
+            when(orderUseCase.findOrderHistory(customerId, null, null)).thenReturn(new OrderPage(Collections.emptyList(), null));
 
             // When
-            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId);
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId, null, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -173,10 +185,10 @@ class OrderControllerTest {
         void shouldHandleEmptyCustomerIdParameter() {
             // Given
             String customerId = "";
-            when(orderUseCase.findOrdersByCustomerId(customerId)).thenReturn(Collections.emptyList());
+            when(orderUseCase.findOrderHistory(customerId, null, null)).thenReturn(new OrderPage(Collections.emptyList(), null));
 
             // When
-            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId);
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(customerId, null, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -188,15 +200,103 @@ class OrderControllerTest {
         @DisplayName("Should handle null customer ID parameter")
         void shouldHandleNullCustomerIdParameter() {
             // Given
-            when(orderUseCase.findOrdersByCustomerId(null)).thenReturn(Collections.emptyList());
+            when(orderUseCase.findOrderHistory(null, null, null)).thenReturn(new OrderPage(Collections.emptyList(), null));
 
             // When
-            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(null);
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId(null, null, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
             assertThat(response.getBody()).isEmpty();
         }
+
+        @Test
+        @DisplayName("Should return the next page cursor in the header")
+        void shouldReturnNextCursorHeader() {
+            // Given
+            OrderCursor next = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 10L);
+            Order order = Order.builder().id(11L).customerId("customer-123").build();
+            when(orderUseCase.findOrderHistory("customer-123", null, 1)).thenReturn(new OrderPage(List.of(order), next));
+
+            // When
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId("customer-123", null, 1);
+
+            // Then
+            assertThat(response.getHeaders().getFirst(OrderController.NEXT_CURSOR_HEADER)).isEqualTo(next.encode());
+            assertThat(response.getBody()).containsExactly(order);
+        }
+
+        @Test
+        @DisplayName("Should not send a cursor on the last page")
+        void shouldOmitCursorOnLastPage() {
+            // Given
+            when(orderUseCase.findOrderHistory("customer-123", null, null)).thenReturn(new OrderPage(List.of(), null));
+
+            // When
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId("customer-123", null, null);
+
+            // Then
+            assertThat(response.getHeaders().containsKey(OrderController.NEXT_CURSOR_HEADER)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should decode the cursor passed in after")
+        void shouldDecodeAfterCursor() {
+            // Given
+            OrderCursor after = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 10L);
+            when(orderUseCase.findOrderHistory("customer-123", after, 20)).thenReturn(new OrderPage(List.of(), null));
+
+            // When
+            ResponseEntity<List<Order>> response = orderController.getOrdersByCustomerId("customer-123", after.encode(), 20);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor with 400")
+        void shouldRejectMalformedCursor() {
+            // When / Then
+            assertThatThrownBy(() -> orderController.getOrdersByCustomerId("customer-123", "???", null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(orderUseCase);
+
+            ResponseEntity<Map<String, String>> response = orderController.handleInvalidRequest(new IllegalArgumentException("Invalid cursor: ???"));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).containsEntry("error", "Invalid cursor: ???");
+        }
+
+        @Test
+        @DisplayName("Should answer 400 over HTTP for every kind of malformed cursor")
+        void shouldAnswerBadRequestOverHttpForMalformedCursors() throws Exception {
+            // Given
+            MockMvc mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            List<String> malformed = List.of(
+                    "???",
+                    "abc",
+                    encoder.encodeToString("2024-05-01T10:00|x".getBytes(StandardCharsets.UTF_8)),
+                    encoder.encodeToString("not-a-date|10".getBytes(StandardCharsets.UTF_8)));
+
+            for (String after : malformed) {
+                // When / Then
+                mockMvc.perform(get("/api/orders").param("customerId", "customer-123").param("after", after))
+                        .andExpect(status().isBadRequest())
+                        .andExpect(jsonPath("$.error").value("Invalid cursor: " + after));
+            }
+            verifyNoInteractions(orderUseCase);
+        }
+
+        @Test
+        @DisplayName("Should answer 400 even when the exception carries no message")
+        void shouldAnswerBadRequestWithoutMessage() {
+            // When
+            ResponseEntity<Map<String, String>> response = orderController.handleInvalidRequest(new IllegalArgumentException());
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).containsEntry("error", "Invalid request");
+        }
     }
-}
\ No newline at end of file
+}
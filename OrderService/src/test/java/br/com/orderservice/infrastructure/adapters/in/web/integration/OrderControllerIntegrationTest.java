@@ -181,6 +181,46 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$.items[*].priceCentavos", containsInAnyOrder(1000, 2500, 3750)));
     }
 
+    @Test
+    @DisplayName("Should page through customer history newest first with the cursor header")
+    void shouldPageThroughCustomerHistory() throws Exception {
+        // Given
+        String customerId = "CUSTOMER-PAGED";
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int i = 1; i <= 3; i++) {
+            Order order = createTestOrderForCustomer(customerId, "ORDER-PAGED-" + i);
+            order.setCreatedAt(base.plusMinutes(i));
+            orderUseCase.createOrder(order);
+        }
+
+        // When & Then
+        String cursor = mockMvc.perform(get("/api/orders")
+                        .param("customerId", customerId)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].numero", contains("ORDER-PAGED-3", "ORDER-PAGED-2")))
+                .andExpect(jsonPath("$[0].items", hasSize(1)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/orders")
+                        .param("customerId", customerId)
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].numero", contains("ORDER-PAGED-1")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed cursor")
+    void shouldReturnBadRequestForMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/orders")
+                        .param("customerId", "CUSTOMER-PAGED")
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     private Order createTestOrder() {
         return createTestOrderForCustomer("CUSTOMER-TEST", "ORDER-TEST");
     }
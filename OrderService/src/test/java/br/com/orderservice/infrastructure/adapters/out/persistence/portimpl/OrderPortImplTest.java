@@ -2,7 +2,11 @@ package br.com.orderservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.orderservice.domain.enuns.OrderStatus;
 import br.com.orderservice.domain.model.Order;
+import br.com.orderservice.domain.model.OrderCursor;
+import br.com.orderservice.domain.model.OrderItem;
+import br.com.orderservice.domain.model.OrderPage;
 import br.com.orderservice.infrastructure.adapters.out.persistence.entity.OrderEntity;
+import br.com.orderservice.infrastructure.adapters.out.persistence.entity.OrderItemEntity;
 import br.com.orderservice.infrastructure.adapters.out.persistence.mapper.OrderMapper;
 import br.com.orderservice.infrastructure.adapters.out.persistence.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +17,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +46,9 @@ class OrderPortImplTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private OrderPortImpl orderPortImpl;
 
@@ -372,6 +387,145 @@ class OrderPortImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Save All If Absent Tests")
+    class SaveAllIfAbsentTests {
+
+        private Order order(String numero, int items) {
+            return Order.builder()
+                    .numero(numero)
+                    .customerId("customer123")
+                    .storeId(1L)
+                    .status(OrderStatus.COMPLETED)
+                    .totalCentavos(1000L)
+                    .createdAt(LocalDateTime.now())
+                    .items(IntStream.range(0, items)
+                            .mapToObj(i -> OrderItem.builder().sku("SKU" + i).quantity(1L).priceCentavos(500L).build())
+                            .toList())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should insert the batch in one statement and return only the orders not stored yet")
+        void shouldReturnOnlyInsertedOrders() {
+            // Given
+            when(jdbcTemplate.queryForList(OrderPortImpl.NEXT_IDS_SQL, Long.class, OrderEntity.ID_SEQUENCE, 1))
+                    .thenReturn(List.of(50L));
+            when(jdbcTemplate.queryForList(OrderPortImpl.NEXT_IDS_SQL, Long.class, OrderItemEntity.ID_SEQUENCE, 1))
+                    .thenReturn(List.of(200L));
+            when(jdbcTemplate.query(eq(OrderPortImpl.INSERT_IF_ABSENT_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                    .thenReturn(List.of(2L));
+
+            // When
+            List<Order> result = orderPortImpl.saveAllIfAbsent(List.of(order("ORD-001", 2), order("ORD-002", 1)));
+
+            // Then
+            assertEquals(1, result.size());
+            Order inserted = result.get(0);
+            assertEquals(2L, inserted.getId());
+            assertEquals("ORD-002", inserted.getNumero());
+            assertEquals(3L, inserted.getItems().get(0).getId());
+            assertEquals(2L, inserted.getItems().get(0).getOrderId());
+            verify(jdbcTemplate, times(1)).query(eq(OrderPortImpl.INSERT_IF_ABSENT_SQL), any(PreparedStatementSetter.class), any(RowMapper.class));
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should take one sequence value per block of ids, like the JPA pooled generator")
+        void shouldAllocateIdsInPooledBlocks() {
+            // Given
+            List<Order> orders = IntStream.range(0, 60).mapToObj(i -> order("ORD-" + i, 0)).toList();
+            when(jdbcTemplate.queryForList(OrderPortImpl.NEXT_IDS_SQL, Long.class, OrderEntity.ID_SEQUENCE, 2))
+                    .thenReturn(List.of(100L, 150L));
+            when(jdbcTemplate.query(eq(OrderPortImpl.INSERT_IF_ABSENT_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                    .thenReturn(LongStream.rangeClosed(51, 110).boxed().toList());
+
+            // When
+            List<Order> result = orderPortImpl.saveAllIfAbsent(orders);
+
+            // Then
+            assertEquals(LongStream.rangeClosed(51, 110).boxed().toList(), result.stream().map(Order::getId).toList());
+            verify(jdbcTemplate, never()).queryForList(OrderPortImpl.NEXT_IDS_SQL, Long.class, OrderItemEntity.ID_SEQUENCE, 0);
+        }
+
+        @Test
+        @DisplayName("Should not touch the database for an empty list")
+        void shouldIgnoreEmptyList() {
+            // When
+            List<Order> result = orderPortImpl.saveAllIfAbsent(List.of());
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(orderRepository, jdbcTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Page By Customer ID Tests")
+    class FindPageByCustomerIdTests {
+
+        private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+        private Order stored(long id) {
+            return Order.builder().id(id).customerId("customer123").createdAt(now.minusMinutes(id)).build();
+        }
+
+        @Test
+        @DisplayName("Should load a page and its items in two queries and return the next cursor")
+        void shouldLoadPageAndItemsInTwoQueries() {
+            // Given
+            when(jdbcTemplate.query(OrderPortImpl.CUSTOMER_PAGE_SQL, OrderPortImpl.ORDER_MAPPER, "customer123", 3))
+                    .thenReturn(new ArrayList<>(List.of(stored(1), stored(2), stored(3))));
+            when(jdbcTemplate.query(OrderPortImpl.ITEMS_BY_ORDER_IDS_SQL + "?, ?) ORDER BY id", OrderPortImpl.ITEM_MAPPER, 1L, 2L))
+                    .thenReturn(List.of(new OrderItem(10L, 1L, "SKU1", 1L, 100L), new OrderItem(11L, 1L, "SKU2", 1L, 100L)));
+
+            // When
+            OrderPage page = orderPortImpl.findPageByCustomerId("customer123", null, 2);
+
+            // Then
+            assertEquals(List.of(1L, 2L), page.items().stream().map(Order::getId).toList());
+            assertEquals(2, page.items().get(0).getItems().size());
+            assertTrue(page.items().get(1).getItems().isEmpty());
+            assertEquals(new OrderCursor(now.minusMinutes(2), 2L), page.nextCursor());
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and end without a next cursor")
+        void shouldContinueAfterCursor() {
+            // Given
+            OrderCursor after = new OrderCursor(now.minusMinutes(2), 2L);
+            when(jdbcTemplate.query(OrderPortImpl.CUSTOMER_PAGE_AFTER_SQL, OrderPortImpl.ORDER_MAPPER,
+                    "customer123", Timestamp.valueOf(after.createdAt()), 2L, 3))
+                    .thenReturn(new ArrayList<>(List.of(stored(3))));
+            when(jdbcTemplate.query(OrderPortImpl.ITEMS_BY_ORDER_IDS_SQL + "?) ORDER BY id", OrderPortImpl.ITEM_MAPPER, 3L))
+                    .thenReturn(List.of());
+
+            // When
+            OrderPage page = orderPortImpl.findPageByCustomerId("customer123", after, 2);
+
+            // Then
+            assertEquals(1, page.items().size());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should not query items for an empty page")
+        void shouldSkipItemsForEmptyPage() {
+            // Given
+            when(jdbcTemplate.query(OrderPortImpl.CUSTOMER_PAGE_SQL, OrderPortImpl.ORDER_MAPPER, "nobody", 51))
+                    .thenReturn(new ArrayList<>());
+
+            // When
+            OrderPage page = orderPortImpl.findPageByCustomerId("nobody", null, 50);
+
+            // Then
+            assertTrue(page.items().isEmpty());
+            assertNull(page.nextCursor());
+            verifyNoMoreInteractions(jdbcTemplate);
+        }
+    }
+
     @Nested
     @DisplayName("Exists By ID Tests")
     class ExistsByIdTests {
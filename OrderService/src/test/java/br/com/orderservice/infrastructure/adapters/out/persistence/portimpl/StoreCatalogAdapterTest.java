@@ -0,0 +1,56 @@
+package br.com.orderservice.infrastructure.adapters.out.persistence.portimpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreCatalogAdapter")
+class StoreCatalogAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private StoreCatalogAdapter storeCatalogAdapter;
+
+    @BeforeEach
+    void setUp() {
+        storeCatalogAdapter = new StoreCatalogAdapter(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should return the id of a store with an assigned id")
+    void testFindStoreId() {
+        // Given
+        when(jdbcTemplate.queryForList(StoreCatalogAdapter.STORE_ID_SQL, Long.class, "STORE001")).thenReturn(List.of(7L));
+
+        // When
+        Optional<Long> storeId = storeCatalogAdapter.findStoreId("STORE001");
+
+        // Then
+        assertEquals(Optional.of(7L), storeId);
+    }
+
+    @Test
+    @DisplayName("Should return empty for a store missing from the catalog")
+    void testFindStoreIdMissing() {
+        // Given
+        when(jdbcTemplate.queryForList(StoreCatalogAdapter.STORE_ID_SQL, Long.class, "UNKNOWN")).thenReturn(List.of());
+
+        // When
+        Optional<Long> storeId = storeCatalogAdapter.findStoreId("UNKNOWN");
+
+        // Then
+        assertTrue(storeId.isEmpty());
+    }
+}
@@ -2,8 +2,10 @@ package br.com.stockqueryservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class StockQueryServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(StockQueryServiceApplication.class, args);
@@ -0,0 +1,13 @@
+package br.com.stockqueryservice.application.port.in;
+
+import java.util.Collection;
+
+/**
+ * Entry point for read model change signals, whichever instance projected the change.
+ */
+public interface StockChangeUseCase {
+
+    void stockRowsChanged(Collection<Long> stockIds);
+
+    void readModelChanged();
+}
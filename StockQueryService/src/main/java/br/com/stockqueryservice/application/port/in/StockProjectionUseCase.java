@@ -0,0 +1,42 @@
+package br.com.stockqueryservice.application.port.in;
+
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.domain.model.StoreChange;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the denormalized read model from InventoryService and catalog events. Each call applies a batch and
+ * records the offsets it covers in the same transaction, so the projection knows exactly where to resume.
+ */
+public interface StockProjectionUseCase {
+
+    void projectStock(List<StockChange> changes, List<ProjectionOffset> offsets);
+
+    void projectProducts(List<ProductChange> changes, List<ProjectionOffset> offsets);
+
+    void projectStores(List<StoreChange> changes, List<ProjectionOffset> offsets);
+
+    Optional<Long> appliedOffset(String topico, int particao);
+
+    /**
+     * Forgets a stock partition so it can be replayed from the beginning: its offset and the stock rows last written
+     * from it are removed.
+     */
+    void resetStockPartition(String topico, int particao);
+
+    /**
+     * Forgets the offset of a catalog partition; catalog rows are kept and overwritten by the replay.
+     */
+    void resetCatalogPartition(String topico, int particao);
+
+    /**
+     * Compares the maintained product totals with the stock rows and returns the products that drifted, with the
+     * correction each needs; with {@code repair} the corrections are applied.
+     */
+    List<ProductStockTotalDelta> reconcileProductTotals(boolean repair);
+}
@@ -1,9 +1,14 @@
 package br.com.stockqueryservice.application.port.in;
 
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StockQueryUseCase {
     List<Stock> getStockByProduct(Long productId);
@@ -12,5 +17,20 @@ public interface StockQueryUseCase {
 
     List<Stock> getStockByStore(Long storeId);
 
-    List<Stock> getAllStock();
-}
\ No newline at end of file
+    Map<Long, List<Stock>> getStockByProducts(List<Long> productIds, Long storeId);
+
+    /**
+     * Version of the stock of the given products ({@code null} for every product of the store), optionally
+     * restricted to one store.
+     */
+    StockVersion getStockVersion(List<Long> productIds, Long storeId);
+
+    StockPage getStockPage(Long after, Integer limit);
+
+    /**
+     * Total stock of each product over all stores, keyset-paginated by product id like {@link #getStockPage}.
+     */
+    ProductStockTotalPage getProductTotals(Long after, Integer limit);
+
+    void exportAllStock(Consumer<Stock> consumer);
+}
@@ -0,0 +1,18 @@
+package br.com.stockqueryservice.application.port.out;
+
+import br.com.stockqueryservice.domain.model.Stock;
+
+import java.util.List;
+
+/**
+ * Receives the read model changes applied by the projection, after they are committed.
+ */
+public interface StockChangeNotificationPort {
+
+    void stockChanged(List<Stock> stocks);
+
+    /**
+     * Many rows changed at once (product or store renamed, partition reset); any copy of the read model may be stale.
+     */
+    void readModelChanged();
+}
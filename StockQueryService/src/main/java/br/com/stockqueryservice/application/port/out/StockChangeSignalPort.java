@@ -0,0 +1,17 @@
+package br.com.stockqueryservice.application.port.out;
+
+import java.util.Collection;
+
+/**
+ * Announces read model changes to every instance of the service. Signals are part of the current transaction: they
+ * are delivered when it commits and discarded if it rolls back.
+ */
+public interface StockChangeSignalPort {
+
+    void signalStockChanged(Collection<Long> stockIds);
+
+    /**
+     * Many rows changed at once; receivers must drop whatever copy of the read model they hold.
+     */
+    void signalReadModelChanged();
+}
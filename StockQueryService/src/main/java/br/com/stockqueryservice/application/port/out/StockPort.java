@@ -1,9 +1,15 @@
 package br.com.stockqueryservice.application.port.out;
 
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StockPort {
 
@@ -13,5 +19,36 @@ public interface StockPort {
 
     List<Stock> findByStoreId(Long storeId);
 
-    List<Stock> findAll();
-}
\ No newline at end of file
+    /**
+     * Stock of every product in {@code productIds}, optionally restricted to one store; products without stock map
+     * to an empty list.
+     */
+    Map<Long, List<Stock>> findByProductIds(Collection<Long> productIds, Long storeId);
+
+    /**
+     * Current state of the given rows, read from the database; rows that no longer exist are left out.
+     */
+    List<Stock> findByIds(Collection<Long> stockIds);
+
+    /**
+     * Version of the rows {@link #findByProductIds} would return, or of the whole store when {@code productIds} is
+     * {@code null}; computed with an aggregate, without reading the rows themselves.
+     */
+    StockVersion findVersion(Collection<Long> productIds, Long storeId);
+
+    /**
+     * Up to {@code limit} rows with id greater than {@code afterId} (all rows when {@code null}), ordered by id.
+     */
+    StockPage findPage(Long afterId, int limit);
+
+    /**
+     * Up to {@code limit} product totals with product id greater than {@code afterProductId} (all when {@code null}),
+     * ordered by product id; read from the maintained totals, never aggregated from the rows.
+     */
+    ProductStockTotalPage findProductTotals(Long afterProductId, int limit);
+
+    /**
+     * Hands every row to {@code consumer} as it is read, without holding the table in memory.
+     */
+    void streamAll(Consumer<Stock> consumer);
+}
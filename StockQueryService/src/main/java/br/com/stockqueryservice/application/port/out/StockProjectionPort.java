@@ -0,0 +1,47 @@
+package br.com.stockqueryservice.application.port.out;
+
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.domain.model.StoreChange;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockProjectionPort {
+
+    /**
+     * Upserts the stock rows, ignoring any change whose version is not newer than the one already projected.
+     * At most one change per (loja, sku). Returns the rows actually written; the product totals are moved by the
+     * same amounts in the same transaction.
+     */
+    List<Stock> upsertStock(Collection<StockChange> changes);
+
+    void upsertProducts(Collection<ProductChange> changes);
+
+    void upsertStores(Collection<StoreChange> changes);
+
+    void saveOffsets(Collection<ProjectionOffset> offsets);
+
+    Optional<Long> findOffset(String topico, int particao);
+
+    void deleteOffset(String topico, int particao);
+
+    /**
+     * Deletes the stock rows last written from the partition and subtracts them from the product totals.
+     */
+    void deleteStockFromPartition(int particao);
+
+    /**
+     * Products whose maintained total differs from the sum of their stock rows, with the correction to apply.
+     */
+    List<ProductStockTotalDelta> findProductTotalDrift();
+
+    /**
+     * Adds each delta to its product total, dropping totals left without any store.
+     */
+    void adjustProductTotals(Collection<ProductStockTotalDelta> deltas);
+}
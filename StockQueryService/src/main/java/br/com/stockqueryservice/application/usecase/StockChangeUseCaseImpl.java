@@ -0,0 +1,48 @@
+package br.com.stockqueryservice.application.usecase;
+
+import br.com.stockqueryservice.application.port.in.StockChangeUseCase;
+import br.com.stockqueryservice.application.port.out.StockChangeNotificationPort;
+import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.Stock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reloads the changed rows once and hands the same list to every receiver (query cache, live streams); a failing
+ * receiver does not keep the others from being notified.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockChangeUseCaseImpl implements StockChangeUseCase {
+
+    private final StockPort stockPort;
+    private final List<StockChangeNotificationPort> notificationPorts;
+
+    @Override
+    public void stockRowsChanged(Collection<Long> stockIds) {
+        if (stockIds.isEmpty()) return;
+        List<Stock> stocks = stockPort.findByIds(stockIds);
+        if (!stocks.isEmpty()) notifyAll(port -> port.stockChanged(stocks));
+    }
+
+    @Override
+    public void readModelChanged() {
+        notifyAll(StockChangeNotificationPort::readModelChanged);
+    }
+
+    private void notifyAll(Consumer<StockChangeNotificationPort> notification) {
+        for (StockChangeNotificationPort port : notificationPorts) {
+            try {
+                notification.accept(port);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao notificar alteração de estoque para {}: {}", port.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.stockqueryservice.application.usecase;
+
+import br.com.stockqueryservice.application.port.in.StockProjectionUseCase;
+import br.com.stockqueryservice.application.port.out.StockChangeSignalPort;
+import br.com.stockqueryservice.application.port.out.StockProjectionPort;
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.domain.model.StoreChange;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockProjectionUseCaseImpl implements StockProjectionUseCase {
+
+    private final StockProjectionPort stockProjectionPort;
+    private final StockChangeSignalPort stockChangeSignalPort;
+
+    /**
+     * Only the newest change of each (loja, sku) in the batch is written; the version guard in the upsert discards
+     * whatever is older than the row already projected.
+     */
+    @Override
+    @Transactional
+    public void projectStock(List<StockChange> changes, List<ProjectionOffset> offsets) {
+        Map<String, StockChange> latest = new LinkedHashMap<>();
+        for (StockChange change : changes) {
+            if (change.lojaCodigo() == null || change.sku() == null) {
+                log.warn("Evento de estoque sem loja/sku ignorado na projeção: {}", change);
+                continue;
+            }
+            latest.merge(change.lojaCodigo() + ':' + change.sku(), change,
+                    (current, candidate) -> candidate.versao() > current.versao() ? candidate : current);
+        }
+        List<Stock> written = latest.isEmpty() ? List.of() : stockProjectionPort.upsertStock(latest.values());
+        stockProjectionPort.saveOffsets(offsets);
+        if (!written.isEmpty()) stockChangeSignalPort.signalStockChanged(written.stream().map(Stock::id).toList());
+        log.debug("Projeção de estoque: {} eventos, {} linhas gravadas", changes.size(), written.size());
+    }
+
+    @Override
+    @Transactional
+    public void projectProducts(List<ProductChange> changes, List<ProjectionOffset> offsets) {
+        Map<String, ProductChange> latest = new LinkedHashMap<>();
+        changes.stream().filter(c -> c.sku() != null).forEach(c -> latest.put(c.sku(), c));
+        if (!latest.isEmpty()) {
+            stockProjectionPort.upsertProducts(latest.values());
+            stockChangeSignalPort.signalReadModelChanged();
+        }
+        stockProjectionPort.saveOffsets(offsets);
+    }
+
+    @Override
+    @Transactional
+    public void projectStores(List<StoreChange> changes, List<ProjectionOffset> offsets) {
+        Map<String, StoreChange> latest = new LinkedHashMap<>();
+        changes.stream().filter(c -> c.codigo() != null).forEach(c -> latest.put(c.codigo(), c));
+        if (!latest.isEmpty()) {
+            stockProjectionPort.upsertStores(latest.values());
+            stockChangeSignalPort.signalReadModelChanged();
+        }
+        stockProjectionPort.saveOffsets(offsets);
+    }
+
+    @Override
+    public Optional<Long> appliedOffset(String topico, int particao) {
+        return stockProjectionPort.findOffset(topico, particao);
+    }
+
+    @Override
+    @Transactional
+    public void resetStockPartition(String topico, int particao) {
+        stockProjectionPort.deleteStockFromPartition(particao);
+        stockProjectionPort.deleteOffset(topico, particao);
+        stockChangeSignalPort.signalReadModelChanged();
+        log.info("Projeção de estoque da partição {}-{} descartada para reconstrução", topico, particao);
+    }
+
+    @Override
+    @Transactional
+    public void resetCatalogPartition(String topico, int particao) {
+        stockProjectionPort.deleteOffset(topico, particao);
+        log.info("Offset da projeção {}-{} descartado para reconstrução", topico, particao);
+    }
+
+    @Override
+    @Transactional
+    public List<ProductStockTotalDelta> reconcileProductTotals(boolean repair) {
+        List<ProductStockTotalDelta> drift = stockProjectionPort.findProductTotalDrift();
+        if (drift.isEmpty()) return drift;
+        log.warn("Totais de estoque divergentes em {} produtos (ex.: {})", drift.size(), drift.get(0));
+        if (repair) {
+            stockProjectionPort.adjustProductTotals(drift);
+            log.info("Totais de estoque de {} produtos corrigidos", drift.size());
+        }
+        return drift;
+    }
+}
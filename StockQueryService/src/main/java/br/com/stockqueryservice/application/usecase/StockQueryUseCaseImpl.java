@@ -2,17 +2,30 @@ package br.com.stockqueryservice.application.usecase;
 
 import br.com.stockqueryservice.application.port.in.StockQueryUseCase;
 import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class StockQueryUseCaseImpl implements StockQueryUseCase {
 
+    static final int DEFAULT_PAGE_SIZE = 1000;
+    static final int MAX_PAGE_SIZE = 5000;
+    static final int MAX_BATCH_PRODUCTS = 200;
+
     private final StockPort stockPort;
 
     @Override
@@ -30,8 +43,55 @@ public class StockQueryUseCaseImpl implements StockQueryUseCase {
         return stockPort.findByStoreId(storeId);
     }
 
+    /**
+     * Answers in the order the products were asked, once per product, with an empty list for products without stock.
+     */
     @Override
-    public List<Stock> getAllStock() {
-        return stockPort.findAll();
+    public Map<Long, List<Stock>> getStockByProducts(List<Long> productIds, Long storeId) {
+        Set<Long> ids = distinctProductIds(productIds);
+        Map<Long, List<Stock>> found = stockPort.findByProductIds(ids, storeId);
+        Map<Long, List<Stock>> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, found.getOrDefault(id, List.of())));
+        return result;
+    }
+
+    @Override
+    public StockVersion getStockVersion(List<Long> productIds, Long storeId) {
+        return stockPort.findVersion(productIds != null ? distinctProductIds(productIds) : null, storeId);
+    }
+
+    @Override
+    public StockPage getStockPage(Long after, Integer limit) {
+        return stockPort.findPage(after, pageSize(limit));
+    }
+
+    @Override
+    public ProductStockTotalPage getProductTotals(Long after, Integer limit) {
+        return stockPort.findProductTotals(after, pageSize(limit));
+    }
+
+    @Override
+    public void exportAllStock(Consumer<Stock> consumer) {
+        stockPort.streamAll(consumer);
+    }
+
+    private static int pageSize(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private static Set<Long> distinctProductIds(List<Long> productIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        productIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("productIds deve conter ao menos um produto");
+        }
+        if (ids.size() > MAX_BATCH_PRODUCTS) {
+            throw new IllegalArgumentException("productIds aceita no máximo " + MAX_BATCH_PRODUCTS + " produtos por consulta");
+        }
+        return ids;
     }
-}
\ No newline at end of file
+}
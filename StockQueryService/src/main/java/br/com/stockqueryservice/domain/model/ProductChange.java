@@ -0,0 +1,4 @@
+package br.com.stockqueryservice.domain.model;
+
+public record ProductChange(String sku, String nome, Boolean ativo) {
+}
@@ -0,0 +1,12 @@
+package br.com.stockqueryservice.domain.model;
+
+/**
+ * Stock of one product summed over every store it is held in.
+ */
+public record ProductStockTotal(
+        Long productId,
+        String productName,
+        long totalQuantity,
+        int storeCount
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.stockqueryservice.domain.model;
+
+/**
+ * Amounts to add to the total of a product: the effect of a batch of stock writes, or the correction that makes a
+ * drifted total match its stock rows again.
+ */
+public record ProductStockTotalDelta(
+        Long productId,
+        String productName,
+        long quantityDelta,
+        int storeCountDelta
+) {
+}
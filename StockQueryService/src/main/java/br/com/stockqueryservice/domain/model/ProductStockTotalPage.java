@@ -0,0 +1,13 @@
+package br.com.stockqueryservice.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of the product totals ordered by product id; {@code nextCursor} is the product id to pass as
+ * {@code after} for the next page, or {@code null} when this is the last one.
+ */
+public record ProductStockTotalPage(
+        List<ProductStockTotal> items,
+        Long nextCursor
+) {
+}
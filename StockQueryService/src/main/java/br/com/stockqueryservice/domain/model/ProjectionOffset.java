@@ -0,0 +1,7 @@
+package br.com.stockqueryservice.domain.model;
+
+/**
+ * Last offset of a topic partition applied to the read model.
+ */
+public record ProjectionOffset(String topico, int particao, long offset) {
+}
@@ -2,6 +2,9 @@ package br.com.stockqueryservice.domain.model;
 
 import java.time.LocalDateTime;
 
+/**
+ * @param revision read model revision of the row, bumped on every write to it; see {@link StockVersion}
+ */
 public record Stock(
         Long id,
         Long productId,
@@ -9,6 +12,12 @@ public record Stock(
         Integer quantity,
         LocalDateTime lastUpdated,
         String productName,
-        String storeName
+        String storeName,
+        long revision
 ) {
-}
\ No newline at end of file
+
+    public Stock(Long id, Long productId, Long storeId, Integer quantity, LocalDateTime lastUpdated,
+                 String productName, String storeName) {
+        this(id, productId, storeId, quantity, lastUpdated, productName, storeName, 0L);
+    }
+}
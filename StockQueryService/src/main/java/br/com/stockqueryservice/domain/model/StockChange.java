@@ -0,0 +1,10 @@
+package br.com.stockqueryservice.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A stock change published by InventoryService: the quantity of (loja, sku) after the change. {@code versao} grows
+ * with every change of the same key; {@code particao} is the topic partition it was read from.
+ */
+public record StockChange(String lojaCodigo, String sku, int quantidade, long versao, int particao, Instant ocorridoEm) {
+}
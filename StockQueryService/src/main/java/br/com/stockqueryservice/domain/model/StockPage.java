@@ -0,0 +1,13 @@
+package br.com.stockqueryservice.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of the stock listing ordered by id; {@code nextCursor} is the id to pass as {@code after} for the next
+ * page, or {@code null} when this is the last one.
+ */
+public record StockPage(
+        List<Stock> items,
+        Long nextCursor
+) {
+}
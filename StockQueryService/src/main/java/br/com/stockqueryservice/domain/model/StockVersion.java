@@ -0,0 +1,21 @@
+package br.com.stockqueryservice.domain.model;
+
+import java.util.Collection;
+
+/**
+ * Validator of a set of stock rows: {@code revisionSum} grows on every write to any of them and {@code rows} changes
+ * when one is added or removed, so equal versions mean an identical response.
+ */
+public record StockVersion(
+        long rows,
+        long revisionSum
+) {
+
+    public static StockVersion of(Collection<Stock> stocks) {
+        return new StockVersion(stocks.size(), stocks.stream().mapToLong(Stock::revision).sum());
+    }
+
+    public String etag() {
+        return "\"" + Long.toHexString(rows) + "-" + Long.toHexString(revisionSum) + "\"";
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.stockqueryservice.domain.model;
+
+public record StoreChange(String codigo, String nome) {
+}
@@ -0,0 +1,23 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Payload of the estoque_atualizado topic published by InventoryService.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockChangedEvent {
+    private String loja;
+    private String sku;
+    private Integer quantidade;
+    private Long versao;
+    private OffsetDateTime timestamp;
+}
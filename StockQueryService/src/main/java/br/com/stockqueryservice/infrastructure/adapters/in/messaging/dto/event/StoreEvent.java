@@ -0,0 +1,17 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event;
+
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.data.StoreData;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoreEvent {
+    private String eventId;
+    private String tipo;
+    private StoreData dados;
+}
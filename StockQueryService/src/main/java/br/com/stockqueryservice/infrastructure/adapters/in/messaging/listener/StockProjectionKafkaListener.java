@@ -0,0 +1,163 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.stockqueryservice.application.port.in.StockProjectionUseCase;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.ProductEvent;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StockChangedEvent;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StoreEvent;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.mapper.ProjectionEventMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projects estoque_atualizado, produtos and lojas into the read model, one poll per transaction.
+ * <p>
+ * The applied offsets live in the read database next to the rows they produced, and every partition is positioned
+ * from there on assignment, so consumer group commits are irrelevant. With {@code stock-query.projection.rebuild=true}
+ * each partition is reset and replayed from the beginning the first time this instance is assigned it; partitions
+ * rebuild independently and in parallel, up to the listener concurrency.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "stock-query.projection.enabled", havingValue = "true", matchIfMissing = true)
+public class StockProjectionKafkaListener implements ConsumerSeekAware {
+
+    private final StockProjectionUseCase projection;
+    private final MeterRegistry meterRegistry;
+    private final String stockTopic;
+    private final boolean rebuild;
+    private final Set<TopicPartition> rebuilt = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> lagByTopic = new ConcurrentHashMap<>();
+    private final Map<String, Counter> appliedByTopic = new ConcurrentHashMap<>();
+
+    public StockProjectionKafkaListener(StockProjectionUseCase projection,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${stock-query.kafka.topics.estoque-atualizado:estoque_atualizado}") String stockTopic,
+                                        @Value("${stock-query.projection.rebuild:false}") boolean rebuild) {
+        this.projection = projection;
+        this.meterRegistry = meterRegistry;
+        this.stockTopic = stockTopic;
+        this.rebuild = rebuild;
+    }
+
+    @KafkaListener(
+            topics = "${stock-query.kafka.topics.estoque-atualizado:estoque_atualizado}",
+            groupId = "${stock-query.kafka.group-id:stock-query-service}",
+            concurrency = "${stock-query.projection.concurrency:3}",
+            batch = "true",
+            properties = {
+                    "max.poll.records=${stock-query.projection.max-records:500}",
+                    "spring.json.value.default.type=br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StockChangedEvent"
+            })
+    public void onEstoqueAtualizado(List<ConsumerRecord<String, StockChangedEvent>> records) {
+        List<ConsumerRecord<String, StockChangedEvent>> valid = present(records);
+        projection.projectStock(
+                valid.stream().map(r -> ProjectionEventMapper.toDomain(r.value(), r.partition(), r.timestamp())).toList(),
+                offsets(records));
+        Instant now = Instant.now();
+        valid.forEach(r -> recordLag(r.topic(), r.value().getTimestamp() != null
+                ? r.value().getTimestamp().toInstant()
+                : Instant.ofEpochMilli(r.timestamp()), now));
+        applied(records);
+    }
+
+    @KafkaListener(
+            topics = "${stock-query.kafka.topics.produtos:produtos}",
+            groupId = "${stock-query.kafka.group-id:stock-query-service}",
+            batch = "true",
+            properties = "spring.json.value.default.type=br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.ProductEvent")
+    public void onProdutos(List<ConsumerRecord<String, ProductEvent>> records) {
+        List<ConsumerRecord<String, ProductEvent>> valid = present(records);
+        projection.projectProducts(valid.stream().map(r -> ProjectionEventMapper.toDomain(r.value())).toList(), offsets(records));
+        recordLag(valid);
+        applied(records);
+    }
+
+    @KafkaListener(
+            topics = "${stock-query.kafka.topics.lojas:lojas}",
+            groupId = "${stock-query.kafka.group-id:stock-query-service}",
+            batch = "true",
+            properties = "spring.json.value.default.type=br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StoreEvent")
+    public void onLojas(List<ConsumerRecord<String, StoreEvent>> records) {
+        List<ConsumerRecord<String, StoreEvent>> valid = present(records);
+        projection.projectStores(valid.stream().map(r -> ProjectionEventMapper.toDomain(r.value())).toList(), offsets(records));
+        recordLag(valid);
+        applied(records);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition tp : assignments.keySet()) {
+            if (rebuild && rebuilt.add(tp)) {
+                if (tp.topic().equals(stockTopic)) {
+                    projection.resetStockPartition(tp.topic(), tp.partition());
+                } else {
+                    projection.resetCatalogPartition(tp.topic(), tp.partition());
+                }
+                callback.seekToBeginning(tp.topic(), tp.partition());
+                continue;
+            }
+            projection.appliedOffset(tp.topic(), tp.partition()).ifPresentOrElse(
+                    offset -> callback.seek(tp.topic(), tp.partition(), offset + 1),
+                    () -> callback.seekToBeginning(tp.topic(), tp.partition()));
+        }
+    }
+
+    private static <T> List<ConsumerRecord<String, T>> present(List<ConsumerRecord<String, T>> records) {
+        return records.stream().filter(r -> r.value() != null).toList();
+    }
+
+    /**
+     * Highest offset of each partition in the poll, tombstones and unreadable records included.
+     */
+    static List<ProjectionOffset> offsets(List<? extends ConsumerRecord<String, ?>> records) {
+        Map<Integer, ProjectionOffset> last = new LinkedHashMap<>();
+        for (ConsumerRecord<String, ?> r : records) {
+            last.merge(r.partition(), new ProjectionOffset(r.topic(), r.partition(), r.offset()),
+                    (a, b) -> b.offset() > a.offset() ? b : a);
+        }
+        return new ArrayList<>(last.values());
+    }
+
+    // Catalog events carry no event time, so the Kafka record timestamp stands in for it.
+    private <T> void recordLag(List<ConsumerRecord<String, T>> records) {
+        Instant now = Instant.now();
+        records.forEach(r -> recordLag(r.topic(), Instant.ofEpochMilli(r.timestamp()), now));
+    }
+
+    private void recordLag(String topic, Instant eventTime, Instant appliedAt) {
+        Duration lag = Duration.between(eventTime, appliedAt);
+        lagByTopic.computeIfAbsent(topic, t -> Timer.builder("stock.projection.lag")
+                        .description("Time between an event and its application to the read model")
+                        .tag("topic", t)
+                        .register(meterRegistry))
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    private void applied(List<? extends ConsumerRecord<String, ?>> records) {
+        if (records.isEmpty()) return;
+        appliedByTopic.computeIfAbsent(records.get(0).topic(), t -> Counter.builder("stock.projection.applied")
+                        .description("Events applied to the read model")
+                        .tag("topic", t)
+                        .register(meterRegistry))
+                .increment(records.size());
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.messaging.mapper;
+
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.domain.model.StoreChange;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.ProductEvent;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StockChangedEvent;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StoreEvent;
+
+import java.time.Instant;
+
+/**
+ * Maps the events consumed by the projection to domain changes.
+ */
+public final class ProjectionEventMapper {
+
+    private ProjectionEventMapper() {
+    }
+
+    public static StockChange toDomain(StockChangedEvent event, int partition, long recordTimestamp) {
+        return new StockChange(
+                event.getLoja(),
+                event.getSku(),
+                event.getQuantidade() != null ? event.getQuantidade() : 0,
+                event.getVersao() != null ? event.getVersao() : 0L,
+                partition,
+                event.getTimestamp() != null ? event.getTimestamp().toInstant() : Instant.ofEpochMilli(recordTimestamp));
+    }
+
+    public static ProductChange toDomain(ProductEvent event) {
+        if (event.getDados() == null) return new ProductChange(null, null, null);
+        return new ProductChange(event.getDados().getSku(), event.getDados().getNome(), event.getDados().getAtivo());
+    }
+
+    public static StoreChange toDomain(StoreEvent event) {
+        if (event.getDados() == null) return new StoreChange(null, null);
+        return new StoreChange(event.getDados().getCodigo(), event.getDados().getNome());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.notification;
+
+import br.com.stockqueryservice.application.port.in.StockChangeUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * LISTENs on the channel written by {@code PgStockChangeSignalAdapter}, so every instance learns about the rows
+ * projected by any instance, after they commit. Notifications that arrive together are merged into one reload.
+ * <p>
+ * The listening connection is held for the lifetime of the service. Notifications sent while it is down are lost,
+ * so every reconnection is followed by a full resync.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "stock-query.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class PgStockChangeListener implements SmartLifecycle {
+
+    static final String RESYNC = "*";
+
+    private final DataSource dataSource;
+    private final StockChangeUseCase stockChangeUseCase;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PgStockChangeListener(DataSource dataSource,
+                                 StockChangeUseCase stockChangeUseCase,
+                                 @Value("${stock-query.notifications.channel:estoque_alterado}") String channel,
+                                 @Value("${stock-query.notifications.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                 @Value("${stock-query.notifications.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Canal de notificação inválido: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.stockChangeUseCase = stockChangeUseCase;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("stock-change-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Escutando alterações do read model no canal {}", channel);
+                if (reconnecting) stockChangeUseCase.readModelChanged();
+                reconnecting = true;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null || notifications.length == 0) continue;
+                    String[] payloads = new String[notifications.length];
+                    for (int i = 0; i < notifications.length; i++) payloads[i] = notifications[i].getParameter();
+                    dispatch(payloads);
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Conexão de escuta do canal {} perdida, reconectando em {} ms: {}", channel, reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void dispatch(String... payloads) {
+        Set<Long> stockIds = new LinkedHashSet<>();
+        for (String payload : payloads) {
+            if (RESYNC.equals(payload)) {
+                stockChangeUseCase.readModelChanged();
+                return;
+            }
+            for (String id : payload.split(",")) {
+                try {
+                    stockIds.add(Long.parseLong(id.trim()));
+                } catch (NumberFormatException e) {
+                    log.warn("Notificação de estoque inválida ignorada: {}", payload);
+                }
+            }
+        }
+        try {
+            stockChangeUseCase.stockRowsChanged(stockIds);
+        } catch (RuntimeException e) {
+            // the rows could not be reloaded; drop every copy rather than keep serving stale ones
+            log.warn("Falha ao recarregar {} linhas alteradas, forçando ressincronização: {}", stockIds.size(), e.getMessage());
+            stockChangeUseCase.readModelChanged();
+        }
+    }
+}
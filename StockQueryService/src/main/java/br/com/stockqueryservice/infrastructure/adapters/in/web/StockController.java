@@ -1,45 +1,180 @@
 package br.com.stockqueryservice.infrastructure.adapters.in.web;
 
 import br.com.stockqueryservice.application.port.in.StockQueryUseCase;
+import br.com.stockqueryservice.domain.model.ProductStockTotal;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/inventory")
 @RequiredArgsConstructor
+@Slf4j
 public class StockController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     private final StockQueryUseCase stockQueryUseCase;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/stock")
     public ResponseEntity<List<Stock>> getStock(
             @RequestParam Long productId,
-            @RequestParam(required = false) Long storeId) {
-
-        if (storeId != null) {
-            Optional<Stock> stock = stockQueryUseCase.getStockByProductAndStore(productId, storeId);
-            return stock.map(s -> ResponseEntity.ok(List.of(s)))
-                    .orElse(ResponseEntity.ok(List.of()));
-        }
+            @RequestParam(required = false) Long storeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<Stock> stocks = stockQueryUseCase.getStockByProduct(productId);
-        return ResponseEntity.ok(stocks);
+        return conditionalGet(ifNoneMatch, () -> stockQueryUseCase.getStockVersion(List.of(productId), storeId), () -> {
+            if (storeId != null) {
+                Optional<Stock> stock = stockQueryUseCase.getStockByProductAndStore(productId, storeId);
+                return stock.map(List::of).orElse(List.of());
+            }
+            return stockQueryUseCase.getStockByProduct(productId);
+        }, stocks -> stocks);
     }
 
     @GetMapping("/stock/store/{storeId}")
-    public ResponseEntity<List<Stock>> getStockByStore(@PathVariable Long storeId) {
-        List<Stock> stocks = stockQueryUseCase.getStockByStore(storeId);
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<Stock>> getStockByStore(
+            @PathVariable Long storeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet(ifNoneMatch, () -> stockQueryUseCase.getStockVersion(null, storeId),
+                () -> stockQueryUseCase.getStockByStore(storeId), stocks -> stocks);
+    }
+
+    /**
+     * Stock of up to 200 products in one call ({@code productIds=1,2,3}), keyed by product id.
+     */
+    @GetMapping("/stock/batch")
+    public ResponseEntity<Map<Long, List<Stock>>> getStockByProducts(
+            @RequestParam List<Long> productIds,
+            @RequestParam(required = false) Long storeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet(ifNoneMatch, () -> stockQueryUseCase.getStockVersion(productIds, storeId),
+                () -> stockQueryUseCase.getStockByProducts(productIds, storeId),
+                byProduct -> byProduct.values().stream().flatMap(List::stream).toList());
     }
 
+    /**
+     * Keyset-paginated listing ordered by id; the cursor for the next page comes back in {@value #NEXT_CURSOR_HEADER}.
+     */
     @GetMapping("/stock/all")
-    public ResponseEntity<List<Stock>> getAllStock() {
-        List<Stock> stocks = stockQueryUseCase.getAllStock();
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<Stock>> getAllStock(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        StockPage page = stockQueryUseCase.getStockPage(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Total stock per product over all stores, keyset-paginated by product id like {@code /stock/all}.
+     */
+    @GetMapping("/stock/totals")
+    public ResponseEntity<List<ProductStockTotal>> getProductTotals(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        ProductStockTotalPage page = stockQueryUseCase.getProductTotals(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Whole table as NDJSON, one line written per row as it is fetched. The content type is set here because a
+     * streaming body bypasses the message converters that would apply {@code produces}.
+     */
+    @GetMapping(value = "/stock/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportAllStock() {
+        ObjectWriter writer = objectMapper.writerFor(Stock.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                stockQueryUseCase.exportAllStock(stock -> {
+                    try {
+                        writer.writeValue(generator, stock);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Exportação de estoque interrompida: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Answers 304 when the client already holds the current version, read with an aggregate and no rows; the version
+     * is only read when the request carries {@code If-None-Match}. Otherwise the ETag sent is computed from the rows
+     * actually returned, so a cached body that briefly lags the database is never labelled with a newer version than
+     * its own. Last-Modified is the newest update among those rows and is informational only: removing a row does
+     * not move it, so {@code If-Modified-Since} is not evaluated and the ETag stays the validator.
+     */
+    private <T> ResponseEntity<T> conditionalGet(String ifNoneMatch, Supplier<StockVersion> current, Supplier<T> body,
+                                                 Function<T, Collection<Stock>> rows) {
+        if (ifNoneMatch != null) {
+            StockVersion version = current.get();
+            if (matches(ifNoneMatch, version.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).cacheControl(CacheControl.noCache()).build();
+            }
+        }
+        T result = body.get();
+        Collection<Stock> returned = rows.apply(result);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(StockVersion.of(returned).etag())
+                .cacheControl(CacheControl.noCache());
+        returned.stream()
+                .map(Stock::lastUpdated)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .ifPresent(newest -> response.lastModified(newest.atZone(ZoneId.systemDefault())));
+        return response.body(result);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.web.stream;
+
+import br.com.stockqueryservice.application.port.out.StockChangeNotificationPort;
+import br.com.stockqueryservice.domain.model.Stock;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans read model changes out to the SSE subscribers of each product and store.
+ * <p>
+ * A change is serialized once, however many subscribers receive it, and only queued on the caller's thread; each
+ * connection has its own bounded queue drained by a virtual thread, so a slow client never holds up the others or the
+ * change listener. A client whose queue fills up is disconnected: it reconnects and refetches instead of reading an
+ * ever older backlog.
+ * <p>
+ * Metrics: {@code stock.stream.subscribers}, {@code stock.stream.push.latency} (change received to event written)
+ * and {@code stock.stream.dropped} (slow consumers disconnected).
+ */
+@Component
+@Slf4j
+public class StockStreamBroadcaster implements StockChangeNotificationPort {
+
+    static final String STOCK_EVENT = "stock";
+    static final String RESYNC_EVENT = "resync";
+
+    private record Event(String name, String id, String data, long receivedAt) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> productIds;
+        private final Set<Long> storeIds;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Long> productIds, Set<Long> storeIds, int queueCapacity) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.storeIds = storeIds;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private static final Event HEARTBEAT = new Event(null, null, null, 0);
+
+    private final ObjectMapper objectMapper;
+    private final Executor senders;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byProduct = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byStore = new ConcurrentHashMap<>();
+    private final Timer pushLatency;
+    private final Counter dropped;
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public StockStreamBroadcaster(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${stock-query.stream.max-subscribers:10000}") int maxSubscribers,
+                                  @Value("${stock-query.stream.queue-capacity:256}") int queueCapacity,
+                                  @Value("${stock-query.stream.timeout:30m}") Duration timeout,
+                                  @Value("${stock-query.stream.heartbeat:15s}") Duration heartbeat) {
+        this(objectMapper, meterRegistry, Executors.newVirtualThreadPerTaskExecutor(), maxSubscribers, queueCapacity, timeout);
+        heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stock-stream-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    StockStreamBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry, Executor senders,
+                           int maxSubscribers, int queueCapacity, Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeout.toMillis();
+        Gauge.builder("stock.stream.subscribers", subscribers, Set::size)
+                .description("Open stock change streams")
+                .register(meterRegistry);
+        this.pushLatency = Timer.builder("stock.stream.push.latency")
+                .description("Time from a read model change being received to its event being written to a subscriber")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("stock.stream.dropped")
+                .description("Subscribers disconnected for not keeping up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Events for any of the products and any of the stores; the caller validates the ids.
+     */
+    public SseEmitter subscribe(Set<Long> productIds, Set<Long> storeIds) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Limite de " + maxSubscribers + " assinantes de estoque atingido");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(productIds), Set.copyOf(storeIds), queueCapacity);
+        subscribers.add(subscriber);
+        subscriber.productIds.forEach(id -> byProduct.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        subscriber.storeIds.forEach(id -> byStore.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public void stockChanged(List<Stock> stocks) {
+        long receivedAt = System.nanoTime();
+        for (Stock stock : stocks) {
+            Set<Subscriber> targets = targets(stock);
+            if (targets.isEmpty()) continue;
+            Event event = new Event(STOCK_EVENT, stock.id() + ":" + stock.revision(), serialize(stock), receivedAt);
+            targets.forEach(subscriber -> offer(subscriber, event));
+        }
+    }
+
+    /**
+     * Subscribers cannot tell which of their rows changed, so they are told to refetch.
+     */
+    @Override
+    public void readModelChanged() {
+        Event event = new Event(RESYNC_EVENT, null, "{}", System.nanoTime());
+        subscribers.forEach(subscriber -> offer(subscriber, event));
+    }
+
+    private Set<Subscriber> targets(Stock stock) {
+        Set<Subscriber> forProduct = byProduct.getOrDefault(stock.productId(), Set.of());
+        Set<Subscriber> forStore = byStore.getOrDefault(stock.storeId(), Set.of());
+        if (forStore.isEmpty()) return forProduct;
+        if (forProduct.isEmpty()) return forStore;
+        Set<Subscriber> both = new HashSet<>(forProduct);
+        both.addAll(forStore);
+        return both;
+    }
+
+    private String serialize(Stock stock) {
+        try {
+            return objectMapper.writeValueAsString(stock);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> offer(subscriber, HEARTBEAT));
+    }
+
+    private void offer(Subscriber subscriber, Event event) {
+        if (subscriber.closed.get()) return;
+        if (!subscriber.queue.offer(event)) {
+            dropped.increment();
+            log.warn("Assinante de estoque desconectado por não acompanhar o ritmo ({} eventos pendentes)", queueCapacity);
+            remove(subscriber);
+            // completing may wait for a send blocked on the slow socket, so never on the caller's thread
+            senders.execute(subscriber.emitter::complete);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while ((event = subscriber.queue.poll()) != null && !subscriber.closed.get()) {
+                send(subscriber.emitter, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Assinante de estoque encerrado: {}", e.getMessage());
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an event may have been queued after the last poll but before draining was cleared
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void send(SseEmitter emitter, Event event) throws IOException {
+        if (event == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON);
+        if (event.id() != null) builder.id(event.id());
+        emitter.send(builder);
+        pushLatency.record(System.nanoTime() - event.receivedAt(), TimeUnit.NANOSECONDS);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+        subscribers.remove(subscriber);
+        subscriber.productIds.forEach(id -> byProduct.computeIfPresent(id, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        subscriber.storeIds.forEach(id -> byStore.computeIfPresent(id, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        subscriber.queue.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (heartbeats != null) heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        });
+        if (senders instanceof ExecutorService executor) executor.shutdownNow();
+    }
+}
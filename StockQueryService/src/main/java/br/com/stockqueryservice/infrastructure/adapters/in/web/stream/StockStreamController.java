@@ -0,0 +1,59 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.web.stream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Live stock changes as server-sent events: {@code stock} events carry the row as returned by the query endpoints,
+ * {@code resync} asks the client to refetch whatever it shows.
+ */
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+@Slf4j
+public class StockStreamController {
+
+    static final int MAX_SUBSCRIBED_IDS = 200;
+
+    private final StockStreamBroadcaster broadcaster;
+
+    @GetMapping(value = "/stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockChanges(
+            @RequestParam(required = false) Set<Long> productIds,
+            @RequestParam(required = false) Set<Long> storeIds) {
+        Set<Long> products = withoutNulls(productIds);
+        Set<Long> stores = withoutNulls(storeIds);
+        if (products.isEmpty() && stores.isEmpty()) {
+            throw new IllegalArgumentException("Informe productIds e/ou storeIds");
+        }
+        if (products.size() + stores.size() > MAX_SUBSCRIBED_IDS) {
+            throw new IllegalArgumentException("Uma assinatura aceita no máximo " + MAX_SUBSCRIBED_IDS + " produtos e lojas");
+        }
+        return broadcaster.subscribe(products, stores);
+    }
+
+    private static Set<Long> withoutNulls(Set<Long> ids) {
+        return ids == null ? Set.of() : ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSubscription(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(Map.of("erro", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleSubscriberLimit(IllegalStateException e) {
+        log.warn("Assinatura de estoque recusada: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(Map.of("erro", e.getMessage()));
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.cache;
+
+import br.com.stockqueryservice.application.port.out.StockChangeNotificationPort;
+import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
+import br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl.StockPortAdapter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Caffeine cache in front of {@link StockPortAdapter}, one region per lookup: by product, by product and store, and
+ * by store. Entries are kept current by the change signals of every instance's projection: each committed stock
+ * change replaces the matching row in the cached entries that hold it, and bulk changes clear the regions. The TTL
+ * only bounds staleness for writes made outside the projection or signals lost while reconnecting.
+ * <p>
+ * Listings and exports are not cached.
+ * <p>
+ * Each region reports Micrometer's {@code cache.*} meters (gets by result, evictions, load duration) tagged with
+ * {@code cache=stock.<region>}, plus {@code stock.cache.hit.ratio}.
+ */
+@Component
+@Primary
+@Slf4j
+@ConditionalOnProperty(name = "stock-query.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedStockPortAdapter implements StockPort, StockChangeNotificationPort {
+
+    private record ProductStoreKey(Long productId, Long storeId) {
+    }
+
+    private final StockPortAdapter delegate;
+    private final Cache<Long, List<Stock>> byProduct;
+    private final Cache<ProductStoreKey, Optional<Stock>> byProductStore;
+    private final Cache<Long, List<Stock>> byStore;
+
+    public CachedStockPortAdapter(StockPortAdapter delegate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${stock-query.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${stock-query.cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.byProduct = region("by-product", maximumSize, ttl, meterRegistry);
+        this.byProductStore = region("by-product-store", maximumSize, ttl, meterRegistry);
+        this.byStore = region("by-store", maximumSize, ttl, meterRegistry);
+    }
+
+    private static <K, V> Cache<K, V> region(String name, long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stock." + name);
+        Gauge.builder("stock.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the stock query cache region")
+                .tag("region", name)
+                .register(meterRegistry);
+        return cache;
+    }
+
+    @Override
+    public List<Stock> findByProductId(Long productId) {
+        return byProduct.get(productId, id -> List.copyOf(delegate.findByProductId(id)));
+    }
+
+    @Override
+    public Optional<Stock> findByProductIdAndStoreId(Long productId, Long storeId) {
+        return byProductStore.get(new ProductStoreKey(productId, storeId),
+                key -> delegate.findByProductIdAndStoreId(key.productId(), key.storeId()));
+    }
+
+    @Override
+    public List<Stock> findByStoreId(Long storeId) {
+        return byStore.get(storeId, id -> List.copyOf(delegate.findByStoreId(id)));
+    }
+
+    /**
+     * Serves the cached products from memory and loads all the missing ones with a single query.
+     */
+    @Override
+    public Map<Long, List<Stock>> findByProductIds(Collection<Long> productIds, Long storeId) {
+        if (storeId == null) {
+            return byProduct.getAll(productIds, missing -> {
+                Map<Long, List<Stock>> loaded = delegate.findByProductIds(List.copyOf(missing), null);
+                Map<Long, List<Stock>> entries = new HashMap<>();
+                missing.forEach(id -> entries.put(id, List.copyOf(loaded.getOrDefault(id, List.of()))));
+                return entries;
+            });
+        }
+        List<ProductStoreKey> keys = productIds.stream().map(id -> new ProductStoreKey(id, storeId)).toList();
+        Map<ProductStoreKey, Optional<Stock>> found = byProductStore.getAll(keys, missing -> {
+            Map<Long, List<Stock>> loaded = delegate.findByProductIds(
+                    missing.stream().map(ProductStoreKey::productId).toList(), storeId);
+            Map<ProductStoreKey, Optional<Stock>> entries = new HashMap<>();
+            missing.forEach(key -> entries.put(key, loaded.getOrDefault(key.productId(), List.of()).stream().findFirst()));
+            return entries;
+        });
+        Map<Long, List<Stock>> result = new LinkedHashMap<>();
+        found.forEach((key, stock) -> result.put(key.productId(), stock.map(List::of).orElse(List.of())));
+        return result;
+    }
+
+    /**
+     * Always read from the database: this is how change signals learn the new state of the rows.
+     */
+    @Override
+    public List<Stock> findByIds(Collection<Long> stockIds) {
+        return delegate.findByIds(stockIds);
+    }
+
+    /**
+     * Always read from the database: the version is what tells a client whether its copy is current.
+     */
+    @Override
+    public StockVersion findVersion(Collection<Long> productIds, Long storeId) {
+        return delegate.findVersion(productIds, storeId);
+    }
+
+    @Override
+    public StockPage findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public ProductStockTotalPage findProductTotals(Long afterProductId, int limit) {
+        return delegate.findProductTotals(afterProductId, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Stock> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    /**
+     * Refreshes in place only the entries already cached; nothing is loaded for keys nobody asked for.
+     */
+    @Override
+    public void stockChanged(List<Stock> stocks) {
+        for (Stock stock : stocks) {
+            byProductStore.asMap().computeIfPresent(new ProductStoreKey(stock.productId(), stock.storeId()),
+                    (key, current) -> Optional.of(stock));
+            byProduct.asMap().computeIfPresent(stock.productId(),
+                    (key, current) -> replace(current, stock, Stock::storeId));
+            byStore.asMap().computeIfPresent(stock.storeId(),
+                    (key, current) -> replace(current, stock, Stock::productId));
+        }
+    }
+
+    @Override
+    public void readModelChanged() {
+        byProduct.invalidateAll();
+        byProductStore.invalidateAll();
+        byStore.invalidateAll();
+        log.debug("Cache de consulta de estoque invalidado");
+    }
+
+    private static List<Stock> replace(List<Stock> current, Stock stock, Function<Stock, Long> identity) {
+        List<Stock> updated = new ArrayList<>(current.size() + 1);
+        boolean replaced = false;
+        for (Stock s : current) {
+            if (Objects.equals(identity.apply(s), identity.apply(stock))) {
+                updated.add(stock);
+                replaced = true;
+            } else {
+                updated.add(s);
+            }
+        }
+        if (!replaced) updated.add(stock);
+        return List.copyOf(updated);
+    }
+}
@@ -6,7 +6,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "estoque")
+@Table(name = "estoque_consulta")
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,4 +35,8 @@ public class StockEntity {
 
     @Column(name = "nome_loja")
     private String storeName;
+
+    // Written by the projection from estoque_revisao_seq, never through JPA.
+    @Column(name = "revisao", insertable = false, updatable = false)
+    private Long revision;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.persistence.maintenance;
+
+import br.com.stockqueryservice.application.port.in.StockProjectionUseCase;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies estoque_total_produto against a full aggregate of estoque_consulta and, when {@code repair} is on,
+ * corrects the products that drifted. The totals are maintained incrementally, so drift means a bug or a manual
+ * write; the check scans the whole table and runs off-peak.
+ * <p>
+ * Metrics: {@code stock.totals.drift} (products found drifted by the last check) and {@code stock.totals.repaired}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "stock-query.totals.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductStockTotalsReconciliationJob {
+
+    private final StockProjectionUseCase stockProjectionUseCase;
+    private final boolean repair;
+    private final AtomicInteger lastDrift = new AtomicInteger();
+    private final Counter repaired;
+
+    public ProductStockTotalsReconciliationJob(StockProjectionUseCase stockProjectionUseCase,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${stock-query.totals.reconciliation.repair:true}") boolean repair) {
+        this.stockProjectionUseCase = stockProjectionUseCase;
+        this.repair = repair;
+        Gauge.builder("stock.totals.drift", lastDrift, AtomicInteger::get)
+                .description("Products whose maintained stock total differed from their rows in the last check")
+                .register(meterRegistry);
+        this.repaired = Counter.builder("stock.totals.repaired")
+                .description("Product stock totals corrected by the reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${stock-query.totals.reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        List<ProductStockTotalDelta> drift = stockProjectionUseCase.reconcileProductTotals(repair);
+        lastDrift.set(drift.size());
+        if (repair) repaired.increment(drift.size());
+        log.info("Conferência dos totais de estoque concluída: {} produtos divergentes{}", drift.size(),
+                repair || drift.isEmpty() ? "" : " (correção desativada)");
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.stockqueryservice.application.port.out.StockChangeSignalPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PostgreSQL NOTIFY on the projection's own connection, so the signal commits or rolls back with the rows. The
+ * payload is a comma-separated list of estoque_consulta ids, split to stay under the 8000-byte NOTIFY limit;
+ * {@value #RESYNC} asks for a full resync.
+ */
+@Component
+public class PgStockChangeSignalAdapter implements StockChangeSignalPort {
+
+    static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    static final String RESYNC = "*";
+    static final int MAX_PAYLOAD = 7900;
+
+    private static final RowCallbackHandler IGNORE = rs -> {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public PgStockChangeSignalAdapter(JdbcTemplate jdbcTemplate,
+                                      @Value("${stock-query.notifications.channel:estoque_alterado}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @Override
+    public void signalStockChanged(Collection<Long> stockIds) {
+        payloads(stockIds).forEach(payload -> jdbcTemplate.query(NOTIFY_SQL, IGNORE, channel, payload));
+    }
+
+    @Override
+    public void signalReadModelChanged() {
+        jdbcTemplate.query(NOTIFY_SQL, IGNORE, channel, RESYNC);
+    }
+
+    static List<String> payloads(Collection<Long> stockIds) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (Long id : stockIds) {
+            String value = id.toString();
+            if (payload.length() + value.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) payload.append(',');
+            payload.append(value);
+        }
+        if (!payload.isEmpty()) payloads.add(payload.toString());
+        return payloads;
+    }
+}
@@ -1,21 +1,80 @@
 package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
 
 import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.ProductStockTotal;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.entity.StockEntity;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.repository.StockRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * Point lookups go through JPA; the full listing is read with plain JDBC into {@link Stock} records so no entity
+ * is ever attached to a persistence context, whatever the size of the table.
+ */
 @Component
-@RequiredArgsConstructor
 public class StockPortAdapter implements StockPort {
 
+    static final String COLUMNS = "id, produto_id, loja_id, quantidade, data_atualizacao, nome_produto, nome_loja, revisao";
+
+    static final String PAGE_SQL = "SELECT " + COLUMNS + " FROM estoque_consulta WHERE id > ? ORDER BY id LIMIT ?";
+
+    static final String TOTALS_PAGE_SQL = """
+            SELECT produto_id, nome_produto, quantidade_total, lojas FROM estoque_total_produto
+            WHERE produto_id > ? ORDER BY produto_id LIMIT ?""";
+
+    static final String BY_IDS_SQL = "SELECT " + COLUMNS + " FROM estoque_consulta WHERE id IN (";
+
+    static final String VERSION_SQL = "SELECT COUNT(*), COALESCE(SUM(revisao), 0) FROM estoque_consulta WHERE ";
+
+    static final String STREAM_SQL = "SELECT " + COLUMNS + " FROM estoque_consulta ORDER BY id";
+
+    static final RowMapper<Stock> STOCK_MAPPER = (rs, i) -> new Stock(
+            rs.getLong("id"),
+            rs.getLong("produto_id"),
+            rs.getLong("loja_id"),
+            rs.getInt("quantidade"),
+            rs.getTimestamp("data_atualizacao") != null ? rs.getTimestamp("data_atualizacao").toLocalDateTime() : null,
+            rs.getString("nome_produto"),
+            rs.getString("nome_loja"),
+            rs.getLong("revisao"));
+
+    static final RowMapper<ProductStockTotal> TOTAL_MAPPER = (rs, i) -> new ProductStockTotal(
+            rs.getLong("produto_id"),
+            rs.getString("nome_produto"),
+            rs.getLong("quantidade_total"),
+            rs.getInt("lojas"));
+
     private final StockRepository stockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public StockPortAdapter(StockRepository stockRepository,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${stock-query.export.fetch-size:1000}") int fetchSize) {
+        this.stockRepository = stockRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
 
     @Override
     public List<Stock> findByProductId(Long productId) {
@@ -39,12 +98,81 @@ public class StockPortAdapter implements StockPort {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One {@code IN} query on the produto_id index, whatever the number of products.
+     */
     @Override
-    public List<Stock> findAll() {
-        return stockRepository.findAll()
-                .stream()
-                .map(this::toDomainModel)
-                .collect(Collectors.toList());
+    public Map<Long, List<Stock>> findByProductIds(Collection<Long> productIds, Long storeId) {
+        Map<Long, List<Stock>> result = new LinkedHashMap<>();
+        productIds.forEach(id -> result.put(id, new ArrayList<>()));
+        List<StockEntity> rows = storeId != null
+                ? stockRepository.findByProductIdInAndStoreId(productIds, storeId)
+                : stockRepository.findByProductIdIn(productIds);
+        rows.forEach(row -> result.computeIfAbsent(row.getProductId(), id -> new ArrayList<>()).add(toDomainModel(row)));
+        return result;
+    }
+
+    @Override
+    public List<Stock> findByIds(Collection<Long> stockIds) {
+        if (stockIds.isEmpty()) return List.of();
+        String placeholders = String.join(", ", Collections.nCopies(stockIds.size(), "?"));
+        return jdbcTemplate.query(BY_IDS_SQL + placeholders + ")", STOCK_MAPPER, stockIds.toArray());
+    }
+
+    @Override
+    public StockVersion findVersion(Collection<Long> productIds, Long storeId) {
+        List<String> conditions = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>();
+        if (productIds != null) {
+            conditions.add("produto_id IN (" + String.join(", ", Collections.nCopies(productIds.size(), "?")) + ")");
+            args.addAll(productIds);
+        }
+        if (storeId != null) {
+            conditions.add("loja_id = ?");
+            args.add(storeId);
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("productIds ou storeId é obrigatório");
+        }
+        return jdbcTemplate.queryForObject(VERSION_SQL + String.join(" AND ", conditions),
+                (rs, i) -> new StockVersion(rs.getLong(1), rs.getLong(2)), args.toArray());
+    }
+
+    /**
+     * Reads one row past the page to know whether another page exists, so the last page never costs an empty call.
+     */
+    @Override
+    public StockPage findPage(Long afterId, int limit) {
+        List<Stock> rows = jdbcTemplate.query(PAGE_SQL, STOCK_MAPPER, afterId != null ? afterId : 0L, limit + 1);
+        if (rows.size() <= limit) {
+            return new StockPage(rows, null);
+        }
+        List<Stock> page = rows.subList(0, limit);
+        return new StockPage(List.copyOf(page), page.get(limit - 1).id());
+    }
+
+    @Override
+    public ProductStockTotalPage findProductTotals(Long afterProductId, int limit) {
+        List<ProductStockTotal> rows = jdbcTemplate.query(TOTALS_PAGE_SQL, TOTAL_MAPPER,
+                afterProductId != null ? afterProductId : 0L, limit + 1);
+        if (rows.size() <= limit) {
+            return new ProductStockTotalPage(rows, null);
+        }
+        List<ProductStockTotal> page = rows.subList(0, limit);
+        return new ProductStockTotalPage(List.copyOf(page), page.get(limit - 1).productId());
+    }
+
+    /**
+     * PostgreSQL only honours the fetch size inside a transaction; otherwise the driver buffers the whole result.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Stock> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(STOCK_MAPPER.mapRow(rs, rs.getRow())));
     }
 
     private Stock toDomainModel(StockEntity entity) {
@@ -55,7 +183,8 @@ public class StockPortAdapter implements StockPort {
                 entity.getQuantity(),
                 entity.getLastUpdated(),
                 entity.getProductName(),
-                entity.getStoreName()
+                entity.getStoreName(),
+                entity.getRevision() != null ? entity.getRevision() : 0L
         );
     }
-}
\ No newline at end of file
+}
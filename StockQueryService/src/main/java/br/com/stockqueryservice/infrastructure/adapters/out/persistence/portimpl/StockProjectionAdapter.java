@@ -0,0 +1,322 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.stockqueryservice.application.port.out.StockProjectionPort;
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.domain.model.StoreChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * JDBC writer of the read model: stock changes go in one set-based upsert, catalog rows in JDBC batches.
+ * <p>
+ * Only the read model's own tables are written (produtos_consulta, lojas_consulta, estoque_consulta), never the
+ * InventoryService tables that may share the database. InventoryService identifies stock by codes while this read
+ * model exposes numeric ids, so products and stores get their id from a sequence the first time a code is seen,
+ * whichever event mentions it first; catalog names are denormalized into estoque_consulta when the row is written and
+ * again whenever the name changes.
+ * <p>
+ * estoque_total_produto is kept in the same transaction as the rows: every write adds its delta to the product
+ * total, read against the previous quantities locked just before the upsert, so listings never aggregate
+ * estoque_consulta.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockProjectionAdapter implements StockProjectionPort {
+
+    static final String ENSURE_PRODUCT_SQL = """
+            INSERT INTO produtos_consulta (sku, id)
+            SELECT ?, nextval('produtos_consulta_id_seq')
+            WHERE NOT EXISTS (SELECT 1 FROM produtos_consulta WHERE sku = ?)
+            ON CONFLICT (sku) DO NOTHING""";
+
+    static final String ENSURE_STORE_SQL = """
+            INSERT INTO lojas_consulta (codigo, id)
+            SELECT ?, nextval('lojas_consulta_id_seq')
+            WHERE NOT EXISTS (SELECT 1 FROM lojas_consulta WHERE codigo = ?)
+            ON CONFLICT (codigo) DO NOTHING""";
+
+    static final String UPSERT_STOCK_SQL = """
+            INSERT INTO estoque_consulta (produto_id, loja_id, produto_sku, loja_codigo, quantidade, versao, particao,
+                                                   data_atualizacao, nome_produto, nome_loja, revisao)
+            SELECT p.id, l.id, p.sku, l.codigo, c.quantidade, c.versao, c.particao, c.ocorrido_em, p.nome, l.nome,
+                   nextval('estoque_revisao_seq')
+            FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS int[]), CAST(? AS bigint[]),
+                        CAST(? AS int[]), CAST(? AS timestamp[]))
+                 AS c(loja_codigo, produto_sku, quantidade, versao, particao, ocorrido_em)
+            JOIN produtos_consulta p ON p.sku = c.produto_sku
+            JOIN lojas_consulta l ON l.codigo = c.loja_codigo
+            ON CONFLICT (loja_codigo, produto_sku) DO UPDATE
+            SET quantidade = EXCLUDED.quantidade,
+                versao = EXCLUDED.versao,
+                particao = EXCLUDED.particao,
+                data_atualizacao = EXCLUDED.data_atualizacao,
+                revisao = EXCLUDED.revisao
+            WHERE estoque_consulta.versao IS NULL OR estoque_consulta.versao < EXCLUDED.versao
+            RETURNING id, produto_id, loja_id, quantidade, data_atualizacao, nome_produto, nome_loja, revisao""";
+
+    static final String LOCK_PREVIOUS_STOCK_SQL = """
+            SELECT e.id, e.quantidade
+            FROM estoque_consulta e
+            JOIN unnest(CAST(? AS varchar[]), CAST(? AS varchar[])) AS c(loja_codigo, produto_sku)
+              ON e.loja_codigo = c.loja_codigo AND e.produto_sku = c.produto_sku
+            ORDER BY e.id
+            FOR UPDATE OF e""";
+
+    static final String ADD_TO_TOTALS_SQL = """
+            INSERT INTO estoque_total_produto AS t (produto_id, nome_produto, quantidade_total, lojas, atualizado_em)
+            SELECT d.produto_id, d.nome_produto, d.quantidade, d.lojas, now()
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS bigint[]), CAST(? AS int[]))
+                 AS d(produto_id, nome_produto, quantidade, lojas)
+            ON CONFLICT (produto_id) DO UPDATE
+            SET quantidade_total = t.quantidade_total + EXCLUDED.quantidade_total,
+                lojas = t.lojas + EXCLUDED.lojas,
+                nome_produto = COALESCE(EXCLUDED.nome_produto, t.nome_produto),
+                atualizado_em = EXCLUDED.atualizado_em""";
+
+    static final String DELETE_EMPTY_TOTALS_SQL =
+            "DELETE FROM estoque_total_produto WHERE produto_id = ANY(CAST(? AS bigint[])) AND lojas <= 0";
+
+    static final String FIND_TOTALS_DRIFT_SQL = """
+            SELECT COALESCE(e.produto_id, t.produto_id) AS produto_id, e.nome_produto,
+                   COALESCE(e.quantidade_total, 0) - COALESCE(t.quantidade_total, 0) AS quantidade,
+                   COALESCE(e.lojas, 0) - COALESCE(t.lojas, 0) AS lojas
+            FROM (SELECT produto_id, MAX(nome_produto) AS nome_produto, SUM(quantidade) AS quantidade_total,
+                         COUNT(*) AS lojas
+                  FROM estoque_consulta GROUP BY produto_id) e
+            FULL JOIN estoque_total_produto t ON t.produto_id = e.produto_id
+            WHERE e.quantidade_total IS DISTINCT FROM t.quantidade_total OR e.lojas IS DISTINCT FROM t.lojas
+            ORDER BY 1""";
+
+    static final String UPSERT_PRODUCT_SQL = """
+            INSERT INTO produtos_consulta (sku, nome, ativo, id) VALUES (?, ?, ?, nextval('produtos_consulta_id_seq'))
+            ON CONFLICT (sku) DO UPDATE SET nome = EXCLUDED.nome, ativo = EXCLUDED.ativo""";
+
+    static final String RENAME_PRODUCT_SQL = """
+            UPDATE estoque_consulta SET nome_produto = ?, revisao = nextval('estoque_revisao_seq')
+            WHERE produto_sku = ? AND nome_produto IS DISTINCT FROM ?""";
+
+    static final String RENAME_PRODUCT_TOTAL_SQL = """
+            UPDATE estoque_total_produto SET nome_produto = ?
+            WHERE produto_id = (SELECT id FROM produtos_consulta WHERE sku = ?) AND nome_produto IS DISTINCT FROM ?""";
+
+    static final String UPSERT_STORE_SQL = """
+            INSERT INTO lojas_consulta (codigo, nome, id) VALUES (?, ?, nextval('lojas_consulta_id_seq'))
+            ON CONFLICT (codigo) DO UPDATE SET nome = EXCLUDED.nome""";
+
+    static final String RENAME_STORE_SQL = """
+            UPDATE estoque_consulta SET nome_loja = ?, revisao = nextval('estoque_revisao_seq')
+            WHERE loja_codigo = ? AND nome_loja IS DISTINCT FROM ?""";
+
+    static final String SAVE_OFFSET_SQL = """
+            INSERT INTO projecao_offsets (topico, particao, offset_value, atualizado_em) VALUES (?, ?, ?, ?)
+            ON CONFLICT (topico, particao) DO UPDATE
+            SET offset_value = GREATEST(projecao_offsets.offset_value, EXCLUDED.offset_value),
+                atualizado_em = EXCLUDED.atualizado_em""";
+
+    static final String FIND_OFFSET_SQL = "SELECT offset_value FROM projecao_offsets WHERE topico = ? AND particao = ?";
+
+    static final String DELETE_OFFSET_SQL = "DELETE FROM projecao_offsets WHERE topico = ? AND particao = ?";
+
+    /**
+     * Deletes the partition rows and subtracts them from the totals in one statement; returns the products left
+     * without any row, whose totals are removed next.
+     */
+    static final String DELETE_PARTITION_STOCK_SQL = """
+            WITH removido AS (
+                DELETE FROM estoque_consulta WHERE particao = ? RETURNING produto_id, quantidade
+            ), ajustado AS (
+                UPDATE estoque_total_produto t
+                SET quantidade_total = t.quantidade_total - r.quantidade, lojas = t.lojas - r.lojas, atualizado_em = now()
+                FROM (SELECT produto_id, SUM(quantidade) AS quantidade, COUNT(*) AS lojas
+                      FROM removido GROUP BY produto_id) r
+                WHERE t.produto_id = r.produto_id
+                RETURNING t.produto_id, t.lojas
+            )
+            SELECT produto_id FROM ajustado WHERE lojas <= 0""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Stock> upsertStock(Collection<StockChange> changes) {
+        // Sorted so concurrent partitions touching the same catalog rows lock them in the same order.
+        Set<String> skus = new TreeSet<>();
+        Set<String> lojas = new TreeSet<>();
+        changes.forEach(c -> {
+            skus.add(c.sku());
+            lojas.add(c.lojaCodigo());
+        });
+        ensureIds(ENSURE_PRODUCT_SQL, skus);
+        ensureIds(ENSURE_STORE_SQL, lojas);
+
+        List<StockChange> rows = List.copyOf(changes);
+        Map<Long, Integer> previous = lockPreviousQuantities(rows);
+        List<Stock> written = jdbcTemplate.query(UPSERT_STOCK_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", rows.stream().map(StockChange::lojaCodigo).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", rows.stream().map(StockChange::sku).toArray()));
+            ps.setArray(3, connection.createArrayOf("integer", rows.stream().map(StockChange::quantidade).toArray()));
+            ps.setArray(4, connection.createArrayOf("bigint", rows.stream().map(StockChange::versao).toArray()));
+            ps.setArray(5, connection.createArrayOf("integer", rows.stream().map(StockChange::particao).toArray()));
+            ps.setArray(6, connection.createArrayOf("timestamp", rows.stream()
+                    .map(c -> Timestamp.from(c.ocorridoEm() != null ? c.ocorridoEm() : Instant.now())).toArray()));
+        }, StockPortAdapter.STOCK_MAPPER);
+        addToTotals(totalDeltas(written, previous));
+        return written;
+    }
+
+    @Override
+    public void upsertProducts(Collection<ProductChange> changes) {
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, changes, changes.size(), (ps, c) -> {
+            ps.setString(1, c.sku());
+            ps.setString(2, c.nome());
+            ps.setObject(3, c.ativo());
+        });
+        jdbcTemplate.batchUpdate(RENAME_PRODUCT_SQL, changes, changes.size(), (ps, c) -> {
+            ps.setString(1, c.nome());
+            ps.setString(2, c.sku());
+            ps.setString(3, c.nome());
+        });
+        jdbcTemplate.batchUpdate(RENAME_PRODUCT_TOTAL_SQL, changes, changes.size(), (ps, c) -> {
+            ps.setString(1, c.nome());
+            ps.setString(2, c.sku());
+            ps.setString(3, c.nome());
+        });
+    }
+
+    @Override
+    public void upsertStores(Collection<StoreChange> changes) {
+        jdbcTemplate.batchUpdate(UPSERT_STORE_SQL, changes, changes.size(), (ps, c) -> {
+            ps.setString(1, c.codigo());
+            ps.setString(2, c.nome());
+        });
+        jdbcTemplate.batchUpdate(RENAME_STORE_SQL, changes, changes.size(), (ps, c) -> {
+            ps.setString(1, c.nome());
+            ps.setString(2, c.codigo());
+            ps.setString(3, c.nome());
+        });
+    }
+
+    @Override
+    public void saveOffsets(Collection<ProjectionOffset> offsets) {
+        if (offsets.isEmpty()) return;
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(SAVE_OFFSET_SQL, offsets, offsets.size(), (ps, o) -> {
+            ps.setString(1, o.topico());
+            ps.setInt(2, o.particao());
+            ps.setLong(3, o.offset());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    @Override
+    public Optional<Long> findOffset(String topico, int particao) {
+        List<Long> found = jdbcTemplate.queryForList(FIND_OFFSET_SQL, Long.class, topico, particao);
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public void deleteOffset(String topico, int particao) {
+        jdbcTemplate.update(DELETE_OFFSET_SQL, topico, particao);
+    }
+
+    @Override
+    public void deleteStockFromPartition(int particao) {
+        deleteEmptyTotals(jdbcTemplate.queryForList(DELETE_PARTITION_STOCK_SQL, Long.class, particao));
+    }
+
+    /**
+     * One statement, so estoque_consulta and the totals are compared in the same snapshot and a change being projected
+     * meanwhile is never reported as drift.
+     */
+    @Override
+    public List<ProductStockTotalDelta> findProductTotalDrift() {
+        return jdbcTemplate.query(FIND_TOTALS_DRIFT_SQL, (rs, i) -> new ProductStockTotalDelta(
+                rs.getLong("produto_id"),
+                rs.getString("nome_produto"),
+                rs.getLong("quantidade"),
+                rs.getInt("lojas")));
+    }
+
+    /**
+     * Applied as deltas, like the projection's own writes, so changes committed since the drift was read are kept.
+     */
+    @Override
+    public void adjustProductTotals(Collection<ProductStockTotalDelta> deltas) {
+        Map<Long, ProductStockTotalDelta> sorted = new TreeMap<>();
+        deltas.forEach(d -> sorted.put(d.productId(), d));
+        addToTotals(sorted.values());
+        deleteEmptyTotals(List.copyOf(sorted.keySet()));
+    }
+
+    /**
+     * Locks the rows about to be upserted and returns their current quantity by id; rows not yet projected are
+     * absent. The lock keeps the delta right even if another transaction writes the same row in between.
+     */
+    private Map<Long, Integer> lockPreviousQuantities(List<StockChange> rows) {
+        Map<Long, Integer> previous = new HashMap<>();
+        jdbcTemplate.query(LOCK_PREVIOUS_STOCK_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", rows.stream().map(StockChange::lojaCodigo).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", rows.stream().map(StockChange::sku).toArray()));
+        }, (RowCallbackHandler) rs -> previous.put(rs.getLong("id"), rs.getInt("quantidade")));
+        return previous;
+    }
+
+    /**
+     * Per product, ordered by id so concurrent partitions lock the shared totals in the same order.
+     */
+    static Collection<ProductStockTotalDelta> totalDeltas(List<Stock> written, Map<Long, Integer> previous) {
+        Map<Long, ProductStockTotalDelta> deltas = new TreeMap<>();
+        for (Stock stock : written) {
+            Integer before = previous.get(stock.id());
+            ProductStockTotalDelta delta = new ProductStockTotalDelta(stock.productId(), stock.productName(),
+                    stock.quantity() - (before != null ? before : 0), before != null ? 0 : 1);
+            deltas.merge(stock.productId(), delta, (a, b) -> new ProductStockTotalDelta(a.productId(), b.productName(),
+                    a.quantityDelta() + b.quantityDelta(), a.storeCountDelta() + b.storeCountDelta()));
+        }
+        deltas.values().removeIf(d -> d.quantityDelta() == 0 && d.storeCountDelta() == 0);
+        return deltas.values();
+    }
+
+    private void addToTotals(Collection<ProductStockTotalDelta> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbcTemplate.update(ADD_TO_TOTALS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", deltas.stream().map(ProductStockTotalDelta::productId).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", deltas.stream().map(ProductStockTotalDelta::productName).toArray()));
+            ps.setArray(3, connection.createArrayOf("bigint", deltas.stream().map(ProductStockTotalDelta::quantityDelta).toArray()));
+            ps.setArray(4, connection.createArrayOf("integer", deltas.stream().map(ProductStockTotalDelta::storeCountDelta).toArray()));
+        });
+    }
+
+    private void deleteEmptyTotals(List<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        jdbcTemplate.update(DELETE_EMPTY_TOTALS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())));
+    }
+
+    private void ensureIds(String sql, Set<String> codes) {
+        jdbcTemplate.batchUpdate(sql, codes, codes.size(), (ps, code) -> {
+            ps.setString(1, code);
+            ps.setString(2, code);
+        });
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,10 @@ public interface StockRepository extends JpaRepository<StockEntity, Long> {
 
     @Query("SELECT s FROM StockEntity s WHERE s.storeId = :storeId")
     List<StockEntity> findByStoreId(@Param("storeId") Long storeId);
+
+    @Query("SELECT s FROM StockEntity s WHERE s.productId IN :productIds")
+    List<StockEntity> findByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT s FROM StockEntity s WHERE s.productId IN :productIds AND s.storeId = :storeId")
+    List<StockEntity> findByProductIdInAndStoreId(@Param("productIds") Collection<Long> productIds, @Param("storeId") Long storeId);
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+-- Event-driven projection of the read model (StockProjectionKafkaListener).
+-- The projection writes only its own *_consulta tables: produtos, lojas and estoque belong to the write model when
+-- both services share a database, so they are neither altered nor written here. A rebuild fills the new tables from
+-- the topics; nothing is copied from the legacy estoque read table.
+-- InventoryService identifies stock by (loja_codigo, produto_sku); the API keeps exposing numeric ids, which are
+-- assigned from sequences the first time a code is projected.
+CREATE SEQUENCE IF NOT EXISTS produtos_consulta_id_seq;
+CREATE SEQUENCE IF NOT EXISTS lojas_consulta_id_seq;
+
+CREATE TABLE IF NOT EXISTS produtos_consulta (
+    sku VARCHAR(64) NOT NULL PRIMARY KEY,
+    id BIGINT NOT NULL,
+    nome VARCHAR(255),
+    ativo BOOLEAN
+);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_produtos_consulta_id ON produtos_consulta (id);
+
+CREATE TABLE IF NOT EXISTS lojas_consulta (
+    codigo VARCHAR(64) NOT NULL PRIMARY KEY,
+    id BIGINT NOT NULL,
+    nome VARCHAR(255)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_lojas_consulta_id ON lojas_consulta (id);
+
+-- versao: last applied InventoryService version of the row; particao: source partition, used to rebuild it alone.
+CREATE TABLE IF NOT EXISTS estoque_consulta (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    loja_id BIGINT NOT NULL,
+    produto_sku VARCHAR(64),
+    loja_codigo VARCHAR(64),
+    quantidade INT NOT NULL,
+    versao BIGINT,
+    particao INT,
+    data_atualizacao TIMESTAMP,
+    nome_produto VARCHAR(255),
+    nome_loja VARCHAR(255)
+);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_estoque_consulta_loja_produto ON estoque_consulta (loja_codigo, produto_sku);
+CREATE INDEX IF NOT EXISTS idx_estoque_consulta_produto ON estoque_consulta (produto_id);
+CREATE INDEX IF NOT EXISTS idx_estoque_consulta_loja ON estoque_consulta (loja_id);
+CREATE INDEX IF NOT EXISTS idx_estoque_consulta_produto_sku ON estoque_consulta (produto_sku);
+
+-- Same columns as before, now read from the projected table.
+CREATE OR REPLACE VIEW stock_view AS
+SELECT produto_id, nome_produto, SUM(quantidade) AS quantidade_total
+FROM estoque_consulta
+GROUP BY produto_id, nome_produto;
+
+CREATE OR REPLACE VIEW stock_by_store_view AS
+SELECT loja_id, nome_loja, produto_id, nome_produto, quantidade
+FROM estoque_consulta;
+
+CREATE OR REPLACE VIEW product_store_view AS
+SELECT produto_id AS produto_sku, nome_produto, loja_id AS loja_codigo, nome_loja, quantidade
+FROM estoque_consulta;
+
+-- Offsets applied to the read model, written in the same transaction as the rows.
+CREATE TABLE IF NOT EXISTS projecao_offsets (
+    topico VARCHAR(128) NOT NULL,
+    particao INT NOT NULL,
+    offset_value BIGINT NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (topico, particao)
+);
@@ -0,0 +1,97 @@
+package br.com.stockqueryservice.application.usecase;
+
+import br.com.stockqueryservice.application.port.out.StockChangeNotificationPort;
+import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.Stock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Change Use Case Implementation Tests")
+class StockChangeUseCaseImplTest {
+
+    @Mock
+    private StockPort stockPort;
+
+    @Mock
+    private StockChangeNotificationPort cache;
+
+    @Mock
+    private StockChangeNotificationPort streams;
+
+    private StockChangeUseCaseImpl stockChangeUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockChangeUseCase = new StockChangeUseCaseImpl(stockPort, List.of(cache, streams));
+    }
+
+    @Nested
+    @DisplayName("Changed rows")
+    class ChangedRows {
+
+        @Test
+        @DisplayName("Should reload the rows once and hand them to every receiver")
+        void shouldReloadOnceForAllReceivers() {
+            // Given
+            Stock stock = new Stock(1L, 1L, 1L, 10, LocalDateTime.now(), "Produto", "Loja", 3L);
+            when(stockPort.findByIds(Set.of(1L))).thenReturn(List.of(stock));
+
+            // When
+            stockChangeUseCase.stockRowsChanged(Set.of(1L));
+
+            // Then
+            verify(stockPort, times(1)).findByIds(Set.of(1L));
+            verify(cache).stockChanged(List.of(stock));
+            verify(streams).stockChanged(List.of(stock));
+        }
+
+        @Test
+        @DisplayName("Should keep notifying when a receiver fails")
+        void shouldIsolateFailingReceiver() {
+            // Given
+            Stock stock = new Stock(1L, 1L, 1L, 10, LocalDateTime.now(), "Produto", "Loja", 3L);
+            when(stockPort.findByIds(Set.of(1L))).thenReturn(List.of(stock));
+            doThrow(new IllegalStateException("falha")).when(cache).stockChanged(List.of(stock));
+
+            // When
+            stockChangeUseCase.stockRowsChanged(Set.of(1L));
+
+            // Then
+            verify(streams).stockChanged(List.of(stock));
+        }
+
+        @Test
+        @DisplayName("Should not query nor notify without ids")
+        void shouldIgnoreEmptyIds() {
+            // When
+            stockChangeUseCase.stockRowsChanged(Set.of());
+
+            // Then
+            verifyNoInteractions(stockPort, cache, streams);
+        }
+    }
+
+    @Test
+    @DisplayName("Should forward a read model change to every receiver")
+    void shouldForwardReadModelChange() {
+        // When
+        stockChangeUseCase.readModelChanged();
+
+        // Then
+        verify(cache).readModelChanged();
+        verify(streams).readModelChanged();
+        verifyNoInteractions(stockPort);
+    }
+}
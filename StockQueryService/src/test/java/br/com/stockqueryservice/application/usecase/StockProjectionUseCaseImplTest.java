@@ -0,0 +1,196 @@
+package br.com.stockqueryservice.application.usecase;
+
+import br.com.stockqueryservice.application.port.out.StockChangeSignalPort;
+import br.com.stockqueryservice.application.port.out.StockProjectionPort;
+import br.com.stockqueryservice.domain.model.ProductChange;
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Projection Use Case Implementation Tests")
+class StockProjectionUseCaseImplTest {
+
+    @Mock
+    private StockProjectionPort stockProjectionPort;
+
+    @Mock
+    private StockChangeSignalPort stockChangeSignalPort;
+
+    @InjectMocks
+    private StockProjectionUseCaseImpl stockProjectionUseCase;
+
+    private static StockChange change(String loja, String sku, int quantidade, long versao) {
+        return new StockChange(loja, sku, quantidade, versao, 0, Instant.now());
+    }
+
+    @Nested
+    @DisplayName("Project Stock")
+    class ProjectStock {
+
+        @Test
+        @DisplayName("Should write only the newest change of each key and then the offsets")
+        @SuppressWarnings("unchecked")
+        void shouldCoalesceByNewestVersion() {
+            // Given
+            Stock stored = new Stock(1L, 1L, 1L, 7, LocalDateTime.now(), "Produto", "Loja");
+            when(stockProjectionPort.upsertStock(any())).thenReturn(List.of(stored));
+            List<StockChange> changes = List.of(
+                    change("LOJA001", "SKU1", 10, 5),
+                    change("LOJA001", "SKU1", 7, 7),
+                    change("LOJA001", "SKU1", 9, 6),
+                    change("LOJA002", "SKU1", 3, 2));
+            List<ProjectionOffset> offsets = List.of(new ProjectionOffset("estoque_atualizado", 0, 41));
+
+            // When
+            stockProjectionUseCase.projectStock(changes, offsets);
+
+            // Then
+            ArgumentCaptor<Collection<StockChange>> written = ArgumentCaptor.forClass(Collection.class);
+            InOrder inOrder = inOrder(stockProjectionPort);
+            inOrder.verify(stockProjectionPort).upsertStock(written.capture());
+            inOrder.verify(stockProjectionPort).saveOffsets(offsets);
+            assertThat(new ArrayList<>(written.getValue()))
+                    .extracting(StockChange::lojaCodigo, StockChange::quantidade, StockChange::versao)
+                    .containsExactly(
+                            tuple("LOJA001", 7, 7L),
+                            tuple("LOJA002", 3, 2L));
+            verify(stockChangeSignalPort).signalStockChanged(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should still record the offsets when every event is invalid")
+        void shouldRecordOffsetsWithoutRows() {
+            // Given
+            List<ProjectionOffset> offsets = List.of(new ProjectionOffset("estoque_atualizado", 1, 8));
+
+            // When
+            stockProjectionUseCase.projectStock(List.of(change(null, "SKU1", 1, 1)), offsets);
+
+            // Then
+            verify(stockProjectionPort, never()).upsertStock(any());
+            verify(stockProjectionPort).saveOffsets(offsets);
+            verifyNoInteractions(stockChangeSignalPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("Project Catalog")
+    class ProjectCatalog {
+
+        @Test
+        @DisplayName("Should keep the last change of each product in the batch")
+        @SuppressWarnings("unchecked")
+        void shouldKeepLastProductChange() {
+            // Given
+            List<ProductChange> changes = List.of(
+                    new ProductChange("SKU1", "Nome antigo", true),
+                    new ProductChange("SKU1", "Nome novo", true));
+
+            // When
+            stockProjectionUseCase.projectProducts(changes, List.of());
+
+            // Then
+            ArgumentCaptor<Collection<ProductChange>> written = ArgumentCaptor.forClass(Collection.class);
+            verify(stockProjectionPort).upsertProducts(written.capture());
+            assertThat(written.getValue()).containsExactly(new ProductChange("SKU1", "Nome novo", true));
+            verify(stockChangeSignalPort).signalReadModelChanged();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reset Partition")
+    class ResetPartition {
+
+        @Test
+        @DisplayName("Should drop the rows and the offset of a stock partition")
+        void shouldDropStockPartition() {
+            // When
+            stockProjectionUseCase.resetStockPartition("estoque_atualizado", 2);
+
+            // Then
+            verify(stockProjectionPort).deleteStockFromPartition(2);
+            verify(stockProjectionPort).deleteOffset("estoque_atualizado", 2);
+            verify(stockChangeSignalPort).signalReadModelChanged();
+        }
+
+        @Test
+        @DisplayName("Should keep catalog rows when resetting a catalog partition")
+        void shouldKeepCatalogRows() {
+            // When
+            stockProjectionUseCase.resetCatalogPartition("produtos", 0);
+
+            // Then
+            verify(stockProjectionPort).deleteOffset("produtos", 0);
+            verify(stockProjectionPort, never()).deleteStockFromPartition(anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconcile Product Totals")
+    class ReconcileProductTotals {
+
+        @Test
+        @DisplayName("Should apply the corrections of drifted products when repairing")
+        void shouldRepairDrift() {
+            // Given
+            List<ProductStockTotalDelta> drift = List.of(new ProductStockTotalDelta(7L, "Produto", -3, 0));
+            when(stockProjectionPort.findProductTotalDrift()).thenReturn(drift);
+
+            // When
+            List<ProductStockTotalDelta> result = stockProjectionUseCase.reconcileProductTotals(true);
+
+            // Then
+            assertThat(result).isEqualTo(drift);
+            verify(stockProjectionPort).adjustProductTotals(drift);
+        }
+
+        @Test
+        @DisplayName("Should only report drift when repair is off")
+        void shouldOnlyReportDrift() {
+            // Given
+            when(stockProjectionPort.findProductTotalDrift()).thenReturn(List.of(new ProductStockTotalDelta(7L, null, -3, -1)));
+
+            // When
+            List<ProductStockTotalDelta> result = stockProjectionUseCase.reconcileProductTotals(false);
+
+            // Then
+            assertThat(result).hasSize(1);
+            verify(stockProjectionPort, never()).adjustProductTotals(any());
+        }
+
+        @Test
+        @DisplayName("Should not write when the totals match")
+        void shouldNotWriteWithoutDrift() {
+            // Given
+            when(stockProjectionPort.findProductTotalDrift()).thenReturn(List.of());
+
+            // When
+            stockProjectionUseCase.reconcileProductTotals(true);
+
+            // Then
+            verify(stockProjectionPort, never()).adjustProductTotals(any());
+            verifyNoInteractions(stockChangeSignalPort);
+        }
+    }
+}
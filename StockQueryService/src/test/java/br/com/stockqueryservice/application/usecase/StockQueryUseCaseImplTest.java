@@ -1,7 +1,11 @@
 package br.com.stockqueryservice.application.usecase;
 
 import br.com.stockqueryservice.application.port.out.StockPort;
+import br.com.stockqueryservice.domain.model.ProductStockTotal;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,12 +16,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -205,37 +218,172 @@ class StockQueryUseCaseImplTest {
     }
 
     @Nested
-    @DisplayName("Get All Stock")
-    class GetAllStock {
+    @DisplayName("Get Stock By Products")
+    class GetStockByProducts {
 
         @Test
-        @DisplayName("Should return all stock items from all stores and products")
-        void shouldReturnAllStockItemsFromAllStoresAndProducts() {
+        @DisplayName("Should answer every product once, in request order, with an empty list when there is no stock")
+        void shouldAnswerEveryProductInOrder() {
             // Given
-            List<Stock> expectedStocks = Arrays.asList(stock1, stock2, stock3);
-            when(stockPort.findAll()).thenReturn(expectedStocks);
+            when(stockPort.findByProductIds(Set.of(200L, 100L, 300L), null))
+                    .thenReturn(Map.of(100L, List.of(stock1, stock2), 200L, List.of(stock3)));
 
             // When
-            List<Stock> result = stockQueryUseCase.getAllStock();
+            Map<Long, List<Stock>> result = stockQueryUseCase.getStockByProducts(Arrays.asList(200L, 100L, 200L, null, 300L), null);
 
             // Then
-            assertThat(result).hasSize(3);
-            assertThat(result).containsExactlyInAnyOrder(stock1, stock2, stock3);
-            verify(stockPort).findAll();
+            assertThat(result).containsOnlyKeys(200L, 100L, 300L);
+            assertThat(result.keySet()).containsExactly(200L, 100L, 300L);
+            assertThat(result.get(100L)).containsExactly(stock1, stock2);
+            assertThat(result.get(300L)).isEmpty();
         }
 
         @Test
-        @DisplayName("Should return empty list when no stock exists")
-        void shouldReturnEmptyListWhenNoStockExists() {
+        @DisplayName("Should reject an empty product list")
+        void shouldRejectEmptyList() {
+            // When / Then
+            assertThatThrownBy(() -> stockQueryUseCase.getStockByProducts(List.of(), 10L))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(stockPort);
+        }
+
+        @Test
+        @DisplayName("Should reject more products than the per-request limit")
+        void shouldRejectTooManyProducts() {
             // Given
-            when(stockPort.findAll()).thenReturn(List.of());
+            List<Long> productIds = LongStream.rangeClosed(1, StockQueryUseCaseImpl.MAX_BATCH_PRODUCTS + 1).boxed().toList();
+
+            // When / Then
+            assertThatThrownBy(() -> stockQueryUseCase.getStockByProducts(productIds, null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining(String.valueOf(StockQueryUseCaseImpl.MAX_BATCH_PRODUCTS));
+            verifyNoInteractions(stockPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Stock Version")
+    class GetStockVersion {
+
+        @Test
+        @DisplayName("Should look up the version of the distinct products asked")
+        void shouldLookUpDistinctProducts() {
+            // Given
+            when(stockPort.findVersion(Set.of(100L, 200L), 10L)).thenReturn(new StockVersion(2, 9));
 
             // When
-            List<Stock> result = stockQueryUseCase.getAllStock();
+            StockVersion result = stockQueryUseCase.getStockVersion(List.of(100L, 200L, 100L), 10L);
 
             // Then
-            assertThat(result).isEmpty();
-            verify(stockPort).findAll();
+            assertThat(result).isEqualTo(new StockVersion(2, 9));
+        }
+
+        @Test
+        @DisplayName("Should look up the whole store when no product is given")
+        void shouldLookUpWholeStore() {
+            // Given
+            when(stockPort.findVersion(null, 10L)).thenReturn(new StockVersion(3, 12));
+
+            // When
+            StockVersion result = stockQueryUseCase.getStockVersion(null, 10L);
+
+            // Then
+            assertThat(result.rows()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Stock Page")
+    class GetStockPage {
+
+        @Test
+        @DisplayName("Should read the page after the cursor")
+        void shouldReadPageAfterCursor() {
+            // Given
+            StockPage expectedPage = new StockPage(List.of(stock2, stock3), 3L);
+            when(stockPort.findPage(1L, 2)).thenReturn(expectedPage);
+
+            // When
+            StockPage result = stockQueryUseCase.getStockPage(1L, 2);
+
+            // Then
+            assertThat(result).isEqualTo(expectedPage);
+            verify(stockPort).findPage(1L, 2);
+        }
+
+        @Test
+        @DisplayName("Should use the default page size when no limit is given")
+        void shouldUseDefaultPageSize() {
+            // Given
+            when(stockPort.findPage(null, StockQueryUseCaseImpl.DEFAULT_PAGE_SIZE)).thenReturn(new StockPage(List.of(), null));
+
+            // When
+            StockPage result = stockQueryUseCase.getStockPage(null, null);
+
+            // Then
+            assertThat(result.items()).isEmpty();
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a limit above the maximum page size")
+        void shouldRejectLimitAboveMaximum() {
+            // When / Then
+            assertThatThrownBy(() -> stockQueryUseCase.getStockPage(null, StockQueryUseCaseImpl.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(stockPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Product Totals")
+    class GetProductTotals {
+
+        @Test
+        @DisplayName("Should read the totals after the cursor with the default page size")
+        void shouldReadTotalsWithDefaultPageSize() {
+            // Given
+            ProductStockTotalPage expectedPage = new ProductStockTotalPage(List.of(new ProductStockTotal(200L, "Product 2", 75, 1)), null);
+            when(stockPort.findProductTotals(100L, StockQueryUseCaseImpl.DEFAULT_PAGE_SIZE)).thenReturn(expectedPage);
+
+            // When
+            ProductStockTotalPage result = stockQueryUseCase.getProductTotals(100L, null);
+
+            // Then
+            assertThat(result).isEqualTo(expectedPage);
+        }
+
+        @Test
+        @DisplayName("Should reject a limit below one")
+        void shouldRejectLimitBelowOne() {
+            // When / Then
+            assertThatThrownBy(() -> stockQueryUseCase.getProductTotals(null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(stockPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("Export All Stock")
+    class ExportAllStock {
+
+        @Test
+        @DisplayName("Should hand the consumer to the streaming read")
+        void shouldDelegateStreaming() {
+            // Given
+            List<Stock> exported = new ArrayList<>();
+            doAnswer(invocation -> {
+                Consumer<Stock> consumer = invocation.getArgument(0);
+                consumer.accept(stock1);
+                consumer.accept(stock2);
+                return null;
+            }).when(stockPort).streamAll(any());
+
+            // When
+            stockQueryUseCase.exportAllStock(exported::add);
+
+            // Then
+            assertThat(exported).containsExactly(stock1, stock2);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.messaging.listener;
+
+import br.com.stockqueryservice.application.port.in.StockProjectionUseCase;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.StockChange;
+import br.com.stockqueryservice.infrastructure.adapters.in.messaging.dto.event.StockChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Projection Kafka Listener Tests")
+class StockProjectionKafkaListenerTest {
+
+    private static final String TOPIC = "estoque_atualizado";
+
+    @Mock
+    private StockProjectionUseCase projection;
+
+    @Mock
+    private ConsumerSeekCallback callback;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private StockProjectionKafkaListener listener(boolean rebuild) {
+        return new StockProjectionKafkaListener(projection, meterRegistry, TOPIC, rebuild);
+    }
+
+    private static ConsumerRecord<String, StockChangedEvent> record(int partition, long offset, StockChangedEvent event) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, "LOJA001:SKU1", event);
+    }
+
+    @Nested
+    @DisplayName("On Estoque Atualizado")
+    class OnEstoqueAtualizado {
+
+        @Test
+        @DisplayName("Should project the poll with the highest offset per partition and record the lag")
+        @SuppressWarnings("unchecked")
+        void shouldProjectPollAndRecordLag() {
+            // Given
+            StockChangedEvent event = StockChangedEvent.builder()
+                    .loja("LOJA001").sku("SKU1").quantidade(4).versao(12L)
+                    .timestamp(OffsetDateTime.now().minusSeconds(2))
+                    .build();
+            List<ConsumerRecord<String, StockChangedEvent>> records = List.of(
+                    record(0, 10, event), record(0, 11, null), record(1, 3, event));
+
+            // When
+            listener(false).onEstoqueAtualizado(records);
+
+            // Then
+            ArgumentCaptor<List<StockChange>> changes = ArgumentCaptor.forClass(List.class);
+            ArgumentCaptor<List<ProjectionOffset>> offsets = ArgumentCaptor.forClass(List.class);
+            verify(projection).projectStock(changes.capture(), offsets.capture());
+            assertThat(changes.getValue()).hasSize(2);
+            assertThat(changes.getValue().get(1).particao()).isEqualTo(1);
+            assertThat(offsets.getValue()).containsExactly(
+                    new ProjectionOffset(TOPIC, 0, 11), new ProjectionOffset(TOPIC, 1, 3));
+            assertThat(meterRegistry.get("stock.projection.lag").tag("topic", TOPIC).timer().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("stock.projection.lag").tag("topic", TOPIC).timer().max(TimeUnit.SECONDS))
+                    .isGreaterThanOrEqualTo(2.0);
+            assertThat(meterRegistry.get("stock.projection.applied").tag("topic", TOPIC).counter().count()).isEqualTo(3.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("On Partitions Assigned")
+    class OnPartitionsAssigned {
+
+        @Test
+        @DisplayName("Should resume after the stored offset or from the beginning when there is none")
+        void shouldSeekFromStoredOffsets() {
+            // Given
+            when(projection.appliedOffset(TOPIC, 0)).thenReturn(Optional.of(41L));
+            when(projection.appliedOffset(TOPIC, 1)).thenReturn(Optional.empty());
+
+            // When
+            listener(false).onPartitionsAssigned(
+                    Map.of(new TopicPartition(TOPIC, 0), 0L, new TopicPartition(TOPIC, 1), 0L), callback);
+
+            // Then
+            verify(callback).seek(TOPIC, 0, 42L);
+            verify(callback).seekToBeginning(TOPIC, 1);
+        }
+
+        @Test
+        @DisplayName("Should reset and replay each partition once when rebuilding")
+        void shouldRebuildEachPartitionOnce() {
+            // Given
+            StockProjectionKafkaListener listener = listener(true);
+            when(projection.appliedOffset(TOPIC, 0)).thenReturn(Optional.of(5L));
+
+            // When
+            listener.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 0L), callback);
+            listener.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 0L, new TopicPartition("produtos", 0), 0L), callback);
+
+            // Then
+            verify(projection, times(1)).resetStockPartition(TOPIC, 0);
+            verify(projection).resetCatalogPartition("produtos", 0);
+            verify(callback).seekToBeginning(TOPIC, 0);
+            verify(callback).seekToBeginning("produtos", 0);
+            verify(callback).seek(TOPIC, 0, 6L);
+        }
+    }
+}
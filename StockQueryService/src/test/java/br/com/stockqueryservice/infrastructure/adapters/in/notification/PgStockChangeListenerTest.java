@@ -0,0 +1,86 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.notification;
+
+import br.com.stockqueryservice.application.port.in.StockChangeUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostgreSQL Stock Change Listener Tests")
+class PgStockChangeListenerTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private StockChangeUseCase stockChangeUseCase;
+
+    private PgStockChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new PgStockChangeListener(dataSource, stockChangeUseCase, "estoque_alterado", 1000, 5000);
+    }
+
+    @Test
+    @DisplayName("Should merge the ids of notifications received together into one reload")
+    void shouldMergePayloads() {
+        // When
+        listener.dispatch("1,2", "2,3");
+
+        // Then
+        verify(stockChangeUseCase).stockRowsChanged(Set.of(1L, 2L, 3L));
+        verify(stockChangeUseCase, never()).readModelChanged();
+    }
+
+    @Test
+    @DisplayName("Should resync instead of reloading when any notification asks for it")
+    void shouldResyncOnMarker() {
+        // When
+        listener.dispatch("1,2", PgStockChangeListener.RESYNC);
+
+        // Then
+        verify(stockChangeUseCase).readModelChanged();
+        verify(stockChangeUseCase, never()).stockRowsChanged(any());
+    }
+
+    @Test
+    @DisplayName("Should skip malformed ids")
+    void shouldSkipMalformedIds() {
+        // When
+        listener.dispatch("1,x,3");
+
+        // Then
+        verify(stockChangeUseCase).stockRowsChanged(Set.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should resync when the changed rows cannot be reloaded")
+    void shouldResyncWhenReloadFails() {
+        // Given
+        doThrow(new IllegalStateException("banco indisponível")).when(stockChangeUseCase).stockRowsChanged(any());
+
+        // When
+        listener.dispatch("1");
+
+        // Then
+        verify(stockChangeUseCase).readModelChanged();
+    }
+
+    @Test
+    @DisplayName("Should reject a channel name that cannot be used in LISTEN")
+    void shouldRejectInvalidChannel() {
+        assertThatThrownBy(() -> new PgStockChangeListener(dataSource, stockChangeUseCase, "estoque; DROP", 1000, 5000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,24 +1,39 @@
 package br.com.stockqueryservice.infrastructure.adapters.in.web;
 
 import br.com.stockqueryservice.application.port.in.StockQueryUseCase;
+import br.com.stockqueryservice.domain.model.ProductStockTotal;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,15 +44,20 @@ class StockControllerTest {
     @Mock
     private StockQueryUseCase stockQueryUseCase;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     private StockController stockController;
 
+    private static final StockVersion CURRENT_VERSION = new StockVersion(2, 0x2a);
+
     private Stock stock1;
     private Stock stock2;
     private Stock stock3;
 
     @BeforeEach
     void setUp() {
+        stockController = new StockController(stockQueryUseCase, objectMapper);
+        lenient().when(stockQueryUseCase.getStockVersion(any(), any())).thenReturn(CURRENT_VERSION);
         LocalDateTime now = LocalDateTime.now();
         stock1 = new Stock(1L, 100L, 10L, 50, now, "Product 1", "Store A");
         stock2 = new Stock(2L, 100L, 20L, 25, now, "Product 1", "Store B");
@@ -61,7 +81,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProduct(productId)).thenReturn(expectedStocks);
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -78,7 +98,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProduct(productId)).thenReturn(List.of());
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -95,7 +115,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProduct(productId)).thenReturn(expectedStocks);
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, null, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -118,7 +138,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProductAndStore(productId, storeId)).thenReturn(Optional.of(stock1));
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -136,7 +156,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProductAndStore(productId, storeId)).thenReturn(Optional.empty());
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -153,7 +173,7 @@ class StockControllerTest {
                 when(stockQueryUseCase.getStockByProductAndStore(productId, storeId)).thenReturn(Optional.empty());
 
                 // When
-                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId);
+                ResponseEntity<List<Stock>> response = stockController.getStock(productId, storeId, null);
 
                 // Then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -176,7 +196,7 @@ class StockControllerTest {
             when(stockQueryUseCase.getStockByStore(storeId)).thenReturn(expectedStocks);
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId);
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -194,7 +214,7 @@ class StockControllerTest {
             when(stockQueryUseCase.getStockByStore(storeId)).thenReturn(expectedStocks);
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId);
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -211,7 +231,7 @@ class StockControllerTest {
             when(stockQueryUseCase.getStockByStore(storeId)).thenReturn(List.of());
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId);
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -227,7 +247,7 @@ class StockControllerTest {
             when(stockQueryUseCase.getStockByStore(storeId)).thenReturn(List.of());
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId);
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(storeId, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -236,40 +256,206 @@ class StockControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGet {
+
+        @Test
+        @DisplayName("Should answer not modified without reading the rows when the client holds the current version")
+        void shouldAnswerNotModifiedWithoutReadingRows() {
+            // When
+            ResponseEntity<List<Stock>> response = stockController.getStock(100L, null, "W/\"x\", " + CURRENT_VERSION.etag());
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo(CURRENT_VERSION.etag());
+            assertThat(response.getBody()).isNull();
+            verify(stockQueryUseCase).getStockVersion(List.of(100L), null);
+            verify(stockQueryUseCase, never()).getStockByProduct(any());
+        }
+
+        @Test
+        @DisplayName("Should tag the body with the version of the rows it returns")
+        void shouldTagBodyWithItsOwnVersion() {
+            // Given
+            Stock revised = new Stock(1L, 100L, 10L, 50, LocalDateTime.now(), "Product 1", "Store A", 7L);
+            when(stockQueryUseCase.getStockByStore(10L)).thenReturn(List.of(revised, stock3));
+
+            // When
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(10L, "\"stale\"");
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isEqualTo(new StockVersion(2, 7).etag());
+            assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+            verify(stockQueryUseCase).getStockVersion(null, 10L);
+        }
+
+        @Test
+        @DisplayName("Should not read the version when the request has no If-None-Match")
+        void shouldNotReadVersionWithoutIfNoneMatch() {
+            // Given
+            when(stockQueryUseCase.getStockByProducts(List.of(100L, 200L), null))
+                    .thenReturn(Map.of(100L, List.of(stock1), 200L, List.of(stock3)));
+
+            // When
+            ResponseEntity<Map<Long, List<Stock>>> response = stockController.getStockByProducts(List.of(100L, 200L), null, null);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isEqualTo(new StockVersion(2, 0).etag());
+            verify(stockQueryUseCase, never()).getStockVersion(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should send the newest update of the returned rows as Last-Modified")
+        void shouldSendNewestUpdateAsLastModified() {
+            // Given
+            LocalDateTime older = LocalDateTime.of(2024, 5, 1, 10, 0);
+            LocalDateTime newer = LocalDateTime.of(2024, 5, 2, 8, 30);
+            Stock undated = new Stock(4L, 100L, 30L, 5, null, "Product 1", "Store C");
+            when(stockQueryUseCase.getStockByProduct(100L)).thenReturn(List.of(
+                    new Stock(1L, 100L, 10L, 50, newer, "Product 1", "Store A"),
+                    new Stock(2L, 100L, 20L, 25, older, "Product 1", "Store B"),
+                    undated));
+
+            // When
+            ResponseEntity<List<Stock>> response = stockController.getStock(100L, null, null);
+
+            // Then
+            assertThat(response.getHeaders().getLastModified())
+                    .isEqualTo(newer.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        @Test
+        @DisplayName("Should omit Last-Modified when no returned row has an update time")
+        void shouldOmitLastModifiedWithoutUpdateTimes() {
+            // Given
+            when(stockQueryUseCase.getStockByStore(10L)).thenReturn(List.of());
+
+            // When
+            ResponseEntity<List<Stock>> response = stockController.getStockByStore(10L, null);
+
+            // Then
+            assertThat(response.getHeaders().getLastModified()).isEqualTo(-1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Stock By Products Endpoint")
+    class GetStockByProductsEndpoint {
+
+        @Test
+        @DisplayName("Should return the stock keyed by product")
+        void shouldReturnStockKeyedByProduct() {
+            // Given
+            Map<Long, List<Stock>> expected = Map.of(100L, List.of(stock1), 200L, List.of());
+            when(stockQueryUseCase.getStockByProducts(List.of(100L, 200L), 10L)).thenReturn(expected);
+
+            // When
+            ResponseEntity<Map<Long, List<Stock>>> response = stockController.getStockByProducts(List.of(100L, 200L), 10L, null);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(expected);
+            verify(stockQueryUseCase).getStockByProducts(List.of(100L, 200L), 10L);
+        }
+    }
+
     @Nested
     @DisplayName("Get All Stock Endpoint")
     class GetAllStockEndpoint {
 
         @Test
-        @DisplayName("Should return all stock from all stores and products")
-        void shouldReturnAllStockFromAllStoresAndProducts() {
+        @DisplayName("Should return the page and the cursor of the next one")
+        void shouldReturnPageWithNextCursor() {
             // Given
-            List<Stock> expectedStocks = Arrays.asList(stock1, stock2, stock3);
-            when(stockQueryUseCase.getAllStock()).thenReturn(expectedStocks);
+            when(stockQueryUseCase.getStockPage(null, 2)).thenReturn(new StockPage(List.of(stock1, stock2), 2L));
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getAllStock();
+            ResponseEntity<List<Stock>> response = stockController.getAllStock(null, 2);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).hasSize(3);
-            assertThat(response.getBody()).containsExactlyInAnyOrder(stock1, stock2, stock3);
-            verify(stockQueryUseCase).getAllStock();
+            assertThat(response.getBody()).containsExactly(stock1, stock2);
+            assertThat(response.getHeaders().getFirst(StockController.NEXT_CURSOR_HEADER)).isEqualTo("2");
+            verify(stockQueryUseCase).getStockPage(null, 2);
         }
 
         @Test
-        @DisplayName("Should return empty list when no stock exists in system")
-        void shouldReturnEmptyListWhenNoStockExistsInSystem() {
+        @DisplayName("Should omit the cursor on the last page")
+        void shouldOmitCursorOnLastPage() {
             // Given
-            when(stockQueryUseCase.getAllStock()).thenReturn(List.of());
+            when(stockQueryUseCase.getStockPage(2L, null)).thenReturn(new StockPage(List.of(stock3), null));
 
             // When
-            ResponseEntity<List<Stock>> response = stockController.getAllStock();
+            ResponseEntity<List<Stock>> response = stockController.getAllStock(2L, null);
+
+            // Then
+            assertThat(response.getBody()).containsExactly(stock3);
+            assertThat(response.getHeaders().containsKey(StockController.NEXT_CURSOR_HEADER)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should answer bad request for an invalid limit")
+        void shouldAnswerBadRequestForInvalidLimit() {
+            // When
+            ResponseEntity<Map<String, String>> response =
+                    stockController.handleInvalidRequest(new IllegalArgumentException("limit deve estar entre 1 e 5000"));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).containsEntry("erro", "limit deve estar entre 1 e 5000");
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Product Totals Endpoint")
+    class GetProductTotalsEndpoint {
+
+        @Test
+        @DisplayName("Should return the totals and the cursor of the next page")
+        void shouldReturnTotalsWithNextCursor() {
+            // Given
+            ProductStockTotal total = new ProductStockTotal(100L, "Product 1", 75, 2);
+            when(stockQueryUseCase.getProductTotals(null, 1)).thenReturn(new ProductStockTotalPage(List.of(total), 100L));
+
+            // When
+            ResponseEntity<List<ProductStockTotal>> response = stockController.getProductTotals(null, 1);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).isEmpty();
-            verify(stockQueryUseCase).getAllStock();
+            assertThat(response.getBody()).containsExactly(total);
+            assertThat(response.getHeaders().getFirst(StockController.NEXT_CURSOR_HEADER)).isEqualTo("100");
+        }
+    }
+
+    @Nested
+    @DisplayName("Export All Stock Endpoint")
+    class ExportAllStockEndpoint {
+
+        @Test
+        @DisplayName("Should write one JSON line per row")
+        void shouldWriteOneLinePerRow() throws IOException {
+            // Given
+            doAnswer(invocation -> {
+                Consumer<Stock> consumer = invocation.getArgument(0);
+                consumer.accept(stock1);
+                consumer.accept(stock3);
+                return null;
+            }).when(stockQueryUseCase).exportAllStock(any());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            ResponseEntity<StreamingResponseBody> response = stockController.exportAllStock();
+            response.getBody().writeTo(out);
+
+            // Then
+            assertThat(response.getHeaders().getContentType()).hasToString(StockController.NDJSON);
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines[0], Stock.class)).isEqualTo(stock1);
+            assertThat(objectMapper.readValue(lines[1], Stock.class)).isEqualTo(stock3);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package br.com.stockqueryservice.infrastructure.adapters.in.web.integration;
 
+import br.com.stockqueryservice.application.port.in.StockChangeUseCase;
 import br.com.stockqueryservice.domain.model.Stock;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.entity.StockEntity;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.repository.StockRepository;
@@ -9,15 +10,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -38,6 +43,12 @@ public class StockControllerIntegrationTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockChangeUseCase stockChangeUseCase;
+
     @BeforeEach
     void setUp() {
         // Clean up data before each test using repository
@@ -263,5 +274,162 @@ public class StockControllerIntegrationTest {
                     .extracting(Stock::quantity)
                     .containsExactlyInAnyOrder(10, 15, 5, 20);
         }
+
+        @Test
+        @Order(7)
+        @DisplayName("Should walk the whole table page by page with the cursor")
+        void shouldWalkTableWithCursor() {
+            // Given
+            String url = "http://localhost:" + port + "/api/inventory/stock/all?limit=3";
+
+            // When
+            ResponseEntity<List<Stock>> first = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+            String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+            ResponseEntity<List<Stock>> second = restTemplate.exchange(url + "&after=" + cursor, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+
+            // Then
+            assertThat(first.getBody()).hasSize(3);
+            assertThat(cursor).isNotNull();
+            assertThat(second.getBody()).hasSize(1);
+            assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+            assertThat(first.getBody().get(2).id()).isLessThan(second.getBody().get(0).id());
+        }
+
+        @Test
+        @Order(8)
+        @DisplayName("Should reject a page size above the limit")
+        void shouldRejectOversizedPage() {
+            // When
+            ResponseEntity<String> response = restTemplate.getForEntity(
+                    "http://localhost:" + port + "/api/inventory/stock/all?limit=100000", String.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/inventory/stock/totals - Get Product Totals")
+    class GetProductTotalsTests {
+
+        @Test
+        @Order(13)
+        @DisplayName("Should page the maintained product totals, which also back stock_view")
+        void shouldPageMaintainedTotals() {
+            // Given
+            jdbcTemplate.update("DELETE FROM estoque_total_produto");
+            jdbcTemplate.update("INSERT INTO estoque_total_produto (produto_id, nome_produto, quantidade_total, lojas) VALUES (1, 'Produto 1', 25, 2), (2, 'Produto 2', 20, 1)");
+            String url = "http://localhost:" + port + "/api/inventory/stock/totals?limit=1";
+
+            // When
+            ResponseEntity<List<Map<String, Object>>> first = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+            String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+            ResponseEntity<List<Map<String, Object>>> second = restTemplate.exchange(url + "&after=" + cursor, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+
+            // Then
+            assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(first.getBody()).singleElement().satisfies(total -> {
+                assertThat(total).containsEntry("productId", 1).containsEntry("totalQuantity", 25).containsEntry("storeCount", 2);
+            });
+            assertThat(cursor).isEqualTo("1");
+            assertThat(second.getBody()).singleElement().satisfies(total -> assertThat(total).containsEntry("productId", 2));
+            assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+            assertThat(jdbcTemplate.queryForObject("SELECT quantidade_total FROM stock_view WHERE produto_id = 1", Long.class)).isEqualTo(25L);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/inventory/stock/batch - Get Stock By Products")
+    class GetStockByProductsTests {
+
+        @Test
+        @Order(10)
+        @DisplayName("Should return the stock of several products keyed by product")
+        void shouldReturnStockKeyedByProduct() {
+            // Given
+            String url = "http://localhost:" + port + "/api/inventory/stock/batch?productIds=1,2,99";
+
+            // When
+            ResponseEntity<Map<Long, List<Stock>>> response = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).containsOnlyKeys(1L, 2L, 99L);
+            assertThat(response.getBody().get(1L)).extracting(Stock::quantity).containsExactlyInAnyOrder(10, 15);
+            assertThat(response.getBody().get(2L)).extracting(Stock::quantity).containsExactlyInAnyOrder(5, 20);
+            assertThat(response.getBody().get(99L)).isEmpty();
+        }
+
+        @Test
+        @Order(11)
+        @DisplayName("Should restrict the batch to one store")
+        void shouldRestrictBatchToStore() {
+            // Given
+            String url = "http://localhost:" + port + "/api/inventory/stock/batch?productIds=1,2&storeId=1";
+
+            // When
+            ResponseEntity<Map<Long, List<Stock>>> response = restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+            });
+
+            // Then
+            assertThat(response.getBody().get(1L)).extracting(Stock::quantity).containsExactly(10);
+            assertThat(response.getBody().get(2L)).extracting(Stock::quantity).containsExactly(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET - ETag")
+    class ConditionalGetTests {
+
+        @Test
+        @Order(12)
+        @DisplayName("Should answer not modified until a row of the response changes")
+        void shouldAnswerNotModifiedUntilRowChanges() {
+            // Given
+            String url = "http://localhost:" + port + "/api/inventory/stock?productId=1";
+            ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+            String etag = first.getHeaders().getETag();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(etag);
+
+            // When
+            ResponseEntity<String> unchanged = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+            jdbcTemplate.update("UPDATE estoque_consulta SET quantidade = 11, revisao = 5 WHERE produto_id = 1 AND loja_id = 1");
+            // what the change listener does when the projection NOTIFY arrives, so the query cache drops its copy
+            stockChangeUseCase.readModelChanged();
+            ResponseEntity<String> changed = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+            // Then
+            assertThat(etag).isNotNull();
+            assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(unchanged.getBody()).isNull();
+            assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/inventory/stock/export - Export All Stock")
+    class ExportAllStockTests {
+
+        @Test
+        @Order(9)
+        @DisplayName("Should stream every row as one NDJSON line")
+        void shouldStreamEveryRowAsNdjson() {
+            // When
+            ResponseEntity<String> response = restTemplate.getForEntity(
+                    "http://localhost:" + port + "/api/inventory/stock/export", String.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().lines()).hasSize(4).allMatch(line -> line.startsWith("{\"id\":"));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package br.com.stockqueryservice.infrastructure.adapters.in.web.stream;
+
+import br.com.stockqueryservice.domain.model.Stock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Stock Stream Broadcaster Tests")
+class StockStreamBroadcasterTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> pendingSends;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper().findAndRegisterModules());
+        meterRegistry = new SimpleMeterRegistry();
+        pendingSends = new ArrayList<>();
+    }
+
+    /**
+     * Sends are only collected, never run, which is what a client that stopped reading looks like.
+     */
+    private StockStreamBroadcaster stalledBroadcaster(int maxSubscribers, int queueCapacity) {
+        return new StockStreamBroadcaster(objectMapper, meterRegistry, pendingSends::add, maxSubscribers, queueCapacity, Duration.ofMinutes(1));
+    }
+
+    private static Stock stock(Long productId, Long storeId) {
+        return new Stock(productId * 10 + storeId, productId, storeId, 5, LocalDateTime.now(), "Produto", "Loja", 1L);
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("stock.stream.subscribers").gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Fan-out")
+    class FanOut {
+
+        @Test
+        @DisplayName("Should serialize a change once for all of its subscribers")
+        void shouldSerializeOnce() throws Exception {
+            // Given
+            StockStreamBroadcaster broadcaster = stalledBroadcaster(10, 8);
+            broadcaster.subscribe(Set.of(1L), Set.of());
+            broadcaster.subscribe(Set.of(), Set.of(1L));
+            broadcaster.subscribe(Set.of(1L), Set.of(1L));
+
+            // When
+            broadcaster.stockChanged(List.of(stock(1L, 1L)));
+
+            // Then
+            verify(objectMapper, times(1)).writeValueAsString(any(Stock.class));
+            assertThat(pendingSends).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Should neither serialize nor send a change nobody subscribed to")
+        void shouldSkipUnsubscribedChanges() throws Exception {
+            // Given
+            StockStreamBroadcaster broadcaster = stalledBroadcaster(10, 8);
+            broadcaster.subscribe(Set.of(1L), Set.of(1L));
+
+            // When
+            broadcaster.stockChanged(List.of(stock(2L, 2L)));
+
+            // Then
+            verify(objectMapper, times(0)).writeValueAsString(any(Stock.class));
+            assertThat(pendingSends).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should write queued events and record the push latency")
+        void shouldWriteEvents() {
+            // Given
+            StockStreamBroadcaster broadcaster = new StockStreamBroadcaster(objectMapper, meterRegistry, Runnable::run, 10, 8, Duration.ofMinutes(1));
+            broadcaster.subscribe(Set.of(1L), Set.of());
+
+            // When
+            broadcaster.stockChanged(List.of(stock(1L, 1L)));
+            broadcaster.readModelChanged();
+
+            // Then
+            assertThat(meterRegistry.get("stock.stream.push.latency").timer().count()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Limits")
+    class Limits {
+
+        @Test
+        @DisplayName("Should disconnect a subscriber whose queue is full")
+        void shouldDropSlowConsumer() {
+            // Given
+            StockStreamBroadcaster broadcaster = stalledBroadcaster(10, 2);
+            broadcaster.subscribe(Set.of(1L), Set.of());
+
+            // When
+            broadcaster.stockChanged(List.of(stock(1L, 1L)));
+            broadcaster.stockChanged(List.of(stock(1L, 2L)));
+            broadcaster.stockChanged(List.of(stock(1L, 3L)));
+            broadcaster.stockChanged(List.of(stock(1L, 4L)));
+
+            // Then
+            assertThat(meterRegistry.get("stock.stream.dropped").counter().count()).isEqualTo(1);
+            assertThat(subscribers()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should refuse subscribers beyond the limit")
+        void shouldRefuseBeyondLimit() {
+            // Given
+            StockStreamBroadcaster broadcaster = stalledBroadcaster(1, 8);
+            broadcaster.subscribe(Set.of(1L), Set.of());
+
+            // When / Then
+            assertThatThrownBy(() -> broadcaster.subscribe(Set.of(2L), Set.of()))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(subscribers()).isEqualTo(1);
+        }
+    }
+}
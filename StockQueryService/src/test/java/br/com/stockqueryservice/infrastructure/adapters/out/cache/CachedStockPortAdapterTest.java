@@ -0,0 +1,194 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.cache;
+
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl.StockPortAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cached Stock Port Adapter Tests")
+class CachedStockPortAdapterTest {
+
+    @Mock
+    private StockPortAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedStockPortAdapter cachedStockPortAdapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachedStockPortAdapter = new CachedStockPortAdapter(delegate, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    private static Stock stock(Long productId, Long storeId, int quantity) {
+        return new Stock(productId * 10 + storeId, productId, storeId, quantity, LocalDateTime.now(), "Produto", "Loja");
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("Should load a product once and serve the next lookups from the cache")
+        void shouldCacheByProduct() {
+            // Given
+            when(delegate.findByProductId(1L)).thenReturn(List.of(stock(1L, 1L, 5)));
+
+            // When
+            cachedStockPortAdapter.findByProductId(1L);
+            List<Stock> result = cachedStockPortAdapter.findByProductId(1L);
+
+            // Then
+            assertThat(result).hasSize(1);
+            verify(delegate, times(1)).findByProductId(1L);
+            assertThat(meterRegistry.get("stock.cache.hit.ratio").tag("region", "by-product").gauge().value())
+                    .isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("Should cache a missing product and store pair")
+        void shouldCacheMissingPair() {
+            // Given
+            when(delegate.findByProductIdAndStoreId(1L, 2L)).thenReturn(Optional.empty());
+
+            // When
+            cachedStockPortAdapter.findByProductIdAndStoreId(1L, 2L);
+            Optional<Stock> result = cachedStockPortAdapter.findByProductIdAndStoreId(1L, 2L);
+
+            // Then
+            assertThat(result).isEmpty();
+            verify(delegate, times(1)).findByProductIdAndStoreId(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should load only the products missing from the cache, in one call")
+        void shouldLoadOnlyMissingProducts() {
+            // Given
+            when(delegate.findByProductId(1L)).thenReturn(List.of(stock(1L, 1L, 5)));
+            cachedStockPortAdapter.findByProductId(1L);
+            when(delegate.findByProductIds(List.of(2L), null)).thenReturn(Map.of(2L, List.of(stock(2L, 1L, 8))));
+
+            // When
+            Map<Long, List<Stock>> result = cachedStockPortAdapter.findByProductIds(List.of(1L, 2L), null);
+            Map<Long, List<Stock>> again = cachedStockPortAdapter.findByProductIds(List.of(1L, 2L), null);
+
+            // Then
+            assertThat(result.get(1L)).extracting(Stock::quantity).containsExactly(5);
+            assertThat(result.get(2L)).extracting(Stock::quantity).containsExactly(8);
+            assertThat(again).isEqualTo(result);
+            verify(delegate, times(1)).findByProductIds(List.of(2L), null);
+        }
+
+        @Test
+        @DisplayName("Should serve a store-filtered batch from the product and store region")
+        void shouldServeStoreFilteredBatch() {
+            // Given
+            when(delegate.findByProductIds(anyList(), eq(1L))).thenReturn(Map.of(2L, List.of(stock(2L, 1L, 8))));
+
+            // When
+            cachedStockPortAdapter.findByProductIds(List.of(2L, 3L), 1L);
+            Map<Long, List<Stock>> result = cachedStockPortAdapter.findByProductIds(List.of(2L, 3L), 1L);
+
+            // Then
+            assertThat(result.get(2L)).extracting(Stock::quantity).containsExactly(8);
+            assertThat(result.get(3L)).isEmpty();
+            assertThat(cachedStockPortAdapter.findByProductIdAndStoreId(3L, 1L)).isEmpty();
+            verify(delegate, times(1)).findByProductIds(anyList(), eq(1L));
+            verify(delegate, never()).findByProductIdAndStoreId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not cache the full listing")
+        void shouldNotCacheFindAll() {
+            // Given
+            when(delegate.findPage(null, 10)).thenReturn(new StockPage(List.of(), null));
+
+            // When
+            cachedStockPortAdapter.findPage(null, 10);
+            cachedStockPortAdapter.findPage(null, 10);
+
+            // Then
+            verify(delegate, times(2)).findPage(null, 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Notifications")
+    class ChangeNotifications {
+
+        @Test
+        @DisplayName("Should refresh the cached entries in place without reloading")
+        void shouldRefreshInPlace() {
+            // Given
+            when(delegate.findByProductId(1L)).thenReturn(List.of(stock(1L, 1L, 5), stock(1L, 2L, 3)));
+            when(delegate.findByStoreId(3L)).thenReturn(List.of());
+            when(delegate.findByProductIdAndStoreId(1L, 3L)).thenReturn(Optional.empty());
+            cachedStockPortAdapter.findByProductId(1L);
+            cachedStockPortAdapter.findByStoreId(3L);
+            cachedStockPortAdapter.findByProductIdAndStoreId(1L, 3L);
+            Stock changed = stock(1L, 1L, 9);
+            Stock created = stock(1L, 3L, 4);
+
+            // When
+            cachedStockPortAdapter.stockChanged(List.of(changed, created));
+
+            // Then
+            assertThat(cachedStockPortAdapter.findByProductId(1L))
+                    .extracting(Stock::storeId, Stock::quantity)
+                    .containsExactly(
+                            tuple(1L, 9),
+                            tuple(2L, 3),
+                            tuple(3L, 4));
+            assertThat(cachedStockPortAdapter.findByStoreId(3L)).containsExactly(created);
+            assertThat(cachedStockPortAdapter.findByProductIdAndStoreId(1L, 3L)).contains(created);
+            verify(delegate, times(1)).findByProductId(1L);
+            verify(delegate, times(1)).findByStoreId(3L);
+            verify(delegate, times(1)).findByProductIdAndStoreId(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should not load entries that were never requested")
+        void shouldIgnoreUncachedKeys() {
+            // When
+            cachedStockPortAdapter.stockChanged(List.of(stock(1L, 1L, 9)));
+
+            // Then
+            verifyNoInteractions(delegate);
+        }
+
+        @Test
+        @DisplayName("Should reload every region after a bulk change")
+        void shouldInvalidateOnReadModelChange() {
+            // Given
+            when(delegate.findByStoreId(1L)).thenReturn(List.of(stock(1L, 1L, 5)));
+            cachedStockPortAdapter.findByStoreId(1L);
+
+            // When
+            cachedStockPortAdapter.readModelChanged();
+            cachedStockPortAdapter.findByStoreId(1L);
+
+            // Then
+            verify(delegate, times(2)).findByStoreId(1L);
+        }
+    }
+}
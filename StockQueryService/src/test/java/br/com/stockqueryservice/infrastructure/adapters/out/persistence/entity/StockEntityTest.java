@@ -43,9 +43,10 @@ class StockEntityTest {
             LocalDateTime lastUpdated = LocalDateTime.now();
             String productName = "Test Product";
             String storeName = "Test Store";
+            Long revision = 7L;
 
             // When
-            StockEntity entity = new StockEntity(id, productId, storeId, quantity, lastUpdated, productName, storeName);
+            StockEntity entity = new StockEntity(id, productId, storeId, quantity, lastUpdated, productName, storeName, revision);
 
             // Then
             assertThat(entity).isNotNull();
@@ -56,6 +57,7 @@ class StockEntityTest {
             assertThat(entity.getLastUpdated()).isEqualTo(lastUpdated);
             assertThat(entity.getProductName()).isEqualTo(productName);
             assertThat(entity.getStoreName()).isEqualTo(storeName);
+            assertThat(entity.getRevision()).isEqualTo(revision);
         }
 
         @Test
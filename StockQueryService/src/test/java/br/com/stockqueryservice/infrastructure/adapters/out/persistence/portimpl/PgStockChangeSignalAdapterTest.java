@@ -0,0 +1,72 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostgreSQL Stock Change Signal Adapter Tests")
+class PgStockChangeSignalAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PgStockChangeSignalAdapter signalAdapter;
+
+    @BeforeEach
+    void setUp() {
+        signalAdapter = new PgStockChangeSignalAdapter(jdbcTemplate, "estoque_alterado");
+    }
+
+    @Test
+    @DisplayName("Should notify the changed ids on the configured channel")
+    void shouldNotifyIds() {
+        // When
+        signalAdapter.signalStockChanged(List.of(1L, 2L, 3L));
+
+        // Then
+        verify(jdbcTemplate).query(eq(PgStockChangeSignalAdapter.NOTIFY_SQL), any(RowCallbackHandler.class),
+                eq("estoque_alterado"), eq("1,2,3"));
+    }
+
+    @Test
+    @DisplayName("Should notify the resync marker for read model changes")
+    void shouldNotifyResync() {
+        // When
+        signalAdapter.signalReadModelChanged();
+
+        // Then
+        verify(jdbcTemplate).query(eq(PgStockChangeSignalAdapter.NOTIFY_SQL), any(RowCallbackHandler.class),
+                eq("estoque_alterado"), eq(PgStockChangeSignalAdapter.RESYNC));
+    }
+
+    @Test
+    @DisplayName("Should split large id lists into payloads under the NOTIFY limit without losing ids")
+    void shouldSplitPayloads() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1_000_000_000L, 1_000_002_000L).boxed().toList();
+
+        // When
+        List<String> payloads = PgStockChangeSignalAdapter.payloads(ids);
+
+        // Then
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(PgStockChangeSignalAdapter.MAX_PAYLOAD));
+        assertThat(payloads.stream().flatMap(payload -> Arrays.stream(payload.split(","))).map(Long::valueOf).toList())
+                .isEqualTo(ids);
+    }
+}
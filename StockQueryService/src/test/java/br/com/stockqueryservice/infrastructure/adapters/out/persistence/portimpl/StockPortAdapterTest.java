@@ -1,6 +1,10 @@
 package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
 
+import br.com.stockqueryservice.domain.model.ProductStockTotal;
+import br.com.stockqueryservice.domain.model.ProductStockTotalPage;
 import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockPage;
+import br.com.stockqueryservice.domain.model.StockVersion;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.entity.StockEntity;
 import br.com.stockqueryservice.infrastructure.adapters.out.persistence.repository.StockRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,17 +12,31 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,15 +46,20 @@ class StockPortAdapterTest {
     @Mock
     private StockRepository stockRepository;
 
-    @InjectMocks
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     private StockPortAdapter stockPortAdapter;
 
+    private static final int FETCH_SIZE = 500;
+
     private StockEntity stockEntity1;
     private StockEntity stockEntity2;
     private StockEntity stockEntity3;
 
     @BeforeEach
     void setUp() {
+        stockPortAdapter = new StockPortAdapter(stockRepository, jdbcTemplate, FETCH_SIZE);
         LocalDateTime now = LocalDateTime.now();
         stockEntity1 = createStockEntity(1L, 100L, 10L, 50, now, "Product 1", "Store A");
         stockEntity2 = createStockEntity(2L, 100L, 20L, 25, now, "Product 1", "Store B");
@@ -244,39 +267,182 @@ class StockPortAdapterTest {
     }
 
     @Nested
-    @DisplayName("Find All")
-    class FindAll {
+    @DisplayName("Find By Product Ids")
+    class FindByProductIds {
 
         @Test
-        @DisplayName("Should return all stock from all stores and products")
-        void shouldReturnAllStockFromAllStoresAndProducts() {
+        @DisplayName("Should group the rows of one query by product")
+        void shouldGroupRowsByProduct() {
             // Given
-            List<StockEntity> entities = Arrays.asList(stockEntity1, stockEntity2, stockEntity3);
-            when(stockRepository.findAll()).thenReturn(entities);
+            List<Long> productIds = List.of(100L, 200L, 300L);
+            when(stockRepository.findByProductIdIn(productIds)).thenReturn(List.of(stockEntity1, stockEntity2, stockEntity3));
 
             // When
-            List<Stock> result = stockPortAdapter.findAll();
+            Map<Long, List<Stock>> result = stockPortAdapter.findByProductIds(productIds, null);
 
             // Then
-            assertThat(result).hasSize(3);
-            assertThat(result).extracting(Stock::id).containsExactlyInAnyOrder(1L, 2L, 3L);
-            assertThat(result).extracting(Stock::productId).containsExactlyInAnyOrder(100L, 100L, 200L);
-            assertThat(result).extracting(Stock::storeId).containsExactlyInAnyOrder(10L, 20L, 10L);
-            verify(stockRepository).findAll();
+            assertThat(result.get(100L)).extracting(Stock::id).containsExactly(1L, 2L);
+            assertThat(result.get(200L)).extracting(Stock::id).containsExactly(3L);
+            assertThat(result.get(300L)).isEmpty();
+            verify(stockRepository).findByProductIdIn(productIds);
         }
 
         @Test
-        @DisplayName("Should return empty list when no stock exists")
-        void shouldReturnEmptyListWhenNoStockExists() {
+        @DisplayName("Should restrict the query to the store when one is given")
+        void shouldRestrictToStore() {
             // Given
-            when(stockRepository.findAll()).thenReturn(List.of());
+            List<Long> productIds = List.of(100L, 200L);
+            when(stockRepository.findByProductIdInAndStoreId(productIds, 10L)).thenReturn(List.of(stockEntity1, stockEntity3));
 
             // When
-            List<Stock> result = stockPortAdapter.findAll();
+            Map<Long, List<Stock>> result = stockPortAdapter.findByProductIds(productIds, 10L);
 
             // Then
-            assertThat(result).isEmpty();
-            verify(stockRepository).findAll();
+            assertThat(result.get(100L)).extracting(Stock::storeId).containsExactly(10L);
+            assertThat(result.get(200L)).extracting(Stock::storeId).containsExactly(10L);
+            verify(stockRepository, never()).findByProductIdIn(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Version")
+    class FindVersion {
+
+        @Test
+        @DisplayName("Should aggregate the version of the requested products in one store")
+        @SuppressWarnings("unchecked")
+        void shouldAggregateProductsInStore() {
+            // Given
+            when(jdbcTemplate.queryForObject(eq(StockPortAdapter.VERSION_SQL + "produto_id IN (?, ?) AND loja_id = ?"),
+                    any(RowMapper.class), eq(100L), eq(200L), eq(10L)))
+                    .thenReturn(new StockVersion(2, 15));
+
+            // When
+            StockVersion version = stockPortAdapter.findVersion(List.of(100L, 200L), 10L);
+
+            // Then
+            assertThat(version).isEqualTo(new StockVersion(2, 15));
+            verifyNoInteractions(stockRepository);
+        }
+
+        @Test
+        @DisplayName("Should aggregate the whole store when no product is given")
+        @SuppressWarnings("unchecked")
+        void shouldAggregateWholeStore() {
+            // Given
+            when(jdbcTemplate.queryForObject(eq(StockPortAdapter.VERSION_SQL + "loja_id = ?"), any(RowMapper.class), eq(10L)))
+                    .thenReturn(new StockVersion(4, 30));
+
+            // When
+            StockVersion version = stockPortAdapter.findVersion(null, 10L);
+
+            // Then
+            assertThat(version.rows()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Page")
+    class FindPage {
+
+        @Test
+        @DisplayName("Should return the cursor of the last row when more rows follow")
+        void shouldReturnCursorWhenMoreRowsFollow() {
+            // Given
+            Stock first = new Stock(5L, 100L, 10L, 50, LocalDateTime.now(), "Product 1", "Store A");
+            Stock second = new Stock(6L, 100L, 20L, 25, LocalDateTime.now(), "Product 1", "Store B");
+            Stock extra = new Stock(7L, 200L, 10L, 75, LocalDateTime.now(), "Product 2", "Store A");
+            when(jdbcTemplate.query(StockPortAdapter.PAGE_SQL, StockPortAdapter.STOCK_MAPPER, 4L, 3))
+                    .thenReturn(List.of(first, second, extra));
+
+            // When
+            StockPage page = stockPortAdapter.findPage(4L, 2);
+
+            // Then
+            assertThat(page.items()).containsExactly(first, second);
+            assertThat(page.nextCursor()).isEqualTo(6L);
+            verifyNoInteractions(stockRepository);
+        }
+
+        @Test
+        @DisplayName("Should start from the beginning and end the listing on a short page")
+        void shouldEndListingOnShortPage() {
+            // Given
+            Stock only = new Stock(1L, 100L, 10L, 50, LocalDateTime.now(), "Product 1", "Store A");
+            when(jdbcTemplate.query(StockPortAdapter.PAGE_SQL, StockPortAdapter.STOCK_MAPPER, 0L, 11))
+                    .thenReturn(List.of(only));
+
+            // When
+            StockPage page = stockPortAdapter.findPage(null, 10);
+
+            // Then
+            assertThat(page.items()).containsExactly(only);
+            assertThat(page.nextCursor()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Product Totals")
+    class FindProductTotals {
+
+        @Test
+        @DisplayName("Should page the maintained totals by product id")
+        void shouldPageTotalsByProductId() {
+            // Given
+            ProductStockTotal first = new ProductStockTotal(100L, "Product 1", 75, 2);
+            ProductStockTotal second = new ProductStockTotal(200L, "Product 2", 75, 1);
+            ProductStockTotal extra = new ProductStockTotal(300L, "Product 3", 10, 1);
+            when(jdbcTemplate.query(StockPortAdapter.TOTALS_PAGE_SQL, StockPortAdapter.TOTAL_MAPPER, 0L, 3))
+                    .thenReturn(List.of(first, second, extra));
+
+            // When
+            ProductStockTotalPage page = stockPortAdapter.findProductTotals(null, 2);
+
+            // Then
+            assertThat(page.items()).containsExactly(first, second);
+            assertThat(page.nextCursor()).isEqualTo(200L);
+            verifyNoInteractions(stockRepository);
+        }
+
+        @Test
+        @DisplayName("Should end the listing on a short page")
+        void shouldEndListingOnShortPage() {
+            // Given
+            ProductStockTotal only = new ProductStockTotal(300L, "Product 3", 10, 1);
+            when(jdbcTemplate.query(StockPortAdapter.TOTALS_PAGE_SQL, StockPortAdapter.TOTAL_MAPPER, 200L, 11))
+                    .thenReturn(List.of(only));
+
+            // When
+            ProductStockTotalPage page = stockPortAdapter.findProductTotals(200L, 10);
+
+            // Then
+            assertThat(page.items()).containsExactly(only);
+            assertThat(page.nextCursor()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream All")
+    class StreamAll {
+
+        @Test
+        @DisplayName("Should open a forward-only cursor with the configured fetch size")
+        void shouldUseForwardOnlyCursor() throws SQLException {
+            // Given
+            Connection connection = mock(Connection.class);
+            PreparedStatement preparedStatement = mock(PreparedStatement.class);
+            when(connection.prepareStatement(StockPortAdapter.STREAM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                    .thenReturn(preparedStatement);
+
+            // When
+            stockPortAdapter.streamAll(stock -> {
+            });
+
+            // Then
+            ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+            verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+            creator.getValue().createPreparedStatement(connection);
+            verify(preparedStatement).setFetchSize(FETCH_SIZE);
         }
     }
 
@@ -0,0 +1,226 @@
+package br.com.stockqueryservice.infrastructure.adapters.out.persistence.portimpl;
+
+import br.com.stockqueryservice.domain.model.ProductStockTotalDelta;
+import br.com.stockqueryservice.domain.model.ProjectionOffset;
+import br.com.stockqueryservice.domain.model.Stock;
+import br.com.stockqueryservice.domain.model.StockChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Projection Adapter Tests")
+class StockProjectionAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Connection connection;
+
+    @InjectMocks
+    private StockProjectionAdapter stockProjectionAdapter;
+
+    @Nested
+    @DisplayName("Upsert Stock")
+    class UpsertStock {
+
+        @Test
+        @DisplayName("Should assign catalog ids in sorted order before upserting the stock rows in one statement")
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void shouldEnsureIdsThenUpsert() throws SQLException {
+            // Given
+            Instant ocorridoEm = Instant.parse("2024-01-01T10:00:00Z");
+            List<StockChange> changes = List.of(
+                    new StockChange("LOJA002", "SKU2", 4, 9, 1, ocorridoEm),
+                    new StockChange("LOJA001", "SKU1", 7, 3, 1, ocorridoEm));
+            Stock written = new Stock(1L, 2L, 3L, 4, LocalDateTime.of(2024, 1, 1, 10, 0), "Produto", "Loja");
+            // query(String, PreparedStatementSetter, RowCallbackHandler) shares its name with the upsert's overload
+            doNothing().when(jdbcTemplate).query(eq(StockProjectionAdapter.LOCK_PREVIOUS_STOCK_SQL), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+            when(jdbcTemplate.query(eq(StockProjectionAdapter.UPSERT_STOCK_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                    .thenReturn(List.of(written));
+
+            // When
+            List<Stock> result = stockProjectionAdapter.upsertStock(changes);
+
+            // Then
+            ArgumentCaptor<Collection> skus = ArgumentCaptor.forClass(Collection.class);
+            ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+            InOrder inOrder = inOrder(jdbcTemplate);
+            inOrder.verify(jdbcTemplate).batchUpdate(eq(StockProjectionAdapter.ENSURE_PRODUCT_SQL), skus.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+            inOrder.verify(jdbcTemplate).batchUpdate(eq(StockProjectionAdapter.ENSURE_STORE_SQL), any(Collection.class), eq(2), any(ParameterizedPreparedStatementSetter.class));
+            inOrder.verify(jdbcTemplate).query(eq(StockProjectionAdapter.LOCK_PREVIOUS_STOCK_SQL), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+            inOrder.verify(jdbcTemplate).query(eq(StockProjectionAdapter.UPSERT_STOCK_SQL), setter.capture(), any(RowMapper.class));
+            inOrder.verify(jdbcTemplate).update(eq(StockProjectionAdapter.ADD_TO_TOTALS_SQL), any(PreparedStatementSetter.class));
+            assertThat(skus.getValue()).containsExactly("SKU1", "SKU2");
+            assertThat(result).containsExactly(written);
+
+            when(preparedStatement.getConnection()).thenReturn(connection);
+            setter.getValue().setValues(preparedStatement);
+            verify(connection).createArrayOf("varchar", new Object[]{"LOJA002", "LOJA001"});
+            verify(connection).createArrayOf("varchar", new Object[]{"SKU2", "SKU1"});
+            verify(connection).createArrayOf("bigint", new Object[]{9L, 3L});
+            verify(preparedStatement, times(6)).setArray(anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("Should not touch the totals when no row was written")
+        @SuppressWarnings("unchecked")
+        void shouldSkipTotalsWithoutWrites() {
+            // Given
+            doNothing().when(jdbcTemplate).query(eq(StockProjectionAdapter.LOCK_PREVIOUS_STOCK_SQL), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+            when(jdbcTemplate.query(eq(StockProjectionAdapter.UPSERT_STOCK_SQL), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                    .thenReturn(List.of());
+
+            // When
+            stockProjectionAdapter.upsertStock(List.of(new StockChange("LOJA001", "SKU1", 7, 3, 1, Instant.now())));
+
+            // Then
+            verify(jdbcTemplate, never()).update(eq(StockProjectionAdapter.ADD_TO_TOTALS_SQL), any(PreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should add the difference to the previous quantity and count only new rows as stores")
+        void shouldComputeTotalDeltas() {
+            // Given
+            LocalDateTime now = LocalDateTime.now();
+            List<Stock> written = List.of(
+                    new Stock(1L, 20L, 1L, 12, now, "Produto 20", "Loja 1"),
+                    new Stock(2L, 10L, 1L, 5, now, "Produto 10", "Loja 1"),
+                    new Stock(3L, 20L, 2L, 4, now, "Produto 20", "Loja 2"),
+                    new Stock(4L, 30L, 1L, 8, now, "Produto 30", "Loja 1"));
+
+            // When
+            Collection<ProductStockTotalDelta> deltas = StockProjectionAdapter.totalDeltas(written, Map.of(1L, 10, 4L, 8));
+
+            // Then
+            assertThat(deltas).containsExactly(
+                    new ProductStockTotalDelta(10L, "Produto 10", 5, 1),
+                    new ProductStockTotalDelta(20L, "Produto 20", 6, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Offsets")
+    class Offsets {
+
+        @Test
+        @DisplayName("Should skip the write when there are no offsets")
+        void shouldSkipEmptyOffsets() {
+            // When
+            stockProjectionAdapter.saveOffsets(List.of());
+
+            // Then
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("Should batch the offsets of every partition")
+        @SuppressWarnings("unchecked")
+        void shouldBatchOffsets() {
+            // Given
+            List<ProjectionOffset> offsets = List.of(
+                    new ProjectionOffset("estoque_atualizado", 0, 10),
+                    new ProjectionOffset("estoque_atualizado", 1, 20));
+
+            // When
+            stockProjectionAdapter.saveOffsets(offsets);
+
+            // Then
+            verify(jdbcTemplate).batchUpdate(eq(StockProjectionAdapter.SAVE_OFFSET_SQL), eq(offsets), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        }
+
+        @Test
+        @DisplayName("Should return the stored offset of a partition")
+        void shouldFindOffset() {
+            // Given
+            when(jdbcTemplate.queryForList(StockProjectionAdapter.FIND_OFFSET_SQL, Long.class, "produtos", 0)).thenReturn(List.of(15L));
+
+            // When
+            Optional<Long> offset = stockProjectionAdapter.findOffset("produtos", 0);
+
+            // Then
+            assertThat(offset).contains(15L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reset")
+    class Reset {
+
+        @Test
+        @DisplayName("Should delete the stock rows last written from a partition and drop the totals left empty")
+        void shouldDeletePartitionRows() {
+            // Given
+            when(jdbcTemplate.queryForList(StockProjectionAdapter.DELETE_PARTITION_STOCK_SQL, Long.class, 3)).thenReturn(List.of(7L));
+
+            // When
+            stockProjectionAdapter.deleteStockFromPartition(3);
+
+            // Then
+            verify(jdbcTemplate).queryForList(StockProjectionAdapter.DELETE_PARTITION_STOCK_SQL, Long.class, 3);
+            verify(jdbcTemplate).update(eq(StockProjectionAdapter.DELETE_EMPTY_TOTALS_SQL), any(PreparedStatementSetter.class));
+            verify(jdbcTemplate, never()).update(eq(StockProjectionAdapter.DELETE_OFFSET_SQL), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should leave the totals alone when no product ran out of rows")
+        void shouldKeepNonEmptyTotals() {
+            // Given
+            when(jdbcTemplate.queryForList(StockProjectionAdapter.DELETE_PARTITION_STOCK_SQL, Long.class, 3)).thenReturn(List.of());
+
+            // When
+            stockProjectionAdapter.deleteStockFromPartition(3);
+
+            // Then
+            verify(jdbcTemplate, never()).update(eq(StockProjectionAdapter.DELETE_EMPTY_TOTALS_SQL), any(PreparedStatementSetter.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Product Totals")
+    class ProductTotals {
+
+        @Test
+        @DisplayName("Should add the corrections and then drop the totals left without stores")
+        void shouldAdjustTotals() {
+            // When
+            stockProjectionAdapter.adjustProductTotals(List.of(new ProductStockTotalDelta(7L, null, -3, -1)));
+
+            // Then
+            InOrder inOrder = inOrder(jdbcTemplate);
+            inOrder.verify(jdbcTemplate).update(eq(StockProjectionAdapter.ADD_TO_TOTALS_SQL), any(PreparedStatementSetter.class));
+            inOrder.verify(jdbcTemplate).update(eq(StockProjectionAdapter.DELETE_EMPTY_TOTALS_SQL), any(PreparedStatementSetter.class));
+        }
+    }
+}
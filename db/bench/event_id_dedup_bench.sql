@@ -0,0 +1,70 @@
+-- Benchmark: eventId dedup in eventos_processados (hashCode offset, partition 0) vs eventos_id_processados (16-byte digest)
+-- Run against a scratch database: psql -v rows=100000000 -f db/bench/event_id_dedup_bench.sql
+-- Loads :rows synthetic eventIds into both layouts, then reports index sizes and point-lookup latency.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP TABLE IF EXISTS bench_eventos_processados;
+DROP TABLE IF EXISTS bench_eventos_id_processados;
+
+CREATE TABLE bench_eventos_processados (
+    id CHAR(36) NOT NULL,
+    topico VARCHAR(128) NOT NULL,
+    particao INT NOT NULL,
+    offset_value BIGINT NOT NULL,
+    processado_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT bench_uk_event UNIQUE (topico, particao, offset_value)
+);
+
+CREATE TABLE bench_eventos_id_processados (
+    digest BYTEA NOT NULL,
+    bucket INT NOT NULL,
+    processado_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (digest)
+);
+CREATE INDEX bench_idx_evento_id_bucket ON bench_eventos_id_processados (bucket);
+
+-- Current layout: 32-bit hash as offset, so collisions are dropped by ON CONFLICT exactly as in production
+INSERT INTO bench_eventos_processados (id, topico, particao, offset_value, processado_em)
+SELECT gen_random_uuid()::text, 'vendas', 0, hashtext('evt-' || g), now() - (g % 7) * interval '1 day'
+FROM generate_series(1, :rows) g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO bench_eventos_id_processados (digest, bucket, processado_em)
+SELECT substring(sha256(convert_to('vendas:evt-' || g, 'UTF8')) FROM 1 FOR 16),
+       (extract(epoch FROM now())::bigint / 86400)::int - (g % 7),
+       now() - (g % 7) * interval '1 day'
+FROM generate_series(1, :rows) g
+ON CONFLICT DO NOTHING;
+
+VACUUM ANALYZE bench_eventos_processados;
+VACUUM ANALYZE bench_eventos_id_processados;
+
+-- Rows lost to 32-bit collisions in the current layout
+SELECT :rows - count(*) AS colisoes_descartadas FROM bench_eventos_processados;
+
+SELECT 'eventos_processados' AS tabela,
+       pg_size_pretty(pg_relation_size('bench_eventos_processados')) AS heap,
+       pg_size_pretty(pg_relation_size('bench_uk_event')) AS indice_dedup,
+       pg_size_pretty(pg_indexes_size('bench_eventos_processados')) AS indices_total
+UNION ALL
+SELECT 'eventos_id_processados',
+       pg_size_pretty(pg_relation_size('bench_eventos_id_processados')),
+       pg_size_pretty(pg_relation_size('bench_eventos_id_processados_pkey')),
+       pg_size_pretty(pg_indexes_size('bench_eventos_id_processados'));
+
+-- Point lookups, as issued by the conflict check of each insert
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT 1 FROM bench_eventos_processados
+WHERE topico = 'vendas' AND particao = 0 AND offset_value = hashtext('evt-' || (:rows / 2));
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT 1 FROM bench_eventos_id_processados
+WHERE digest = substring(sha256(convert_to('vendas:evt-' || (:rows / 2), 'UTF8')) FROM 1 FOR 16);
+
+-- Retention: dropping the oldest bucket
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM bench_eventos_id_processados
+WHERE bucket < (extract(epoch FROM now())::bigint / 86400)::int - 5;
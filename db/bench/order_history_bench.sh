@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Benchmark: latency of GET /api/orders?customerId= for customers with 10, 1k and 100k orders
+# Run against a scratch database migrated to the current schema and a running OrderService:
+#   PGDATABASE=projeto-teste ROUNDS=20 db/bench/order_history_bench.sh
+# Seeds one customer per size (3 items per order), then reports the average wall time of the first page and of
+# walking PAGES further pages through X-Next-Cursor. Before the keyset history the first call returned every order
+# of the customer (one query per order for its items); run the same script on the parent commit to compare.
+
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8082}
+SIZES=${SIZES:-"10 1000 100000"}
+ROUNDS=${ROUNDS:-20}
+PAGES=${PAGES:-20}
+LIMIT=${LIMIT:-50}
+
+now_ms() { date +%s%3N; }
+
+for size in ${SIZES}; do
+    psql -v ON_ERROR_STOP=1 -q <<SQL
+DELETE FROM pedidos WHERE cliente_id = 'bench-${size}';
+WITH base AS (SELECT COALESCE(MAX(id), 0) AS id FROM pedidos),
+     novos AS (
+         INSERT INTO pedidos (id, numero, cliente_id, loja_id, status, total_centavos, criado_em, atualizado_em)
+         SELECT base.id + g, 'BENCH-${size}-' || g, 'bench-${size}', g % 50, 'COMPLETED', 3000,
+                now() - make_interval(mins => g), now()
+         FROM base, generate_series(1, ${size}) AS g
+         RETURNING id)
+INSERT INTO itens_pedido (id, pedido_id, sku, quantidade, preco_centavos)
+SELECT (SELECT COALESCE(MAX(id), 0) FROM itens_pedido) + row_number() OVER (), novos.id, 'SKU' || i, 1, 1000
+FROM novos, generate_series(1, 3) AS i;
+-- keep the pooled sequences past the seeded ids
+SELECT setval('pedidos_id_seq', (SELECT MAX(id) FROM pedidos) + 50, false);
+SELECT setval('itens_pedido_id_seq', (SELECT MAX(id) FROM itens_pedido) + 200, false);
+ANALYZE pedidos;
+ANALYZE itens_pedido;
+SQL
+
+    first_total=0
+    for _ in $(seq "${ROUNDS}"); do
+        start=$(now_ms)
+        curl -sf -o /dev/null "${BASE_URL}/api/orders?customerId=bench-${size}&limit=${LIMIT}"
+        first_total=$((first_total + $(now_ms) - start))
+    done
+
+    walked=0
+    cursor=""
+    start=$(now_ms)
+    for _ in $(seq "${PAGES}"); do
+        cursor=$(curl -sf -D - -o /dev/null \
+            "${BASE_URL}/api/orders?customerId=bench-${size}&limit=${LIMIT}${cursor:+&after=${cursor}}" \
+            | tr -d '\r' | awk 'tolower($1) == "x-next-cursor:" { print $2 }')
+        walked=$((walked + 1))
+        [ -z "${cursor}" ] && break
+    done
+    walk_ms=$(( $(now_ms) - start ))
+
+    echo "orders=${size} first_page_avg_ms=$((first_total / ROUNDS)) pages_walked=${walked} page_avg_ms=$((walk_ms / walked))"
+done
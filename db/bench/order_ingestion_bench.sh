@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Benchmark: OrderService ingestion throughput (orders/sec) from the vendas topic, for 1, 10 and 100-item baskets
+# Run against the docker-compose Kafka and Postgres with a running OrderService, once on the commit before batched
+# ingestion and once after, and compare the reported rates:
+#   PGDATABASE=projeto-teste ORDERS=20000 db/bench/order_ingestion_bench.sh
+# For each basket size it publishes ORDERS events (typed with the __TypeId__ header the JsonDeserializer expects)
+# and times how long it takes until all of them are rows in pedidos. With REPLAY=1 (default) it then publishes the
+# same events again, as a partition replayed after a rebalance, and times until the consumer group has no lag; the
+# pedidos count must not change.
+
+set -euo pipefail
+
+ORDERS=${ORDERS:-20000}
+BASKETS=${BASKETS:-"1 10 100"}
+TOPIC=${TOPIC:-vendas}
+KAFKA_CONTAINER=${KAFKA_CONTAINER:-$(docker compose ps -q kafka)}
+TYPE_ID=br.com.orderservice.infrastructure.adapters.in.messaging.dto.SalesEvent
+TIMEOUT_S=${TIMEOUT_S:-900}
+REPLAY=${REPLAY:-1}
+GROUP_ID=${GROUP_ID:-order-service-group}
+
+now_ms() { date +%s%3N; }
+
+orders_count() {
+    psql -tAq -c "SELECT COUNT(*) FROM pedidos"
+}
+
+consumer_lag() {
+    docker exec "${KAFKA_CONTAINER}" /opt/kafka/bin/kafka-consumer-groups.sh --bootstrap-server localhost:9092 \
+        --describe --group "${GROUP_ID}" 2>/dev/null \
+        | awk -v topic="${TOPIC}" '$2 == topic && $6 ~ /^[0-9]+$/ { lag += $6 } END { print lag + 0 }'
+}
+
+publish() {
+    docker exec -i "${KAFKA_CONTAINER}" /opt/kafka/bin/kafka-console-producer.sh \
+        --bootstrap-server localhost:9092 --topic "${TOPIC}" \
+        --property parse.headers=true --producer-property linger.ms=20 > /dev/null
+}
+
+events() {
+    local items=$1 run=$2
+    awk -v n="${ORDERS}" -v items="${items}" -v run="${run}" -v type="${TYPE_ID}" 'BEGIN {
+        for (i = 1; i <= n; i++) {
+            basket = ""
+            for (j = 1; j <= items; j++) {
+                basket = basket (j > 1 ? "," : "") "{\"sku\":\"SKU" j "\",\"quantidade\":1,\"precoCentavos\":100}"
+            }
+            printf "__TypeId__:%s\t{\"eventId\":\"bench-%s-%d\",\"numero\":\"BENCH-%s-%d\",\"customerId\":\"cliente-%d\",\"storeCode\":\"LOJA%d\",\"totalCentavos\":%d,\"timestamp\":\"2026-01-01T10:00:00\",\"items\":[%s]}\n",
+                type, run, i, run, i, i % 5000, i % 50, items * 100, basket
+        }
+    }'
+}
+
+for items in ${BASKETS}; do
+    run="${items}-$(date +%s)"
+    before=$(orders_count)
+    target=$((before + ORDERS))
+
+    start=$(now_ms)
+    events "${items}" "${run}" | publish
+
+    while [ "$(orders_count)" -lt "${target}" ]; do
+        if [ $(( ($(now_ms) - start) / 1000 )) -ge "${TIMEOUT_S}" ]; then
+            echo "items=${items}: timed out with $(( $(orders_count) - before ))/${ORDERS} orders stored" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+    elapsed=$(( $(now_ms) - start ))
+
+    echo "items=${items} orders=${ORDERS} elapsed_ms=${elapsed} orders_per_sec=$(( ORDERS * 1000 / elapsed ))"
+
+    if [ "${REPLAY}" = "1" ]; then
+        start=$(now_ms)
+        events "${items}" "${run}" | publish
+        sleep 1
+        while [ "$(consumer_lag)" -gt 0 ]; do
+            sleep 0.2
+        done
+        elapsed=$(( $(now_ms) - start ))
+        stored=$(( $(orders_count) - before ))
+        echo "items=${items} replayed=${ORDERS} elapsed_ms=${elapsed} events_per_sec=$(( ORDERS * 1000 / elapsed )) stored=${stored}"
+    fi
+done
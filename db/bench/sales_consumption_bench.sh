@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Benchmark: InventoryService consumption throughput (sales/sec) from the vendas topic, per-record vs batch listener
+# Seed the catalog once before InventoryService starts (it preloads lojas and produtos), then start it with
+# inventory.kafka.sales.mode=single and run the script, and again with inventory.kafka.sales.mode=batch once the
+# first run has drained, comparing the reported rates:
+#   PGDATABASE=projeto-teste SEED_ONLY=1 db/bench/sales_consumption_bench.sh
+#   PGDATABASE=projeto-teste SALES=20000 db/bench/sales_consumption_bench.sh
+# For each basket size it publishes SALES events (typed with the __TypeId__ header the JsonDeserializer expects) and
+# times how long it takes until every one of them is claimed in eventos_id_processados (the events carry an eventId),
+# then reports how much the stock went down, which must equal the quantity sold. Use a scratch database: the claims
+# are counted for the whole table.
+
+set -euo pipefail
+
+SALES=${SALES:-20000}
+BASKETS=${BASKETS:-"1 10"}
+STORES=${STORES:-50}
+PRODUCTS=${PRODUCTS:-200}
+TOPIC=${TOPIC:-vendas}
+KAFKA_CONTAINER=${KAFKA_CONTAINER:-$(docker compose ps -q kafka)}
+TYPE_ID=br.com.inventoryservice.infrastructure.adapters.in.messaging.dto.event.SalesEvent
+TIMEOUT_S=${TIMEOUT_S:-900}
+
+now_ms() { date +%s%3N; }
+
+seed() {
+    psql -v ON_ERROR_STOP=1 -q <<SQL
+INSERT INTO lojas (codigo, nome)
+SELECT 'LOJA' || g, 'Loja ' || g FROM generate_series(0, ${STORES} - 1) AS g
+ON CONFLICT DO NOTHING;
+INSERT INTO produtos (sku, nome, ativo)
+SELECT 'SKU' || g, 'Produto ' || g, TRUE FROM generate_series(1, ${PRODUCTS}) AS g
+ON CONFLICT DO NOTHING;
+INSERT INTO estoque (loja_codigo, produto_sku, quantidade)
+SELECT 'LOJA' || l, 'SKU' || p, 1000000 FROM generate_series(0, ${STORES} - 1) AS l, generate_series(1, ${PRODUCTS}) AS p
+ON CONFLICT (loja_codigo, produto_sku) DO UPDATE SET quantidade = EXCLUDED.quantidade;
+ANALYZE lojas;
+ANALYZE produtos;
+ANALYZE estoque;
+SQL
+}
+
+processed_count() {
+    psql -tAq -c "SELECT COUNT(*) FROM eventos_id_processados"
+}
+
+stock_total() {
+    psql -tAq -c "SELECT SUM(quantidade) FROM estoque"
+}
+
+publish() {
+    docker exec -i "${KAFKA_CONTAINER}" /opt/kafka/bin/kafka-console-producer.sh \
+        --bootstrap-server localhost:9092 --topic "${TOPIC}" \
+        --property parse.headers=true --producer-property linger.ms=20 > /dev/null
+}
+
+events() {
+    local items=$1 run=$2
+    awk -v n="${SALES}" -v items="${items}" -v run="${run}" -v type="${TYPE_ID}" \
+        -v stores="${STORES}" -v products="${PRODUCTS}" 'BEGIN {
+        for (i = 1; i <= n; i++) {
+            basket = ""
+            for (j = 1; j <= items; j++) {
+                basket = basket (j > 1 ? "," : "") "{\"sku\":\"SKU" ((i + j) % products + 1) "\",\"quantidade\":1}"
+            }
+            printf "__TypeId__:%s\t{\"eventId\":\"bench-%s-%d\",\"tipo\":\"VENDA\",\"timestamp\":\"2026-01-01T10:00:00Z\",\"loja\":\"LOJA%d\",\"pedidoId\":\"BENCH-%s-%d\",\"itens\":[%s]}\n",
+                type, run, i, i % stores, run, i, basket
+        }
+    }'
+}
+
+seed
+if [ "${SEED_ONLY:-0}" = "1" ]; then
+    exit 0
+fi
+
+for items in ${BASKETS}; do
+    run="${items}-$(date +%s)"
+    before=$(processed_count)
+    target=$((before + SALES))
+    stock_before=$(stock_total)
+
+    start=$(now_ms)
+    events "${items}" "${run}" | publish
+
+    while [ "$(processed_count)" -lt "${target}" ]; do
+        if [ $(( ($(now_ms) - start) / 1000 )) -ge "${TIMEOUT_S}" ]; then
+            echo "items=${items}: timed out with $(( $(processed_count) - before ))/${SALES} sales processed" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+    elapsed=$(( $(now_ms) - start ))
+    # the stock write of the last sale commits in the same transaction as its claim
+    sold=$(( stock_before - $(stock_total) ))
+
+    echo "items=${items} sales=${SALES} elapsed_ms=${elapsed} sales_per_sec=$(( SALES * 1000 / elapsed )) units_sold=${sold}"
+done
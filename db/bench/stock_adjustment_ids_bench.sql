@@ -0,0 +1,84 @@
+-- Benchmark: ajustes_estoque keyed by random CHAR(36) UUIDs vs BIGINT identity, and the audit write path
+-- Run against a scratch database: psql -v rows=10000000 -v writes=100000 -f db/bench/stock_adjustment_ids_bench.sql
+-- Part 1 reports insert time (\timing) and primary key size for both layouts.
+-- Part 2 reports inserts per second for one INSERT statement per adjustment (the old save() path) vs 100-row
+-- multi-row INSERTs (what the JDBC batch becomes with reWriteBatchedInserts=true), each statement a round trip.
+
+\set ON_ERROR_STOP on
+\if :{?writes}
+\else
+    \set writes 100000
+\endif
+\timing on
+
+DROP TABLE IF EXISTS bench_ajustes_uuid;
+DROP TABLE IF EXISTS bench_ajustes_bigint;
+
+CREATE TABLE bench_ajustes_uuid (
+    id CHAR(36) NOT NULL PRIMARY KEY,
+    loja_codigo VARCHAR(64) NOT NULL,
+    produto_sku VARCHAR(64) NOT NULL,
+    delta INT NOT NULL,
+    motivo VARCHAR(255),
+    criado_em TIMESTAMP NOT NULL
+);
+
+CREATE TABLE bench_ajustes_bigint (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loja_codigo VARCHAR(64) NOT NULL,
+    produto_sku VARCHAR(64) NOT NULL,
+    delta INT NOT NULL,
+    motivo VARCHAR(255),
+    criado_em TIMESTAMP NOT NULL
+);
+
+-- Inserts per second = rows / elapsed time reported by \timing
+INSERT INTO bench_ajustes_uuid (id, loja_codigo, produto_sku, delta, motivo, criado_em)
+SELECT gen_random_uuid()::text, 'L' || (g % 500), 'SKU' || (g % 20000), (g % 21) - 10, 'bench', now()
+FROM generate_series(1, :rows) g;
+
+INSERT INTO bench_ajustes_bigint (loja_codigo, produto_sku, delta, motivo, criado_em)
+SELECT 'L' || (g % 500), 'SKU' || (g % 20000), (g % 21) - 10, 'bench', now()
+FROM generate_series(1, :rows) g;
+
+VACUUM ANALYZE bench_ajustes_uuid;
+VACUUM ANALYZE bench_ajustes_bigint;
+
+SELECT 'char36_uuid' AS layout,
+       pg_size_pretty(pg_relation_size('bench_ajustes_uuid_pkey')) AS pk,
+       pg_size_pretty(pg_total_relation_size('bench_ajustes_uuid')) AS total
+UNION ALL
+SELECT 'bigint_identity',
+       pg_size_pretty(pg_relation_size('bench_ajustes_bigint_pkey')),
+       pg_size_pretty(pg_total_relation_size('bench_ajustes_bigint'));
+
+-- Part 2: per-row vs batched writes, both inside one transaction so only the statement cost differs
+\timing off
+TRUNCATE bench_ajustes_bigint;
+
+SELECT clock_timestamp() AS t0 \gset
+\o /dev/null
+BEGIN;
+SELECT format('INSERT INTO bench_ajustes_bigint (loja_codigo, produto_sku, delta, motivo, criado_em) VALUES (%L, %L, %s, ''bench'', now())',
+              'L' || (g % 500), 'SKU' || (g % 20000), (g % 21) - 10)
+FROM generate_series(1, :writes) g
+\gexec
+COMMIT;
+\o
+SELECT 'per_row' AS write_path, :writes AS rows_written,
+       round(:writes / extract(epoch FROM clock_timestamp() - :'t0'::timestamptz)) AS inserts_per_s;
+
+TRUNCATE bench_ajustes_bigint;
+
+SELECT clock_timestamp() AS t0 \gset
+\o /dev/null
+BEGIN;
+SELECT 'INSERT INTO bench_ajustes_bigint (loja_codigo, produto_sku, delta, motivo, criado_em) VALUES '
+       || string_agg(format('(%L, %L, %s, ''bench'', now())', 'L' || (g % 500), 'SKU' || (g % 20000), (g % 21) - 10), ', ')
+FROM generate_series(1, :writes) g
+GROUP BY (g - 1) / 100
+\gexec
+COMMIT;
+\o
+SELECT 'batched_100' AS write_path, :writes AS rows_written,
+       round(:writes / extract(epoch FROM clock_timestamp() - :'t0'::timestamptz)) AS inserts_per_s;
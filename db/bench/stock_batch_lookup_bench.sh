@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Benchmark: one GET /stock/batch for N products vs N GET /stock?productId= calls
+# Run against a running StockQueryService whose read model already holds the products (e.g. after
+# stock_export_heap_bench.sh): PRODUCTS=50 ROUNDS=20 db/bench/stock_batch_lookup_bench.sh
+# Reports the average wall time per round of both access patterns, first with fresh random ids every round (cache
+# misses) and then repeating the same ids (served from the cache).
+
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8083}
+PRODUCTS=${PRODUCTS:-50}
+ROUNDS=${ROUNDS:-20}
+MAX_PRODUCT_ID=${MAX_PRODUCT_ID:-50000}
+
+now_ms() { date +%s%3N; }
+
+random_ids() {
+    shuf -i 1-"${MAX_PRODUCT_ID}" -n "${PRODUCTS}"
+}
+
+individual() {
+    local id
+    for id in "$@"; do
+        curl -sf -o /dev/null "${BASE_URL}/api/inventory/stock?productId=${id}"
+    done
+}
+
+batch() {
+    local joined
+    joined=$(IFS=,; echo "$*")
+    curl -sf -o /dev/null "${BASE_URL}/api/inventory/stock/batch?productIds=${joined}"
+}
+
+run() {
+    local label=$1 reuse=$2 total_individual=0 total_batch=0 start ids=()
+    mapfile -t ids < <(random_ids)
+    for ((round = 0; round < ROUNDS; round++)); do
+        [[ "$reuse" == "no" ]] && mapfile -t ids < <(random_ids)
+        start=$(now_ms); individual "${ids[@]}"; total_individual=$(( total_individual + $(now_ms) - start ))
+        [[ "$reuse" == "no" ]] && mapfile -t ids < <(random_ids)
+        start=$(now_ms); batch "${ids[@]}"; total_batch=$(( total_batch + $(now_ms) - start ))
+    done
+    echo "${label}: products=${PRODUCTS} individual_avg=$(( total_individual / ROUNDS ))ms batch_avg=$(( total_batch / ROUNDS ))ms"
+}
+
+run "cold (new ids per round)" no
+run "warm (same ids every round)" yes
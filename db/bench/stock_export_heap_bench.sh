@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Benchmark: heap of StockQueryService while exporting the whole estoque_consulta read model
+# Run against a scratch database and a running service started with a small heap and the metrics endpoint exposed:
+#   JAVA_TOOL_OPTIONS=-Xmx256m MANAGEMENT_ENDPOINTS_WEB_EXPOSURE_INCLUDE=metrics java -jar StockQueryService/target/*.jar
+#   PGDATABASE=projeto-teste ROWS=10000000 db/bench/stock_export_heap_bench.sh
+# Loads ROWS synthetic rows (with their produtos_consulta, lojas_consulta and estoque_total_produto rows), streams
+# /stock/export and then walks /stock/all page by page, sampling heap once a second. Peak heap should stay flat as
+# ROWS grows; the old findAll() ran out of heap well before 10M rows.
+
+set -euo pipefail
+
+ROWS=${ROWS:-10000000}
+BASE_URL=${BASE_URL:-http://localhost:8083}
+PAGE_SIZE=${PAGE_SIZE:-5000}
+
+psql -v ON_ERROR_STOP=1 -q <<SQL
+-- one table per statement: the running service locks them in its own order
+TRUNCATE estoque_consulta;
+TRUNCATE estoque_total_produto;
+TRUNCATE produtos_consulta;
+TRUNCATE lojas_consulta;
+INSERT INTO produtos_consulta (sku, id, nome, ativo)
+SELECT 'SKU' || p, p, 'Produto ' || p, TRUE FROM generate_series(0, LEAST(${ROWS}, 50000) - 1) AS p;
+INSERT INTO lojas_consulta (codigo, id, nome)
+SELECT 'LOJA' || l, l, 'Loja ' || l FROM generate_series(0, ${ROWS} / 50000) AS l;
+INSERT INTO estoque_consulta (produto_id, loja_id, produto_sku, loja_codigo, quantidade, versao, particao,
+                              data_atualizacao, nome_produto, nome_loja)
+SELECT g % 50000, g / 50000, 'SKU' || (g % 50000), 'LOJA' || (g / 50000), (g % 97)::int, 1, 0,
+       now(), 'Produto ' || (g % 50000), 'Loja ' || (g / 50000)
+FROM generate_series(1, ${ROWS}) AS g;
+INSERT INTO estoque_total_produto (produto_id, nome_produto, quantidade_total, lojas, atualizado_em)
+SELECT produto_id, MAX(nome_produto), SUM(quantidade), COUNT(*), now()
+FROM estoque_consulta
+GROUP BY produto_id;
+-- codes projected later must not reuse the seeded ids
+SELECT setval('produtos_consulta_id_seq', (SELECT MAX(id) FROM produtos_consulta) + 1, false);
+SELECT setval('lojas_consulta_id_seq', (SELECT MAX(id) FROM lojas_consulta) + 1, false);
+ANALYZE produtos_consulta;
+ANALYZE lojas_consulta;
+ANALYZE estoque_consulta;
+ANALYZE estoque_total_produto;
+SQL
+
+heap_used() {
+    curl -sf "${BASE_URL}/actuator/metrics/jvm.memory.used?tag=area:heap" \
+        | sed -E 's/.*"value":([0-9.E+]+).*/\1/' | awk '{ printf "%d", $1 / 1048576 }'
+}
+
+sample_while() {
+    local pid=$1 peak=0 mb
+    while kill -0 "$pid" 2>/dev/null; do
+        mb=$(heap_used)
+        (( mb > peak )) && peak=$mb
+        sleep 1
+    done
+    echo "$peak"
+}
+
+echo "rows=${ROWS} heap_before=$(heap_used)MB"
+
+start=$(date +%s)
+curl -sf "${BASE_URL}/api/inventory/stock/export" -o /tmp/stock_export.ndjson &
+peak=$(sample_while $!)
+echo "export: lines=$(wc -l < /tmp/stock_export.ndjson) seconds=$(( $(date +%s) - start )) peak_heap=${peak}MB"
+
+walk_pages() {
+    local cursor="" headers
+    while :; do
+        headers=$(curl -sf -D - -o /dev/null "${BASE_URL}/api/inventory/stock/all?limit=${PAGE_SIZE}${cursor:+&after=$cursor}")
+        cursor=$(printf '%s' "$headers" | tr -d '\r' | awk -F': ' 'tolower($1) == "x-next-cursor" { print $2 }')
+        [[ -z "$cursor" ]] && break
+    done
+}
+
+start=$(date +%s)
+walk_pages &
+peak=$(sample_while $!)
+echo "keyset pages: limit=${PAGE_SIZE} seconds=$(( $(date +%s) - start )) peak_heap=${peak}MB"
+
+rm -f /tmp/stock_export.ndjson
@@ -0,0 +1,89 @@
+-- Benchmark: product totals listing from stock_view (GROUP BY over estoque_consulta) vs estoque_total_produto (maintained)
+-- Run against a scratch database: psql -v rows=1000000000 -v products=1000000 -f db/bench/stock_totals_listing_bench.sql
+-- Loads :rows synthetic stock rows over :products products, then times the first and a middle page of 1000 totals
+-- both ways, and the cost the maintained totals add to a 500-row projection batch.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP VIEW IF EXISTS bench_stock_view;
+DROP TABLE IF EXISTS bench_estoque;
+DROP TABLE IF EXISTS bench_estoque_total_produto;
+
+CREATE UNLOGGED TABLE bench_estoque (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    loja_id BIGINT NOT NULL,
+    quantidade INT NOT NULL,
+    nome_produto VARCHAR(255)
+);
+
+CREATE UNLOGGED TABLE bench_estoque_total_produto (
+    produto_id BIGINT NOT NULL PRIMARY KEY,
+    nome_produto VARCHAR(255),
+    quantidade_total BIGINT NOT NULL,
+    lojas INT NOT NULL,
+    atualizado_em TIMESTAMP
+);
+
+INSERT INTO bench_estoque (produto_id, loja_id, quantidade, nome_produto)
+SELECT g % :products, g / :products, (g % 97)::int, 'Produto ' || (g % :products)
+FROM generate_series(1, :rows) AS g;
+CREATE INDEX bench_idx_estoque_produto ON bench_estoque (produto_id);
+ANALYZE bench_estoque;
+
+-- Same definition stock_view had before V4
+CREATE VIEW bench_stock_view AS
+SELECT produto_id, nome_produto, SUM(quantidade) AS quantidade_total
+FROM bench_estoque
+GROUP BY produto_id, nome_produto;
+
+INSERT INTO bench_estoque_total_produto (produto_id, nome_produto, quantidade_total, lojas, atualizado_em)
+SELECT produto_id, MAX(nome_produto), SUM(quantidade), COUNT(*), now()
+FROM bench_estoque
+GROUP BY produto_id;
+ANALYZE bench_estoque_total_produto;
+
+\echo 'view: first page'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_stock_view ORDER BY produto_id LIMIT 1000;
+
+\echo 'view: middle page'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_stock_view WHERE produto_id > :products / 2 ORDER BY produto_id LIMIT 1000;
+
+\echo 'maintained totals: first page'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT produto_id, nome_produto, quantidade_total, lojas FROM bench_estoque_total_produto
+WHERE produto_id > 0 ORDER BY produto_id LIMIT 1001;
+
+\echo 'maintained totals: middle page'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT produto_id, nome_produto, quantidade_total, lojas FROM bench_estoque_total_produto
+WHERE produto_id > :products / 2 ORDER BY produto_id LIMIT 1001;
+
+-- Write side: what a 500-row projection batch pays for the totals (previous quantities under lock + one delta upsert)
+\echo 'projection batch: lock previous rows'
+BEGIN;
+SELECT id, quantidade FROM bench_estoque WHERE id IN (SELECT g * 1999 FROM generate_series(1, 500) AS g)
+ORDER BY id FOR UPDATE;
+
+\echo 'projection batch: add deltas to totals'
+INSERT INTO bench_estoque_total_produto AS t (produto_id, nome_produto, quantidade_total, lojas, atualizado_em)
+SELECT p, 'Produto ' || p, 1, 0, now() FROM generate_series(1, 500) AS p
+ON CONFLICT (produto_id) DO UPDATE
+SET quantidade_total = t.quantidade_total + EXCLUDED.quantidade_total,
+    lojas = t.lojas + EXCLUDED.lojas,
+    atualizado_em = EXCLUDED.atualizado_em;
+ROLLBACK;
+
+\echo 'reconciliation: full drift check'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COALESCE(e.produto_id, t.produto_id)
+FROM (SELECT produto_id, SUM(quantidade) AS quantidade_total, COUNT(*) AS lojas FROM bench_estoque GROUP BY produto_id) e
+FULL JOIN bench_estoque_total_produto t ON t.produto_id = e.produto_id
+WHERE e.quantidade_total IS DISTINCT FROM t.quantidade_total OR e.lojas IS DISTINCT FROM t.lojas;
+
+DROP VIEW bench_stock_view;
+DROP TABLE bench_estoque;
+DROP TABLE bench_estoque_total_produto;
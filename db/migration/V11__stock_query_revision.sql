@@ -0,0 +1,6 @@
+-- Conditional GET on the stock endpoints (StockController ETags).
+-- revisao is drawn from a sequence on every projection write, stock or catalog rename, so count + sum(revisao) over
+-- the rows of a response changes whenever any of them is inserted, updated or deleted, even when writes to the same
+-- product commit out of order.
+CREATE SEQUENCE IF NOT EXISTS estoque_revisao_seq;
+ALTER TABLE estoque_consulta ADD COLUMN IF NOT EXISTS revisao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,22 @@
+-- Total stock per product for listings (GET /stock/totals), kept by the projection instead of aggregating
+-- estoque_consulta. Every stock write adds its delta (new quantity - previous quantity, +1 store for a new row) in the
+-- same transaction; partition resets subtract what they delete. lojas is the number of estoque_consulta rows of the
+-- product, so a product whose count reaches zero is removed. ProductStockTotalsReconciliationJob compares it with
+-- estoque_consulta and repairs drift.
+CREATE TABLE IF NOT EXISTS estoque_total_produto (
+    produto_id BIGINT NOT NULL PRIMARY KEY,
+    nome_produto VARCHAR(255),
+    quantidade_total BIGINT NOT NULL,
+    lojas INT NOT NULL,
+    atualizado_em TIMESTAMP
+);
+
+INSERT INTO estoque_total_produto (produto_id, nome_produto, quantidade_total, lojas, atualizado_em)
+SELECT produto_id, MAX(nome_produto), SUM(quantidade), COUNT(*), CURRENT_TIMESTAMP
+FROM estoque_consulta
+GROUP BY produto_id;
+
+-- Same columns as before, now read from the maintained totals instead of a GROUP BY over estoque_consulta.
+CREATE OR REPLACE VIEW stock_view AS
+SELECT produto_id, nome_produto, quantidade_total
+FROM estoque_total_produto;
@@ -0,0 +1,13 @@
+-- Order and item ids come from pooled sequences (OrderEntity/OrderItemEntity) so Hibernate can batch the inserts of
+-- a whole poll of sales events. INCREMENT BY must match each @SequenceGenerator allocationSize.
+-- The identity columns would reject the ids Hibernate now assigns, so they become plain BIGINT keys.
+ALTER TABLE pedidos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE itens_pedido ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS pedidos_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS itens_pedido_id_seq INCREMENT BY 200;
+
+-- Hibernate's pooled optimizer uses value - increment + 1 .. value, so the first value handed out is one increment
+-- past the current maximum and the first block starts right after the existing rows.
+SELECT setval('pedidos_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM pedidos;
+SELECT setval('itens_pedido_id_seq', COALESCE(MAX(id), 0) + 200, false) FROM itens_pedido;
@@ -0,0 +1,23 @@
+-- Watermark idempotency mode (inventory.idempotency.mode=watermark)
+
+-- Highest processed offset per (topic, partition)
+CREATE TABLE IF NOT EXISTS offsets_processados (
+    topico VARCHAR(128) NOT NULL,
+    particao INT NOT NULL,
+    watermark BIGINT NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (topico, particao)
+);
+
+-- Ranges of offsets below the watermark that were skipped when it advanced and have not been seen yet.
+-- Claiming an offset splits its range; the key covers both bounds so the split never collides with the old row.
+CREATE TABLE IF NOT EXISTS offsets_pendentes (
+    topico VARCHAR(128) NOT NULL,
+    particao INT NOT NULL,
+    offset_inicio BIGINT NOT NULL,
+    offset_fim BIGINT NOT NULL,
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (topico, particao, offset_inicio, offset_fim)
+);
+
+CREATE INDEX IF NOT EXISTS idx_offsets_pendentes_criado_em ON offsets_pendentes (criado_em);
@@ -0,0 +1,12 @@
+-- EventId idempotency keyed by a 128-bit digest of (topic, eventId)
+
+-- bucket = days since epoch (UTC) of processado_em; whole buckets are purged after the retention window
+CREATE TABLE IF NOT EXISTS eventos_id_processados (
+    digest BYTEA NOT NULL,
+    bucket INT NOT NULL,
+    processado_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (digest),
+    CONSTRAINT ck_evento_id_digest CHECK (octet_length(digest) = 16)
+);
+
+CREATE INDEX IF NOT EXISTS idx_evento_id_bucket ON eventos_id_processados (bucket);
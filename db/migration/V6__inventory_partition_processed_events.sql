@@ -0,0 +1,46 @@
+-- eventos_processados as daily range partitions on processado_em.
+-- ProcessedEventPartitionMaintainer keeps partitions ahead of today and drops the ones past the dedup horizon.
+-- Uniqueness can no longer be enforced by uk_event (a partitioned unique key must include processado_em);
+-- the insert serializes on an advisory lock per key and checks only partitions inside the horizon.
+-- Days are UTC, like the maintainer. There is deliberately no DEFAULT partition: rows parked there would make
+-- the later CREATE of their day's partition fail, so a missing partition must fail the insert instead.
+DO $$
+DECLARE
+    dia DATE;
+    ultimo DATE;
+    hoje DATE := (now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'eventos_processados' AND relkind = 'p') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE eventos_processados RENAME TO eventos_processados_legado;
+    ALTER TABLE eventos_processados_legado RENAME CONSTRAINT eventos_processados_pkey TO eventos_processados_legado_pkey;
+    ALTER TABLE eventos_processados_legado RENAME CONSTRAINT uk_event TO uk_event_legado;
+
+    CREATE TABLE eventos_processados (
+        id CHAR(36) NOT NULL,
+        topico VARCHAR(128) NOT NULL,
+        particao INT NOT NULL,
+        offset_value BIGINT NOT NULL,
+        processado_em TIMESTAMP NOT NULL,
+        PRIMARY KEY (id, processado_em)
+    ) PARTITION BY RANGE (processado_em);
+
+    CREATE INDEX idx_evento_chave ON eventos_processados (topico, particao, offset_value);
+
+    -- Cover every legacy row and the premake window so the copy below never lacks a partition
+    SELECT LEAST(COALESCE(MIN(processado_em)::date, hoje), hoje), GREATEST(COALESCE(MAX(processado_em)::date, hoje), hoje + 3)
+    INTO dia, ultimo
+    FROM eventos_processados_legado;
+    WHILE dia <= ultimo LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF eventos_processados FOR VALUES FROM (%L) TO (%L)',
+                       'eventos_processados_p' || to_char(dia, 'YYYYMMDD'), dia, dia + 1);
+        dia := dia + 1;
+    END LOOP;
+
+    INSERT INTO eventos_processados (id, topico, particao, offset_value, processado_em)
+    SELECT id, topico, particao, offset_value, processado_em FROM eventos_processados_legado;
+
+    DROP TABLE eventos_processados_legado;
+END $$;